@@ -17,6 +17,8 @@
 package org.activiti.core.el;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
 import jakarta.el.ELContext;
 import jakarta.el.ELResolver;
 import jakarta.el.FunctionMapper;
@@ -31,6 +33,8 @@ public class ActivitiElContext extends ELContext {
     protected ELResolver elResolver;
     private ActivitiFunctionMapper functions;
     private ActivitiVariablesMapper variables;
+    private boolean sharedFunctions;
+    private Map<String, Object> contextVariables = Collections.emptyMap();
 
     public ActivitiElContext() {
         this(null);
@@ -40,6 +44,19 @@ public class ActivitiElContext extends ELContext {
         this.elResolver = elResolver;
     }
 
+    /**
+     * Creates a context around a resolver chain and function mapper that may be shared with other contexts. The
+     * function mapper is copied before any function is added to this context.
+     *
+     * @param contextVariables the variables of this context, resolved by {@link ContextVariablesELResolver}
+     */
+    public ActivitiElContext(ELResolver elResolver, ActivitiFunctionMapper functions, Map<String, Object> contextVariables) {
+        this.elResolver = elResolver;
+        this.functions = functions;
+        this.sharedFunctions = functions != null;
+        this.contextVariables = contextVariables != null ? contextVariables : Collections.emptyMap();
+    }
+
     public ELResolver getELResolver() {
         return elResolver;
     }
@@ -61,10 +78,17 @@ public class ActivitiElContext extends ELContext {
     public void setFunction(String prefix, String localName, Method method) {
         if (functions == null) {
             functions = new ActivitiFunctionMapper();
+        } else if (sharedFunctions) {
+            functions = functions.copy();
+            sharedFunctions = false;
         }
         functions.setFunction(prefix, localName, method);
     }
 
+    public Map<String, Object> getContextVariables() {
+        return contextVariables;
+    }
+
     public ValueExpression setVariable(String name, ValueExpression expression) {
         if (variables == null) {
             variables = new ActivitiVariablesMapper();
@@ -30,12 +30,34 @@ public class ActivitiFunctionMapper extends FunctionMapper {
 
     Map<String, Method> map = Collections.emptyMap();
 
+    public ActivitiFunctionMapper() {
+    }
+
+    private ActivitiFunctionMapper(Map<String, Method> map) {
+        this.map = map;
+    }
+
+    /**
+     * Returns a mapper holding the same functions that can be modified without affecting this one.
+     */
+    public ActivitiFunctionMapper copy() {
+        return new ActivitiFunctionMapper(map.isEmpty() ? Collections.emptyMap() : new HashMap<>(map));
+    }
+
+    /**
+     * Returns a mapper holding the same functions that rejects any further {@link #setFunction} call, so it can be
+     * shared between threads.
+     */
+    public ActivitiFunctionMapper unmodifiable() {
+        return new ActivitiFunctionMapper(Collections.unmodifiableMap(new HashMap<>(map)));
+    }
+
     public Method resolveFunction(String prefix, String localName) {
         return map.get(prefix + ":" + localName);
     }
 
     public void setFunction(String prefix, String localName, Method method) {
-        if (map.isEmpty()) {
+        if (map == Collections.<String, Method>emptyMap()) {
             map = new HashMap<String, Method>();
         }
         map.put(prefix + ":" + localName, method);
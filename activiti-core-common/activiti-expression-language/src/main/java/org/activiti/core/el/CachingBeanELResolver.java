@@ -0,0 +1,66 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.core.el;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import jakarta.el.BeanELResolver;
+import jakarta.el.ELContext;
+import jakarta.el.ELException;
+import org.activiti.core.el.juel.misc.MethodCache;
+
+/**
+ * {@link BeanELResolver} that looks up invoked methods through the {@link MethodCache} instead of
+ * scanning the methods of the base class on every invocation. Invocations the cache can't resolve
+ * unambiguously (overloads, varargs, arguments requiring coercion) are left to {@link BeanELResolver}.
+ */
+public class CachingBeanELResolver extends BeanELResolver {
+
+    public CachingBeanELResolver() {
+        super();
+    }
+
+    public CachingBeanELResolver(boolean readOnly) {
+        super(readOnly);
+    }
+
+    @Override
+    public Object invoke(ELContext context, Object base, Object method, Class<?>[] paramTypes, Object[] params) {
+        if (base == null || method == null || paramTypes != null) {
+            return super.invoke(context, base, method, paramTypes, params);
+        }
+        Object[] args = params == null ? new Object[0] : params;
+        Class<?>[] argTypes = new Class<?>[args.length];
+        for (int i = 0; i < args.length; i++) {
+            argTypes[i] = args[i] == null ? null : args[i].getClass();
+        }
+        Method target = MethodCache.findMethod(base.getClass(), method.toString(), argTypes);
+        if (target == null) {
+            return super.invoke(context, base, method, paramTypes, params);
+        }
+        Object result;
+        try {
+            result = target.invoke(base, args);
+        } catch (IllegalAccessException e) {
+            return super.invoke(context, base, method, paramTypes, params);
+        } catch (InvocationTargetException e) {
+            throw new ELException(e.getCause());
+        }
+        context.setPropertyResolved(base, method);
+        return result;
+    }
+}
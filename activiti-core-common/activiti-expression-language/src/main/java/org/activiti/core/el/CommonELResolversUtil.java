@@ -16,7 +16,6 @@
 package org.activiti.core.el;
 
 import jakarta.el.ArrayELResolver;
-import jakarta.el.BeanELResolver;
 import jakarta.el.ELContext;
 import jakarta.el.ELResolver;
 import jakarta.el.ListELResolver;
@@ -48,7 +47,7 @@ public final class CommonELResolversUtil {
     }
 
     public static ELResolver beanResolver() {
-        return new ELResolverReflectionBlockerDecorator(new BeanELResolver());
+        return new ELResolverReflectionBlockerDecorator(new CachingBeanELResolver());
     }
 
 }
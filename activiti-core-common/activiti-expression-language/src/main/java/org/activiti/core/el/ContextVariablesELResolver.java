@@ -0,0 +1,78 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.core.el;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import java.beans.FeatureDescriptor;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * An {@link ELResolver} that exposes the variables carried by the {@link ActivitiElContext} being evaluated, under the
+ * name of the entry's key. Unlike {@link ReadOnlyMapELResolver} it holds no state, so a single instance can be part of a
+ * resolver chain shared by many contexts.
+ */
+public class ContextVariablesELResolver extends ELResolver {
+
+    @Override
+    public Object getValue(ELContext context, Object base, Object property) {
+        if (base == null) {
+            Map<String, Object> variables = getContextVariables(context);
+            if (variables.containsKey(property)) {
+                context.setPropertyResolved(true);
+                return variables.get(property);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isReadOnly(ELContext context, Object base, Object property) {
+        return true;
+    }
+
+    @Override
+    public void setValue(ELContext context, Object base, Object property, Object value) {
+        if (base == null && getContextVariables(context).containsKey(property)) {
+            throw new IllegalArgumentException("Cannot set value of '" + property + "', it's readonly!");
+        }
+    }
+
+    @Override
+    public Class<?> getCommonPropertyType(ELContext context, Object base) {
+        return Object.class;
+    }
+
+    @Override
+    public Iterator<FeatureDescriptor> getFeatureDescriptors(ELContext context, Object base) {
+        return null;
+    }
+
+    @Override
+    public Class<?> getType(ELContext context, Object base, Object property) {
+        return Object.class;
+    }
+
+    private Map<String, Object> getContextVariables(ELContext context) {
+        if (context instanceof ActivitiElContext) {
+            return ((ActivitiElContext) context).getContextVariables();
+        }
+        return Collections.emptyMap();
+    }
+}
@@ -58,6 +58,25 @@ public class ELContextBuilder {
     public ELContext buildWithCustomFunctions(List<CustomFunctionProvider> customFunctionProviders) {
         CompositeELResolver elResolver = createCompositeResolver();
         ActivitiElContext elContext = new ActivitiElContext(elResolver);
+        addFunctions(elContext, customFunctionProviders);
+        return elContext;
+    }
+
+    /**
+     * Builds a template whose resolver chain and functions are shared by all the contexts created from it. The
+     * variables of each context are given to {@link ELContextTemplate#createContext(Map)}, so any variables set on this
+     * builder are ignored.
+     */
+    public ELContextTemplate buildTemplate(List<CustomFunctionProvider> customFunctionProviders) {
+        CompositeELResolver elResolver = new CompositeELResolver();
+        elResolver.add(new ContextVariablesELResolver());
+        addResolvers(elResolver);
+        ActivitiElContext elContext = new ActivitiElContext(elResolver);
+        addFunctions(elContext, customFunctionProviders);
+        return new ELContextTemplate(elResolver, ((ActivitiFunctionMapper) elContext.getFunctionMapper()).unmodifiable());
+    }
+
+    private void addFunctions(ActivitiElContext elContext, List<CustomFunctionProvider> customFunctionProviders) {
         try {
             addDateFunctions(elContext);
             addListFunctions(elContext);
@@ -73,7 +92,6 @@ public class ELContextBuilder {
         } catch (NoSuchMethodException e) {
             logger.error("Error setting up EL custom functions", e);
         }
-        return elContext;
     }
 
     private void addResolvers(CompositeELResolver compositeResolver) {
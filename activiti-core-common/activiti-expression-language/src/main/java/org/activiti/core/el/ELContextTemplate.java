@@ -0,0 +1,55 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.core.el;
+
+import jakarta.el.ELResolver;
+import java.util.Map;
+
+/**
+ * An immutable resolver chain and function mapper from which {@link ActivitiElContext} instances are created. The
+ * chain and the functions are built once and shared by every context, which only carries its own variables; create
+ * one through {@link ELContextBuilder#buildTemplate(java.util.List)}.
+ */
+public class ELContextTemplate {
+
+    private final ELResolver elResolver;
+    private final ActivitiFunctionMapper functions;
+
+    ELContextTemplate(ELResolver elResolver, ActivitiFunctionMapper functions) {
+        this.elResolver = elResolver;
+        this.functions = functions;
+    }
+
+    /**
+     * Creates a context resolving the given variables ahead of the shared resolver chain. The map isn't copied and
+     * must not be modified while the context is in use.
+     */
+    public ActivitiElContext createContext(Map<String, Object> variables) {
+        return new ActivitiElContext(elResolver, functions, variables);
+    }
+
+    /**
+     * Creates a context around another resolver chain, sharing only the functions of this template.
+     */
+    public ActivitiElContext createContextWithResolver(ELResolver elResolver) {
+        return new ActivitiElContext(elResolver, functions, null);
+    }
+
+    public ELResolver getELResolver() {
+        return elResolver;
+    }
+}
@@ -32,6 +32,7 @@ public class JuelExpressionResolver implements ExpressionResolver {
 
     private final ExpressionFactory expressionFactory;
     private final List<CustomFunctionProvider> customFunctionProviders;
+    private volatile ELContextTemplate contextTemplate;
 
     public JuelExpressionResolver() {
         this(ExpressionFactory.newInstance());
@@ -57,6 +58,19 @@ public class JuelExpressionResolver implements ExpressionResolver {
     }
 
     protected ELContext buildContext (Map<String, Object> variables) {
+        return getContextTemplate().createContext(variables);
+    }
+
+    protected ELContextTemplate getContextTemplate() {
+        ELContextTemplate template = contextTemplate;
+        if (template == null) {
+            template = createContextTemplate();
+            contextTemplate = template;
+        }
+        return template;
+    }
+
+    protected ELContextTemplate createContextTemplate() {
         return new ELContextBuilder()
             .withResolvers(
                 arrayResolver(),
@@ -65,7 +79,6 @@ public class JuelExpressionResolver implements ExpressionResolver {
                 jsonNodeResolver(),
                 beanResolver()
             )
-            .withVariables(variables)
-            .buildWithCustomFunctions(customFunctionProviders);
+            .buildTemplate(customFunctionProviders);
     }
 }
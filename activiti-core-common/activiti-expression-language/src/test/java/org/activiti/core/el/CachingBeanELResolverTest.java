@@ -0,0 +1,70 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.core.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import java.util.Map;
+import jakarta.el.ELException;
+import org.junit.jupiter.api.Test;
+
+class CachingBeanELResolverTest {
+
+    public static class Greeter {
+
+        public String greet(String name) {
+            return "hello " + name;
+        }
+
+        public String times(int count) {
+            return "x" + count;
+        }
+
+        public String fail(String message) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    private final ExpressionResolver expressionResolver = new JuelExpressionResolver();
+
+    @Test
+    void should_invokeCachedMethod_when_argumentsMatchWithoutCoercion() {
+        Map<String, Object> availableVariables = Map.of("greeter", new Greeter(), "name", "jon doe");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(expressionResolver.resolveExpression("${greeter.greet(name)}", availableVariables, String.class))
+                .isEqualTo("hello jon doe");
+        }
+    }
+
+    @Test
+    void should_fallBackToBeanResolver_when_argumentsRequireCoercion() {
+        Map<String, Object> availableVariables = Map.of("greeter", new Greeter());
+
+        assertThat(expressionResolver.resolveExpression("${greeter.times(3)}", availableVariables, String.class))
+            .isEqualTo("x3");
+    }
+
+    @Test
+    void should_wrapMethodException_when_cachedMethodThrows() {
+        Map<String, Object> availableVariables = Map.of("greeter", new Greeter(), "name", "boom");
+
+        assertThatExceptionOfType(ELException.class)
+            .isThrownBy(() -> expressionResolver.resolveExpression("${greeter.fail(name)}", availableVariables, String.class))
+            .withCauseInstanceOf(IllegalStateException.class);
+    }
+}
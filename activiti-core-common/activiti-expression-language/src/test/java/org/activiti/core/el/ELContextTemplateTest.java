@@ -0,0 +1,125 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.core.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import java.util.List;
+import java.util.Map;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.MapELResolver;
+import jakarta.el.ValueExpression;
+import org.junit.jupiter.api.Test;
+
+class ELContextTemplateTest {
+
+    private final ExpressionFactory expressionFactory = ExpressionFactory.newInstance();
+
+    public static String shout(String value) {
+        return value.toUpperCase();
+    }
+
+    @Test
+    void should_resolveOwnVariables_when_contextsShareTemplate() {
+        //given
+        ELContextTemplate template = new ELContextBuilder().withResolvers(new MapELResolver()).buildTemplate(null);
+        ActivitiElContext first = template.createContext(Map.of("name", "first", "values", Map.of("key", 1)));
+        ActivitiElContext second = template.createContext(Map.of("name", "second"));
+
+        //when
+        ValueExpression expression = expressionFactory.createValueExpression(first, "${name}", String.class);
+
+        String firstValue = expression.getValue(first);
+        String secondValue = expression.getValue(second);
+        Integer nestedValue = expressionFactory.createValueExpression(first, "${values.key}", Integer.class).getValue(first);
+
+        //then
+        assertThat(firstValue).isEqualTo("first");
+        assertThat(secondValue).isEqualTo("second");
+        assertThat(nestedValue).isEqualTo(1);
+    }
+
+    @Test
+    void should_shareResolverAndFunctions_when_contextsCreatedFromTemplate() {
+        //given
+        ELContextTemplate template = new ELContextBuilder().withResolvers(new MapELResolver()).buildTemplate(null);
+
+        //when
+        ActivitiElContext first = template.createContext(Map.of());
+        ActivitiElContext second = template.createContext(null);
+
+        //then
+        assertThat(first.getELResolver()).isSameAs(second.getELResolver()).isSameAs(template.getELResolver());
+        assertThat(first.getFunctionMapper()).isSameAs(second.getFunctionMapper());
+        assertThat(first.getFunctionMapper().resolveFunction("", "now")).isNotNull();
+        assertThat(second.getContextVariables()).isEmpty();
+    }
+
+    @Test
+    void should_registerCustomFunctionsOnce_when_templateIsBuilt() {
+        //given
+        int[] registrations = new int[1];
+        CustomFunctionProvider provider = elContext -> {
+            registrations[0]++;
+            try {
+                elContext.setFunction("", "shout", ELContextTemplateTest.class.getMethod("shout", String.class));
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        ELContextTemplate template = new ELContextBuilder().buildTemplate(List.of(provider));
+
+        //when
+        ActivitiElContext first = template.createContext(Map.of("name", "first"));
+        ActivitiElContext second = template.createContext(Map.of("name", "second"));
+
+        String firstValue = expressionFactory.createValueExpression(first, "${shout(name)}", String.class).getValue(first);
+        String secondValue = expressionFactory.createValueExpression(second, "${shout(name)}", String.class).getValue(second);
+
+        //then
+        assertThat(registrations[0]).isEqualTo(1);
+        assertThat(firstValue).isEqualTo("FIRST");
+        assertThat(secondValue).isEqualTo("SECOND");
+    }
+
+    @Test
+    void should_notAffectOtherContexts_when_functionIsAddedToOneContext() throws Exception {
+        //given
+        ELContextTemplate template = new ELContextBuilder().buildTemplate(null);
+        ActivitiElContext first = template.createContext(Map.of());
+        ActivitiElContext second = template.createContext(Map.of());
+
+        //when
+        first.setFunction("", "shout", ELContextTemplateTest.class.getMethod("shout", String.class));
+
+        //then
+        assertThat(first.getFunctionMapper().resolveFunction("", "shout")).isNotNull();
+        assertThat(second.getFunctionMapper().resolveFunction("", "shout")).isNull();
+        assertThat(first.getFunctionMapper().resolveFunction("", "now")).isNotNull();
+    }
+
+    @Test
+    void should_throwException_when_contextVariableIsSet() {
+        //given
+        ActivitiElContext context = new ELContextBuilder().buildTemplate(null).createContext(Map.of("name", "value"));
+        ValueExpression expression = expressionFactory.createValueExpression(context, "${name}", String.class);
+
+        //then
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> expression.setValue(context, "other"));
+    }
+}
@@ -544,6 +544,13 @@ public class ExpressionFactoryImpl extends ExpressionFactory {
         return null;
     }
 
+    /**
+     * Answer the tree store used to parse and cache parse trees.
+     */
+    public TreeStore getTreeStore() {
+        return store;
+    }
+
     @Override
     public final <T> T coerceToType(Object obj, Class<T> targetType) {
         return converter.convert(obj, targetType);
@@ -28,6 +28,7 @@ import java.io.PrintWriter;
 import org.activiti.core.el.juel.misc.LocalMessages;
 import org.activiti.core.el.juel.misc.TypeConverter;
 import org.activiti.core.el.juel.tree.Bindings;
+import org.activiti.core.el.juel.tree.CompiledNode;
 import org.activiti.core.el.juel.tree.ExpressionNode;
 import org.activiti.core.el.juel.tree.NodePrinter;
 import org.activiti.core.el.juel.tree.Tree;
@@ -47,6 +48,11 @@ public final class TreeValueExpression extends ValueExpression {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Number of interpreted evaluations before the parse tree gets compiled.
+     */
+    private static final int COMPILE_THRESHOLD = 16;
+
     private final TreeBuilder builder;
     private final Bindings bindings;
     private final String expr;
@@ -55,6 +61,10 @@ public final class TreeValueExpression extends ValueExpression {
 
     private transient ExpressionNode node;
 
+    private transient volatile CompiledNode compiled;
+
+    private transient int evaluations; // racy, only used as a hint
+
     private String structure;
 
     /**
@@ -128,7 +138,14 @@ public final class TreeValueExpression extends ValueExpression {
      */
     @Override
     public Object getValue(ELContext context) throws ELException {
-        return node.getValue(bindings, context, type);
+        CompiledNode compiled = this.compiled;
+        if (compiled == null) {
+            if (evaluations++ < COMPILE_THRESHOLD) {
+                return node.getValue(bindings, context, type);
+            }
+            compiled = this.compiled = node.compile(bindings);
+        }
+        return bindings.convert(compiled.eval(context), type);
     }
 
     /**
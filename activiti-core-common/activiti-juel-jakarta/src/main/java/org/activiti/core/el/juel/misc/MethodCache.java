@@ -0,0 +1,251 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.core.el.juel.misc;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache of reflective method lookups, keyed by class, method name and parameter types.
+ *
+ * Entries are attached to the class they were looked up on (using a {@link ClassValue}), so they
+ * are discarded together with that class when its class loader is unloaded. At most
+ * {@link #MAX_ENTRIES_PER_CLASS} lookups are cached per class, and lookups involving types
+ * the class cannot see (e.g. argument types from a child class loader) are never cached, so
+ * the cache never keeps a foreign class loader alive.
+ */
+public final class MethodCache {
+
+    /**
+     * Maximum number of cached lookups per class; further lookups are performed uncached.
+     */
+    public static final int MAX_ENTRIES_PER_CLASS = 256;
+
+    private static final ClassValue<ConcurrentMap<Key, Optional<Method>>> CACHE =
+        new ClassValue<ConcurrentMap<Key, Optional<Method>>>() {
+            @Override
+            protected ConcurrentMap<Key, Optional<Method>> computeValue(
+                Class<?> type
+            ) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+    private MethodCache() {}
+
+    /**
+     * Answer the public method <code>clazz.getMethod(name, paramTypes)</code> answers.
+     * @return method or <code>null</code> if there's no such method
+     */
+    public static Method getMethod(
+        Class<?> clazz,
+        String name,
+        Class<?>... paramTypes
+    ) {
+        return lookup(
+            clazz,
+            new Key(name, paramTypes, true),
+            () -> {
+                try {
+                    return clazz.getMethod(name, paramTypes);
+                } catch (NoSuchMethodException e) {
+                    return null;
+                }
+            }
+        );
+    }
+
+    /**
+     * Find the method to invoke for arguments of the given types. This answers the only public,
+     * non-varargs method of a public class with the given name and number of parameters,
+     * provided it accepts the arguments without coercion. Answers <code>null</code> if there's
+     * no such method or if overloads make the choice depend on coercion rules.
+     * @param argTypes argument types, a <code>null</code> type standing for a <code>null</code> argument
+     * @return method or <code>null</code>
+     */
+    public static Method findMethod(
+        Class<?> clazz,
+        String name,
+        Class<?>[] argTypes
+    ) {
+        return lookup(
+            clazz,
+            new Key(name, argTypes, false),
+            () -> findUniqueMethod(clazz, name, argTypes)
+        );
+    }
+
+    private static Method lookup(
+        Class<?> clazz,
+        Key key,
+        Supplier<Method> finder
+    ) {
+        if (!isVisible(clazz, key.types)) {
+            return finder.get();
+        }
+        ConcurrentMap<Key, Optional<Method>> methods = CACHE.get(clazz);
+        Optional<Method> method = methods.get(key);
+        if (method == null) {
+            method = Optional.ofNullable(finder.get());
+            if (methods.size() < MAX_ENTRIES_PER_CLASS) {
+                methods.putIfAbsent(key.copy(), method);
+            }
+        }
+        return method.orElse(null);
+    }
+
+    private static Method findUniqueMethod(
+        Class<?> clazz,
+        String name,
+        Class<?>[] argTypes
+    ) {
+        int count = argTypes == null ? 0 : argTypes.length;
+        Method result = null;
+        for (Method method : clazz.getMethods()) {
+            if (!method.getName().equals(name) || method.isBridge()) {
+                continue;
+            }
+            if (method.isVarArgs()) {
+                return null;
+            }
+            if (method.getParameterCount() == count) {
+                if (result != null) {
+                    return null;
+                }
+                result = method;
+            }
+        }
+        if (
+            result == null ||
+            !Modifier.isPublic(result.getDeclaringClass().getModifiers())
+        ) {
+            return null;
+        }
+        Class<?>[] paramTypes = result.getParameterTypes();
+        for (int i = 0; i < count; i++) {
+            if (!accepts(paramTypes[i], argTypes[i])) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    private static boolean accepts(Class<?> paramType, Class<?> argType) {
+        if (argType == null) {
+            return !paramType.isPrimitive();
+        }
+        if (paramType.isPrimitive()) {
+            return argType == wrapper(paramType);
+        }
+        return paramType.isAssignableFrom(argType);
+    }
+
+    private static Class<?> wrapper(Class<?> type) {
+        if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == char.class) {
+            return Character.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == double.class) {
+            return Double.class;
+        }
+        return type;
+    }
+
+    private static boolean isVisible(Class<?> clazz, Class<?>[] types) {
+        if (types == null) {
+            return true;
+        }
+        ClassLoader loader = clazz.getClassLoader();
+        for (Class<?> type : types) {
+            if (type != null && !isVisible(type.getClassLoader(), loader)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVisible(ClassLoader from, ClassLoader to) {
+        if (from == null) {
+            return true;
+        }
+        ClassLoader loader = to;
+        while (loader != null) {
+            if (loader == from) {
+                return true;
+            }
+            loader = loader.getParent();
+        }
+        return false;
+    }
+
+    private static final class Key {
+
+        private final String name;
+        private final Class<?>[] types;
+        private final boolean exact;
+        private final int hashCode;
+
+        Key(String name, Class<?>[] types, boolean exact) {
+            this.name = name;
+            this.types = types;
+            this.exact = exact;
+            this.hashCode =
+                (31 * name.hashCode() + Arrays.hashCode(types)) * 2 +
+                (exact ? 1 : 0);
+        }
+
+        Key copy() {
+            return new Key(name, types == null ? null : types.clone(), exact);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return (
+                exact == other.exact &&
+                name.equals(other.name) &&
+                Arrays.equals(types, other.types)
+            );
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.core.el.juel.tree;
+
+import jakarta.el.ELContext;
+
+/**
+ * An expression node compiled for repeated rvalue evaluation, see {@link ExpressionNode#compile(Bindings)}.
+ * The bindings are fixed when compiling, so a compiled node belongs to a single expression. Compiled
+ * nodes are stateless and may be evaluated concurrently.
+ */
+public interface CompiledNode {
+    /**
+     * Evaluate the compiled node.
+     *
+     * @param context
+     *            evaluation context
+     * @return evaluated node, not coerced
+     */
+    public Object eval(ELContext context);
+}
@@ -152,6 +152,17 @@ public interface ExpressionNode extends Node {
         Object[] paramValues
     );
 
+    /**
+     * Compile this node for repeated evaluation. Evaluating the compiled node answers the same
+     * value as {@link #getValue(Bindings, ELContext, Class)} without coercion, but avoids walking
+     * the tree: wrapper nodes are dropped, literal subtrees are folded and bindings are resolved once.
+     *
+     * @param bindings
+     *            bindings containing variables and functions
+     * @return compiled node
+     */
+    public CompiledNode compile(Bindings bindings);
+
     /**
      * Get the canonical expression string for this node. Variable and funtion names will be
      * replaced in a way such that two expression nodes that have the same node structure and
@@ -16,27 +16,38 @@
 
 package org.activiti.core.el.juel.tree.impl;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import org.activiti.core.el.juel.tree.Tree;
 import org.activiti.core.el.juel.tree.TreeCache;
 
 /**
- * Concurrent (thread-safe) FIFO tree cache (using classes from
+ * Concurrent (thread-safe) LRU tree cache (using classes from
  * <code>java.util.concurrent</code>). After the cache size reached a certain
- * limit, some least recently used entry are removed, when adding a new entry.
+ * limit, the least recently used entry is removed when adding a new entry.
+ *
+ * Lookups are served from a concurrent map. The access order is kept aside and
+ * only updated by lookups which don't have to wait for it, so under heavy
+ * contention the eviction order approximates LRU. Hits, misses and evictions
+ * are counted to monitor the cache efficiency.
  *
  * @author Christoph Beck
  */
 public final class Cache implements TreeCache {
 
     private final ConcurrentMap<String, Tree> map;
-    private final ConcurrentLinkedQueue<String> queue;
-    private final AtomicInteger size;
+    private final LinkedHashMap<String, Boolean> accessOrder;
+    private final ReentrantLock accessOrderLock;
     private final int capacity;
 
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
     /**
      * Creates a new cache with the specified capacity
      * and default concurrency level (16).
@@ -61,26 +72,80 @@ public final class Cache implements TreeCache {
     public Cache(int capacity, int concurrencyLevel) {
         this.map =
             new ConcurrentHashMap<String, Tree>(16, 0.75f, concurrencyLevel);
-        this.queue = new ConcurrentLinkedQueue<String>();
-        this.size = new AtomicInteger();
+        this.accessOrder = new LinkedHashMap<String, Boolean>(16, 0.75f, true);
+        this.accessOrderLock = new ReentrantLock();
         this.capacity = capacity;
     }
 
     public int size() {
-        return size.get();
+        return map.size();
     }
 
     public Tree get(String expression) {
-        return map.get(expression);
+        Tree tree = map.get(expression);
+        if (tree == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        if (accessOrderLock.tryLock()) {
+            try {
+                accessOrder.get(expression);
+            } finally {
+                accessOrderLock.unlock();
+            }
+        }
+        return tree;
     }
 
     public void put(String expression, Tree tree) {
         if (map.putIfAbsent(expression, tree) == null) {
-            queue.offer(expression);
-            if (size.incrementAndGet() > capacity) {
-                size.decrementAndGet();
-                map.remove(queue.poll());
+            accessOrderLock.lock();
+            try {
+                accessOrder.put(expression, Boolean.TRUE);
+                Iterator<String> eldest = accessOrder.keySet().iterator();
+                while (accessOrder.size() > capacity) {
+                    map.remove(eldest.next());
+                    eldest.remove();
+                    evictions.increment();
+                }
+            } finally {
+                accessOrderLock.unlock();
             }
         }
     }
+
+    /**
+     * Number of lookups answered from this cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of lookups not answered from this cache.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of entries removed to keep this cache within its capacity.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Ratio of lookups answered from this cache, <code>0</code> if there were no lookups yet.
+     */
+    public double getHitRate() {
+        long hitCount = getHitCount();
+        long lookupCount = hitCount + getMissCount();
+        return lookupCount == 0 ? 0d : (double) hitCount / lookupCount;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
 }
@@ -21,6 +21,7 @@ import org.activiti.core.el.juel.misc.BooleanOperations;
 import org.activiti.core.el.juel.misc.NumberOperations;
 import org.activiti.core.el.juel.misc.TypeConverter;
 import org.activiti.core.el.juel.tree.Bindings;
+import org.activiti.core.el.juel.tree.CompiledNode;
 
 public class AstBinary extends AstRightValue {
 
@@ -240,6 +241,45 @@ public class AstBinary extends AstRightValue {
         return operator.eval(bindings, context, left, right);
     }
 
+    @Override
+    public CompiledNode compile(Bindings bindings) {
+        CompiledNode l = left.compile(bindings);
+        CompiledNode r = right.compile(bindings);
+        CompiledNode compiled;
+        if (operator == AND) {
+            compiled = context -> {
+                Boolean value = bindings.convert(
+                    l.eval(context),
+                    Boolean.class
+                );
+                return Boolean.TRUE.equals(value)
+                    ? bindings.convert(r.eval(context), Boolean.class)
+                    : Boolean.FALSE;
+            };
+        } else if (operator == OR) {
+            compiled = context -> {
+                Boolean value = bindings.convert(
+                    l.eval(context),
+                    Boolean.class
+                );
+                return Boolean.TRUE.equals(value)
+                    ? Boolean.TRUE
+                    : bindings.convert(r.eval(context), Boolean.class);
+            };
+        } else if (operator instanceof SimpleOperator) {
+            SimpleOperator simpleOperator = (SimpleOperator) operator;
+            compiled = context ->
+                simpleOperator.apply(
+                    bindings,
+                    l.eval(context),
+                    r.eval(context)
+                );
+        } else {
+            return super.compile(bindings);
+        }
+        return CompiledConstant.fold(compiled, l, r);
+    }
+
     @Override
     public String toString() {
         return "'" + operator.toString() + "'";
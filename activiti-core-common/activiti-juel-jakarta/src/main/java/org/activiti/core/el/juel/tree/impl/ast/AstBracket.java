@@ -19,6 +19,7 @@ package org.activiti.core.el.juel.tree.impl.ast;
 import jakarta.el.ELContext;
 import jakarta.el.ELException;
 import org.activiti.core.el.juel.tree.Bindings;
+import org.activiti.core.el.juel.tree.CompiledNode;
 
 public class AstBracket extends AstProperty {
 
@@ -50,6 +51,11 @@ public class AstBracket extends AstProperty {
         return property.eval(bindings, context);
     }
 
+    @Override
+    protected CompiledNode compileProperty(Bindings bindings) {
+        return property.compile(bindings);
+    }
+
     @Override
     public String toString() {
         return "[...]";
@@ -19,6 +19,7 @@ package org.activiti.core.el.juel.tree.impl.ast;
 import jakarta.el.ELContext;
 import jakarta.el.ELException;
 import org.activiti.core.el.juel.tree.Bindings;
+import org.activiti.core.el.juel.tree.CompiledNode;
 
 public class AstChoice extends AstRightValue {
 
@@ -42,6 +43,18 @@ public class AstChoice extends AstRightValue {
             : no.eval(bindings, context);
     }
 
+    @Override
+    public CompiledNode compile(Bindings bindings) {
+        CompiledNode q = question.compile(bindings);
+        CompiledNode y = yes.compile(bindings);
+        CompiledNode n = no.compile(bindings);
+        CompiledNode compiled = context ->
+            bindings.convert(q.eval(context), Boolean.class).booleanValue()
+                ? y.eval(context)
+                : n.eval(context);
+        return CompiledConstant.fold(compiled, q, y, n);
+    }
+
     @Override
     public String toString() {
         return "?";
@@ -19,6 +19,7 @@ package org.activiti.core.el.juel.tree.impl.ast;
 import jakarta.el.ELContext;
 import java.util.List;
 import org.activiti.core.el.juel.tree.Bindings;
+import org.activiti.core.el.juel.tree.CompiledNode;
 
 public class AstComposite extends AstRightValue {
 
@@ -42,6 +43,22 @@ public class AstComposite extends AstRightValue {
         return b.toString();
     }
 
+    @Override
+    public CompiledNode compile(Bindings bindings) {
+        CompiledNode[] children = new CompiledNode[getCardinality()];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = nodes.get(i).compile(bindings);
+        }
+        CompiledNode compiled = context -> {
+            StringBuilder b = new StringBuilder(16);
+            for (CompiledNode child : children) {
+                b.append(bindings.convert(child.eval(context), String.class));
+            }
+            return b.toString();
+        };
+        return CompiledConstant.fold(compiled, children);
+    }
+
     @Override
     public String toString() {
         return "composite";
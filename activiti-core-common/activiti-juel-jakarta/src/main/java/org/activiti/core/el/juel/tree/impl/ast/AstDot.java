@@ -19,6 +19,7 @@ package org.activiti.core.el.juel.tree.impl.ast;
 import jakarta.el.ELContext;
 import jakarta.el.ELException;
 import org.activiti.core.el.juel.tree.Bindings;
+import org.activiti.core.el.juel.tree.CompiledNode;
 
 public class AstDot extends AstProperty {
 
@@ -44,6 +45,11 @@ public class AstDot extends AstProperty {
         return property;
     }
 
+    @Override
+    protected CompiledNode compileProperty(Bindings bindings) {
+        return new CompiledConstant(property);
+    }
+
     @Override
     public String toString() {
         return ". " + property;
@@ -20,6 +20,7 @@ import jakarta.el.ELContext;
 import jakarta.el.MethodInfo;
 import jakarta.el.ValueReference;
 import org.activiti.core.el.juel.tree.Bindings;
+import org.activiti.core.el.juel.tree.CompiledNode;
 
 public final class AstEval extends AstNode {
 
@@ -55,6 +56,11 @@ public final class AstEval extends AstNode {
         return child.eval(bindings, context);
     }
 
+    @Override
+    public CompiledNode compile(Bindings bindings) {
+        return child.compile(bindings);
+    }
+
     @Override
     public String toString() {
         return (deferred ? "#" : "$") + "{...}";
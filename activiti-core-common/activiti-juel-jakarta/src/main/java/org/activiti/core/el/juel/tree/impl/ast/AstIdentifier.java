@@ -29,6 +29,7 @@ import java.lang.reflect.Method;
 import java.util.Arrays;
 import org.activiti.core.el.juel.misc.LocalMessages;
 import org.activiti.core.el.juel.tree.Bindings;
+import org.activiti.core.el.juel.tree.CompiledNode;
 import org.activiti.core.el.juel.tree.IdentifierNode;
 
 public class AstIdentifier extends AstNode implements IdentifierNode {
@@ -101,6 +102,28 @@ public class AstIdentifier extends AstNode implements IdentifierNode {
         return result;
     }
 
+    @Override
+    public CompiledNode compile(Bindings bindings) {
+        if (bindings.isVariableBound(index)) {
+            return bindings.getVariable(index)::getValue;
+        }
+        return context -> {
+            context.setPropertyResolved(false);
+            Object result = context
+                .getELResolver()
+                .getValue(context, null, name);
+            if (!context.isPropertyResolved()) {
+                throw new PropertyNotFoundException(
+                    LocalMessages.get(
+                        "error.identifier.property.notfound",
+                        name
+                    )
+                );
+            }
+            return result;
+        };
+    }
+
     public void setValue(Bindings bindings, ELContext context, Object value) {
         ValueExpression expression = bindings.getVariable(index);
         if (expression != null) {
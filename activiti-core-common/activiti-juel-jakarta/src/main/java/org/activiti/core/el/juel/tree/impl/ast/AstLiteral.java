@@ -16,8 +16,16 @@
 
 package org.activiti.core.el.juel.tree.impl.ast;
 
+import org.activiti.core.el.juel.tree.Bindings;
+import org.activiti.core.el.juel.tree.CompiledNode;
+
 public abstract class AstLiteral extends AstRightValue {
 
+    @Override
+    public CompiledNode compile(Bindings bindings) {
+        return new CompiledConstant(eval(bindings, null));
+    }
+
     public final int getCardinality() {
         return 0;
     }
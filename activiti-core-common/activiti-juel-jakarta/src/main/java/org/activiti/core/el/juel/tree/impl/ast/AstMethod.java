@@ -24,6 +24,7 @@ import jakarta.el.PropertyNotFoundException;
 import jakarta.el.ValueReference;
 import org.activiti.core.el.juel.misc.LocalMessages;
 import org.activiti.core.el.juel.tree.Bindings;
+import org.activiti.core.el.juel.tree.CompiledNode;
 import org.activiti.core.el.juel.tree.Node;
 
 public class AstMethod extends AstNode {
@@ -137,6 +138,49 @@ public class AstMethod extends AstNode {
         return eval(bindings, context, true);
     }
 
+    @Override
+    public CompiledNode compile(Bindings bindings) {
+        CompiledNode compiledPrefix = property.getPrefix().compile(bindings);
+        CompiledNode compiledMethod = property.compileProperty(bindings);
+        CompiledNode[] compiledParams = params.compileParameters(bindings);
+        return context -> {
+            Object base = compiledPrefix.eval(context);
+            if (base == null) {
+                return null;
+            }
+            Object method = compiledMethod.eval(context);
+            if (method == null) {
+                throw new PropertyNotFoundException(
+                    LocalMessages.get(
+                        "error.property.method.notfound",
+                        "null",
+                        base
+                    )
+                );
+            }
+            String name = bindings.convert(method, String.class);
+
+            context.setPropertyResolved(false);
+            Object[] paramValues = new Object[compiledParams.length];
+            for (int i = 0; i < compiledParams.length; i++) {
+                paramValues[i] = compiledParams[i].eval(context);
+            }
+            Object result = context
+                .getELResolver()
+                .invoke(context, base, name, null, paramValues);
+            if (!context.isPropertyResolved()) {
+                throw new MethodNotFoundException(
+                    LocalMessages.get(
+                        "error.property.method.notfound",
+                        name,
+                        base.getClass()
+                    )
+                );
+            }
+            return result;
+        };
+    }
+
     public Object invoke(
         Bindings bindings,
         ELContext context,
@@ -18,6 +18,7 @@ package org.activiti.core.el.juel.tree.impl.ast;
 
 import jakarta.el.ELContext;
 import org.activiti.core.el.juel.tree.Bindings;
+import org.activiti.core.el.juel.tree.CompiledNode;
 
 public final class AstNested extends AstRightValue {
 
@@ -32,6 +33,11 @@ public final class AstNested extends AstRightValue {
         return child.eval(bindings, context);
     }
 
+    @Override
+    public CompiledNode compile(Bindings bindings) {
+        return child.compile(bindings);
+    }
+
     @Override
     public String toString() {
         return "(...)";
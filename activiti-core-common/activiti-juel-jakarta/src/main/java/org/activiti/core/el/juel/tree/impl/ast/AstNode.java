@@ -20,6 +20,7 @@ import jakarta.el.ELContext;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import org.activiti.core.el.juel.tree.Bindings;
+import org.activiti.core.el.juel.tree.CompiledNode;
 import org.activiti.core.el.juel.tree.ExpressionNode;
 
 public abstract class AstNode implements ExpressionNode {
@@ -46,6 +47,13 @@ public abstract class AstNode implements ExpressionNode {
 
     public abstract Object eval(Bindings bindings, ELContext context);
 
+    /**
+     * Default compilation, delegating to {@link #eval(Bindings, ELContext)}.
+     */
+    public CompiledNode compile(Bindings bindings) {
+        return context -> eval(bindings, context);
+    }
+
     public final String getStructuralId(Bindings bindings) {
         StringBuilder builder = new StringBuilder();
         appendStructure(builder, bindings);
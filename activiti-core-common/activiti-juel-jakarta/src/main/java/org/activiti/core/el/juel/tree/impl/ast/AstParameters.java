@@ -19,6 +19,7 @@ package org.activiti.core.el.juel.tree.impl.ast;
 import jakarta.el.ELContext;
 import java.util.List;
 import org.activiti.core.el.juel.tree.Bindings;
+import org.activiti.core.el.juel.tree.CompiledNode;
 
 public class AstParameters extends AstRightValue {
 
@@ -37,6 +38,17 @@ public class AstParameters extends AstRightValue {
         return result;
     }
 
+    /**
+     * Compile each parameter, see {@link #eval(Bindings, ELContext)}.
+     */
+    public CompiledNode[] compileParameters(Bindings bindings) {
+        CompiledNode[] result = new CompiledNode[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            result[i] = nodes.get(i).compile(bindings);
+        }
+        return result;
+    }
+
     @Override
     public String toString() {
         return "(...)";
@@ -25,7 +25,9 @@ import jakarta.el.ValueReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import org.activiti.core.el.juel.misc.LocalMessages;
+import org.activiti.core.el.juel.misc.MethodCache;
 import org.activiti.core.el.juel.tree.Bindings;
+import org.activiti.core.el.juel.tree.CompiledNode;
 
 public abstract class AstProperty extends AstNode {
 
@@ -53,6 +55,14 @@ public abstract class AstProperty extends AstNode {
     protected abstract Object getProperty(Bindings bindings, ELContext context)
         throws ELException;
 
+    /**
+     * Compile the property part of this node, evaluating to what
+     * {@link #getProperty(Bindings, ELContext)} answers.
+     */
+    protected CompiledNode compileProperty(Bindings bindings) {
+        return context -> getProperty(bindings, context);
+    }
+
     protected AstNode getPrefix() {
         return prefix;
     }
@@ -106,6 +116,36 @@ public abstract class AstProperty extends AstNode {
         return result;
     }
 
+    @Override
+    public CompiledNode compile(Bindings bindings) {
+        CompiledNode compiledPrefix = prefix.compile(bindings);
+        CompiledNode compiledProperty = compileProperty(bindings);
+        return context -> {
+            Object base = compiledPrefix.eval(context);
+            if (base == null) {
+                return null;
+            }
+            Object property = compiledProperty.eval(context);
+            if (property == null && strict) {
+                return null;
+            }
+            context.setPropertyResolved(false);
+            Object result = context
+                .getELResolver()
+                .getValue(context, base, property);
+            if (!context.isPropertyResolved()) {
+                throw new PropertyNotFoundException(
+                    LocalMessages.get(
+                        "error.property.property.notfound",
+                        property,
+                        base
+                    )
+                );
+            }
+            return result;
+        };
+    }
+
     public final boolean isLiteralText() {
         return false;
     }
@@ -245,10 +285,8 @@ public abstract class AstProperty extends AstNode {
         Class<?> returnType,
         Class<?>[] paramTypes
     ) {
-        Method method = null;
-        try {
-            method = clazz.getMethod(name, paramTypes);
-        } catch (NoSuchMethodException e) {
+        Method method = MethodCache.getMethod(clazz, name, paramTypes);
+        if (method == null) {
             throw new MethodNotFoundException(
                 LocalMessages.get("error.property.method.notfound", name, clazz)
             );
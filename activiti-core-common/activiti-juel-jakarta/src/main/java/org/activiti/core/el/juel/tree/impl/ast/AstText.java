@@ -22,6 +22,7 @@ import jakarta.el.MethodInfo;
 import jakarta.el.ValueReference;
 import org.activiti.core.el.juel.misc.LocalMessages;
 import org.activiti.core.el.juel.tree.Bindings;
+import org.activiti.core.el.juel.tree.CompiledNode;
 
 public final class AstText extends AstNode {
 
@@ -72,6 +73,11 @@ public final class AstText extends AstNode {
         return value;
     }
 
+    @Override
+    public CompiledNode compile(Bindings bindings) {
+        return new CompiledConstant(value);
+    }
+
     public MethodInfo getMethodInfo(
         Bindings bindings,
         ELContext context,
@@ -22,6 +22,7 @@ import org.activiti.core.el.juel.misc.BooleanOperations;
 import org.activiti.core.el.juel.misc.NumberOperations;
 import org.activiti.core.el.juel.misc.TypeConverter;
 import org.activiti.core.el.juel.tree.Bindings;
+import org.activiti.core.el.juel.tree.CompiledNode;
 
 public class AstUnary extends AstRightValue {
 
@@ -90,6 +91,18 @@ public class AstUnary extends AstRightValue {
         return operator.eval(bindings, context, child);
     }
 
+    @Override
+    public CompiledNode compile(Bindings bindings) {
+        if (!(operator instanceof SimpleOperator)) {
+            return super.compile(bindings);
+        }
+        SimpleOperator simpleOperator = (SimpleOperator) operator;
+        CompiledNode c = child.compile(bindings);
+        CompiledNode compiled = context ->
+            simpleOperator.apply(bindings, c.eval(context));
+        return CompiledConstant.fold(compiled, c);
+    }
+
     @Override
     public String toString() {
         return "'" + operator.toString() + "'";
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.core.el.juel.tree.impl.ast;
+
+import jakarta.el.ELContext;
+import org.activiti.core.el.juel.tree.CompiledNode;
+
+/**
+ * Compiled literal, or subtree made of literals only.
+ */
+final class CompiledConstant implements CompiledNode {
+
+    private final Object value;
+
+    CompiledConstant(Object value) {
+        this.value = value;
+    }
+
+    @Override
+    public Object eval(ELContext context) {
+        return value;
+    }
+
+    /**
+     * Answer a constant for the given compiled node if all its children are constants, the node itself otherwise.
+     * Nodes failing to evaluate are not folded, so they keep failing at evaluation time.
+     */
+    static CompiledNode fold(CompiledNode node, CompiledNode... children) {
+        for (CompiledNode child : children) {
+            if (!(child instanceof CompiledConstant)) {
+                return node;
+            }
+        }
+        try {
+            return new CompiledConstant(node.eval(null));
+        } catch (RuntimeException e) {
+            return node;
+        }
+    }
+}
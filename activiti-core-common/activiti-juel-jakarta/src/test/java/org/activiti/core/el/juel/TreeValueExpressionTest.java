@@ -533,6 +533,21 @@ public class TreeValueExpressionTest extends TestCase {
         );
     }
 
+    @Test
+    public void testGetValueCompiled() {
+        TreeValueExpression e = new TreeValueExpression(
+            store,
+            null,
+            context.getVariableMapper(),
+            null,
+            "${var_long_1 + 1 == 2 ? property_foo : 'bar'}",
+            String.class
+        );
+        for (int i = 0; i < 100; i++) {
+            assertEquals("foo", e.getValue(context));
+        }
+    }
+
     @Test
     public void testSerialize() throws Exception {
         TreeValueExpression expression = new TreeValueExpression(
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.core.el.juel.misc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.activiti.core.el.juel.test.TestCase;
+import org.junit.jupiter.api.Test;
+
+public class MethodCacheTest extends TestCase {
+
+    public static class Bean {
+
+        public long foo(long value) {
+            return value;
+        }
+
+        public String bar(Object value) {
+            return "bar";
+        }
+
+        public String baz(String value) {
+            return value;
+        }
+
+        public String baz(Integer value) {
+            return "baz";
+        }
+
+        public String qux(String... values) {
+            return "qux";
+        }
+    }
+
+    @Test
+    public void testGetMethod() throws NoSuchMethodException {
+        assertEquals(
+            Bean.class.getMethod("foo", long.class),
+            MethodCache.getMethod(Bean.class, "foo", long.class)
+        );
+        assertSame(
+            MethodCache.getMethod(Bean.class, "foo", long.class),
+            MethodCache.getMethod(Bean.class, "foo", long.class)
+        );
+        assertNull(MethodCache.getMethod(Bean.class, "foo", int.class));
+        assertNull(MethodCache.getMethod(Bean.class, "bad"));
+    }
+
+    @Test
+    public void testFindMethod() throws NoSuchMethodException {
+        assertEquals(
+            Bean.class.getMethod("foo", long.class),
+            MethodCache.findMethod(
+                Bean.class,
+                "foo",
+                new Class<?>[] { Long.class }
+            )
+        );
+        assertEquals(
+            Bean.class.getMethod("bar", Object.class),
+            MethodCache.findMethod(
+                Bean.class,
+                "bar",
+                new Class<?>[] { String.class }
+            )
+        );
+        assertEquals(
+            Bean.class.getMethod("bar", Object.class),
+            MethodCache.findMethod(Bean.class, "bar", new Class<?>[] { null })
+        );
+        // requires coercion
+        assertNull(
+            MethodCache.findMethod(
+                Bean.class,
+                "foo",
+                new Class<?>[] { Integer.class }
+            )
+        );
+        assertNull(
+            MethodCache.findMethod(Bean.class, "foo", new Class<?>[] { null })
+        );
+        // overloaded or varargs
+        assertNull(
+            MethodCache.findMethod(
+                Bean.class,
+                "baz",
+                new Class<?>[] { String.class }
+            )
+        );
+        assertNull(
+            MethodCache.findMethod(
+                Bean.class,
+                "qux",
+                new Class<?>[] { String.class }
+            )
+        );
+    }
+}
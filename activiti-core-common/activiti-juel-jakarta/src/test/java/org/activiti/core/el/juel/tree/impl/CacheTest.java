@@ -68,6 +68,34 @@ public class CacheTest extends TestCase {
         assertEquals(9, cache.size());
     }
 
+    @Test
+    public void testLeastRecentlyUsed() {
+        Cache cache = new Cache(2);
+        cache.put("1", parse("1"));
+        cache.put("2", parse("2"));
+        assertNotNull(cache.get("1"));
+        cache.put("3", parse("3"));
+        assertNotNull(cache.get("1"));
+        assertNull(cache.get("2"));
+        assertNotNull(cache.get("3"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testMetrics() {
+        Cache cache = new Cache(1);
+        assertEquals(0d, cache.getHitRate());
+        assertNull(cache.get("1"));
+        cache.put("1", parse("1"));
+        assertNotNull(cache.get("1"));
+        assertNotNull(cache.get("1"));
+        cache.put("2", parse("2"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2d / 3, cache.getHitRate());
+    }
+
     long testMultiThread(
         final int cacheSize,
         final int numberOfThreads,
@@ -71,6 +71,28 @@ public class AstBinaryTest extends TestCase {
         assertEquals(true, parseNode("${2 >= 1}").eval(bindings, null));
     }
 
+    @Test
+    public void testCompile() {
+        assertEquals(6l, parseNode("${4+2}").compile(bindings).eval(null));
+        assertEquals(2d, parseNode("${4/2}").compile(bindings).eval(null));
+        assertEquals(
+            false,
+            parseNode("${true && false}").compile(bindings).eval(null)
+        );
+        assertEquals(
+            true,
+            parseNode("${true || false}").compile(bindings).eval(null)
+        );
+        assertEquals(true, parseNode("${1 < 2}").compile(bindings).eval(null));
+        assertTrue(
+            parseNode("${(1+2)*3}").compile(bindings) instanceof
+                CompiledConstant
+        );
+        assertFalse(
+            parseNode("${1/x}").compile(bindings) instanceof CompiledConstant
+        );
+    }
+
     @Test
     public void testAppendStructure() {
         StringBuilder s = null;
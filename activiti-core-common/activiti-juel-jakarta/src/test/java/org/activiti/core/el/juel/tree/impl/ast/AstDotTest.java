@@ -88,6 +88,21 @@ public class AstDotTest extends TestCase {
         assertEquals(1l, parseNode("${base.foo}").eval(bindings, context));
     }
 
+    @Test
+    public void testCompile() {
+        try {
+            parseNode("${base.bad}").compile(bindings).eval(context);
+            fail();
+        } catch (ELException e) {}
+        assertEquals(
+            1l,
+            parseNode("${base.foo}").compile(bindings).eval(context)
+        );
+        assertNull(
+            parseNode("${base.nullObject.foo}").compile(bindings).eval(context)
+        );
+    }
+
     @Test
     public void testAppendStructure() {
         StringBuilder s = new StringBuilder();
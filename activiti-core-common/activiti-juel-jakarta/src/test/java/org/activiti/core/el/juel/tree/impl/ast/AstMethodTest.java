@@ -83,6 +83,25 @@ public class AstMethodTest extends TestCase {
         assertEquals(3l, parseNode("${base.bar(3)}").eval(bindings, context));
     }
 
+    @Test
+    public void testCompile() {
+        try {
+            parseNode("${base.bad()}").compile(bindings).eval(context);
+            fail();
+        } catch (MethodNotFoundException e) {}
+        assertEquals(
+            1l,
+            parseNode("${base.bar()}").compile(bindings).eval(context)
+        );
+        assertEquals(
+            3l,
+            parseNode("${base.bar(3)}").compile(bindings).eval(context)
+        );
+        assertNull(
+            parseNode("${base.nullObject.bar()}").compile(bindings).eval(context)
+        );
+    }
+
     @Test
     public void testAppendStructure() {
         StringBuilder s = new StringBuilder();
@@ -62,6 +62,8 @@ public interface BpmnXMLConstants {
   public static final String ELEMENT_POTENTIAL_STARTER = "potentialStarter";
   public static final String ATTRIBUTE_PROCESS_CANDIDATE_USERS = "candidateStarterUsers";
   public static final String ATTRIBUTE_PROCESS_CANDIDATE_GROUPS = "candidateStarterGroups";
+  public static final String ATTRIBUTE_PROCESS_HISTORY_LEVEL = "historyLevel";
+  public static final String ATTRIBUTE_PROCESS_JOB_PRIORITY = "jobPriority";
   public static final String ELEMENT_SUBPROCESS = "subProcess";
   public static final String ATTRIBUTE_TRIGGERED_BY = "triggeredByEvent";
   public static final String ELEMENT_TRANSACTION = "transaction";
@@ -105,6 +107,7 @@ public interface BpmnXMLConstants {
 
   public static final String ATTRIBUTE_ACTIVITY_ASYNCHRONOUS = "async";
   public static final String ATTRIBUTE_ACTIVITY_EXCLUSIVE = "exclusive";
+  public static final String ATTRIBUTE_ACTIVITY_JOB_PRIORITY = "jobPriority";
   public static final String ATTRIBUTE_ACTIVITY_ISFORCOMPENSATION = "isForCompensation";
 
   public static final String ELEMENT_IMPORT = "import";
@@ -69,7 +69,8 @@ public abstract class BaseBpmnXMLConverter implements BpmnXMLConstants {
   protected static final List<ExtensionAttribute> defaultElementAttributes = asList(new ExtensionAttribute(ATTRIBUTE_ID), new ExtensionAttribute(ATTRIBUTE_NAME));
 
   protected static final List<ExtensionAttribute> defaultActivityAttributes = asList(new ExtensionAttribute(ACTIVITI_EXTENSIONS_NAMESPACE, ATTRIBUTE_ACTIVITY_ASYNCHRONOUS),
-      new ExtensionAttribute(ACTIVITI_EXTENSIONS_NAMESPACE, ATTRIBUTE_ACTIVITY_EXCLUSIVE), new ExtensionAttribute(ATTRIBUTE_DEFAULT), new ExtensionAttribute(ACTIVITI_EXTENSIONS_NAMESPACE,
+      new ExtensionAttribute(ACTIVITI_EXTENSIONS_NAMESPACE, ATTRIBUTE_ACTIVITY_EXCLUSIVE), new ExtensionAttribute(ACTIVITI_EXTENSIONS_NAMESPACE, ATTRIBUTE_ACTIVITY_JOB_PRIORITY),
+      new ExtensionAttribute(ATTRIBUTE_DEFAULT), new ExtensionAttribute(ACTIVITI_EXTENSIONS_NAMESPACE,
           ATTRIBUTE_ACTIVITY_ISFORCOMPENSATION));
 
   public void convertToBpmnModel(XMLStreamReader xtr, BpmnModel model, Process activeProcess, List<SubProcess> activeSubProcessList) throws Exception {
@@ -78,6 +79,7 @@ public abstract class BaseBpmnXMLConverter implements BpmnXMLConstants {
     String elementName = xtr.getAttributeValue(null, ATTRIBUTE_NAME);
     boolean async = parseAsync(xtr);
     boolean notExclusive = parseNotExclusive(xtr);
+    String jobPriority = xtr.getAttributeValue(ACTIVITI_EXTENSIONS_NAMESPACE, ATTRIBUTE_ACTIVITY_JOB_PRIORITY);
     String defaultFlow = xtr.getAttributeValue(null, ATTRIBUTE_DEFAULT);
     boolean isForCompensation = parseForCompensation(xtr);
 
@@ -105,6 +107,7 @@ public abstract class BaseBpmnXMLConverter implements BpmnXMLConstants {
         FlowNode flowNode = (FlowNode) currentFlowElement;
         flowNode.setAsynchronous(async);
         flowNode.setNotExclusive(notExclusive);
+        flowNode.setJobPriority(jobPriority);
 
         if (currentFlowElement instanceof Activity) {
 
@@ -159,6 +162,9 @@ public abstract class BaseBpmnXMLConverter implements BpmnXMLConstants {
           writeQualifiedAttribute(ATTRIBUTE_ACTIVITY_EXCLUSIVE, ATTRIBUTE_VALUE_FALSE, xtw);
         }
       }
+      if (StringUtils.isNotEmpty(flowNode.getJobPriority())) {
+        writeQualifiedAttribute(ATTRIBUTE_ACTIVITY_JOB_PRIORITY, flowNode.getJobPriority(), xtw);
+      }
 
       if (baseElement instanceof Activity) {
         final Activity activity = (Activity) baseElement;
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.editor.language.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.FlowNode;
+import org.junit.jupiter.api.Test;
+
+public class JobPriorityConverterTest extends AbstractConverterTest {
+
+  @Test
+  public void convertXMLToModel() throws Exception {
+    BpmnModel bpmnModel = readXMLFile();
+    validateModel(bpmnModel);
+  }
+
+  @Test
+  public void convertModelToXML() throws Exception {
+    BpmnModel bpmnModel = readXMLFile();
+    BpmnModel parsedModel = exportAndReadXMLFile(bpmnModel);
+    validateModel(parsedModel);
+  }
+
+  protected String getResource() {
+    return "jobprioritymodel.bpmn";
+  }
+
+  private void validateModel(BpmnModel model) {
+    FlowNode serviceTask = (FlowNode) model.getMainProcess().getFlowElement("servicetask");
+    assertThat(serviceTask.getJobPriority()).isEqualTo("80");
+    assertThat(serviceTask.getAttributes()).doesNotContainKey("jobPriority");
+
+    FlowNode timer = (FlowNode) model.getMainProcess().getFlowElement("timer");
+    assertThat(timer.getJobPriority()).isEqualTo("30");
+
+    FlowNode endEvent = (FlowNode) model.getMainProcess().getFlowElement("endEvent");
+    assertThat(endEvent.getJobPriority()).isNull();
+  }
+}
@@ -24,6 +24,7 @@ public abstract class FlowNode extends FlowElement {
 
   protected boolean asynchronous;
   protected boolean notExclusive;
+  protected String jobPriority;
 
   protected List<SequenceFlow> incomingFlows = new ArrayList<SequenceFlow>();
   protected List<SequenceFlow> outgoingFlows = new ArrayList<SequenceFlow>();
@@ -58,6 +59,14 @@ public abstract class FlowNode extends FlowElement {
     this.notExclusive = notExclusive;
   }
 
+  public String getJobPriority() {
+    return jobPriority;
+  }
+
+  public void setJobPriority(String jobPriority) {
+    this.jobPriority = jobPriority;
+  }
+
   public Object getBehavior() {
     return behavior;
   }
@@ -86,5 +95,6 @@ public abstract class FlowNode extends FlowElement {
     super.setValues(otherNode);
     setAsynchronous(otherNode.isAsynchronous());
     setNotExclusive(otherNode.isNotExclusive());
+    setJobPriority(otherNode.getJobPriority());
   }
 }
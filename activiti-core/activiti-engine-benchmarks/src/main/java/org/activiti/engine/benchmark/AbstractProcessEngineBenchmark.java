@@ -0,0 +1,105 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.ProcessEngineConfiguration;
+import org.activiti.engine.RepositoryService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.TaskService;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.repository.DeploymentBuilder;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Base class for benchmarks that need a running {@link ProcessEngine}.
+ *
+ * Every benchmark class gets its own embedded H2 in-memory database, created when the trial starts
+ * and dropped when it ends, so results are not influenced by data left behind by other benchmarks.
+ * The async executor is disabled unless a subclass enables it in {@link #configure(ProcessEngineConfigurationImpl)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class AbstractProcessEngineBenchmark {
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected ProcessEngine processEngine;
+  protected RepositoryService repositoryService;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  @Setup(Level.Trial)
+  public void setUpProcessEngine() {
+    processEngineConfiguration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration.createStandaloneInMemProcessEngineConfiguration()
+        .setJdbcUrl("jdbc:h2:mem:" + getClass().getSimpleName() + ";DB_CLOSE_DELAY=-1")
+        .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP)
+        .setAsyncExecutorActivate(false);
+    configure(processEngineConfiguration);
+
+    processEngine = processEngineConfiguration.buildProcessEngine();
+    repositoryService = processEngine.getRepositoryService();
+    runtimeService = processEngine.getRuntimeService();
+    taskService = processEngine.getTaskService();
+
+    String[] resources = getDeploymentResources();
+    if (resources.length > 0) {
+      DeploymentBuilder deploymentBuilder = repositoryService.createDeployment().name(getClass().getSimpleName());
+      for (String resource : resources) {
+        deploymentBuilder.addClasspathResource(resource);
+      }
+      deploymentBuilder.deploy();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownProcessEngine() {
+    if (processEngine != null) {
+      processEngine.close();
+      processEngine = null;
+    }
+  }
+
+  /**
+   * Hook to change the engine configuration before the engine is built.
+   */
+  protected void configure(ProcessEngineConfigurationImpl processEngineConfiguration) {
+  }
+
+  /**
+   * Classpath resources deployed once the engine is built.
+   */
+  protected String[] getDeploymentResources() {
+    return new String[0];
+  }
+
+}
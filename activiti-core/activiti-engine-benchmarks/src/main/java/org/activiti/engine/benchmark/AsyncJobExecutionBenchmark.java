@@ -0,0 +1,64 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+
+/**
+ * Measures end-to-end execution of async continuations through the
+ * {@link org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor}.
+ *
+ * Each invocation starts {@link #PROCESS_INSTANCES} process instances with an async service task
+ * and waits until the async executor has run all of them to completion.
+ */
+public class AsyncJobExecutionBenchmark extends AbstractProcessEngineBenchmark {
+
+  protected static final int PROCESS_INSTANCES = 50;
+
+  @Override
+  protected void configure(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    processEngineConfiguration.setAsyncExecutorActivate(true);
+    processEngineConfiguration.setAsyncExecutorMaxAsyncJobsDuePerAcquisition(PROCESS_INSTANCES);
+    processEngineConfiguration.setAsyncExecutorDefaultAsyncJobAcquireWaitTime(100);
+  }
+
+  @Override
+  protected String[] getDeploymentResources() {
+    return new String[] {"org/activiti/engine/benchmark/asyncServiceTaskProcess.bpmn20.xml"};
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PROCESS_INSTANCES)
+  public void executeAsyncJobs() throws InterruptedException {
+    List<String> processInstanceIds = new ArrayList<>(PROCESS_INSTANCES);
+    for (int i = 0; i < PROCESS_INSTANCES; i++) {
+      processInstanceIds.add(runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess").getId());
+    }
+
+    for (String processInstanceId : processInstanceIds) {
+      while (runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).count() > 0) {
+        Thread.sleep(1);
+      }
+    }
+  }
+
+}
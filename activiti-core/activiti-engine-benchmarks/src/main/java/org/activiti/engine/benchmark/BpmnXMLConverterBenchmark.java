@@ -0,0 +1,73 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.bpmn.converter.BpmnXMLConverter;
+import org.activiti.bpmn.model.BpmnModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BpmnXMLConverter#convertToBpmnModel(org.activiti.bpmn.converter.util.InputStreamProvider, boolean, boolean)}.
+ * No engine is needed, the process XML is read into memory once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BpmnXMLConverterBenchmark {
+
+  protected static final String RESOURCE = "org/activiti/engine/benchmark/orderProcess.bpmn20.xml";
+
+  protected BpmnXMLConverter bpmnXMLConverter;
+  protected byte[] bpmnXml;
+
+  @Setup(Level.Trial)
+  public void readProcessXml() throws IOException {
+    bpmnXMLConverter = new BpmnXMLConverter();
+    try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(RESOURCE)) {
+      bpmnXml = inputStream.readAllBytes();
+    }
+  }
+
+  @Benchmark
+  public BpmnModel convertWithoutSchemaValidation() {
+    return bpmnXMLConverter.convertToBpmnModel(() -> new ByteArrayInputStream(bpmnXml), false, false);
+  }
+
+  @Benchmark
+  public BpmnModel convertWithSchemaValidation() {
+    return bpmnXMLConverter.convertToBpmnModel(() -> new ByteArrayInputStream(bpmnXml), true, false);
+  }
+
+}
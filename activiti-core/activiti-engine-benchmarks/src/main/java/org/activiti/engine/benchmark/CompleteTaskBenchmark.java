@@ -0,0 +1,49 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.benchmark;
+
+import org.activiti.engine.task.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures {@link org.activiti.engine.TaskService#complete(String)} on a user task that ends its process instance.
+ * The process instance holding the task is started outside of the measured section.
+ */
+public class CompleteTaskBenchmark extends AbstractProcessEngineBenchmark {
+
+  protected String taskId;
+
+  @Override
+  protected String[] getDeploymentResources() {
+    return new String[] {"org/activiti/engine/benchmark/oneTaskProcess.bpmn20.xml"};
+  }
+
+  @Setup(Level.Invocation)
+  public void startProcessInstance() {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+    Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+    taskId = task.getId();
+  }
+
+  @Benchmark
+  public void completeTask() {
+    taskService.complete(taskId);
+  }
+
+}
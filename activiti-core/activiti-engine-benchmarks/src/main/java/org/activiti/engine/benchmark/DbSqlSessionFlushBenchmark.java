@@ -0,0 +1,80 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.benchmark;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures {@link org.activiti.engine.impl.db.DbSqlSession#flush()} of a number of freshly inserted entities.
+ *
+ * The measured command inserts {@link #entities} byte array entities and flushes them explicitly,
+ * so the result includes the command context overhead of a minimal command.
+ */
+public class DbSqlSessionFlushBenchmark extends AbstractProcessEngineBenchmark {
+
+  protected static final String BYTE_ARRAY_NAME = "benchmark";
+
+  @Param({"1", "10", "50"})
+  public int entities;
+
+  protected final byte[] bytes = new byte[256];
+
+  @Benchmark
+  public void flushInserts() {
+    processEngineConfiguration.getCommandExecutor().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ByteArrayEntityManager byteArrayEntityManager = commandContext.getByteArrayEntityManager();
+        for (int i = 0; i < entities; i++) {
+          ByteArrayEntity byteArray = byteArrayEntityManager.create();
+          byteArray.setName(BYTE_ARRAY_NAME);
+          byteArray.setBytes(bytes);
+          byteArrayEntityManager.insert(byteArray);
+        }
+        commandContext.getDbSqlSession().flush();
+        return null;
+      }
+    });
+  }
+
+  @TearDown(Level.Iteration)
+  public void deleteInsertedByteArrays() {
+    processEngineConfiguration.getCommandExecutor().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        Connection connection = commandContext.getDbSqlSession().getSqlSession().getConnection();
+        try (Statement statement = connection.createStatement()) {
+          statement.executeUpdate("delete from ACT_GE_BYTEARRAY where NAME_ = '" + BYTE_ARRAY_NAME + "'");
+        } catch (SQLException e) {
+          throw new ActivitiException("Could not delete benchmark byte arrays", e);
+        }
+        return null;
+      }
+    });
+  }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.delegate.Expression;
+import org.activiti.engine.impl.el.ExpressionManager;
+import org.activiti.engine.impl.interceptor.DelegateInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures parsing ({@link ExpressionManager#createExpression(String)}) and evaluation of the kind of
+ * expressions used in gateway conditions, using the expression manager of a fully configured engine.
+ */
+public class ExpressionBenchmark extends AbstractProcessEngineBenchmark {
+
+  protected static final String CONDITION = "${amount > 100 && customer.vip == true}";
+
+  protected ExpressionManager expressionManager;
+  protected DelegateInterceptor delegateInterceptor;
+  protected Expression condition;
+  protected Map<String, Object> variables;
+
+  @Setup(Level.Trial)
+  public void setUpExpression() {
+    expressionManager = processEngineConfiguration.getExpressionManager();
+    delegateInterceptor = processEngineConfiguration.getDelegateInterceptor();
+    condition = expressionManager.createExpression(CONDITION);
+
+    Map<String, Object> customer = new HashMap<>();
+    customer.put("vip", true);
+    variables = new HashMap<>();
+    variables.put("amount", 250);
+    variables.put("customer", customer);
+  }
+
+  @Benchmark
+  public Expression createExpression() {
+    return expressionManager.createExpression(CONDITION);
+  }
+
+  @Benchmark
+  public Object evaluateExpression() {
+    return condition.getValue(expressionManager, delegateInterceptor, variables);
+  }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Measures {@link org.activiti.engine.RuntimeService#startProcessInstanceByKey(String)} for a process
+ * that stops in a wait state right after the start event, and for one that runs straight through to its end event.
+ */
+public class StartProcessInstanceBenchmark extends AbstractProcessEngineBenchmark {
+
+  @Override
+  protected String[] getDeploymentResources() {
+    return new String[] {
+        "org/activiti/engine/benchmark/oneTaskProcess.bpmn20.xml",
+        "org/activiti/engine/benchmark/straightThroughProcess.bpmn20.xml"
+    };
+  }
+
+  @Benchmark
+  public String startOneTaskProcess() {
+    return runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+  }
+
+  @Benchmark
+  public String startStraightThroughProcess() {
+    return runtimeService.startProcessInstanceByKey("straightThroughProcess").getId();
+  }
+
+}
@@ -57,6 +57,18 @@ public interface ActivitiEventDispatcher {
    */
   void dispatchEvent(ActivitiEvent event);
 
+  /**
+   * Allows callers to skip creating an event nobody listens to.
+   *
+   * @param type
+   *          type of the event that is about to be dispatched.
+   * @return true, if dispatching an event of the given type could notify at least one listener. Defaults to true, so dispatchers
+   *         that don't track their listeners keep receiving every event.
+   */
+  default boolean hasEventListeners(ActivitiEventType type) {
+    return true;
+  }
+
   /**
    * @param enabled
    *          true, if event dispatching should be enabled.
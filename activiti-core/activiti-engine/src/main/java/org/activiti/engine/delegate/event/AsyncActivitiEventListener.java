@@ -0,0 +1,30 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.delegate.event;
+
+/**
+ * Marks an {@link ActivitiEventListener} that is not called in the transaction that raised the event.
+ *
+ * The events are handed over once that transaction committed, and are delivered on a dedicated thread, in the order they were raised for the same process instance.
+ * Events of a transaction that rolled back are never delivered. As the transaction is already committed, {@link #isFailOnException()} is ignored:
+ * exceptions thrown by the listener are logged and counted in the metrics of the engine's async event listener executor.
+ *
+ * Only applies to listeners registered on the engine wide event dispatcher, listeners declared in a process definition are always called synchronously.
+ */
+public interface AsyncActivitiEventListener extends ActivitiEventListener {
+
+}
@@ -16,6 +16,7 @@
 
 package org.activiti.engine.delegate.event.impl;
 
+import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.delegate.event.ActivitiEvent;
 import org.activiti.engine.delegate.event.ActivitiEventType;
@@ -26,7 +27,7 @@ import org.activiti.engine.delegate.event.ActivitiEntityEvent;
  *
 
  */
-public class ActivitiEntityEventImpl extends ActivitiEventImpl implements ActivitiEntityEvent {
+public class ActivitiEntityEventImpl extends ActivitiEventImpl implements ActivitiEntityEvent, Cloneable {
 
     protected Object entity;
 
@@ -43,4 +44,21 @@ public class ActivitiEntityEventImpl extends ActivitiEventImpl implements Activi
     public Object getEntity() {
         return entity;
     }
+
+    /**
+     * Creates a copy of this event that holds the given entity instead, e.g. a detached copy of the entity handed to
+     * listeners that are notified on another thread, see {@link AsyncEventListenerExecutor}.
+     */
+    public ActivitiEntityEventImpl copyWithEntity(Object entity) {
+        if (entity == null) {
+            throw new ActivitiIllegalArgumentException("Entity cannot be null.");
+        }
+        try {
+            ActivitiEntityEventImpl copy = (ActivitiEntityEventImpl) clone();
+            copy.entity = entity;
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new ActivitiException("Could not copy " + this, e);
+        }
+    }
 }
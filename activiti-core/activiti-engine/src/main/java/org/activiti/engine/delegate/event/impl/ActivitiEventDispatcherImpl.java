@@ -16,6 +16,8 @@
 
 package org.activiti.engine.delegate.event.impl;
 
+import java.util.EnumSet;
+
 import org.activiti.bpmn.model.BpmnModel;
 import org.activiti.engine.delegate.event.ActivitiEntityEvent;
 import org.activiti.engine.delegate.event.ActivitiEvent;
@@ -37,6 +39,13 @@ public class ActivitiEventDispatcherImpl implements ActivitiEventDispatcher {
   protected ActivitiEventSupport eventSupport;
   protected boolean enabled = true;
 
+  /**
+   * Types for which a parsed process definition declares event listeners. Never shrinks, so it may
+   * over-report after a redeployment, which only costs an event that reaches no listener.
+   * Copy-on-write snapshot, safe to read without locking.
+   */
+  protected volatile EnumSet<ActivitiEventType> processDefinitionListenerTypes = EnumSet.noneOf(ActivitiEventType.class);
+
   public ActivitiEventDispatcherImpl() {
     eventSupport = new ActivitiEventSupport();
   }
@@ -49,6 +58,14 @@ public class ActivitiEventDispatcherImpl implements ActivitiEventDispatcher {
     return enabled;
   }
 
+  public AsyncEventListenerExecutor getAsyncEventListenerExecutor() {
+    return eventSupport.getAsyncEventListenerExecutor();
+  }
+
+  public void setAsyncEventListenerExecutor(AsyncEventListenerExecutor asyncEventListenerExecutor) {
+    eventSupport.setAsyncEventListenerExecutor(asyncEventListenerExecutor);
+  }
+
   @Override
   public void addEventListener(ActivitiEventListener listenerToAdd) {
     eventSupport.addEventListener(listenerToAdd);
@@ -64,6 +81,30 @@ public class ActivitiEventDispatcherImpl implements ActivitiEventDispatcher {
     eventSupport.removeEventListener(listenerToRemove);
   }
 
+  /**
+   * Registers the types a process definition listens to, called when its event listeners are parsed.
+   *
+   * @param types
+   *          types of the event listener, null or empty for all types
+   */
+  public synchronized void addProcessDefinitionListenerTypes(ActivitiEventType... types) {
+    EnumSet<ActivitiEventType> newTypes = EnumSet.copyOf(processDefinitionListenerTypes);
+    if (types == null || types.length == 0) {
+      newTypes.addAll(EnumSet.allOf(ActivitiEventType.class));
+    } else {
+      for (ActivitiEventType type : types) {
+        newTypes.add(type);
+      }
+    }
+    processDefinitionListenerTypes = newTypes;
+  }
+
+  @Override
+  public boolean hasEventListeners(ActivitiEventType type) {
+    // Process definition listeners are notified even when the dispatcher is disabled, see dispatchEvent
+    return (enabled && eventSupport.hasEventListeners(type)) || processDefinitionListenerTypes.contains(type);
+  }
+
   @Override
   public void dispatchEvent(ActivitiEvent event) {
     if (enabled) {
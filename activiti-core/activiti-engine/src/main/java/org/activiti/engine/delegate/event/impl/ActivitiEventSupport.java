@@ -16,7 +16,7 @@
 
 package org.activiti.engine.delegate.event.impl;
 
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -26,6 +26,7 @@ import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.delegate.event.ActivitiEvent;
 import org.activiti.engine.delegate.event.ActivitiEventListener;
 import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.delegate.event.AsyncActivitiEventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,11 +40,21 @@ public class ActivitiEventSupport {
   private static final Logger LOG = LoggerFactory.getLogger(ActivitiEventSupport.class);
 
   protected List<ActivitiEventListener> eventListeners;
-  protected Map<ActivitiEventType, List<ActivitiEventListener>> typedListeners;
+
+  /**
+   * Copy-on-write snapshot: the map is never changed once published, a new map is published when a type gets its first listener.
+   * This allows reading it on every dispatch without locking.
+   */
+  protected volatile Map<ActivitiEventType, List<ActivitiEventListener>> typedListeners;
+
+  /**
+   * When set, {@link AsyncActivitiEventListener}s are notified through this executor, after commit. Otherwise they are called like any other listener.
+   */
+  protected AsyncEventListenerExecutor asyncEventListenerExecutor;
 
   public ActivitiEventSupport() {
     eventListeners = new CopyOnWriteArrayList<ActivitiEventListener>();
-    typedListeners = new HashMap<ActivitiEventType, List<ActivitiEventListener>>();
+    typedListeners = new EnumMap<ActivitiEventType, List<ActivitiEventListener>>(ActivitiEventType.class);
   }
 
   public synchronized void addEventListener(ActivitiEventListener listenerToAdd) {
@@ -78,6 +89,17 @@ public class ActivitiEventSupport {
     }
   }
 
+  /**
+   * @return true, if dispatching an event of the given type would notify at least one listener.
+   */
+  public boolean hasEventListeners(ActivitiEventType type) {
+    if (!eventListeners.isEmpty()) {
+      return true;
+    }
+    List<ActivitiEventListener> typed = typedListeners.get(type);
+    return typed != null && !typed.isEmpty();
+  }
+
   public void dispatchEvent(ActivitiEvent event) {
     if (event == null) {
       throw new ActivitiIllegalArgumentException("Event cannot be null.");
@@ -104,6 +126,11 @@ public class ActivitiEventSupport {
   }
 
   protected void dispatchEvent(ActivitiEvent event, ActivitiEventListener listener) {
+    if (asyncEventListenerExecutor != null && listener instanceof AsyncActivitiEventListener) {
+      asyncEventListenerExecutor.dispatchEvent(event, (AsyncActivitiEventListener) listener);
+      return;
+    }
+
     try {
       listener.onEvent(event);
     } catch (Throwable t) {
@@ -120,13 +147,23 @@ public class ActivitiEventSupport {
   protected synchronized void addTypedEventListener(ActivitiEventListener listener, ActivitiEventType type) {
     List<ActivitiEventListener> listeners = typedListeners.get(type);
     if (listeners == null) {
-      // Add an empty list of listeners for this type
+      // Add an empty list of listeners for this type and publish a new snapshot containing it
       listeners = new CopyOnWriteArrayList<ActivitiEventListener>();
-      typedListeners.put(type, listeners);
+      Map<ActivitiEventType, List<ActivitiEventListener>> newTypedListeners = new EnumMap<ActivitiEventType, List<ActivitiEventListener>>(typedListeners);
+      newTypedListeners.put(type, listeners);
+      typedListeners = newTypedListeners;
     }
 
     if (!listeners.contains(listener)) {
       listeners.add(listener);
     }
   }
+
+  public AsyncEventListenerExecutor getAsyncEventListenerExecutor() {
+    return asyncEventListenerExecutor;
+  }
+
+  public void setAsyncEventListenerExecutor(AsyncEventListenerExecutor asyncEventListenerExecutor) {
+    this.asyncEventListenerExecutor = asyncEventListenerExecutor;
+  }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.delegate.event.impl;
+
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.AsyncActivitiEventListener;
+
+/**
+ * An event waiting to be delivered to an {@link AsyncActivitiEventListener}.
+ */
+public class AsyncEventDelivery {
+
+  protected ActivitiEvent event;
+  protected AsyncActivitiEventListener listener;
+
+  public AsyncEventDelivery(ActivitiEvent event, AsyncActivitiEventListener listener) {
+    this.event = event;
+    this.listener = listener;
+  }
+
+  public ActivitiEvent getEvent() {
+    return event;
+  }
+
+  public AsyncActivitiEventListener getListener() {
+    return listener;
+  }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.delegate.event.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.AsyncActivitiEventListener;
+import org.activiti.engine.impl.cfg.TransactionListener;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * The events raised for {@link AsyncActivitiEventListener}s in one transaction, handed to the {@link AsyncEventListenerExecutor} when it committed.
+ */
+public class AsyncEventDeliveryBatch implements TransactionListener {
+
+  protected AsyncEventListenerExecutor asyncEventListenerExecutor;
+  protected List<AsyncEventDelivery> deliveries = new ArrayList<AsyncEventDelivery>();
+
+  public AsyncEventDeliveryBatch(AsyncEventListenerExecutor asyncEventListenerExecutor) {
+    this.asyncEventListenerExecutor = asyncEventListenerExecutor;
+  }
+
+  public void add(ActivitiEvent event, AsyncActivitiEventListener listener) {
+    deliveries.add(new AsyncEventDelivery(event, listener));
+  }
+
+  @Override
+  public void execute(CommandContext commandContext) {
+    asyncEventListenerExecutor.submit(deliveries);
+  }
+
+  public List<AsyncEventDelivery> getDeliveries() {
+    return deliveries;
+  }
+
+}
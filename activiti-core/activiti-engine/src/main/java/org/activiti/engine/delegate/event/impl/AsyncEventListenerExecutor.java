@@ -0,0 +1,273 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.delegate.event.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.AsyncActivitiEventListener;
+import org.activiti.engine.impl.cfg.TransactionContext;
+import org.activiti.engine.impl.cfg.TransactionState;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.cache.EntityCopier;
+import org.activiti.engine.impl.persistence.entity.Entity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers events to {@link AsyncActivitiEventListener}s after the transaction that raised them committed.
+ *
+ * Deliveries are spread over a fixed number of lanes, each with a bounded queue and a single thread. All events of a process instance go to the same lane,
+ * so they are delivered in the order they were raised. When the queue of a lane is full, the delivery is rejected rather than blocking the committing thread.
+ * Rejected and failed deliveries are logged and reported in {@link #getMetrics()}.
+ *
+ * Entity events are queued with a detached copy of their entity, taken when the event is raised: the listener sees the state
+ * of the entity at that time, and the entity of the transaction is not shared with the lane threads. Relations of the entity
+ * that were not loaded by then can't be loaded by the listener, as there is no command context on the lane threads; it should
+ * use their ids instead.
+ *
+ * The lane threads are started on the first delivery and stopped when the engine is closed. Deliveries submitted after that
+ * are rejected.
+ */
+public class AsyncEventListenerExecutor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncEventListenerExecutor.class);
+
+  protected static final String DELIVERY_BATCH_ATTRIBUTE = "asyncEventDeliveryBatch";
+
+  protected int lanes;
+  protected int queueSize;
+  protected long pollIntervalInMillis = 1000L;
+
+  protected List<BlockingQueue<AsyncEventDelivery>> laneQueues;
+  protected List<Thread> laneThreads;
+  protected volatile boolean isActive;
+  protected volatile boolean isShutdown;
+
+  protected ConcurrentMap<Class<?>, EntityCopier> entityCopiers = new ConcurrentHashMap<Class<?>, EntityCopier>();
+
+  protected LongAdder submittedCount = new LongAdder();
+  protected LongAdder deliveredCount = new LongAdder();
+  protected LongAdder failedCount = new LongAdder();
+  protected LongAdder rejectedCount = new LongAdder();
+
+  public AsyncEventListenerExecutor(int lanes, int queueSize) {
+    this.lanes = lanes;
+    this.queueSize = queueSize;
+    this.laneQueues = new ArrayList<BlockingQueue<AsyncEventDelivery>>(lanes);
+    for (int i = 0; i < lanes; i++) {
+      laneQueues.add(new ArrayBlockingQueue<AsyncEventDelivery>(queueSize));
+    }
+  }
+
+  public synchronized void start() {
+    if (isActive || isShutdown) {
+      return;
+    }
+    isActive = true;
+    laneThreads = new ArrayList<Thread>(lanes);
+    for (int i = 0; i < lanes; i++) {
+      final BlockingQueue<AsyncEventDelivery> laneQueue = laneQueues.get(i);
+      Thread laneThread = new Thread(new Runnable() {
+
+        @Override
+        public void run() {
+          deliver(laneQueue);
+        }
+
+      }, "activiti-async-event-listener-" + i);
+      laneThread.setDaemon(true);
+      laneThread.start();
+      laneThreads.add(laneThread);
+    }
+  }
+
+  /**
+   * Stops the lane threads, after they delivered the events still queued. The executor can't be started again.
+   */
+  public synchronized void shutdown() {
+    isShutdown = true;
+    if (!isActive) {
+      return;
+    }
+    isActive = false;
+    for (Thread laneThread : laneThreads) {
+      try {
+        laneThread.join();
+      } catch (InterruptedException e) {
+        LOG.warn("Interrupted while waiting for the async event listener threads to terminate", e);
+      }
+    }
+    laneThreads = null;
+  }
+
+  /**
+   * Called instead of the listener when an event is dispatched. When called in a transaction, the event is only
+   * queued once it committed, otherwise right away.
+   */
+  public void dispatchEvent(ActivitiEvent event, AsyncActivitiEventListener listener) {
+    event = snapshot(event);
+
+    CommandContext commandContext = Context.getCommandContext();
+    TransactionContext transactionContext = Context.getTransactionContext();
+    if (commandContext == null || transactionContext == null) {
+      submit(Collections.singletonList(new AsyncEventDelivery(event, listener)));
+      return;
+    }
+
+    AsyncEventDeliveryBatch deliveryBatch = (AsyncEventDeliveryBatch) commandContext.getAttribute(DELIVERY_BATCH_ATTRIBUTE);
+    if (deliveryBatch == null) {
+      deliveryBatch = new AsyncEventDeliveryBatch(this);
+      commandContext.addAttribute(DELIVERY_BATCH_ATTRIBUTE, deliveryBatch);
+      transactionContext.addTransactionListener(TransactionState.COMMITTED, deliveryBatch);
+    }
+    deliveryBatch.add(event, listener);
+  }
+
+  public void submit(List<AsyncEventDelivery> deliveries) {
+    // Threads are only started once there is something to deliver, most engines don't have async listeners
+    if (!isActive) {
+      start();
+    }
+
+    for (AsyncEventDelivery delivery : deliveries) {
+      submittedCount.increment();
+      if (isShutdown) {
+        rejectedCount.increment();
+        LOG.warn("Async event listener executor shut down, event {} not delivered to {}", delivery.getEvent().getType(), delivery.getListener());
+      } else if (!laneQueues.get(getLane(delivery.getEvent())).offer(delivery)) {
+        rejectedCount.increment();
+        LOG.warn("Async event listener queue full, event {} not delivered to {}", delivery.getEvent().getType(), delivery.getListener());
+      }
+    }
+  }
+
+  /**
+   * Replaces the entity of an entity event by a detached copy, so the listener doesn't use the entity of the transaction
+   * on a lane thread.
+   */
+  protected ActivitiEvent snapshot(ActivitiEvent event) {
+    if (!(event instanceof ActivitiEntityEventImpl) || !(((ActivitiEntityEventImpl) event).getEntity() instanceof Entity)) {
+      return event;
+    }
+
+    Entity entity = (Entity) ((ActivitiEntityEventImpl) event).getEntity();
+    try {
+      EntityCopier entityCopier = entityCopiers.computeIfAbsent(entity.getClass(), EntityCopier::new);
+      return ((ActivitiEntityEventImpl) event).copyWithEntity(entityCopier.copy(entity));
+    } catch (ActivitiException e) {
+      LOG.warn("Could not copy the entity of event {}, the async event listener gets the entity of the transaction", event.getType(), e);
+      return event;
+    }
+  }
+
+  protected int getLane(ActivitiEvent event) {
+    String processInstanceId = event.getProcessInstanceId();
+    if (processInstanceId == null) {
+      return 0;
+    }
+    return (processInstanceId.hashCode() & Integer.MAX_VALUE) % lanes;
+  }
+
+  protected void deliver(BlockingQueue<AsyncEventDelivery> laneQueue) {
+    while (isActive) {
+      try {
+        AsyncEventDelivery delivery = laneQueue.poll(pollIntervalInMillis, TimeUnit.MILLISECONDS);
+        if (delivery != null) {
+          deliver(delivery);
+        }
+      } catch (InterruptedException e) {
+        LOG.info("Async event listener thread interrupted, stopping");
+        return;
+      }
+    }
+
+    // Deliver what was committed before the shutdown
+    AsyncEventDelivery delivery = laneQueue.poll();
+    while (delivery != null) {
+      deliver(delivery);
+      delivery = laneQueue.poll();
+    }
+  }
+
+  protected void deliver(AsyncEventDelivery delivery) {
+    try {
+      delivery.getListener().onEvent(delivery.getEvent());
+      deliveredCount.increment();
+    } catch (Throwable t) {
+      deliveryFailed(delivery, t);
+    }
+  }
+
+  /**
+   * Subclasses can override this to report failed deliveries elsewhere, e.g. to a dead letter destination.
+   */
+  protected void deliveryFailed(AsyncEventDelivery delivery, Throwable t) {
+    failedCount.increment();
+    LOG.warn("Exception while delivering event " + delivery.getEvent().getType() + " to async event listener " + delivery.getListener(), t);
+  }
+
+  public Map<String, Object> getMetrics() {
+    int queuedDeliveries = 0;
+    for (BlockingQueue<AsyncEventDelivery> laneQueue : laneQueues) {
+      queuedDeliveries += laneQueue.size();
+    }
+
+    Map<String, Object> metrics = new HashMap<String, Object>();
+    metrics.put("lanes", lanes);
+    metrics.put("queueSize", queueSize);
+    metrics.put("queued", queuedDeliveries);
+    metrics.put("submitted", submittedCount.sum());
+    metrics.put("delivered", deliveredCount.sum());
+    metrics.put("failed", failedCount.sum());
+    metrics.put("rejected", rejectedCount.sum());
+    return metrics;
+  }
+
+  public boolean isActive() {
+    return isActive;
+  }
+
+  public int getLanes() {
+    return lanes;
+  }
+
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  public long getPollIntervalInMillis() {
+    return pollIntervalInMillis;
+  }
+
+  public void setPollIntervalInMillis(long pollIntervalInMillis) {
+    this.pollIntervalInMillis = pollIntervalInMillis;
+  }
+
+}
@@ -31,6 +31,7 @@ import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cfg.TransactionContextFactory;
+import org.activiti.engine.impl.db.PrefetchingDbIdGenerator;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.interceptor.SessionFactory;
 import org.slf4j.Logger;
@@ -80,10 +81,18 @@ public class ProcessEngineImpl implements ProcessEngine {
 
     ProcessEngines.registerProcessEngine(this);
 
+    if (processEngineConfiguration.getDeploymentManager() != null) {
+      processEngineConfiguration.getDeploymentManager().registerCacheInvalidationListener();
+    }
+
     if (asyncExecutor != null && asyncExecutor.isAutoActivate()) {
       asyncExecutor.start();
     }
 
+    if (processEngineConfiguration.getAsyncEventLogWriter() != null) {
+      processEngineConfiguration.getAsyncEventLogWriter().start();
+    }
+
     if (processEngineConfiguration.getProcessEngineLifecycleListener() != null) {
       processEngineConfiguration.getProcessEngineLifecycleListener().onProcessEngineBuilt(this);
     }
@@ -97,8 +106,24 @@ public class ProcessEngineImpl implements ProcessEngine {
       asyncExecutor.shutdown();
     }
 
+    if (processEngineConfiguration.getAsyncEventLogWriter() != null) {
+      processEngineConfiguration.getAsyncEventLogWriter().shutdown();
+    }
+
+    if (processEngineConfiguration.getAsyncEventListenerExecutor() != null) {
+      processEngineConfiguration.getAsyncEventListenerExecutor().shutdown();
+    }
+
+    if (processEngineConfiguration.getDeploymentManager() != null) {
+      processEngineConfiguration.getDeploymentManager().unregisterCacheInvalidationListener();
+    }
+
     commandExecutor.execute(processEngineConfiguration.getSchemaCommandConfig(), new SchemaOperationProcessEngineClose());
 
+    if (processEngineConfiguration.getIdGenerator() instanceof PrefetchingDbIdGenerator) {
+      ((PrefetchingDbIdGenerator) processEngineConfiguration.getIdGenerator()).shutdown();
+    }
+
     if (processEngineConfiguration.getProcessEngineLifecycleListener() != null) {
       processEngineConfiguration.getProcessEngineLifecycleListener().onProcessEngineClosed(this);
     }
@@ -119,7 +119,8 @@ public class TakeOutgoingSequenceFlowsOperation extends AbstractOperation {
             commandContext.getHistoryManager().recordActivityEnd(execution,
                                                                  null);
 
-            if (!(execution.getCurrentFlowElement() instanceof SubProcess) && !(flowNode.getBehavior() instanceof MultiInstanceActivityBehavior)) {
+            if (!(execution.getCurrentFlowElement() instanceof SubProcess) && !(flowNode.getBehavior() instanceof MultiInstanceActivityBehavior)
+                    && Context.getProcessEngineConfiguration().getEventDispatcher().hasEventListeners(ActivitiEventType.ACTIVITY_COMPLETED)) {
                 Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
                         ActivitiEventBuilder.createActivityEvent(ActivitiEventType.ACTIVITY_COMPLETED,
                                                                  execution,
@@ -16,7 +16,9 @@
 
 package org.activiti.engine.impl.asyncexecutor;
 
+import java.util.Collection;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import org.activiti.engine.ActivitiOptimisticLockingException;
 import org.activiti.engine.impl.cmd.AcquireJobsCmd;
@@ -34,15 +36,36 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
   private static Logger log = LoggerFactory.getLogger(AcquireAsyncJobsDueRunnable.class);
 
   protected final AsyncExecutor asyncExecutor;
+  protected final JobAcquisitionController acquisitionController;
 
   protected volatile boolean isInterrupted;
   protected final Object MONITOR = new Object();
   protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
 
+  /** Set when a wake up was requested while not waiting, so the next wait is skipped */
+  protected boolean isWakeUpRequested;
+
   protected long millisToWait;
 
+  /** Tenants of which no jobs are acquired, as the executor has no capacity left for them, see {@link TenantFairJobQueue} */
+  protected Supplier<? extends Collection<String>> excludedTenantIds;
+
   public AcquireAsyncJobsDueRunnable(AsyncExecutor asyncExecutor) {
+    this(asyncExecutor, createDefaultAcquisitionController(asyncExecutor));
+  }
+
+  public AcquireAsyncJobsDueRunnable(AsyncExecutor asyncExecutor, JobAcquisitionController acquisitionController) {
     this.asyncExecutor = asyncExecutor;
+    this.acquisitionController = acquisitionController;
+  }
+
+  protected static JobAcquisitionController createDefaultAcquisitionController(AsyncExecutor asyncExecutor) {
+    JobAcquisitionController acquisitionController = new JobAcquisitionController("async job");
+    acquisitionController.setMinBatchSize(asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
+    acquisitionController.setMaxBatchSize(asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
+    acquisitionController.setMaxWaitTimeInMillis(asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis());
+    acquisitionController.setQueueFullWaitTimeInMillis(asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis());
+    return acquisitionController;
   }
 
   public synchronized void run() {
@@ -54,7 +77,8 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     while (!isInterrupted) {
 
       try {
-        AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+        AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, acquisitionController.nextBatchSize(),
+            excludedTenantIds != null ? excludedTenantIds.get() : null));
 
         boolean allJobsSuccessfullyOffered = true;
         for (JobEntity job : acquiredJobs.getJobs()) {
@@ -64,19 +88,9 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
           }
         }
 
-        // If all jobs are executed, we check if we got back the amount we expected
-        // If not, we will wait, as to not query the database needlessly.
-        // Otherwise, we set the wait time to 0, as to query again immediately.
-        millisToWait = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
-        int jobsAcquired = acquiredJobs.size();
-        if (jobsAcquired >= asyncExecutor.getMaxAsyncJobsDuePerAcquisition()) {
-          millisToWait = 0;
-        }
-
-        // If the queue was full, we wait too (even if we got enough jobs back), as not overload the queue
-        if (millisToWait == 0 && !allJobsSuccessfullyOffered) {
-          millisToWait = asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
-        }
+        // The controller checks if we got back the amount we expected and if the queue could take all jobs.
+        // If not, we will wait, as to not query the database needlessly or overload the queue.
+        millisToWait = acquisitionController.jobsAcquired(acquiredJobs.size(), allJobsSuccessfullyOffered);
 
       } catch (ActivitiOptimisticLockingException optimisticLockingException) {
         if (log.isDebugEnabled()) {
@@ -86,9 +100,10 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
               + "You can ignore this message if you indeed have multiple async executor acquisition threads running against the same database. " + "Exception message: {}",
               optimisticLockingException.getMessage());
         }
+        millisToWait = acquisitionController.optimisticLockingFailure();
       } catch (Throwable e) {
         log.error("exception during async job acquisition: {}", e.getMessage(), e);
-        millisToWait = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+        millisToWait = acquisitionController.acquisitionFailed();
       }
 
       if (millisToWait > 0) {
@@ -97,10 +112,11 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
             log.debug("async job acquisition thread sleeping for {} millis", millisToWait);
           }
           synchronized (MONITOR) {
-            if (!isInterrupted) {
+            if (!isInterrupted && !isWakeUpRequested) {
               isWaiting.set(true);
               MONITOR.wait(millisToWait);
             }
+            isWakeUpRequested = false;
           }
 
           if (log.isDebugEnabled()) {
@@ -128,6 +144,31 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     }
   }
 
+  /**
+   * Makes the acquisition thread look for jobs right away,
+   * instead of waiting until the current wait time has passed.
+   */
+  public void wakeUp() {
+    synchronized (MONITOR) {
+      isWakeUpRequested = true;
+      if (isWaiting.compareAndSet(true, false)) {
+        MONITOR.notifyAll();
+      }
+    }
+  }
+
+  public JobAcquisitionController getAcquisitionController() {
+    return acquisitionController;
+  }
+
+  public Supplier<? extends Collection<String>> getExcludedTenantIds() {
+    return excludedTenantIds;
+  }
+
+  public void setExcludedTenantIds(Supplier<? extends Collection<String>> excludedTenantIds) {
+    this.excludedTenantIds = excludedTenantIds;
+  }
+
   public long getMillisToWait() {
     return millisToWait;
   }
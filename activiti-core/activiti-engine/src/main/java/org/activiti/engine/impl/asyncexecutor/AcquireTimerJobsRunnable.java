@@ -16,6 +16,8 @@
 
 package org.activiti.engine.impl.asyncexecutor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.activiti.engine.ActivitiOptimisticLockingException;
@@ -37,6 +39,7 @@ public class AcquireTimerJobsRunnable implements Runnable {
 
   protected final AsyncExecutor asyncExecutor;
   protected final JobManager jobManager;
+  protected final JobAcquisitionController acquisitionController;
 
   protected volatile boolean isInterrupted;
   protected final Object MONITOR = new Object();
@@ -44,9 +47,34 @@ public class AcquireTimerJobsRunnable implements Runnable {
 
   protected long millisToWait;
 
+  /**
+   * When > 0, the timers due within this time are acquired ahead of their due date and kept in the {@link #timerWheel},
+   * which moves them to the executable jobs at their due date.
+   */
+  protected long lookAheadTimeInMillis;
+  protected TimerWheel<TimerJobEntity> timerWheel;
+
+  /** No timers are acquired ahead while the timer wheel holds this many timers */
+  protected int maxTimerJobsInWheel = 1000;
+
+  protected long nextAcquisitionTime;
+
   public AcquireTimerJobsRunnable(AsyncExecutor asyncExecutor, JobManager jobManager) {
+    this(asyncExecutor, jobManager, createDefaultAcquisitionController(asyncExecutor));
+  }
+
+  public AcquireTimerJobsRunnable(AsyncExecutor asyncExecutor, JobManager jobManager, JobAcquisitionController acquisitionController) {
     this.asyncExecutor = asyncExecutor;
     this.jobManager = jobManager;
+    this.acquisitionController = acquisitionController;
+  }
+
+  protected static JobAcquisitionController createDefaultAcquisitionController(AsyncExecutor asyncExecutor) {
+    JobAcquisitionController acquisitionController = new JobAcquisitionController("timer job");
+    acquisitionController.setMinBatchSize(asyncExecutor.getMaxTimerJobsPerAcquisition());
+    acquisitionController.setMaxBatchSize(asyncExecutor.getMaxTimerJobsPerAcquisition());
+    acquisitionController.setMaxWaitTimeInMillis(asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis());
+    return acquisitionController;
   }
 
   public synchronized void run() {
@@ -57,49 +85,25 @@ public class AcquireTimerJobsRunnable implements Runnable {
 
     while (!isInterrupted) {
 
-      try {
-        final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
-
-        commandExecutor.execute(new Command<Void>() {
-
-          @Override
-          public Void execute(CommandContext commandContext) {
-            for (TimerJobEntity job : acquiredJobs.getJobs()) {
-              jobManager.moveTimerJobToExecutableJob(job);
-            }
-            return null;
-          }
-        });
-
-        // if all jobs were executed
-        millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
-        int jobsAcquired = acquiredJobs.size();
-        if (jobsAcquired >= asyncExecutor.getMaxTimerJobsPerAcquisition()) {
-          millisToWait = 0;
-        }
+      if (timerWheel != null) {
+        fireDueTimerJobs(commandExecutor);
+      }
 
-      } catch (ActivitiOptimisticLockingException optimisticLockingException) {
-        if (log.isDebugEnabled()) {
-          log.debug("Optimistic locking exception during timer job acquisition. If you have multiple timer executors running against the same database, "
-              + "this exception means that this thread tried to acquire a timer job, which already was acquired by another timer executor acquisition thread."
-              + "This is expected behavior in a clustered environment. "
-              + "You can ignore this message if you indeed have multiple timer executor acquisition threads running against the same database. " + "Exception message: {}",
-              optimisticLockingException.getMessage());
-        }
-      } catch (Throwable e) {
-        log.error("exception during timer job acquisition: {}", e.getMessage(), e);
-        millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
+      if (timerWheel == null || getCurrentTime() >= nextAcquisitionTime) {
+        millisToWait = acquireTimerJobs(commandExecutor);
+        nextAcquisitionTime = getCurrentTime() + millisToWait;
       }
 
-      if (millisToWait > 0) {
+      long waitTime = getWaitTime();
+      if (waitTime > 0) {
         try {
           if (log.isDebugEnabled()) {
-            log.debug("timer job acquisition thread sleeping for {} millis", millisToWait);
+            log.debug("timer job acquisition thread sleeping for {} millis", waitTime);
           }
           synchronized (MONITOR) {
             if (!isInterrupted) {
               isWaiting.set(true);
-              MONITOR.wait(millisToWait);
+              MONITOR.wait(waitTime);
             }
           }
 
@@ -116,9 +120,114 @@ public class AcquireTimerJobsRunnable implements Runnable {
       }
     }
 
+    if (timerWheel != null) {
+      // The timers left are locked until their lock expires, after which they are reset and acquired again
+      timerWheel.clear();
+    }
+
     log.info("{} stopped async job due acquisition");
   }
 
+  /**
+   * @return the time to wait before the next acquisition.
+   */
+  protected long acquireTimerJobs(CommandExecutor commandExecutor) {
+    try {
+      long lookAhead = timerWheel != null && timerWheel.size() < maxTimerJobsInWheel ? lookAheadTimeInMillis : 0L;
+      final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor, acquisitionController.nextBatchSize(), lookAhead));
+      final List<TimerJobEntity> dueJobs = scheduleTimerJobs(acquiredJobs);
+
+      commandExecutor.execute(new Command<Void>() {
+
+        @Override
+        public Void execute(CommandContext commandContext) {
+          for (TimerJobEntity job : dueJobs) {
+            jobManager.moveTimerJobToExecutableJob(job);
+          }
+          return null;
+        }
+      });
+
+      // if all jobs were executed
+      return acquisitionController.jobsAcquired(acquiredJobs.size(), true);
+
+    } catch (ActivitiOptimisticLockingException optimisticLockingException) {
+      if (log.isDebugEnabled()) {
+        log.debug("Optimistic locking exception during timer job acquisition. If you have multiple timer executors running against the same database, "
+            + "this exception means that this thread tried to acquire a timer job, which already was acquired by another timer executor acquisition thread."
+            + "This is expected behavior in a clustered environment. "
+            + "You can ignore this message if you indeed have multiple timer executor acquisition threads running against the same database. " + "Exception message: {}",
+            optimisticLockingException.getMessage());
+      }
+      return acquisitionController.optimisticLockingFailure();
+    } catch (Throwable e) {
+      log.error("exception during timer job acquisition: {}", e.getMessage(), e);
+      return acquisitionController.acquisitionFailed();
+    }
+  }
+
+  /**
+   * Puts the timer jobs that are not due yet in the timer wheel.
+   *
+   * @return the timer jobs that are due now.
+   */
+  protected List<TimerJobEntity> scheduleTimerJobs(AcquiredTimerJobEntities acquiredJobs) {
+    if (timerWheel == null) {
+      return new ArrayList<TimerJobEntity>(acquiredJobs.getJobs());
+    }
+
+    List<TimerJobEntity> dueJobs = new ArrayList<TimerJobEntity>();
+    for (TimerJobEntity job : acquiredJobs.getJobs()) {
+      if (job.getDuedate() == null || !timerWheel.add(job, job.getDuedate().getTime())) {
+        dueJobs.add(job);
+      }
+    }
+    return dueJobs;
+  }
+
+  /**
+   * Moves the timer jobs of the timer wheel that are due to the executable jobs, each in its own transaction,
+   * as some of them might have been deleted or changed since they were acquired.
+   */
+  protected void fireDueTimerJobs(CommandExecutor commandExecutor) {
+    for (final TimerJobEntity job : timerWheel.advance(getCurrentTime())) {
+      try {
+        commandExecutor.execute(new Command<Void>() {
+
+          @Override
+          public Void execute(CommandContext commandContext) {
+            jobManager.moveTimerJobToExecutableJob(job);
+            return null;
+          }
+        });
+      } catch (ActivitiOptimisticLockingException optimisticLockingException) {
+        log.debug("Timer job {} was changed or deleted since it was acquired, it is not moved to the executable jobs", job.getId());
+      } catch (Throwable e) {
+        log.error("exception while moving timer job {} to the executable jobs: {}", job.getId(), e.getMessage(), e);
+      }
+    }
+  }
+
+  /**
+   * @return the time to wait until the next acquisition or until the next timers of the timer wheel are due.
+   */
+  protected long getWaitTime() {
+    if (timerWheel == null) {
+      return millisToWait;
+    }
+    long now = getCurrentTime();
+    long waitTime = nextAcquisitionTime - now;
+    long nextAdvanceTime = timerWheel.getNextAdvanceTime();
+    if (nextAdvanceTime >= 0) {
+      waitTime = Math.min(waitTime, nextAdvanceTime - now);
+    }
+    return waitTime;
+  }
+
+  protected long getCurrentTime() {
+    return asyncExecutor.getProcessEngineConfiguration().getClock().getCurrentTime().getTime();
+  }
+
   public void stop() {
     synchronized (MONITOR) {
       isInterrupted = true;
@@ -128,6 +237,35 @@ public class AcquireTimerJobsRunnable implements Runnable {
     }
   }
 
+  public JobAcquisitionController getAcquisitionController() {
+    return acquisitionController;
+  }
+
+  public long getLookAheadTimeInMillis() {
+    return lookAheadTimeInMillis;
+  }
+
+  /**
+   * Enables acquiring the timers due within the given time ahead, firing them from a timer wheel with the given tick.
+   * Disabled when the look ahead time is 0.
+   */
+  public void setLookAhead(long lookAheadTimeInMillis, long tickInMillis) {
+    this.lookAheadTimeInMillis = lookAheadTimeInMillis;
+    this.timerWheel = lookAheadTimeInMillis > 0 ? new TimerWheel<TimerJobEntity>(tickInMillis, 512, getCurrentTime()) : null;
+  }
+
+  public TimerWheel<TimerJobEntity> getTimerWheel() {
+    return timerWheel;
+  }
+
+  public int getMaxTimerJobsInWheel() {
+    return maxTimerJobsInWheel;
+  }
+
+  public void setMaxTimerJobsInWheel(int maxTimerJobsInWheel) {
+    this.maxTimerJobsInWheel = maxTimerJobsInWheel;
+  }
+
   public long getMillisToWait() {
     return millisToWait;
   }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import org.activiti.engine.impl.cfg.TransactionContext;
+import org.activiti.engine.impl.cfg.TransactionState;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.JobsAvailableNotification;
+import org.activiti.engine.runtime.Job;
+
+/**
+ * Unlocks one batch of expired jobs and one batch of expired timer jobs, each with a single update statement.
+ * When a lock owner is given, the jobs locked by that owner are unlocked, whether their lock expired or not.
+ *
+ * Returns the number of jobs and timer jobs that were unlocked. When jobs were unlocked, the {@link JobNotificationChannel}
+ * is notified once the transaction committed, so idle acquisition threads pick them up right away.
+ */
+public class BulkResetExpiredJobsCmd implements Command<Integer> {
+
+  protected String lockOwner;
+  protected int batchSize;
+
+  public BulkResetExpiredJobsCmd(int batchSize) {
+    this(null, batchSize);
+  }
+
+  public BulkResetExpiredJobsCmd(String lockOwner, int batchSize) {
+    this.lockOwner = lockOwner;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public Integer execute(CommandContext commandContext) {
+    int resetJobCount = commandContext.getJobEntityManager().bulkResetExpiredJobs(lockOwner, batchSize);
+    int resetTimerJobCount = commandContext.getTimerJobEntityManager().bulkResetExpiredTimerJobs(lockOwner, batchSize);
+
+    if (resetJobCount > 0) {
+      notifyJobsAvailable(commandContext);
+    }
+    return resetJobCount + resetTimerJobCount;
+  }
+
+  protected void notifyJobsAvailable(CommandContext commandContext) {
+    JobNotificationChannel jobNotificationChannel = commandContext.getProcessEngineConfiguration().getJobNotificationChannel();
+    TransactionContext transactionContext = commandContext.getTransactionContext() != null ? commandContext.getTransactionContext() : Context.getTransactionContext();
+    if (jobNotificationChannel != null && transactionContext != null) {
+      transactionContext.addTransactionListener(TransactionState.COMMITTED, new JobsAvailableNotification(jobNotificationChannel, Job.JOB_TYPE_MESSAGE));
+    }
+  }
+
+}
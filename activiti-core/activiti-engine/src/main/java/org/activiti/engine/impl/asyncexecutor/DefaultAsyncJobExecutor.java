@@ -16,7 +16,10 @@
 
 package org.activiti.engine.impl.asyncexecutor;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -25,7 +28,10 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.ActivitiOptimisticLockingException;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cmd.RenewJobLockCmd;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
@@ -67,6 +73,37 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   /** The executor service used for job execution */
   protected ExecutorService executorService;
 
+  /**
+   * When true, each job is executed on its own virtual thread instead of on the thread pool.
+   * The pool and queue settings are then not used: at most {@link #maxConcurrentVirtualThreadJobs} jobs
+   * are executed at the same time, more jobs are rejected as if the queue was full.
+   */
+  protected boolean virtualThreadExecution;
+
+  /** The maximum number of jobs executing at the same time when {@link #virtualThreadExecution} is true */
+  protected int maxConcurrentVirtualThreadJobs = 256;
+
+  /**
+   * When true, the thread pool queue is a {@link TenantFairJobQueue}: jobs are executed in weighted round robin over
+   * the tenants and a tenant can only fill its share of the queue, so one tenant cannot starve the others.
+   * Not used with {@link #virtualThreadExecution} or when a {@link #threadPoolQueue} is set.
+   * The thread pool then gets {@link #maxPoolSize} core threads, as extra threads would execute the jobs refused
+   * by the queue.
+   */
+  protected boolean tenantFairScheduling;
+
+  /**
+   * When true, exclusive jobs of a process instance that already has an exclusive job executing on this node
+   * are chained behind it instead of being executed concurrently and failing to lock the process instance,
+   * see {@link ExclusiveJobSerialExecutor}. At most {@link #queueSize} jobs are chained.
+   */
+  protected boolean exclusiveJobSerialExecution;
+
+  protected ExclusiveJobSerialExecutor exclusiveJobSerialExecutor;
+
+  /** The weights of the tenants when {@link #tenantFairScheduling} is true, tenants not in this map have weight 1 */
+  protected Map<String, Integer> tenantWeights = new HashMap<String, Integer>();
+
   /**
    * The time (in seconds) that is waited to gracefully shut down the threadpool used for job execution
    */
@@ -82,6 +119,10 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
 
   protected ExecuteAsyncRunnableFactory executeAsyncRunnableFactory;
 
+  /** Channel on which other engines announce committed jobs, so acquisition does not need to wait for the next poll */
+  protected JobNotificationChannel jobNotificationChannel;
+  protected JobNotificationListener jobNotificationListener;
+
   protected boolean isAutoActivate;
   protected boolean isActive;
   protected boolean isMessageQueueMode;
@@ -92,6 +133,26 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   protected int defaultAsyncJobAcquireWaitTimeInMillis = 10 * 1000;
   protected int defaultQueueSizeFullWaitTime = 0;
 
+  /**
+   * When true, the acquisition threads adapt the number of jobs acquired per query and the wait time between queries
+   * to the backlog, the free queue capacity and the optimistic locking failures, see {@link JobAcquisitionController}.
+   * The max jobs per acquisition settings are then the minimum batch size.
+   */
+  protected boolean adaptiveAcquisition;
+  protected int adaptiveAcquisitionMaxJobsPerAcquisition = 256;
+  protected int adaptiveAcquisitionMinWaitTimeInMillis = 100;
+
+  /**
+   * When > 0, the timer acquisition thread also acquires the timers due within this time and moves them to the executable
+   * jobs at their due date, from a {@link TimerWheel} with a tick of {@link #timerWheelTickInMillis}, instead of when it
+   * finds them due on one of its queries. Should be larger than {@link #defaultTimerJobAcquireWaitTimeInMillis}.
+   */
+  protected int timerLookAheadTimeInMillis;
+  protected int timerWheelTickInMillis = 50;
+
+  protected JobAcquisitionController timerJobAcquisitionController;
+  protected JobAcquisitionController asyncJobAcquisitionController;
+
   protected String lockOwner = UUID.randomUUID().toString();
   protected int timerLockTimeInMillis = 5 * 60 * 1000;
   protected int asyncJobLockTimeInMillis = 5 * 60 * 1000;
@@ -99,6 +160,8 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
 
   protected int resetExpiredJobsInterval = 60 * 1000;
   protected int resetExpiredJobsPageSize = 3;
+  protected boolean resetExpiredJobsBulk;
+  protected int resetExpiredJobsBatchSize = 500;
 
   // Job queue used when async executor is not yet started and jobs are already added.
   // This is mainly used for testing purpose.
@@ -114,12 +177,13 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
       return true;
     }
 
-    Runnable runnable = null;
     if (isActive) {
-      runnable = createRunnableForJob(job);
-
       try {
-        executorService.execute(runnable);
+        if (exclusiveJobSerialExecutor != null && exclusiveJobSerialExecutor.isSerialized(job)) {
+          executeSerializedJob(job);
+        } else {
+          executorService.execute(createRunnableForJob(job));
+        }
       } catch (RejectedExecutionException e) {
 
         // When a RejectedExecutionException is caught, this means that the queue for holding the jobs
@@ -132,18 +196,7 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
         // after the async executor has been hinted that a new async job is created)
         // or not (when executed in the acquire thread runnable)
 
-        CommandContext commandContext = Context.getCommandContext();
-        if (commandContext != null) {
-          commandContext.getJobManager().unacquire(job);
-
-        } else {
-          processEngineConfiguration.getCommandExecutor().execute(new Command<Void>() {
-            public Void execute(CommandContext commandContext) {
-              commandContext.getJobManager().unacquire(job);
-              return null;
-            }
-          });
-        }
+        unacquireJob(job);
 
         // Job queue full, returning true so (if wanted) the acquiring can be throttled
         return false;
@@ -156,6 +209,55 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     return true;
   }
 
+  /**
+   * Chains the exclusive job behind the job of the same process instance executing on this node,
+   * or executes it (and the jobs chained behind it later on) when there is none.
+   */
+  protected void executeSerializedJob(Job job) {
+    if (exclusiveJobSerialExecutor.chain(job)) {
+      return;
+    }
+
+    try {
+      executorService.execute(exclusiveJobSerialExecutor.createRunnable(job, this::createRunnableForJob, this::renewChainedJobLock));
+    } catch (RejectedExecutionException e) {
+      // Jobs chained in the meantime would otherwise wait for a job that is never executed
+      for (Job chainedJob : exclusiveJobSerialExecutor.release(job.getProcessInstanceId())) {
+        unacquireJob(chainedJob);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Renews the lock of a job that waited in a chain of the {@link ExclusiveJobSerialExecutor}.
+   *
+   * @return false when the job is no longer locked by this executor, eg. because it was reset as expired.
+   */
+  protected boolean renewChainedJobLock(Job job) {
+    try {
+      return processEngineConfiguration.getCommandExecutor().execute(new RenewJobLockCmd(job.getId(), lockOwner, asyncJobLockTimeInMillis));
+    } catch (ActivitiOptimisticLockingException e) {
+      log.debug("Could not renew the lock of chained job {}, it was changed concurrently", job.getId());
+      return false;
+    }
+  }
+
+  protected void unacquireJob(final Job job) {
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext != null) {
+      commandContext.getJobManager().unacquire(job);
+
+    } else {
+      processEngineConfiguration.getCommandExecutor().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          commandContext.getJobManager().unacquire(job);
+          return null;
+        }
+      });
+    }
+  }
+
   protected Runnable createRunnableForJob(final Job job) {
     if (executeAsyncRunnableFactory == null) {
       return new ExecuteAsyncRunnable(job, processEngineConfiguration);
@@ -173,20 +275,31 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     log.info("Starting up the default async job executor [{}].", getClass().getName());
 
     if (timerJobRunnable == null) {
-      timerJobRunnable = new AcquireTimerJobsRunnable(this, processEngineConfiguration.getJobManager());
+      timerJobAcquisitionController = createJobAcquisitionController("timer job", maxTimerJobsPerAcquisition, defaultTimerJobAcquireWaitTimeInMillis);
+      timerJobRunnable = new AcquireTimerJobsRunnable(this, processEngineConfiguration.getJobManager(), timerJobAcquisitionController);
+      if (timerLookAheadTimeInMillis > 0) {
+        timerJobRunnable.setLookAhead(timerLookAheadTimeInMillis, timerWheelTickInMillis);
+      }
     }
 
     if (resetExpiredJobsRunnable == null) {
-      resetExpiredJobsRunnable = new ResetExpiredJobsRunnable(this);
+      resetExpiredJobsRunnable = createResetExpiredJobsRunnable();
     }
 
     if (!isMessageQueueMode && asyncJobsDueRunnable == null) {
-      asyncJobsDueRunnable = new AcquireAsyncJobsDueRunnable(this);
+      asyncJobAcquisitionController = createJobAcquisitionController("async job", maxAsyncJobsDuePerAcquisition, defaultAsyncJobAcquireWaitTimeInMillis);
+      asyncJobAcquisitionController.setQueueFullWaitTimeInMillis(defaultQueueSizeFullWaitTime);
+      asyncJobsDueRunnable = new AcquireAsyncJobsDueRunnable(this, asyncJobAcquisitionController);
     }
 
     if (!isMessageQueueMode) {
       initAsyncJobExecutionThreadPool();
+      initExclusiveJobSerialExecutor();
+      initJobAcquisitionCapacity(asyncJobAcquisitionController);
+      initJobAcquisitionCapacity(timerJobAcquisitionController);
+      initTenantFairAcquisition();
       startJobAcquisitionThread();
+      registerJobNotificationListener();
     }
 
     startTimerAcquisitionThread();
@@ -197,6 +310,52 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     executeTemporaryJobs();
   }
 
+  protected JobAcquisitionController createJobAcquisitionController(String name, int maxJobsPerAcquisition, int acquireWaitTimeInMillis) {
+    JobAcquisitionController acquisitionController = new JobAcquisitionController(name);
+    acquisitionController.setAdaptive(adaptiveAcquisition);
+    acquisitionController.setMinBatchSize(maxJobsPerAcquisition);
+    acquisitionController.setMaxBatchSize(adaptiveAcquisition ? Math.max(maxJobsPerAcquisition, adaptiveAcquisitionMaxJobsPerAcquisition) : maxJobsPerAcquisition);
+    acquisitionController.setMinWaitTimeInMillis(Math.min(adaptiveAcquisitionMinWaitTimeInMillis, acquireWaitTimeInMillis));
+    acquisitionController.setMaxWaitTimeInMillis(acquireWaitTimeInMillis);
+    return acquisitionController;
+  }
+
+  protected void initJobAcquisitionCapacity(JobAcquisitionController acquisitionController) {
+    if (acquisitionController == null) {
+      return;
+    }
+    if (executorService instanceof VirtualThreadJobExecutorService) {
+      VirtualThreadJobExecutorService virtualThreadExecutorService = (VirtualThreadJobExecutorService) executorService;
+      acquisitionController.setRemainingCapacity(virtualThreadExecutorService::getAvailablePermits);
+    } else {
+      acquisitionController.setThreadPoolQueue(threadPoolQueue);
+    }
+  }
+
+  protected void initExclusiveJobSerialExecutor() {
+    if (exclusiveJobSerialExecution && exclusiveJobSerialExecutor == null) {
+      exclusiveJobSerialExecutor = new ExclusiveJobSerialExecutor(queueSize);
+    }
+  }
+
+  protected void initTenantFairAcquisition() {
+    if (asyncJobsDueRunnable != null && threadPoolQueue instanceof TenantFairJobQueue && !(executorService instanceof VirtualThreadJobExecutorService)) {
+      TenantFairJobQueue tenantFairJobQueue = (TenantFairJobQueue) threadPoolQueue;
+      asyncJobsDueRunnable.setExcludedTenantIds(tenantFairJobQueue::getSaturatedTenantIds);
+    }
+  }
+
+  /**
+   * @return per tenant id, the queue depth and wait times of the jobs waiting for execution,
+   *         empty when the thread pool queue is not a {@link TenantFairJobQueue}.
+   */
+  public Map<String, Map<String, Object>> getTenantQueueMetrics() {
+    if (threadPoolQueue instanceof TenantFairJobQueue) {
+      return ((TenantFairJobQueue) threadPoolQueue).getMetrics();
+    }
+    return Collections.emptyMap();
+  }
+
   protected void executeTemporaryJobs() {
     while (!temporaryJobQueue.isEmpty()) {
       Job job = temporaryJobQueue.pop();
@@ -211,6 +370,8 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     }
     log.info("Shutting down the default async job executor [{}].", getClass().getName());
 
+    unregisterJobNotificationListener();
+
     if (timerJobRunnable != null) {
       timerJobRunnable.stop();
     }
@@ -230,16 +391,45 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     asyncJobsDueRunnable = null;
     resetExpiredJobsRunnable = null;
 
+    if (exclusiveJobSerialExecutor != null) {
+      // Chained jobs that weren't executed before the shutdown would otherwise stay locked until their lock expires
+      for (Job chainedJob : exclusiveJobSerialExecutor.clear()) {
+        try {
+          unacquireJob(chainedJob);
+        } catch (Throwable t) {
+          log.warn("Could not unacquire chained job {} on shutdown", chainedJob.getId(), t);
+        }
+      }
+    }
+
     isActive = false;
   }
 
   protected void initAsyncJobExecutionThreadPool() {
+    if (virtualThreadExecution) {
+      if (executorService == null) {
+        log.info("Creating virtual thread executor service executing at most {} jobs concurrently", maxConcurrentVirtualThreadJobs);
+        executorService = new VirtualThreadJobExecutorService(maxConcurrentVirtualThreadJobs);
+      }
+      return;
+    }
+
     if (threadPoolQueue == null) {
-      log.info("Creating thread pool queue of size {}", queueSize);
-      threadPoolQueue = new ArrayBlockingQueue<Runnable>(queueSize);
+      if (tenantFairScheduling) {
+        log.info("Creating tenant fair thread pool queue of size {}", queueSize);
+        threadPoolQueue = new TenantFairJobQueue(queueSize, tenantWeights);
+      } else {
+        log.info("Creating thread pool queue of size {}", queueSize);
+        threadPoolQueue = new ArrayBlockingQueue<Runnable>(queueSize);
+      }
     }
 
     if (executorService == null) {
+      if (threadPoolQueue instanceof TenantFairJobQueue && corePoolSize < maxPoolSize) {
+        // The thread pool would start an extra thread for every job refused by the queue, executing it above the tenant share
+        log.info("Raising corePoolSize {} to maxPoolSize {} for the tenant fair thread pool queue", corePoolSize, maxPoolSize);
+        corePoolSize = maxPoolSize;
+      }
       log.info("Creating executor service with corePoolSize {}, maxPoolSize {} and keepAliveTime {}", corePoolSize, maxPoolSize, keepAliveTime);
 
       BasicThreadFactory threadFactory = new BasicThreadFactory.Builder().namingPattern("activiti-async-job-executor-thread-%d").build();
@@ -304,6 +494,36 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     }
   }
 
+  protected void registerJobNotificationListener() {
+    if (jobNotificationChannel == null && processEngineConfiguration != null) {
+      jobNotificationChannel = processEngineConfiguration.getJobNotificationChannel();
+    }
+
+    if (jobNotificationChannel != null && jobNotificationListener == null) {
+      final AcquireAsyncJobsDueRunnable runnable = asyncJobsDueRunnable;
+      jobNotificationListener = new JobNotificationListener() {
+        public void jobsAvailable(String jobType) {
+          runnable.wakeUp();
+        }
+
+        public void jobsAvailable(String jobType, String publisher) {
+          // Jobs committed by this engine were handed to this executor already
+          if (!lockOwner.equals(publisher)) {
+            runnable.wakeUp();
+          }
+        }
+      };
+      jobNotificationChannel.addListener(jobNotificationListener);
+    }
+  }
+
+  protected void unregisterJobNotificationListener() {
+    if (jobNotificationChannel != null && jobNotificationListener != null) {
+      jobNotificationChannel.removeListener(jobNotificationListener);
+    }
+    jobNotificationListener = null;
+  }
+
   /** Starts the reset expired jobs thread */
   protected void startResetExpiredJobsThread() {
     if (resetExpiredJobThread == null) {
@@ -325,6 +545,27 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     }
   }
 
+  protected ResetExpiredJobsRunnable createResetExpiredJobsRunnable() {
+    ResetExpiredJobsRunnable runnable = new ResetExpiredJobsRunnable(this);
+    runnable.setBulkReset(resetExpiredJobsBulk);
+    runnable.setBulkResetBatchSize(resetExpiredJobsBatchSize);
+    return runnable;
+  }
+
+  /**
+   * Unlocks all jobs and timer jobs locked by the given lock owner, without waiting for their locks to expire.
+   * Meant to be called as soon as the node with that lock owner is known to be down.
+   *
+   * @return the number of jobs and timer jobs that were unlocked
+   */
+  public int resetJobsOfLockOwner(String lockOwner) {
+    if (lockOwner == null) {
+      throw new ActivitiIllegalArgumentException("lockOwner is null");
+    }
+    ResetExpiredJobsRunnable runnable = resetExpiredJobsRunnable != null ? resetExpiredJobsRunnable : createResetExpiredJobsRunnable();
+    return runnable.resetJobsInBulk(lockOwner);
+  }
+
   public void applyConfig(ProcessEngineConfigurationImpl processEngineConfiguration){
     isMessageQueueMode = processEngineConfiguration.isAsyncExecutorIsMessageQueueMode();
     applyThreadPoolConfig(processEngineConfiguration);
@@ -332,17 +573,25 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
 
     defaultTimerJobAcquireWaitTimeInMillis = processEngineConfiguration.getAsyncExecutorDefaultTimerJobAcquireWaitTime();
     defaultAsyncJobAcquireWaitTimeInMillis = processEngineConfiguration.getAsyncExecutorDefaultAsyncJobAcquireWaitTime();
+    timerLookAheadTimeInMillis = processEngineConfiguration.getAsyncExecutorTimerLookAheadTime();
+    timerWheelTickInMillis = processEngineConfiguration.getAsyncExecutorTimerWheelTick();
 
     applyLockConfig(processEngineConfiguration);
 
     resetExpiredJobsInterval = processEngineConfiguration.getAsyncExecutorResetExpiredJobsInterval();
     resetExpiredJobsPageSize = processEngineConfiguration.getAsyncExecutorResetExpiredJobsPageSize();
+    resetExpiredJobsBulk = processEngineConfiguration.isAsyncExecutorResetExpiredJobsBulk();
+    resetExpiredJobsBatchSize = processEngineConfiguration.getAsyncExecutorResetExpiredJobsBatchSize();
 
     secondsToWaitOnShutdown = processEngineConfiguration.getAsyncExecutorSecondsToWaitOnShutdown();
 
     maxAsyncJobsDuePerAcquisition = processEngineConfiguration.getAsyncExecutorMaxAsyncJobsDuePerAcquisition();
     maxTimerJobsPerAcquisition = processEngineConfiguration.getAsyncExecutorMaxTimerJobsPerAcquisition();
 
+    adaptiveAcquisition = processEngineConfiguration.isAsyncExecutorAdaptiveAcquisition();
+    adaptiveAcquisitionMaxJobsPerAcquisition = processEngineConfiguration.getAsyncExecutorAdaptiveAcquisitionMaxJobsPerAcquisition();
+    adaptiveAcquisitionMinWaitTimeInMillis = processEngineConfiguration.getAsyncExecutorAdaptiveAcquisitionMinWaitTime();
+
     retryWaitTimeInMillis = processEngineConfiguration.getAsyncFailedJobWaitTime();
   }
 
@@ -366,6 +615,13 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     corePoolSize = processEngineConfiguration.getAsyncExecutorCorePoolSize();
     maxPoolSize = processEngineConfiguration.getAsyncExecutorMaxPoolSize();
     keepAliveTime = processEngineConfiguration.getAsyncExecutorThreadKeepAliveTime();
+    virtualThreadExecution = processEngineConfiguration.isAsyncExecutorVirtualThreadExecution();
+    maxConcurrentVirtualThreadJobs = processEngineConfiguration.getAsyncExecutorMaxConcurrentVirtualThreadJobs();
+    exclusiveJobSerialExecution = processEngineConfiguration.isAsyncExecutorExclusiveJobSerialExecution();
+    tenantFairScheduling = processEngineConfiguration.isAsyncExecutorTenantFairScheduling();
+    if (processEngineConfiguration.getAsyncExecutorTenantWeights() != null) {
+      tenantWeights = processEngineConfiguration.getAsyncExecutorTenantWeights();
+    }
   }
 
   /* getters and setters */
@@ -431,6 +687,54 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     this.queueSize = queueSize;
   }
 
+  public boolean isVirtualThreadExecution() {
+    return virtualThreadExecution;
+  }
+
+  public void setVirtualThreadExecution(boolean virtualThreadExecution) {
+    this.virtualThreadExecution = virtualThreadExecution;
+  }
+
+  public int getMaxConcurrentVirtualThreadJobs() {
+    return maxConcurrentVirtualThreadJobs;
+  }
+
+  public void setMaxConcurrentVirtualThreadJobs(int maxConcurrentVirtualThreadJobs) {
+    this.maxConcurrentVirtualThreadJobs = maxConcurrentVirtualThreadJobs;
+  }
+
+  public boolean isExclusiveJobSerialExecution() {
+    return exclusiveJobSerialExecution;
+  }
+
+  public void setExclusiveJobSerialExecution(boolean exclusiveJobSerialExecution) {
+    this.exclusiveJobSerialExecution = exclusiveJobSerialExecution;
+  }
+
+  public ExclusiveJobSerialExecutor getExclusiveJobSerialExecutor() {
+    return exclusiveJobSerialExecutor;
+  }
+
+  public void setExclusiveJobSerialExecutor(ExclusiveJobSerialExecutor exclusiveJobSerialExecutor) {
+    this.exclusiveJobSerialExecutor = exclusiveJobSerialExecutor;
+  }
+
+  public boolean isTenantFairScheduling() {
+    return tenantFairScheduling;
+  }
+
+  public void setTenantFairScheduling(boolean tenantFairScheduling) {
+    this.tenantFairScheduling = tenantFairScheduling;
+  }
+
+  public Map<String, Integer> getTenantWeights() {
+    return tenantWeights;
+  }
+
+  public void setTenantWeights(Map<String, Integer> tenantWeights) {
+    this.tenantWeights = tenantWeights;
+  }
+
   public int getCorePoolSize() {
     return corePoolSize;
   }
@@ -547,6 +851,54 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     this.defaultQueueSizeFullWaitTime = defaultQueueSizeFullWaitTime;
   }
 
+  public boolean isAdaptiveAcquisition() {
+    return adaptiveAcquisition;
+  }
+
+  public void setAdaptiveAcquisition(boolean adaptiveAcquisition) {
+    this.adaptiveAcquisition = adaptiveAcquisition;
+  }
+
+  public int getAdaptiveAcquisitionMaxJobsPerAcquisition() {
+    return adaptiveAcquisitionMaxJobsPerAcquisition;
+  }
+
+  public void setAdaptiveAcquisitionMaxJobsPerAcquisition(int adaptiveAcquisitionMaxJobsPerAcquisition) {
+    this.adaptiveAcquisitionMaxJobsPerAcquisition = adaptiveAcquisitionMaxJobsPerAcquisition;
+  }
+
+  public int getAdaptiveAcquisitionMinWaitTimeInMillis() {
+    return adaptiveAcquisitionMinWaitTimeInMillis;
+  }
+
+  public void setAdaptiveAcquisitionMinWaitTimeInMillis(int adaptiveAcquisitionMinWaitTimeInMillis) {
+    this.adaptiveAcquisitionMinWaitTimeInMillis = adaptiveAcquisitionMinWaitTimeInMillis;
+  }
+
+  public int getTimerLookAheadTimeInMillis() {
+    return timerLookAheadTimeInMillis;
+  }
+
+  public void setTimerLookAheadTimeInMillis(int timerLookAheadTimeInMillis) {
+    this.timerLookAheadTimeInMillis = timerLookAheadTimeInMillis;
+  }
+
+  public int getTimerWheelTickInMillis() {
+    return timerWheelTickInMillis;
+  }
+
+  public void setTimerWheelTickInMillis(int timerWheelTickInMillis) {
+    this.timerWheelTickInMillis = timerWheelTickInMillis;
+  }
+
+  public JobAcquisitionController getTimerJobAcquisitionController() {
+    return timerJobAcquisitionController;
+  }
+
+  public JobAcquisitionController getAsyncJobAcquisitionController() {
+    return asyncJobAcquisitionController;
+  }
+
   public void setAsyncJobsDueRunnable(AcquireAsyncJobsDueRunnable asyncJobsDueRunnable) {
     this.asyncJobsDueRunnable = asyncJobsDueRunnable;
   }
@@ -579,6 +931,30 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     this.resetExpiredJobsPageSize = resetExpiredJobsPageSize;
   }
 
+  public boolean isResetExpiredJobsBulk() {
+    return resetExpiredJobsBulk;
+  }
+
+  public void setResetExpiredJobsBulk(boolean resetExpiredJobsBulk) {
+    this.resetExpiredJobsBulk = resetExpiredJobsBulk;
+  }
+
+  public int getResetExpiredJobsBatchSize() {
+    return resetExpiredJobsBatchSize;
+  }
+
+  public void setResetExpiredJobsBatchSize(int resetExpiredJobsBatchSize) {
+    this.resetExpiredJobsBatchSize = resetExpiredJobsBatchSize;
+  }
+
+  public JobNotificationChannel getJobNotificationChannel() {
+    return jobNotificationChannel;
+  }
+
+  public void setJobNotificationChannel(JobNotificationChannel jobNotificationChannel) {
+    this.jobNotificationChannel = jobNotificationChannel;
+  }
+
   public ExecuteAsyncRunnableFactory getExecuteAsyncRunnableFactory() {
     return executeAsyncRunnableFactory;
   }
@@ -46,6 +46,7 @@ import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.jobexecutor.AsyncContinuationJobHandler;
 import org.activiti.engine.impl.jobexecutor.AsyncJobAddedNotification;
 import org.activiti.engine.impl.jobexecutor.JobHandler;
+import org.activiti.engine.impl.jobexecutor.JobsAvailableNotification;
 import org.activiti.engine.impl.jobexecutor.TimerEventHandler;
 import org.activiti.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.activiti.engine.impl.jobexecutor.TriggerTimerEventJobHandler;
@@ -58,6 +59,7 @@ import org.activiti.engine.impl.persistence.entity.SuspendedJobEntity;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntityManager;
 import org.activiti.engine.impl.util.ProcessDefinitionUtil;
+import org.activiti.engine.impl.util.JobPriorityUtil;
 import org.activiti.engine.impl.util.TimerUtil;
 import org.activiti.engine.runtime.Job;
 import org.apache.commons.lang3.StringUtils;
@@ -68,6 +70,8 @@ public class DefaultJobManager implements JobManager {
 
   private static Logger logger = LoggerFactory.getLogger(DefaultJobManager.class);
 
+  protected static final String JOBS_AVAILABLE_NOTIFICATION_ATTRIBUTE = DefaultJobManager.class.getName() + ".jobsAvailableNotification";
+
   protected ProcessEngineConfigurationImpl processEngineConfiguration;
 
   public DefaultJobManager() {
@@ -91,6 +95,17 @@ public class DefaultJobManager implements JobManager {
     return jobEntity;
   }
 
+  @Override
+  public JobEntity createAsyncHistoryJob(String historyByteArrayId) {
+    JobEntity asyncHistoryJob = JobManager.super.createAsyncHistoryJob(historyByteArrayId);
+
+    if (isAsyncExecutorActive()) {
+      lockAsyncJob(asyncHistoryJob);
+    }
+
+    return asyncHistoryJob;
+  }
+
   @Override
   public void scheduleAsyncJob(JobEntity jobEntity) {
     processEngineConfiguration.getJobEntityManager().insert(jobEntity);
@@ -102,6 +117,9 @@ public class DefaultJobManager implements JobManager {
     if (isAsyncExecutorActive()) {
       hintAsyncExecutor(jobEntity);
     }
+
+    // The async executors of other engines are told there is a job to acquire, the local one ignores its own notification
+    notifyJobsAvailable(jobEntity);
   }
 
   @Override
@@ -423,7 +441,11 @@ public class DefaultJobManager implements JobManager {
 
   protected void hintAsyncExecutor(JobEntity job) {
     AsyncJobAddedNotification jobAddedNotification = new AsyncJobAddedNotification(job, getAsyncExecutor());
-    TransactionContext transactionContext = Context.getTransactionContext();
+    TransactionContext transactionContext = getTransactionContext();
+    if (transactionContext == null) {
+      // without a transaction to wait for, the job is left to the regular acquisition
+      return;
+    }
 
     transactionContext.addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
         @Override
@@ -433,6 +455,35 @@ public class DefaultJobManager implements JobManager {
     });
   }
 
+  protected void notifyJobsAvailable(JobEntity job) {
+    JobNotificationChannel jobNotificationChannel = processEngineConfiguration.getJobNotificationChannel();
+    CommandContext commandContext = getCommandContext();
+    TransactionContext transactionContext = getTransactionContext();
+    if (jobNotificationChannel == null || commandContext == null || transactionContext == null) {
+      return;
+    }
+
+    // One notification per transaction is enough to wake up the acquisition threads
+    if (commandContext.getAttribute(JOBS_AVAILABLE_NOTIFICATION_ATTRIBUTE) == null) {
+      commandContext.addAttribute(JOBS_AVAILABLE_NOTIFICATION_ATTRIBUTE, Boolean.TRUE);
+      String publisher = isAsyncExecutorActive() ? getAsyncExecutor().getLockOwner() : null;
+      transactionContext.addTransactionListener(TransactionState.COMMITTED,
+          new JobsAvailableNotification(jobNotificationChannel, job.getJobType(), publisher));
+    }
+  }
+
+  /**
+   * Jobs can be scheduled while the command context flushes its sessions, when the thread-local
+   * transaction context is already removed, so the one kept by the command context is used first.
+   */
+  protected TransactionContext getTransactionContext() {
+    CommandContext commandContext = getCommandContext();
+    if (commandContext != null && commandContext.getTransactionContext() != null) {
+      return commandContext.getTransactionContext();
+    }
+    return Context.getTransactionContext();
+  }
+
   protected JobEntity internalCreateAsyncJob(ExecutionEntity execution, boolean exclusive) {
     JobEntity asyncJob = processEngineConfiguration.getJobEntityManager().create();
     fillDefaultAsyncJobInfo(asyncJob, execution, exclusive);
@@ -442,14 +493,16 @@ public class DefaultJobManager implements JobManager {
   protected JobEntity internalCreateLockedAsyncJob(ExecutionEntity execution, boolean exclusive) {
     JobEntity asyncJob = processEngineConfiguration.getJobEntityManager().create();
     fillDefaultAsyncJobInfo(asyncJob, execution, exclusive);
+    lockAsyncJob(asyncJob);
+    return asyncJob;
+  }
 
+  protected void lockAsyncJob(JobEntity asyncJob) {
     GregorianCalendar gregorianCalendar = new GregorianCalendar();
     gregorianCalendar.setTime(processEngineConfiguration.getClock().getCurrentTime());
     gregorianCalendar.add(Calendar.MILLISECOND, getAsyncExecutor().getAsyncJobLockTimeInMillis());
     asyncJob.setLockExpirationTime(gregorianCalendar.getTime());
     asyncJob.setLockOwner(getAsyncExecutor().getLockOwner());
-
-    return asyncJob;
   }
 
   protected void fillDefaultAsyncJobInfo(JobEntity jobEntity, ExecutionEntity execution, boolean exclusive) {
@@ -460,6 +513,7 @@ public class DefaultJobManager implements JobManager {
     jobEntity.setProcessInstanceId(execution.getProcessInstanceId());
     jobEntity.setProcessDefinitionId(execution.getProcessDefinitionId());
     jobEntity.setExclusive(exclusive);
+    jobEntity.setPriority(JobPriorityUtil.getJobPriority(execution.getCurrentFlowElement(), execution.getProcessDefinitionId()));
     jobEntity.setJobHandlerType(AsyncContinuationJobHandler.TYPE);
 
     // Inherit tenant id (if applicable)
@@ -505,6 +559,7 @@ public class DefaultJobManager implements JobManager {
     copyToJob.setDuedate(copyFromJob.getDuedate());
     copyToJob.setEndDate(copyFromJob.getEndDate());
     copyToJob.setExclusive(copyFromJob.isExclusive());
+    copyToJob.setPriority(copyFromJob.getPriority());
     copyToJob.setExecutionId(copyFromJob.getExecutionId());
     copyToJob.setId(copyFromJob.getId());
     copyToJob.setJobHandlerConfiguration(copyFromJob.getJobHandlerConfiguration());
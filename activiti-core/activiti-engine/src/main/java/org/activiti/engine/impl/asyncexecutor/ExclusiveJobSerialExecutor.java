@@ -0,0 +1,226 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.activiti.engine.runtime.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the exclusive jobs of a process instance one after the other on the node that acquired them.
+ *
+ * Without it, exclusive jobs of the same process instance acquired together (eg. the async continuations of a
+ * parallel multi instance) are executed concurrently, and all but one fail to lock the process instance in the
+ * {@link org.activiti.engine.impl.cmd.LockExclusiveJobCmd} and are retried later.
+ * Here, when an exclusive job of the process instance is already executing on this node, the job is chained behind it
+ * and executed by the same thread once the previous one is done. The database lock on the process instance is
+ * still taken for every job, to be safe against other nodes.
+ *
+ * At most {@link #getMaxChainedJobs()} jobs are chained, more jobs are rejected with a {@link RejectedExecutionException},
+ * which makes the {@link DefaultAsyncJobExecutor} unacquire them, the same way as when its queue is full.
+ *
+ * Chained jobs keep the lock taken when they were acquired while they wait, so the lock of a chained job is renewed
+ * when it is taken from the chain, see {@link #createRunnable(Job, Function, Predicate)}. Otherwise a chain outliving
+ * the async job lock time would get its jobs reset and executed a second time by another node.
+ */
+public class ExclusiveJobSerialExecutor {
+
+  private static Logger log = LoggerFactory.getLogger(ExclusiveJobSerialExecutor.class);
+
+  protected final int maxChainedJobs;
+
+  /** Per process instance with an exclusive job executing on this node, the jobs waiting for it */
+  protected final Map<String, Deque<Job>> chainedJobs = new HashMap<String, Deque<Job>>();
+  protected int chainedJobCount;
+
+  protected final AtomicLong totalChainedJobCount = new AtomicLong();
+
+  public ExclusiveJobSerialExecutor(int maxChainedJobs) {
+    this.maxChainedJobs = maxChainedJobs;
+  }
+
+  /**
+   * @return true if the job can be serialized, ie. it is exclusive and belongs to a process instance.
+   */
+  public boolean isSerialized(Job job) {
+    return job.isExclusive() && job.getProcessInstanceId() != null;
+  }
+
+  /**
+   * Chains the job behind the exclusive job of its process instance executing on this node, if any.
+   *
+   * @return true if the job was chained and will be executed after the executing job, false if no job of the process
+   *         instance is executing: the caller must then execute the job, with a runnable from {@link #createRunnable(Job, Function)}.
+   * @throws RejectedExecutionException when the maximum number of chained jobs is reached
+   */
+  public synchronized boolean chain(Job job) {
+    Deque<Job> jobs = chainedJobs.get(job.getProcessInstanceId());
+    if (jobs == null) {
+      chainedJobs.put(job.getProcessInstanceId(), new ArrayDeque<Job>());
+      return false;
+    }
+
+    if (chainedJobCount >= maxChainedJobs) {
+      throw new RejectedExecutionException("Already " + chainedJobCount + " exclusive jobs waiting for a job of the same process instance");
+    }
+    jobs.addLast(job);
+    chainedJobCount++;
+    totalChainedJobCount.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * @return the next job chained for the process instance, or null if there is none, in which case
+   *         the next exclusive job of the process instance will be executed directly again.
+   */
+  public synchronized Job next(String processInstanceId) {
+    Deque<Job> jobs = chainedJobs.get(processInstanceId);
+    if (jobs == null) {
+      return null;
+    }
+    Job job = jobs.pollFirst();
+    if (job == null) {
+      chainedJobs.remove(processInstanceId);
+    } else {
+      chainedJobCount--;
+    }
+    return job;
+  }
+
+  /**
+   * Forgets the process instance, when the job that was going to execute its chain could not be executed.
+   *
+   * @return the jobs that were chained for the process instance, which won't be executed.
+   */
+  public synchronized List<Job> release(String processInstanceId) {
+    Deque<Job> jobs = chainedJobs.remove(processInstanceId);
+    if (jobs == null) {
+      return new ArrayList<Job>();
+    }
+    chainedJobCount -= jobs.size();
+    return new ArrayList<Job>(jobs);
+  }
+
+  /**
+   * Forgets all chained jobs, eg. on shutdown.
+   *
+   * @return the jobs that were chained, which won't be executed: the caller should unacquire them.
+   */
+  public synchronized List<Job> clear() {
+    List<Job> jobs = new ArrayList<Job>(chainedJobCount);
+    for (Deque<Job> processInstanceJobs : chainedJobs.values()) {
+      jobs.addAll(processInstanceJobs);
+    }
+    chainedJobs.clear();
+    chainedJobCount = 0;
+    return jobs;
+  }
+
+  /**
+   * @return a runnable executing the given job and then the jobs chained behind it, each with the runnable created by the factory.
+   */
+  public Runnable createRunnable(Job job, Function<Job, Runnable> runnableFactory) {
+    return createRunnable(job, runnableFactory, chainedJob -> true);
+  }
+
+  /**
+   * @param lockRenewer renews the lock of a chained job before it is executed, returns false when the job
+   *          is no longer locked by this node, in which case it is skipped.
+   * @return a runnable executing the given job and then the jobs chained behind it, each with the runnable created by the factory.
+   */
+  public Runnable createRunnable(Job job, Function<Job, Runnable> runnableFactory, Predicate<Job> lockRenewer) {
+    return new ChainRunnable(job, runnableFactory, lockRenewer);
+  }
+
+  public int getMaxChainedJobs() {
+    return maxChainedJobs;
+  }
+
+  /**
+   * @return the number of jobs currently waiting for a job of the same process instance.
+   */
+  public synchronized int getChainedJobCount() {
+    return chainedJobCount;
+  }
+
+  /**
+   * @return the number of process instances with an exclusive job executing on this node.
+   */
+  public synchronized int getProcessInstanceCount() {
+    return chainedJobs.size();
+  }
+
+  /**
+   * @return the number of jobs that were chained since the start, instead of being executed concurrently.
+   */
+  public long getTotalChainedJobCount() {
+    return totalChainedJobCount.get();
+  }
+
+  /**
+   * Executes a job and then the jobs chained behind it for the same process instance.
+   */
+  public class ChainRunnable implements Runnable {
+
+    protected final Job job;
+    protected final Function<Job, Runnable> runnableFactory;
+    protected final Predicate<Job> lockRenewer;
+
+    public ChainRunnable(Job job, Function<Job, Runnable> runnableFactory, Predicate<Job> lockRenewer) {
+      this.job = job;
+      this.runnableFactory = runnableFactory;
+      this.lockRenewer = lockRenewer;
+    }
+
+    public void run() {
+      String processInstanceId = job.getProcessInstanceId();
+      Job current = job;
+      while (current != null) {
+        try {
+          if (current == job || lockRenewer.test(current)) {
+            runnableFactory.apply(current).run();
+          } else {
+            log.debug("Skipping chained exclusive job {}, it is no longer locked by this node", current.getId());
+          }
+        } catch (Throwable t) {
+          // The chain must go on, or the process instance would never get its next jobs executed on this node
+          log.error("Error while executing exclusive job " + current.getId(), t);
+        }
+        current = next(processInstanceId);
+      }
+    }
+
+    /**
+     * @return the first job of the chain.
+     */
+    public Job getJob() {
+      return job;
+    }
+  }
+
+}
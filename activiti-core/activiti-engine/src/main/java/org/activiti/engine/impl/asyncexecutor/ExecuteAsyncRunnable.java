@@ -162,4 +162,15 @@ public class ExecuteAsyncRunnable implements Runnable {
     );
   }
 
+  public String getJobId() {
+    return jobId;
+  }
+
+  /**
+   * @return the job to execute, null if this runnable was created for a job id and didn't run yet.
+   */
+  public Job getJob() {
+    return job;
+  }
+
 }
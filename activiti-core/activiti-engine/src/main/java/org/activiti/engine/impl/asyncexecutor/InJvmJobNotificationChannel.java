@@ -0,0 +1,70 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link JobNotificationChannel} delivering notifications to the listeners registered in the same JVM.
+ *
+ * By default, the engines use the {@link #getSharedInstance() shared instance}, so a job committed by one engine wakes up
+ * the async executors of the other engines in the JVM. Engines on other databases are woken up for nothing, which only
+ * costs them an acquisition; they can be given their own instance to avoid that.
+ */
+public class InJvmJobNotificationChannel implements JobNotificationChannel {
+
+  private static Logger log = LoggerFactory.getLogger(InJvmJobNotificationChannel.class);
+
+  private static final InJvmJobNotificationChannel INSTANCE = new InJvmJobNotificationChannel();
+
+  protected final List<JobNotificationListener> listeners = new CopyOnWriteArrayList<JobNotificationListener>();
+
+  public static InJvmJobNotificationChannel getSharedInstance() {
+    return INSTANCE;
+  }
+
+  @Override
+  public void publishJobsAvailable(String jobType) {
+    publishJobsAvailable(jobType, null);
+  }
+
+  @Override
+  public void publishJobsAvailable(String jobType, String publisher) {
+    for (JobNotificationListener listener : listeners) {
+      try {
+        listener.jobsAvailable(jobType, publisher);
+      } catch (Exception e) {
+        log.warn("Exception while notifying job notification listener {}", listener, e);
+      }
+    }
+  }
+
+  @Override
+  public void addListener(JobNotificationListener listener) {
+    listeners.add(listener);
+  }
+
+  @Override
+  public void removeListener(JobNotificationListener listener) {
+    listeners.remove(listener);
+  }
+
+}
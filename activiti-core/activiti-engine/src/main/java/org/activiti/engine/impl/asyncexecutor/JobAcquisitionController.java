@@ -0,0 +1,288 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides how many jobs an acquisition thread ({@link AcquireAsyncJobsDueRunnable} or {@link AcquireTimerJobsRunnable})
+ * acquires in one query and how long it waits before the next query.
+ *
+ * When not adaptive, the batch size is the fixed configured one and the thread waits the default wait time
+ * when less jobs than requested were found (the behavior of the acquisition threads so far).
+ *
+ * When adaptive, the batch size starts at the configured one and
+ * <ul>
+ *   <li>doubles (up to {@link #getMaxBatchSize()}) when a full batch was acquired, as there is a backlog of jobs;</li>
+ *   <li>is halved when nothing was found, when the execution queue was full, or when acquisition failed on an optimistic lock
+ *   (ie. another engine acquired the same jobs);</li>
+ *   <li>is never larger than the remaining capacity of the job executor (eg. its thread pool queue).</li>
+ * </ul>
+ * The wait time is 0 while there is a backlog, backs off exponentially from {@link #getMinWaitTimeInMillis()} to
+ * {@link #getMaxWaitTimeInMillis()} while no jobs are found, and is randomized on optimistic locking failures,
+ * so that competing engines get out of each other's way.
+ *
+ * The decisions and counters are exposed through {@link #getMetrics()}.
+ */
+public class JobAcquisitionController {
+
+  private static Logger log = LoggerFactory.getLogger(JobAcquisitionController.class);
+
+  /** Weight of the last acquisition in the optimistic locking failure rate */
+  protected static final double CONFLICT_RATE_WEIGHT = 0.2;
+
+  protected final String name;
+
+  protected boolean adaptive;
+  protected int minBatchSize = 1;
+  protected int maxBatchSize = 1;
+  protected long minWaitTimeInMillis = 100L;
+  protected long maxWaitTimeInMillis = 10 * 1000L;
+  protected long queueFullWaitTimeInMillis;
+
+  /** Queue of the thread pool executing the acquired jobs, null if unbounded or unknown */
+  protected BlockingQueue<Runnable> threadPoolQueue;
+
+  /** Number of jobs the executor can take right now, null if unbounded or unknown */
+  protected IntSupplier remainingCapacity;
+
+  protected volatile int batchSize = 1;
+  protected volatile int requestedBatchSize = 1;
+  protected volatile long waitTimeInMillis;
+  protected volatile double conflictRate;
+
+  protected final AtomicLong acquisitionCount = new AtomicLong();
+  protected final AtomicLong acquiredJobCount = new AtomicLong();
+  protected final AtomicLong optimisticLockingFailureCount = new AtomicLong();
+  protected final AtomicLong queueFullCount = new AtomicLong();
+
+  public JobAcquisitionController(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @return the number of jobs to acquire in the next query.
+   */
+  public int nextBatchSize() {
+    int size = adaptive ? Math.min(batchSize, Math.max(getRemainingQueueCapacity(), minBatchSize)) : batchSize;
+    requestedBatchSize = size;
+    return size;
+  }
+
+  /**
+   * @param jobsAcquired number of jobs returned by the last query
+   * @param allJobsSuccessfullyOffered false if some jobs could not be handed to the executor because its queue was full
+   * @return the time to wait before the next query
+   */
+  public long jobsAcquired(int jobsAcquired, boolean allJobsSuccessfullyOffered) {
+    acquisitionCount.incrementAndGet();
+    acquiredJobCount.addAndGet(jobsAcquired);
+    conflictRate = (1 - CONFLICT_RATE_WEIGHT) * conflictRate;
+    if (!allJobsSuccessfullyOffered) {
+      queueFullCount.incrementAndGet();
+    }
+
+    if (!adaptive) {
+      // Only wait when less jobs were found than asked for, or the queue was full
+      long waitTime = maxWaitTimeInMillis;
+      if (jobsAcquired >= requestedBatchSize) {
+        waitTime = allJobsSuccessfullyOffered ? 0 : queueFullWaitTimeInMillis;
+      }
+      return decide(batchSize, waitTime);
+    }
+
+    if (!allJobsSuccessfullyOffered) {
+      return decide(batchSize / 2, Math.max(queueFullWaitTimeInMillis, minWaitTimeInMillis));
+    } else if (jobsAcquired >= requestedBatchSize) {
+      return decide(batchSize * 2, 0);
+    } else if (jobsAcquired == 0) {
+      return decide(batchSize / 2, Math.max(minWaitTimeInMillis, waitTimeInMillis * 2));
+    } else {
+      // The backlog was drained by this query: look again soon, with the same batch size
+      return decide(batchSize, minWaitTimeInMillis);
+    }
+  }
+
+  /**
+   * @return the time to wait before the next query, after acquiring failed because another engine acquired the same jobs.
+   */
+  public long optimisticLockingFailure() {
+    acquisitionCount.incrementAndGet();
+    optimisticLockingFailureCount.incrementAndGet();
+    conflictRate = (1 - CONFLICT_RATE_WEIGHT) * conflictRate + CONFLICT_RATE_WEIGHT;
+
+    if (!adaptive) {
+      return waitTimeInMillis;
+    }
+
+    // Smaller batches overlap less, and a random wait avoids that the same engines collide again on the next query
+    long maxJitter = Math.max(1L, (long) (minWaitTimeInMillis * (1 + conflictRate * 10)));
+    return decide(batchSize / 2, minWaitTimeInMillis / 2 + ThreadLocalRandom.current().nextLong(maxJitter));
+  }
+
+  /**
+   * @return the time to wait before the next query, after acquiring failed for another reason.
+   */
+  public long acquisitionFailed() {
+    acquisitionCount.incrementAndGet();
+    return decide(adaptive ? minBatchSize : batchSize, maxWaitTimeInMillis);
+  }
+
+  protected long decide(int newBatchSize, long newWaitTimeInMillis) {
+    int previousBatchSize = batchSize;
+    batchSize = Math.max(minBatchSize, Math.min(maxBatchSize, newBatchSize));
+    waitTimeInMillis = adaptive ? Math.max(0, Math.min(maxWaitTimeInMillis, newWaitTimeInMillis)) : newWaitTimeInMillis;
+    if (adaptive && log.isDebugEnabled() && previousBatchSize != batchSize) {
+      log.debug("{} acquisition batch size changed from {} to {} (wait time {} ms, optimistic locking failure rate {})",
+          name, previousBatchSize, batchSize, waitTimeInMillis, conflictRate);
+    }
+    return waitTimeInMillis;
+  }
+
+  protected int getRemainingQueueCapacity() {
+    return remainingCapacity != null ? remainingCapacity.getAsInt() : Integer.MAX_VALUE;
+  }
+
+  /**
+   * @return the current decisions and counters of this controller, keyed by metric name.
+   */
+  public Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new HashMap<String, Object>();
+    metrics.put("adaptive", adaptive);
+    metrics.put("batchSize", batchSize);
+    metrics.put("waitTimeInMillis", waitTimeInMillis);
+    metrics.put("optimisticLockingFailureRate", conflictRate);
+    metrics.put("acquisitionCount", acquisitionCount.get());
+    metrics.put("acquiredJobCount", acquiredJobCount.get());
+    metrics.put("optimisticLockingFailureCount", optimisticLockingFailureCount.get());
+    metrics.put("queueFullCount", queueFullCount.get());
+    return metrics;
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public String getName() {
+    return name;
+  }
+
+  public boolean isAdaptive() {
+    return adaptive;
+  }
+
+  public void setAdaptive(boolean adaptive) {
+    this.adaptive = adaptive;
+  }
+
+  public int getMinBatchSize() {
+    return minBatchSize;
+  }
+
+  /** Also resets the current batch size, which starts at the minimum */
+  public void setMinBatchSize(int minBatchSize) {
+    this.minBatchSize = Math.max(1, minBatchSize);
+    this.batchSize = this.minBatchSize;
+    this.requestedBatchSize = this.minBatchSize;
+  }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  public void setMaxBatchSize(int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  public long getMinWaitTimeInMillis() {
+    return minWaitTimeInMillis;
+  }
+
+  public void setMinWaitTimeInMillis(long minWaitTimeInMillis) {
+    this.minWaitTimeInMillis = minWaitTimeInMillis;
+  }
+
+  public long getMaxWaitTimeInMillis() {
+    return maxWaitTimeInMillis;
+  }
+
+  public void setMaxWaitTimeInMillis(long maxWaitTimeInMillis) {
+    this.maxWaitTimeInMillis = maxWaitTimeInMillis;
+  }
+
+  public long getQueueFullWaitTimeInMillis() {
+    return queueFullWaitTimeInMillis;
+  }
+
+  public void setQueueFullWaitTimeInMillis(long queueFullWaitTimeInMillis) {
+    this.queueFullWaitTimeInMillis = queueFullWaitTimeInMillis;
+  }
+
+  public BlockingQueue<Runnable> getThreadPoolQueue() {
+    return threadPoolQueue;
+  }
+
+  public void setThreadPoolQueue(BlockingQueue<Runnable> threadPoolQueue) {
+    this.threadPoolQueue = threadPoolQueue;
+    this.remainingCapacity = threadPoolQueue != null ? threadPoolQueue::remainingCapacity : null;
+  }
+
+  public IntSupplier getRemainingCapacity() {
+    return remainingCapacity;
+  }
+
+  /**
+   * Sets how the free capacity of the job executor is determined, for executors that don't queue jobs.
+   */
+  public void setRemainingCapacity(IntSupplier remainingCapacity) {
+    this.remainingCapacity = remainingCapacity;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public long getWaitTimeInMillis() {
+    return waitTimeInMillis;
+  }
+
+  public double getConflictRate() {
+    return conflictRate;
+  }
+
+  public long getAcquisitionCount() {
+    return acquisitionCount.get();
+  }
+
+  public long getAcquiredJobCount() {
+    return acquiredJobCount.get();
+  }
+
+  public long getOptimisticLockingFailureCount() {
+    return optimisticLockingFailureCount.get();
+  }
+
+  public long getQueueFullCount() {
+    return queueFullCount.get();
+  }
+}
@@ -19,6 +19,8 @@ import org.activiti.bpmn.model.TimerEventDefinition;
 import org.activiti.engine.ProcessEngine;
 import org.activiti.engine.api.internal.Internal;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.jobexecutor.AsyncHistoryJobHandler;
 import org.activiti.engine.impl.persistence.entity.AbstractJobEntity;
 import org.activiti.engine.impl.persistence.entity.DeadLetterJobEntity;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
@@ -52,6 +54,23 @@ public interface JobManager {
    */
   JobEntity createAsyncJob(ExecutionEntity execution, boolean exclusive);
 
+  /**
+   * Creates an async job that inserts the history records stored in the byte array
+   * with the given id, as written by the {@link org.activiti.engine.impl.history.AsyncHistoryOutbox}.
+   * The job is created unlocked, so it's picked up by the regular acquisition.
+   */
+  default JobEntity createAsyncHistoryJob(String historyByteArrayId) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    JobEntity asyncHistoryJob = processEngineConfiguration.getJobEntityManager().create();
+    asyncHistoryJob.setJobType(JobEntity.JOB_TYPE_MESSAGE);
+    asyncHistoryJob.setRevision(1);
+    asyncHistoryJob.setRetries(processEngineConfiguration.getAsyncExecutorNumberOfRetries());
+    asyncHistoryJob.setExclusive(false);
+    asyncHistoryJob.setJobHandlerType(AsyncHistoryJobHandler.TYPE);
+    asyncHistoryJob.setJobHandlerConfiguration(historyByteArrayId);
+    return asyncHistoryJob;
+  }
+
   /**
    * Schedules and async job. If the {@link AsyncExecutor} is running, it
    * can be executed immediately after the transaction. Otherwise it can
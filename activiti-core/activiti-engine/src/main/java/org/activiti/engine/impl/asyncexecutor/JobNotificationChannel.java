@@ -0,0 +1,55 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+/**
+ * Channel over which the engine announces that new executable jobs have been committed to the database,
+ * so that job acquisition threads can look for them immediately instead of waiting for their next polling cycle.
+ *
+ * The {@link InJvmJobNotificationChannel} delivers notifications to the engines in the same JVM that share the instance.
+ * To wake up the acquisition threads of other nodes in a cluster, an implementation backed by a
+ * cluster transport (a message broker, database notifications, ...) can be set with
+ * {@link org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl#setJobNotificationChannel(JobNotificationChannel)}.
+ *
+ * Notifications are hints only: jobs are always acquired from the database, so a lost notification
+ * only means the job is picked up by the regular polling.
+ */
+public interface JobNotificationChannel {
+
+  /**
+   * Announces that jobs of the given type have been committed and can be acquired.
+   * Called after the transaction that created the jobs has been committed. Must not block.
+   */
+  void publishJobsAvailable(String jobType);
+
+  /**
+   * Announces that jobs of the given type have been committed, by the engine whose async executor has the given lock owner,
+   * so that async executor can ignore its own announcement. Channels that can't carry the publisher announce the jobs only.
+   */
+  default void publishJobsAvailable(String jobType, String publisher) {
+    publishJobsAvailable(jobType);
+  }
+
+  /**
+   * Registers a listener that is notified of every announcement published on this channel,
+   * including announcements published by other nodes.
+   */
+  void addListener(JobNotificationListener listener);
+
+  void removeListener(JobNotificationListener listener);
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+/**
+ * Receives the announcements published on a {@link JobNotificationChannel}.
+ */
+public interface JobNotificationListener {
+
+  /**
+   * Called when jobs of the given type have been committed. Implementations must return quickly,
+   * as they can be called on the thread that committed the jobs.
+   */
+  void jobsAvailable(String jobType);
+
+  /**
+   * Called when jobs of the given type have been committed by the engine whose async executor has the given lock owner,
+   * null if unknown.
+   */
+  default void jobsAvailable(String jobType, String publisher) {
+    jobsAvailable(jobType);
+  }
+
+}
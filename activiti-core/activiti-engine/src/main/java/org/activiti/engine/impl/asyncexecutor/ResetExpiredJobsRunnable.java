@@ -19,8 +19,10 @@ package org.activiti.engine.impl.asyncexecutor;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.persistence.entity.JobEntity;
 import org.activiti.engine.runtime.Job;
 import org.slf4j.Logger;
@@ -34,6 +36,10 @@ import org.slf4j.LoggerFactory;
  * goes down before completing a task.
  *
  * This runnable will find such jobs and reset them, so they can be picked up again.
+ * The same is done for timer jobs of which the lock expired, see {@link ResetExpiredTimerJobsCmd}.
+ *
+ * When {@link #isBulkReset()} is true, the expired jobs and timer jobs are unlocked in batches, each with
+ * a single update statement, until none are left, see {@link BulkResetExpiredJobsCmd}.
  *
 
  */
@@ -47,6 +53,12 @@ public class ResetExpiredJobsRunnable implements Runnable {
   protected final Object MONITOR = new Object();
   protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
 
+  /** When true, expired jobs are unlocked in batches with one update statement each, see {@link #resetJobsInBulk(String)} */
+  protected boolean bulkReset;
+  protected int bulkResetBatchSize = 500;
+
+  protected final AtomicLong recoveredJobCount = new AtomicLong();
+
   public ResetExpiredJobsRunnable(AsyncExecutor asyncExecutor) {
     this.asyncExecutor = asyncExecutor;
   }
@@ -59,17 +71,10 @@ public class ResetExpiredJobsRunnable implements Runnable {
 
       try {
 
-        List<JobEntity> expiredJobs = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor()
-            .execute(new FindExpiredJobsCmd(asyncExecutor.getResetExpiredJobsPageSize()));
-
-        List<String> expiredJobIds = new ArrayList<String>(expiredJobs.size());
-        for (JobEntity expiredJob : expiredJobs) {
-          expiredJobIds.add(expiredJob.getId());
-        }
-
-        if (expiredJobIds.size() > 0) {
-          asyncExecutor.getProcessEngineConfiguration().getCommandExecutor()
-            .execute(new ResetExpiredJobsCmd(expiredJobIds));
+        if (bulkReset) {
+          resetJobsInBulk(null);
+        } else {
+          resetExpiredJobs();
         }
 
       } catch (Throwable e) {
@@ -103,6 +108,55 @@ public class ResetExpiredJobsRunnable implements Runnable {
     log.info("{} stopped resetting expired jobs");
   }
 
+  /**
+   * Resets one page of expired jobs, each in the way of the job manager, and one page of expired timer jobs.
+   */
+  protected void resetExpiredJobs() {
+    List<JobEntity> expiredJobs = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor()
+        .execute(new FindExpiredJobsCmd(asyncExecutor.getResetExpiredJobsPageSize()));
+
+    List<String> expiredJobIds = new ArrayList<String>(expiredJobs.size());
+    for (JobEntity expiredJob : expiredJobs) {
+      expiredJobIds.add(expiredJob.getId());
+    }
+
+    if (expiredJobIds.size() > 0) {
+      asyncExecutor.getProcessEngineConfiguration().getCommandExecutor()
+        .execute(new ResetExpiredJobsCmd(expiredJobIds));
+    }
+
+    // Timers acquired ahead of their due date by a node that went down
+    asyncExecutor.getProcessEngineConfiguration().getCommandExecutor()
+      .execute(new ResetExpiredTimerJobsCmd(asyncExecutor.getResetExpiredJobsPageSize()));
+  }
+
+  /**
+   * Unlocks the expired jobs and timer jobs, or the jobs locked by the given lock owner, in batches until none are left.
+   * A single thread does this: every batch is one update statement, and concurrent updates of the same rows would only
+   * contend for their locks.
+   *
+   * @return the number of jobs and timer jobs that were unlocked
+   */
+  public int resetJobsInBulk(String lockOwner) {
+    CommandExecutor commandExecutor = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor();
+    int resetJobCount = 0;
+    int batchResetJobCount;
+    do {
+      batchResetJobCount = commandExecutor.execute(new BulkResetExpiredJobsCmd(lockOwner, bulkResetBatchSize));
+      resetJobCount += batchResetJobCount;
+    } while (batchResetJobCount > 0);
+
+    if (resetJobCount > 0) {
+      recoveredJobCount.addAndGet(resetJobCount);
+      if (lockOwner != null) {
+        log.info("Unlocked {} jobs locked by {}", resetJobCount, lockOwner);
+      } else {
+        log.info("Unlocked {} expired jobs", resetJobCount);
+      }
+    }
+    return resetJobCount;
+  }
+
   public void stop() {
     synchronized (MONITOR) {
       isInterrupted = true;
@@ -112,6 +166,27 @@ public class ResetExpiredJobsRunnable implements Runnable {
     }
   }
 
+  public boolean isBulkReset() {
+    return bulkReset;
+  }
 
+  public void setBulkReset(boolean bulkReset) {
+    this.bulkReset = bulkReset;
+  }
+
+  public int getBulkResetBatchSize() {
+    return bulkResetBatchSize;
+  }
+
+  public void setBulkResetBatchSize(int bulkResetBatchSize) {
+    this.bulkResetBatchSize = bulkResetBatchSize;
+  }
+
+  /**
+   * @return the number of jobs and timer jobs unlocked by the bulk reset since the start.
+   */
+  public long getRecoveredJobCount() {
+    return recoveredJobCount.get();
+  }
 
 }
@@ -0,0 +1,539 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.activiti.engine.ProcessEngineConfiguration;
+import org.activiti.engine.runtime.Job;
+
+/**
+ * Thread pool queue of the {@link DefaultAsyncJobExecutor} that keeps a queue per tenant, so a tenant creating
+ * a lot of async jobs cannot starve the jobs of the other tenants.
+ *
+ * <ul>
+ *   <li>Jobs are taken from the tenant queues in weighted round robin: a tenant with weight 3 gets three jobs executed
+ *   for every job of a tenant with weight 1. Tenants without a configured weight have weight 1.</li>
+ *   <li>A tenant can only occupy its weighted share of the capacity, computed over the tenants having queued jobs.
+ *   A part of the capacity ({@link #getReservedCapacity()}) is never given to a single tenant,
+ *   so a tenant that has nothing queued yet always finds room. A job offered above the share of its tenant
+ *   is refused, which makes the {@link DefaultAsyncJobExecutor} unacquire it, the same way as when the queue is full.</li>
+ *   <li>The tenants that have used their share are returned by {@link #getSaturatedTenantIds()}, which the
+ *   {@link AcquireAsyncJobsDueRunnable} uses to leave their jobs in the database, so the acquired batches
+ *   are filled with jobs of the other tenants.</li>
+ * </ul>
+ *
+ * Jobs without tenant are queued under {@link ProcessEngineConfiguration#NO_TENANT_ID}.
+ * The queue depth and the wait times per tenant are exposed through {@link #getMetrics()}. The queue of a tenant is
+ * forgotten, with its metrics, once it has been empty for {@link #getTenantQueueIdleTimeInMillis()}.
+ *
+ * The thread pool using this queue must have a core pool size equal to its maximum pool size: a {@link java.util.concurrent.ThreadPoolExecutor}
+ * starts an extra thread for a job refused by {@link #offer(Runnable)}, which would execute the job of a tenant above its share
+ * right away. The {@link DefaultAsyncJobExecutor} creates its thread pool that way.
+ */
+public class TenantFairJobQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+  protected final int capacity;
+  protected final int reservedCapacity;
+  protected final Map<String, Integer> tenantWeights;
+  protected final long tenantQueueIdleTimeInMillis;
+
+  protected final ReentrantLock lock = new ReentrantLock();
+  protected final Condition notEmpty = lock.newCondition();
+  protected final Condition notFull = lock.newCondition();
+
+  /** The tenants that offered a job, kept for the metrics until their queue is idle */
+  protected final Map<String, TenantQueue> tenantQueues = new LinkedHashMap<String, TenantQueue>();
+  protected long lastIdleTenantQueueEviction = System.nanoTime();
+
+  /** Round robin of the tenants having queued jobs, the first one is served next */
+  protected final Deque<TenantQueue> activeTenantQueues = new ArrayDeque<TenantQueue>();
+
+  protected int count;
+  protected int activeWeight;
+
+  /**
+   * Creates a queue reserving a tenth of the capacity for tenants having nothing queued.
+   */
+  public TenantFairJobQueue(int capacity, Map<String, Integer> tenantWeights) {
+    this(capacity, Math.max(1, capacity / 10), tenantWeights);
+  }
+
+  /**
+   * Creates a queue forgetting the queue of a tenant after five idle minutes.
+   */
+  public TenantFairJobQueue(int capacity, int reservedCapacity, Map<String, Integer> tenantWeights) {
+    this(capacity, reservedCapacity, tenantWeights, TimeUnit.MINUTES.toMillis(5));
+  }
+
+  public TenantFairJobQueue(int capacity, int reservedCapacity, Map<String, Integer> tenantWeights, long tenantQueueIdleTimeInMillis) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.capacity = capacity;
+    this.reservedCapacity = Math.max(0, Math.min(reservedCapacity, capacity - 1));
+    this.tenantWeights = tenantWeights != null ? new HashMap<String, Integer>(tenantWeights) : new HashMap<String, Integer>();
+    this.tenantQueueIdleTimeInMillis = Math.max(0L, tenantQueueIdleTimeInMillis);
+  }
+
+  /**
+   * @return the tenant a job runnable is queued under.
+   */
+  protected String getTenantId(Runnable runnable) {
+    Job job = null;
+    if (runnable instanceof ExecuteAsyncRunnable) {
+      job = ((ExecuteAsyncRunnable) runnable).getJob();
+    } else if (runnable instanceof ExclusiveJobSerialExecutor.ChainRunnable) {
+      job = ((ExclusiveJobSerialExecutor.ChainRunnable) runnable).getJob();
+    }
+    if (job != null && job.getTenantId() != null) {
+      return job.getTenantId();
+    }
+    return ProcessEngineConfiguration.NO_TENANT_ID;
+  }
+
+  protected int getWeight(String tenantId) {
+    Integer weight = tenantWeights.get(tenantId);
+    return weight != null && weight > 0 ? weight : 1;
+  }
+
+  /**
+   * @return the number of jobs the tenant can have queued right now. Called with the lock held.
+   */
+  protected int getTenantCapacity(TenantQueue tenantQueue) {
+    int weights = activeWeight + (tenantQueue.jobs.isEmpty() ? tenantQueue.weight : 0);
+    int share = (int) ((long) capacity * tenantQueue.weight / weights);
+    return Math.max(1, Math.min(share, capacity - reservedCapacity));
+  }
+
+  protected TenantQueue getTenantQueue(String tenantId) {
+    long now = System.nanoTime();
+    evictIdleTenantQueues(now);
+    TenantQueue tenantQueue = tenantQueues.get(tenantId);
+    if (tenantQueue == null) {
+      tenantQueue = new TenantQueue(tenantId, getWeight(tenantId));
+      tenantQueues.put(tenantId, tenantQueue);
+    }
+    tenantQueue.lastUsedTime = now;
+    return tenantQueue;
+  }
+
+  /**
+   * Forgets the tenants of which the queue has been empty for the idle time, at most once per idle time.
+   * Called with the lock held.
+   */
+  protected void evictIdleTenantQueues(long now) {
+    long idleTimeInNanos = TimeUnit.MILLISECONDS.toNanos(tenantQueueIdleTimeInMillis);
+    if (now - lastIdleTenantQueueEviction < idleTimeInNanos) {
+      return;
+    }
+    lastIdleTenantQueueEviction = now;
+    Iterator<TenantQueue> iterator = tenantQueues.values().iterator();
+    while (iterator.hasNext()) {
+      TenantQueue tenantQueue = iterator.next();
+      if (tenantQueue.jobs.isEmpty() && now - tenantQueue.lastUsedTime >= idleTimeInNanos) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * @return true if the tenant can queue a job right now. Called with the lock held.
+   */
+  protected boolean hasRoom(TenantQueue tenantQueue) {
+    return count < capacity && tenantQueue.jobs.size() < getTenantCapacity(tenantQueue);
+  }
+
+  protected void enqueue(TenantQueue tenantQueue, Runnable runnable) {
+    if (tenantQueue.jobs.isEmpty()) {
+      tenantQueue.credits = tenantQueue.weight;
+      activeTenantQueues.addLast(tenantQueue);
+      activeWeight += tenantQueue.weight;
+    }
+    tenantQueue.jobs.addLast(new QueuedJob(runnable, System.nanoTime()));
+    tenantQueue.enqueuedCount++;
+    count++;
+    notEmpty.signal();
+  }
+
+  protected Runnable dequeue() {
+    TenantQueue tenantQueue = activeTenantQueues.peekFirst();
+    QueuedJob queuedJob = tenantQueue.jobs.pollFirst();
+    count--;
+
+    long now = System.nanoTime();
+    long waitTime = now - queuedJob.enqueueTime;
+    tenantQueue.lastUsedTime = now;
+    tenantQueue.dequeuedCount++;
+    tenantQueue.totalWaitTime += waitTime;
+    tenantQueue.maxWaitTime = Math.max(tenantQueue.maxWaitTime, waitTime);
+
+    tenantQueue.credits--;
+    if (tenantQueue.jobs.isEmpty()) {
+      activeTenantQueues.pollFirst();
+      activeWeight -= tenantQueue.weight;
+    } else if (tenantQueue.credits <= 0) {
+      // The tenant had its turn, the next one is served
+      activeTenantQueues.pollFirst();
+      tenantQueue.credits = tenantQueue.weight;
+      activeTenantQueues.addLast(tenantQueue);
+    }
+    // The shares of all tenants change when one becomes inactive, so every waiting put is woken up
+    notFull.signalAll();
+    return queuedJob.runnable;
+  }
+
+  protected Runnable awaitAndDequeue(long timeoutInNanos, boolean timed) throws InterruptedException {
+    long nanos = timeoutInNanos;
+    lock.lockInterruptibly();
+    try {
+      while (count == 0) {
+        if (!timed) {
+          notEmpty.await();
+        } else if (nanos <= 0) {
+          return null;
+        } else {
+          nanos = notEmpty.awaitNanos(nanos);
+        }
+      }
+      return dequeue();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean offer(Runnable runnable) {
+    if (runnable == null) {
+      throw new NullPointerException();
+    }
+    String tenantId = getTenantId(runnable);
+    lock.lock();
+    try {
+      TenantQueue tenantQueue = getTenantQueue(tenantId);
+      if (!hasRoom(tenantQueue)) {
+        tenantQueue.rejectedCount++;
+        return false;
+      }
+      enqueue(tenantQueue, runnable);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean offer(Runnable runnable, long timeout, TimeUnit unit) {
+    // Waiting for room would hold back the acquisition thread, the job is unacquired instead
+    return offer(runnable);
+  }
+
+  /**
+   * Waits until the tenant of the job is below its share and the queue has room, then queues the job.
+   */
+  @Override
+  public void put(Runnable runnable) throws InterruptedException {
+    if (runnable == null) {
+      throw new NullPointerException();
+    }
+    String tenantId = getTenantId(runnable);
+    lock.lockInterruptibly();
+    try {
+      TenantQueue tenantQueue = getTenantQueue(tenantId);
+      while (!hasRoom(tenantQueue)) {
+        notFull.await();
+        // The tenant queue may have been evicted while waiting
+        tenantQueue = getTenantQueue(tenantId);
+      }
+      enqueue(tenantQueue, runnable);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Runnable poll() {
+    lock.lock();
+    try {
+      return count > 0 ? dequeue() : null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+    return awaitAndDequeue(unit.toNanos(timeout), true);
+  }
+
+  @Override
+  public Runnable take() throws InterruptedException {
+    return awaitAndDequeue(0L, false);
+  }
+
+  @Override
+  public Runnable peek() {
+    lock.lock();
+    try {
+      TenantQueue tenantQueue = activeTenantQueues.peekFirst();
+      return tenantQueue != null ? tenantQueue.jobs.peekFirst().runnable : null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean remove(Object object) {
+    if (!(object instanceof Runnable)) {
+      return false;
+    }
+    lock.lock();
+    try {
+      TenantQueue tenantQueue = tenantQueues.get(getTenantId((Runnable) object));
+      if (tenantQueue == null) {
+        return false;
+      }
+      Iterator<QueuedJob> iterator = tenantQueue.jobs.iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().runnable == object) {
+          iterator.remove();
+          count--;
+          if (tenantQueue.jobs.isEmpty()) {
+            activeTenantQueues.remove(tenantQueue);
+            activeWeight -= tenantQueue.weight;
+          }
+          notFull.signalAll();
+          return true;
+        }
+      }
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int size() {
+    lock.lock();
+    try {
+      return count;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int remainingCapacity() {
+    lock.lock();
+    try {
+      return Math.max(0, capacity - count);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int drainTo(Collection<? super Runnable> collection) {
+    return drainTo(collection, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public int drainTo(Collection<? super Runnable> collection, int maxElements) {
+    if (collection == this) {
+      throw new IllegalArgumentException();
+    }
+    lock.lock();
+    try {
+      int drained = 0;
+      while (count > 0 && drained < maxElements) {
+        collection.add(dequeue());
+        drained++;
+      }
+      return drained;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Iterates over a snapshot of the queued jobs, in no particular order. Removing through the iterator removes the job
+   * from this queue.
+   */
+  @Override
+  public Iterator<Runnable> iterator() {
+    final List<Runnable> snapshot = new ArrayList<Runnable>();
+    lock.lock();
+    try {
+      for (TenantQueue tenantQueue : activeTenantQueues) {
+        for (QueuedJob queuedJob : tenantQueue.jobs) {
+          snapshot.add(queuedJob.runnable);
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    final Iterator<Runnable> snapshotIterator = snapshot.iterator();
+    return new Iterator<Runnable>() {
+
+      protected Runnable current;
+
+      public boolean hasNext() {
+        return snapshotIterator.hasNext();
+      }
+
+      public Runnable next() {
+        current = snapshotIterator.next();
+        return current;
+      }
+
+      public void remove() {
+        if (current == null) {
+          throw new IllegalStateException();
+        }
+        TenantFairJobQueue.this.remove(current);
+        current = null;
+      }
+    };
+  }
+
+  /**
+   * @return the tenants that can't queue more jobs right now. {@link ProcessEngineConfiguration#NO_TENANT_ID} is never
+   *         included, as jobs without tenant can't be filtered out efficiently when acquiring.
+   */
+  public Set<String> getSaturatedTenantIds() {
+    Set<String> saturatedTenantIds = new TreeSet<String>();
+    lock.lock();
+    try {
+      for (TenantQueue tenantQueue : activeTenantQueues) {
+        if (!ProcessEngineConfiguration.NO_TENANT_ID.equals(tenantQueue.tenantId)
+            && tenantQueue.jobs.size() >= getTenantCapacity(tenantQueue)) {
+          saturatedTenantIds.add(tenantQueue.tenantId);
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+    return saturatedTenantIds;
+  }
+
+  /**
+   * @return the number of jobs queued for the given tenant.
+   */
+  public int getQueueDepth(String tenantId) {
+    lock.lock();
+    try {
+      TenantQueue tenantQueue = tenantQueues.get(tenantId != null ? tenantId : ProcessEngineConfiguration.NO_TENANT_ID);
+      return tenantQueue != null ? tenantQueue.jobs.size() : 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return per tenant id, the queue depth, the current share of the capacity, the number of jobs queued, executed and refused,
+   *         the average and maximum time a job waited in the queue and the wait time of the oldest queued job.
+   */
+  public Map<String, Map<String, Object>> getMetrics() {
+    Map<String, Map<String, Object>> metrics = new LinkedHashMap<String, Map<String, Object>>();
+    long now = System.nanoTime();
+    lock.lock();
+    try {
+      for (TenantQueue tenantQueue : tenantQueues.values()) {
+        Map<String, Object> tenantMetrics = new LinkedHashMap<String, Object>();
+        tenantMetrics.put("weight", tenantQueue.weight);
+        tenantMetrics.put("queueDepth", tenantQueue.jobs.size());
+        tenantMetrics.put("capacity", getTenantCapacity(tenantQueue));
+        tenantMetrics.put("enqueuedCount", tenantQueue.enqueuedCount);
+        tenantMetrics.put("dequeuedCount", tenantQueue.dequeuedCount);
+        tenantMetrics.put("rejectedCount", tenantQueue.rejectedCount);
+        tenantMetrics.put("averageWaitTimeInMillis", tenantQueue.dequeuedCount > 0
+            ? TimeUnit.NANOSECONDS.toMillis(tenantQueue.totalWaitTime / tenantQueue.dequeuedCount) : 0L);
+        tenantMetrics.put("maxWaitTimeInMillis", TimeUnit.NANOSECONDS.toMillis(tenantQueue.maxWaitTime));
+        QueuedJob oldest = tenantQueue.jobs.peekFirst();
+        tenantMetrics.put("oldestWaitTimeInMillis", oldest != null ? TimeUnit.NANOSECONDS.toMillis(now - oldest.enqueueTime) : 0L);
+        metrics.put(tenantQueue.tenantId, tenantMetrics);
+      }
+    } finally {
+      lock.unlock();
+    }
+    return metrics;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public int getReservedCapacity() {
+    return reservedCapacity;
+  }
+
+  public long getTenantQueueIdleTimeInMillis() {
+    return tenantQueueIdleTimeInMillis;
+  }
+
+  protected static class TenantQueue {
+
+    protected final String tenantId;
+    protected final int weight;
+    protected final Deque<QueuedJob> jobs = new ArrayDeque<QueuedJob>();
+
+    /** Jobs this tenant can still take before the next tenant is served */
+    protected int credits;
+
+    protected long enqueuedCount;
+    protected long dequeuedCount;
+    protected long rejectedCount;
+    protected long totalWaitTime;
+    protected long maxWaitTime;
+
+    /** Last time a job of this tenant was offered or taken, to evict idle tenant queues */
+    protected long lastUsedTime;
+
+    public TenantQueue(String tenantId, int weight) {
+      this.tenantId = tenantId;
+      this.weight = weight;
+    }
+  }
+
+  protected static class QueuedJob {
+
+    protected final Runnable runnable;
+    protected final long enqueueTime;
+
+    public QueuedJob(Runnable runnable, long enqueueTime) {
+      this.runnable = runnable;
+      this.enqueueTime = enqueueTime;
+    }
+  }
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Hierarchical timer wheel keeping items until their due time, used by the {@link AcquireTimerJobsRunnable}
+ * to fire the timer jobs it acquired ahead of their due date.
+ *
+ * The first wheel has {@link #getWheelSize()} buckets of {@link #getTickInMillis()} each. Items due further away than
+ * one turn of a wheel are kept in an overflow wheel whose tick is a full turn of the wheel below, and are moved down
+ * when the wheel below reaches their bucket. Adding an item and collecting the due items are constant in the number of items.
+ *
+ * Items are returned by {@link #advance(long)} once the bucket holding their due time has fully passed, so never before
+ * their due time and at most one tick after it. This class is not thread safe.
+ *
+ * @param <T> the type of the items
+ */
+public class TimerWheel<T> {
+
+  protected final long tickInMillis;
+  protected final int wheelSize;
+  protected final long intervalInMillis;
+  protected final List<Deque<Entry<T>>> buckets;
+
+  /** Start of the current bucket, a multiple of the tick */
+  protected long currentTime;
+
+  /** Number of items in this wheel and its overflow wheels, only maintained on the first wheel */
+  protected int size;
+
+  protected TimerWheel<T> overflowWheel;
+
+  public TimerWheel(long tickInMillis, int wheelSize, long startTime) {
+    if (tickInMillis <= 0 || wheelSize <= 1) {
+      throw new IllegalArgumentException("The tick must be positive and a wheel must have more than one bucket");
+    }
+    this.tickInMillis = tickInMillis;
+    this.wheelSize = wheelSize;
+    this.intervalInMillis = tickInMillis * wheelSize;
+    this.buckets = new ArrayList<Deque<Entry<T>>>(wheelSize);
+    for (int i = 0; i < wheelSize; i++) {
+      buckets.add(new ArrayDeque<Entry<T>>());
+    }
+    this.currentTime = startTime - startTime % tickInMillis;
+  }
+
+  /**
+   * @return false if the item is already due, it is then not added and the caller must fire it right away.
+   */
+  public boolean add(T item, long dueTime) {
+    if (dueTime < currentTime) {
+      return false;
+    }
+    addEntry(new Entry<T>(item, dueTime));
+    size++;
+    return true;
+  }
+
+  protected void addEntry(Entry<T> entry) {
+    if (entry.dueTime < currentTime + intervalInMillis) {
+      buckets.get(getBucketIndex(entry.dueTime)).addLast(entry);
+    } else {
+      if (overflowWheel == null) {
+        overflowWheel = new TimerWheel<T>(intervalInMillis, wheelSize, currentTime);
+      }
+      overflowWheel.addEntry(entry);
+    }
+  }
+
+  protected int getBucketIndex(long time) {
+    return (int) ((time / tickInMillis) % wheelSize);
+  }
+
+  /**
+   * Moves the wheel to the given time.
+   *
+   * @return the items that are due, in the order of their buckets.
+   */
+  public List<T> advance(long now) {
+    List<T> dueItems = new ArrayList<T>();
+    if (size == 0) {
+      // Nothing to fire, jump right to the current time
+      currentTime = Math.max(currentTime, now - now % tickInMillis);
+      overflowWheel = null;
+      return dueItems;
+    }
+
+    while (currentTime + tickInMillis <= now && size > 0) {
+      Deque<Entry<T>> bucket = buckets.get(getBucketIndex(currentTime));
+      while (!bucket.isEmpty()) {
+        dueItems.add(bucket.pollFirst().item);
+        size--;
+      }
+      moveTo(currentTime + tickInMillis);
+    }
+    if (size == 0) {
+      currentTime = Math.max(currentTime, now - now % tickInMillis);
+      overflowWheel = null;
+    }
+    return dueItems;
+  }
+
+  /**
+   * Moves the current bucket to the given time, taking the items of the overflow wheel that now fit in this wheel.
+   */
+  protected void moveTo(long time) {
+    currentTime = time;
+    if (overflowWheel != null && time % intervalInMillis == 0) {
+      overflowWheel.moveTo(time);
+      Deque<Entry<T>> overflowBucket = overflowWheel.buckets.get(overflowWheel.getBucketIndex(time));
+      while (!overflowBucket.isEmpty()) {
+        addEntry(overflowBucket.pollFirst());
+      }
+    }
+  }
+
+  /**
+   * @return the time at which {@link #advance(long)} should be called next: when the first non empty bucket has passed,
+   *         or when items of the overflow wheel are moved down into this wheel. -1 if the wheel is empty.
+   */
+  public long getNextAdvanceTime() {
+    if (size == 0) {
+      return -1L;
+    }
+    for (int i = 0; i < wheelSize; i++) {
+      long bucketTime = currentTime + i * tickInMillis;
+      if (!buckets.get(getBucketIndex(bucketTime)).isEmpty()) {
+        return bucketTime + tickInMillis;
+      }
+    }
+    return currentTime - currentTime % intervalInMillis + intervalInMillis;
+  }
+
+  /**
+   * Removes all items.
+   */
+  public void clear() {
+    for (Deque<Entry<T>> bucket : buckets) {
+      bucket.clear();
+    }
+    overflowWheel = null;
+    size = 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public long getTickInMillis() {
+    return tickInMillis;
+  }
+
+  public int getWheelSize() {
+    return wheelSize;
+  }
+
+  protected static class Entry<T> {
+
+    protected final T item;
+    protected final long dueTime;
+
+    public Entry(T item, long dueTime) {
+      this.item = item;
+      this.dueTime = dueTime;
+    }
+  }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes every job on its own virtual thread, so jobs blocking on I/O (eg. service tasks calling out to
+ * slow connectors) don't hold a platform thread while waiting.
+ *
+ * Instead of a bounded queue, a semaphore limits the number of jobs executing at the same time: when all permits
+ * are taken, the job is rejected with a {@link RejectedExecutionException}, which makes the
+ * {@link DefaultAsyncJobExecutor} unacquire it, the same way as when its thread pool queue is full.
+ */
+public class VirtualThreadJobExecutorService extends AbstractExecutorService {
+
+  protected final ExecutorService delegate;
+  protected final Semaphore permits;
+  protected final int maxConcurrentJobs;
+
+  public VirtualThreadJobExecutorService(int maxConcurrentJobs) {
+    this(maxConcurrentJobs, Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("activiti-async-job-executor-virtual-thread-", 0).factory()));
+  }
+
+  public VirtualThreadJobExecutorService(int maxConcurrentJobs, ExecutorService delegate) {
+    this.maxConcurrentJobs = maxConcurrentJobs;
+    this.permits = new Semaphore(maxConcurrentJobs);
+    this.delegate = delegate;
+  }
+
+  @Override
+  public void execute(final Runnable command) {
+    if (!permits.tryAcquire()) {
+      throw new RejectedExecutionException("Already executing the maximum of " + maxConcurrentJobs + " concurrent jobs");
+    }
+
+    try {
+      delegate.execute(new Runnable() {
+        public void run() {
+          try {
+            command.run();
+          } finally {
+            permits.release();
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * @return the number of jobs that can be started right now without being rejected.
+   */
+  public int getAvailablePermits() {
+    return permits.availablePermits();
+  }
+
+  public int getMaxConcurrentJobs() {
+    return maxConcurrentJobs;
+  }
+
+  @Override
+  public void shutdown() {
+    delegate.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return delegate.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return delegate.awaitTermination(timeout, unit);
+  }
+}
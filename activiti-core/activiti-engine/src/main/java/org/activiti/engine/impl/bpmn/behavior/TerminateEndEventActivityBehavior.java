@@ -66,7 +66,7 @@ public class TerminateEndEventActivityBehavior extends FlowNodeActivityBehavior
     ExecutionEntity rootExecutionEntity = executionEntityManager.findByRootProcessInstanceId(execution.getRootProcessInstanceId());
     String deleteReason = createDeleteReason(execution.getCurrentActivityId());
     deleteExecutionEntities(executionEntityManager, rootExecutionEntity, deleteReason);
-    endAllHistoricActivities(rootExecutionEntity.getId(), deleteReason);
+    endAllHistoricActivities(rootExecutionEntity.getId(), rootExecutionEntity.getProcessDefinitionId(), deleteReason);
     commandContext.getHistoryManager().recordProcessInstanceEnd(rootExecutionEntity.getId(),
         deleteReason, execution.getCurrentActivityId());
   }
@@ -86,7 +86,7 @@ public class TerminateEndEventActivityBehavior extends FlowNodeActivityBehavior
 
     if (scopeExecutionEntity.isProcessInstanceType() && scopeExecutionEntity.getSuperExecutionId() == null) {
 
-      endAllHistoricActivities(scopeExecutionEntity.getId(), deleteReason);
+      endAllHistoricActivities(scopeExecutionEntity.getId(), scopeExecutionEntity.getProcessDefinitionId(), deleteReason);
       deleteExecutionEntities(executionEntityManager, scopeExecutionEntity, deleteReason);
       commandContext.getHistoryManager().recordProcessInstanceEnd(scopeExecutionEntity.getId(), deleteReason, execution.getCurrentActivityId());
 
@@ -132,9 +132,9 @@ public class TerminateEndEventActivityBehavior extends FlowNodeActivityBehavior
     }
   }
 
-  protected void endAllHistoricActivities(String processInstanceId, String deleteReason) {
+  protected void endAllHistoricActivities(String processInstanceId, String processDefinitionId, String deleteReason) {
 
-    if (!Context.getProcessEngineConfiguration().getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+    if (!Context.getCommandContext().getHistoryManager().isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processDefinitionId)) {
       return;
     }
 
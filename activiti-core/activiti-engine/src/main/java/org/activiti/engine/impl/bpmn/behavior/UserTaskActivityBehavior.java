@@ -48,6 +48,7 @@ import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.TaskEntity;
 import org.activiti.engine.impl.persistence.entity.TaskEntityManager;
+import org.activiti.engine.impl.util.ProcessDefinitionUtil;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -126,7 +127,7 @@ public class UserTaskActivityBehavior extends TaskActivityBehavior {
     if (StringUtils.isNotEmpty(activeTaskName)) {
       String name = null;
       try {
-        name = (String) expressionManager.createExpression(activeTaskName).getValue(execution);
+        name = (String) createExpression(expressionManager, execution, activeTaskName).getValue(execution);
       } catch (ActivitiException e) {
         name = activeTaskName;
         LOGGER.warn("property not found in task name expression " + e.getMessage());
@@ -137,7 +138,7 @@ public class UserTaskActivityBehavior extends TaskActivityBehavior {
     if (StringUtils.isNotEmpty(activeTaskDescription)) {
       String description = null;
       try {
-        description = (String) expressionManager.createExpression(activeTaskDescription).getValue(execution);
+        description = (String) createExpression(expressionManager, execution, activeTaskDescription).getValue(execution);
       } catch (ActivitiException e) {
         description = activeTaskDescription;
         LOGGER.warn("property not found in task description expression " + e.getMessage());
@@ -146,14 +147,14 @@ public class UserTaskActivityBehavior extends TaskActivityBehavior {
     }
 
     if (StringUtils.isNotEmpty(activeTaskDueDate)) {
-      Object dueDate = expressionManager.createExpression(activeTaskDueDate).getValue(execution);
+      Object dueDate = createExpression(expressionManager, execution, activeTaskDueDate).getValue(execution);
       if (dueDate != null) {
         if (dueDate instanceof Date) {
           task.setDueDate((Date) dueDate);
         } else if (dueDate instanceof String) {
           String businessCalendarName = null;
           if (StringUtils.isNotEmpty(userTask.getBusinessCalendarName())) {
-            businessCalendarName = expressionManager.createExpression(userTask.getBusinessCalendarName()).getValue(execution).toString();
+            businessCalendarName = createExpression(expressionManager, execution, userTask.getBusinessCalendarName()).getValue(execution).toString();
           } else {
             businessCalendarName = DueDateBusinessCalendar.NAME;
           }
@@ -169,7 +170,7 @@ public class UserTaskActivityBehavior extends TaskActivityBehavior {
     }
 
     if (StringUtils.isNotEmpty(activeTaskPriority)) {
-      final Object priority = expressionManager.createExpression(activeTaskPriority).getValue(execution);
+      final Object priority = createExpression(expressionManager, execution, activeTaskPriority).getValue(execution);
       if (priority != null) {
         if (priority instanceof String) {
           try {
@@ -186,7 +187,7 @@ public class UserTaskActivityBehavior extends TaskActivityBehavior {
     }
 
     if (StringUtils.isNotEmpty(activeTaskCategory)) {
-      final Object category = expressionManager.createExpression(activeTaskCategory).getValue(execution);
+      final Object category = createExpression(expressionManager, execution, activeTaskCategory).getValue(execution);
       if (category != null) {
         if (category instanceof String) {
           task.setCategory((String) category);
@@ -197,7 +198,7 @@ public class UserTaskActivityBehavior extends TaskActivityBehavior {
     }
 
     if (StringUtils.isNotEmpty(activeTaskFormKey)) {
-      final Object formKey = expressionManager.createExpression(activeTaskFormKey).getValue(execution);
+      final Object formKey = createExpression(expressionManager, execution, activeTaskFormKey).getValue(execution);
       if (formKey != null) {
         if (formKey instanceof String) {
           task.setFormKey((String) formKey);
@@ -215,7 +216,7 @@ public class UserTaskActivityBehavior extends TaskActivityBehavior {
 
     boolean skipUserTask = false;
     if (StringUtils.isNotEmpty(activeTaskSkipExpression)) {
-      Expression skipExpression = expressionManager.createExpression(activeTaskSkipExpression);
+      Expression skipExpression = createExpression(expressionManager, execution, activeTaskSkipExpression);
       skipUserTask = SkipExpressionUtil.isSkipExpressionEnabled(execution, skipExpression)
           && SkipExpressionUtil.shouldSkipFlowElement(execution, skipExpression);
     }
@@ -287,7 +288,7 @@ public class UserTaskActivityBehavior extends TaskActivityBehavior {
       List<String> candidateGroups, TaskEntity task, ExpressionManager expressionManager, DelegateExecution execution) {
 
     if (StringUtils.isNotEmpty(assignee)) {
-      Object assigneeExpressionValue = expressionManager.createExpression(assignee).getValue(execution);
+      Object assigneeExpressionValue = createExpression(expressionManager, execution, assignee).getValue(execution);
       String assigneeValue = null;
       if (assigneeExpressionValue != null) {
         assigneeValue = assigneeExpressionValue.toString();
@@ -297,7 +298,7 @@ public class UserTaskActivityBehavior extends TaskActivityBehavior {
     }
 
     if (StringUtils.isNotEmpty(owner)) {
-      Object ownerExpressionValue = expressionManager.createExpression(owner).getValue(execution);
+      Object ownerExpressionValue = createExpression(expressionManager, execution, owner).getValue(execution);
       String ownerValue = null;
       if (ownerExpressionValue != null) {
         ownerValue = ownerExpressionValue.toString();
@@ -308,7 +309,7 @@ public class UserTaskActivityBehavior extends TaskActivityBehavior {
 
     if (candidateGroups != null && !candidateGroups.isEmpty()) {
       for (String candidateGroup : candidateGroups) {
-        Expression groupIdExpr = expressionManager.createExpression(candidateGroup);
+        Expression groupIdExpr = createExpression(expressionManager, execution, candidateGroup);
         Object value = groupIdExpr.getValue(execution);
         if (value instanceof String) {
           List<String> candidates = extractCandidates((String) value);
@@ -323,7 +324,7 @@ public class UserTaskActivityBehavior extends TaskActivityBehavior {
 
     if (candidateUsers != null && !candidateUsers.isEmpty()) {
       for (String candidateUser : candidateUsers) {
-        Expression userIdExpr = expressionManager.createExpression(candidateUser);
+        Expression userIdExpr = createExpression(expressionManager, execution, candidateUser);
         Object value = userIdExpr.getValue(execution);
         if (value instanceof String) {
           List<String> candidates = extractCandidates((String) value);
@@ -340,7 +341,7 @@ public class UserTaskActivityBehavior extends TaskActivityBehavior {
 
       for (String customUserIdentityLinkType : userTask.getCustomUserIdentityLinks().keySet()) {
         for (String userIdentityLink : userTask.getCustomUserIdentityLinks().get(customUserIdentityLinkType)) {
-          Expression idExpression = expressionManager.createExpression(userIdentityLink);
+          Expression idExpression = createExpression(expressionManager, execution, userIdentityLink);
           Object value = idExpression.getValue(execution);
           if (value instanceof String) {
             List<String> userIds = extractCandidates((String) value);
@@ -366,7 +367,7 @@ public class UserTaskActivityBehavior extends TaskActivityBehavior {
       for (String customGroupIdentityLinkType : userTask.getCustomGroupIdentityLinks().keySet()) {
         for (String groupIdentityLink : userTask.getCustomGroupIdentityLinks().get(customGroupIdentityLinkType)) {
 
-          Expression idExpression = expressionManager.createExpression(groupIdentityLink);
+          Expression idExpression = createExpression(expressionManager, execution, groupIdentityLink);
           Object value = idExpression.getValue(execution);
           if (value instanceof String) {
             List<String> groupIds = extractCandidates((String) value);
@@ -389,6 +390,18 @@ public class UserTaskActivityBehavior extends TaskActivityBehavior {
 
   }
 
+  /**
+   * Returns the expression parsed when the process definition was deployed, or creates it when there is none
+   * (e.g. for values overridden through the process definition info).
+   */
+  protected Expression createExpression(ExpressionManager expressionManager, DelegateExecution execution, String expressionText) {
+    Expression expression = ProcessDefinitionUtil.getPreParsedExpression(execution.getProcessDefinitionId(), expressionText);
+    if (expression == null) {
+      expression = expressionManager.createExpression(expressionText);
+    }
+    return expression;
+  }
+
   /**
    * Extract a candidate list from a string.
    *
@@ -22,6 +22,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.activiti.bpmn.model.BpmnModel;
 import org.activiti.bpmn.model.Process;
 import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.bpmn.parser.BpmnParse;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.CommandContext;
@@ -56,6 +57,10 @@ public class CachingAndArtifactsManager {
       BpmnModel bpmnModel = parsedDeployment.getBpmnModelForProcessDefinition(processDefinition);
       Process process = parsedDeployment.getProcessModelForProcessDefinition(processDefinition);
       ProcessDefinitionCacheEntry cacheEntry = new ProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
+      BpmnParse bpmnParse = parsedDeployment.getBpmnParseForProcessDefinition(processDefinition);
+      if (bpmnParse != null) {
+        cacheEntry.setExpressions(bpmnParse.getExpressions());
+      }
       processDefinitionCache.add(processDefinition.getId(), cacheEntry);
       addDefinitionInfoToCache(processDefinition, processEngineConfiguration, commandContext);
 
@@ -33,6 +33,7 @@ import org.activiti.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
 import org.activiti.engine.impl.util.CollectionUtil;
+import org.activiti.engine.impl.util.JobPriorityUtil;
 
 /**
  * Manages timers for newly-deployed process definitions and their previous versions.
@@ -81,6 +82,7 @@ public class TimerManager {
 
               if (timerJob != null) {
                 timerJob.setProcessDefinitionId(processDefinition.getId());
+                timerJob.setPriority(JobPriorityUtil.getJobPriority(startEvent, process));
 
                 if (processDefinition.getTenantId() != null) {
                   timerJob.setTenantId(processDefinition.getTenantId());
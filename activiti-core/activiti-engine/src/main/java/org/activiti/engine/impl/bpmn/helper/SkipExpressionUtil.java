@@ -20,6 +20,7 @@ import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.delegate.DelegateExecution;
 import org.activiti.engine.delegate.Expression;
 import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.util.ProcessDefinitionUtil;
 
 public class SkipExpressionUtil {
 
@@ -53,7 +54,10 @@ public class SkipExpressionUtil {
   }
 
   public static boolean shouldSkipFlowElement(CommandContext commandContext, DelegateExecution execution, String skipExpressionString) {
-    Expression skipExpression = commandContext.getProcessEngineConfiguration().getExpressionManager().createExpression(skipExpressionString);
+    Expression skipExpression = ProcessDefinitionUtil.getPreParsedExpression(execution.getProcessDefinitionId(), skipExpressionString);
+    if (skipExpression == null) {
+      skipExpression = commandContext.getProcessEngineConfiguration().getExpressionManager().createExpression(skipExpressionString);
+    }
     Object value = skipExpression.getValue(execution);
 
     if (value instanceof Boolean) {
@@ -40,6 +40,7 @@ import org.activiti.bpmn.model.SequenceFlow;
 import org.activiti.bpmn.model.SubProcess;
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.delegate.Expression;
 import org.activiti.engine.delegate.event.impl.ActivitiEventSupport;
 import org.activiti.engine.impl.bpmn.parser.factory.ActivityBehaviorFactory;
 import org.activiti.engine.impl.bpmn.parser.factory.ListenerFactory;
@@ -54,6 +55,7 @@ import org.activiti.engine.impl.util.io.StringStreamSource;
 import org.activiti.engine.impl.util.io.UrlStreamSource;
 import org.activiti.validation.ProcessValidator;
 import org.activiti.validation.ValidationError;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -117,6 +119,11 @@ public class BpmnParse implements BpmnXMLConstants {
    */
   protected Map<String, String> prefixs = new HashMap<String, String>();
 
+  /**
+   * Expressions parsed up front so they can be cached together with the process definitions, keyed by expression text.
+   */
+  protected Map<String, Expression> expressions = new HashMap<String, Expression>();
+
   // Factories
   protected ActivityBehaviorFactory activityBehaviorFactory;
   protected ListenerFactory listenerFactory;
@@ -442,6 +449,29 @@ public class BpmnParse implements BpmnXMLConstants {
     return processDefinitions;
   }
 
+  /**
+   * Parses an expression that is otherwise only created at runtime, so the parsed expression can be cached
+   * together with the process definitions. Expressions that can't be parsed are left to fail at runtime, as before.
+   */
+  public void preParseExpression(String expressionText) {
+    if (StringUtils.isEmpty(expressionText) || expressions.containsKey(expressionText)) {
+      return;
+    }
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration == null || processEngineConfiguration.getExpressionManager() == null) {
+      return;
+    }
+    try {
+      expressions.put(expressionText, processEngineConfiguration.getExpressionManager().createExpression(expressionText));
+    } catch (RuntimeException e) {
+      LOGGER.debug("Could not pre-parse expression '{}': {}", expressionText, e.getMessage());
+    }
+  }
+
+  public Map<String, Expression> getExpressions() {
+    return expressions;
+  }
+
   public String getTargetNamespace() {
     return targetNamespace;
   }
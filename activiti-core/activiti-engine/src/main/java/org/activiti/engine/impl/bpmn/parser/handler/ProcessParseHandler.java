@@ -18,16 +18,20 @@ package org.activiti.engine.impl.bpmn.parser.handler;
 
 import java.util.List;
 
+import org.activiti.bpmn.constants.BpmnXMLConstants;
 import org.activiti.bpmn.model.BaseElement;
 import org.activiti.bpmn.model.BpmnModel;
 import org.activiti.bpmn.model.EventListener;
 import org.activiti.bpmn.model.ImplementationType;
 import org.activiti.bpmn.model.Process;
 import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.delegate.event.impl.ActivitiEventDispatcherImpl;
 import org.activiti.engine.delegate.event.impl.ActivitiEventSupport;
 import org.activiti.engine.impl.bpmn.parser.BpmnParse;
 import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.history.HistoryLevel;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.activiti.engine.impl.util.JobPriorityUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -69,6 +73,14 @@ public class ProcessParseHandler extends AbstractBpmnParseHandler<Process> {
       currentProcessDefinition.setEngineVersion(bpmnParse.getDeployment().getEngineVersion());
     }
 
+    // Fail at deployment rather than at runtime on an unknown history level or a job priority that isn't a number.
+    // The history level is resolved once here, and kept (as the ordinal of the HistoryLevel) on the cached process definition.
+    String historyLevelKey = process.getAttributeValue(BpmnXMLConstants.ACTIVITI_EXTENSIONS_NAMESPACE, BpmnXMLConstants.ATTRIBUTE_PROCESS_HISTORY_LEVEL);
+    if (historyLevelKey != null) {
+      currentProcessDefinition.setHistoryLevel(HistoryLevel.getHistoryLevelForKey(historyLevelKey).ordinal());
+    }
+    JobPriorityUtil.validateJobPriorities(process);
+
     createEventListeners(bpmnParse, process.getEventListeners());
 
     if (LOGGER.isDebugEnabled()) {
@@ -90,9 +102,11 @@ public class ProcessParseHandler extends AbstractBpmnParseHandler<Process> {
 
         if (ImplementationType.IMPLEMENTATION_TYPE_CLASS.equals(eventListener.getImplementationType())) {
           getEventSupport(bpmnParse.getBpmnModel()).addEventListener(bpmnParse.getListenerFactory().createClassDelegateEventListener(eventListener), types);
+          addProcessDefinitionListenerTypes(types);
 
         } else if (ImplementationType.IMPLEMENTATION_TYPE_DELEGATEEXPRESSION.equals(eventListener.getImplementationType())) {
           getEventSupport(bpmnParse.getBpmnModel()).addEventListener(bpmnParse.getListenerFactory().createDelegateExpressionEventListener(eventListener), types);
+          addProcessDefinitionListenerTypes(types);
 
         } else if (ImplementationType.IMPLEMENTATION_TYPE_THROW_SIGNAL_EVENT.equals(eventListener.getImplementationType())
             || ImplementationType.IMPLEMENTATION_TYPE_THROW_GLOBAL_SIGNAL_EVENT.equals(eventListener.getImplementationType())
@@ -100,6 +114,7 @@ public class ProcessParseHandler extends AbstractBpmnParseHandler<Process> {
             || ImplementationType.IMPLEMENTATION_TYPE_THROW_ERROR_EVENT.equals(eventListener.getImplementationType())) {
 
           getEventSupport(bpmnParse.getBpmnModel()).addEventListener(bpmnParse.getListenerFactory().createEventThrowingEventListener(eventListener), types);
+          addProcessDefinitionListenerTypes(types);
 
         } else {
           LOGGER.warn("Unsupported implementation type for EventListener: " + eventListener.getImplementationType() + " for element " + bpmnParse.getCurrentFlowElement().getId());
@@ -109,6 +124,16 @@ public class ProcessParseHandler extends AbstractBpmnParseHandler<Process> {
 
   }
 
+  /**
+   * Lets the engine wide dispatcher know these event types have listeners, see {@link ActivitiEventDispatcherImpl#hasEventListeners(ActivitiEventType)}.
+   */
+  protected void addProcessDefinitionListenerTypes(ActivitiEventType[] types) {
+    if (Context.getProcessEngineConfiguration() != null
+        && Context.getProcessEngineConfiguration().getEventDispatcher() instanceof ActivitiEventDispatcherImpl) {
+      ((ActivitiEventDispatcherImpl) Context.getProcessEngineConfiguration().getEventDispatcher()).addProcessDefinitionListenerTypes(types);
+    }
+  }
+
   protected ActivitiEventSupport getEventSupport(BpmnModel bpmnModel) {
     return (ActivitiEventSupport) bpmnModel.getEventSupport();
   }
@@ -36,6 +36,9 @@ public class SequenceFlowParseHandler extends AbstractBpmnParseHandler<SequenceF
     org.activiti.bpmn.model.Process process = bpmnParse.getCurrentProcess();
     sequenceFlow.setSourceFlowElement(process.getFlowElement(sequenceFlow.getSourceRef(), true));
     sequenceFlow.setTargetFlowElement(process.getFlowElement(sequenceFlow.getTargetRef(), true));
+
+    bpmnParse.preParseExpression(sequenceFlow.getConditionExpression());
+    bpmnParse.preParseExpression(sequenceFlow.getSkipExpression());
   }
 
 }
@@ -32,6 +32,27 @@ public class UserTaskParseHandler extends AbstractActivityBpmnParseHandler<UserT
   @Override
   protected void executeParse(BpmnParse bpmnParse, UserTask userTask) {
     userTask.setBehavior(bpmnParse.getActivityBehaviorFactory().createUserTaskActivityBehavior(userTask));
+
+    bpmnParse.preParseExpression(userTask.getName());
+    bpmnParse.preParseExpression(userTask.getDocumentation());
+    bpmnParse.preParseExpression(userTask.getDueDate());
+    bpmnParse.preParseExpression(userTask.getBusinessCalendarName());
+    bpmnParse.preParseExpression(userTask.getPriority());
+    bpmnParse.preParseExpression(userTask.getCategory());
+    bpmnParse.preParseExpression(userTask.getFormKey());
+    bpmnParse.preParseExpression(userTask.getSkipExpression());
+    bpmnParse.preParseExpression(userTask.getAssignee());
+    bpmnParse.preParseExpression(userTask.getOwner());
+    if (userTask.getCandidateUsers() != null) {
+      for (String candidateUser : userTask.getCandidateUsers()) {
+        bpmnParse.preParseExpression(candidateUser);
+      }
+    }
+    if (userTask.getCandidateGroups() != null) {
+      for (String candidateGroup : userTask.getCandidateGroups()) {
+        bpmnParse.preParseExpression(candidateGroup);
+      }
+    }
   }
 
 }
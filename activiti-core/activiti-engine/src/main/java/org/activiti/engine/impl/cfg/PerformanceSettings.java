@@ -30,6 +30,16 @@ public class PerformanceSettings {
    */
   protected boolean enableEagerExecutionTreeFetching;
 
+  /**
+   * Experimental setting: if true (and eager execution tree fetching is enabled), the first
+   * time an execution needs its variables, the variables of all executions in its tree are fetched
+   * in the same roundtrip.
+   *
+   * Resolving a variable walks up the parent executions, which otherwise costs a query
+   * for every level of (call activity or embedded) subprocess nesting.
+   */
+  protected boolean enableEagerVariableFetching;
+
   /**
    * Experimental setting: keeps a count on each execution that holds
    * how many variables, jobs, tasks, event subscriptions, etc. the execution has.
@@ -62,6 +72,14 @@ public class PerformanceSettings {
     this.enableEagerExecutionTreeFetching = enableEagerExecutionTreeFetching;
   }
 
+  public boolean isEnableEagerVariableFetching() {
+    return enableEagerVariableFetching;
+  }
+
+  public void setEnableEagerVariableFetching(boolean enableEagerVariableFetching) {
+    this.enableEagerVariableFetching = enableEagerVariableFetching;
+  }
+
   public boolean isEnableExecutionRelationshipCounts() {
     return enableExecutionRelationshipCounts;
   }
@@ -60,6 +60,7 @@ import org.activiti.engine.delegate.event.ActivitiEventDispatcher;
 import org.activiti.engine.delegate.event.ActivitiEventListener;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventDispatcherImpl;
+import org.activiti.engine.delegate.event.impl.AsyncEventListenerExecutor;
 import org.activiti.engine.impl.DynamicBpmnServiceImpl;
 import org.activiti.engine.impl.HistoryServiceImpl;
 import org.activiti.engine.impl.ManagementServiceImpl;
@@ -74,7 +75,9 @@ import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
 import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
 import org.activiti.engine.impl.asyncexecutor.DefaultJobManager;
 import org.activiti.engine.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
+import org.activiti.engine.impl.asyncexecutor.InJvmJobNotificationChannel;
 import org.activiti.engine.impl.asyncexecutor.JobManager;
+import org.activiti.engine.impl.asyncexecutor.JobNotificationChannel;
 import org.activiti.engine.impl.bpmn.data.ItemInstance;
 import org.activiti.engine.impl.bpmn.deployer.BpmnDeployer;
 import org.activiti.engine.impl.bpmn.deployer.BpmnDeploymentHelper;
@@ -128,9 +131,9 @@ import org.activiti.engine.impl.calendar.DurationBusinessCalendar;
 import org.activiti.engine.impl.calendar.MapBusinessCalendarManager;
 import org.activiti.engine.impl.cfg.standalone.StandaloneMybatisTransactionContextFactory;
 import org.activiti.engine.impl.cmd.ValidateExecutionRelatedEntityCountCfgCmd;
-import org.activiti.engine.impl.db.DbIdGenerator;
 import org.activiti.engine.impl.db.DbSqlSessionFactory;
 import org.activiti.engine.impl.db.IbatisVariableTypeHandler;
+import org.activiti.engine.impl.db.PrefetchingDbIdGenerator;
 import org.activiti.engine.impl.delegate.invocation.DefaultDelegateInterceptor;
 import org.activiti.engine.impl.el.ExpressionManager;
 import org.activiti.engine.impl.event.CompensationEventHandler;
@@ -138,7 +141,9 @@ import org.activiti.engine.impl.event.EventHandler;
 import org.activiti.engine.impl.event.EventSubscriptionPayloadMappingProvider;
 import org.activiti.engine.impl.event.MessageEventHandler;
 import org.activiti.engine.impl.event.SignalEventHandler;
+import org.activiti.engine.impl.event.logger.BufferedEventLogWriter;
 import org.activiti.engine.impl.event.logger.EventLogger;
+import org.activiti.engine.impl.history.AsyncHistoryOutbox;
 import org.activiti.engine.impl.history.DefaultHistoryManager;
 import org.activiti.engine.impl.history.HistoryLevel;
 import org.activiti.engine.impl.history.HistoryManager;
@@ -154,6 +159,7 @@ import org.activiti.engine.impl.interceptor.LogInterceptor;
 import org.activiti.engine.impl.interceptor.SessionFactory;
 import org.activiti.engine.impl.interceptor.TransactionContextInterceptor;
 import org.activiti.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.activiti.engine.impl.jobexecutor.AsyncHistoryJobHandler;
 import org.activiti.engine.impl.jobexecutor.DefaultFailedJobCommandFactory;
 import org.activiti.engine.impl.jobexecutor.FailedJobCommandFactory;
 import org.activiti.engine.impl.jobexecutor.JobHandler;
@@ -163,22 +169,29 @@ import org.activiti.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.activiti.engine.impl.jobexecutor.TimerSuspendProcessDefinitionHandler;
 import org.activiti.engine.impl.jobexecutor.TriggerTimerEventJobHandler;
 import org.activiti.engine.impl.persistence.GenericManagerFactory;
+import org.activiti.engine.impl.persistence.cache.DefaultSecondLevelEntityCache;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
 import org.activiti.engine.impl.persistence.cache.EntityCacheImpl;
-import org.activiti.engine.impl.persistence.deploy.DefaultDeploymentCache;
+import org.activiti.engine.impl.persistence.cache.SecondLevelEntityCache;
+import org.activiti.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.Deployer;
 import org.activiti.engine.impl.persistence.deploy.DeploymentCache;
+import org.activiti.engine.impl.persistence.deploy.DeploymentCacheInvalidationChannel;
 import org.activiti.engine.impl.persistence.deploy.DeploymentManager;
+import org.activiti.engine.impl.persistence.deploy.InJvmDeploymentCacheInvalidationChannel;
 import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntryWeigher;
 import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionInfoCache;
 import org.activiti.engine.impl.persistence.entity.AttachmentEntityManager;
 import org.activiti.engine.impl.persistence.entity.AttachmentEntityManagerImpl;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntityImpl;
 import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManager;
 import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManagerImpl;
 import org.activiti.engine.impl.persistence.entity.CommentEntityManager;
 import org.activiti.engine.impl.persistence.entity.CommentEntityManagerImpl;
 import org.activiti.engine.impl.persistence.entity.DeadLetterJobEntityManager;
 import org.activiti.engine.impl.persistence.entity.DeadLetterJobEntityManagerImpl;
+import org.activiti.engine.impl.persistence.entity.DeploymentEntityImpl;
 import org.activiti.engine.impl.persistence.entity.DeploymentEntityManager;
 import org.activiti.engine.impl.persistence.entity.DeploymentEntityManagerImpl;
 import org.activiti.engine.impl.persistence.entity.EventLogEntryEntityManager;
@@ -205,12 +218,14 @@ import org.activiti.engine.impl.persistence.entity.JobEntityManager;
 import org.activiti.engine.impl.persistence.entity.JobEntityManagerImpl;
 import org.activiti.engine.impl.persistence.entity.ModelEntityManager;
 import org.activiti.engine.impl.persistence.entity.ModelEntityManagerImpl;
+import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntityImpl;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntityManager;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntityManagerImpl;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionInfoEntityManager;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionInfoEntityManagerImpl;
 import org.activiti.engine.impl.persistence.entity.PropertyEntityManager;
 import org.activiti.engine.impl.persistence.entity.PropertyEntityManagerImpl;
+import org.activiti.engine.impl.persistence.entity.ResourceEntityImpl;
 import org.activiti.engine.impl.persistence.entity.ResourceEntityManager;
 import org.activiti.engine.impl.persistence.entity.ResourceEntityManagerImpl;
 import org.activiti.engine.impl.persistence.entity.SuspendedJobEntityManager;
@@ -447,6 +462,27 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected HistoryManager historyManager;
 
+  /**
+   * If set to true, a process can override the engine history level with the activiti:historyLevel attribute
+   * (none, activity, audit or full), e.g. to skip history for high volume straight-through processes. Default false.
+   */
+  protected boolean enableProcessDefinitionHistoryLevel;
+
+  /**
+   * If set to true, ended activity instances and variable updates are not inserted into the history tables
+   * in the transaction that produced them. They are written as compact records to an outbox instead, which is
+   * inserted into the history tables by an async job. Until that job ran, these rows are missing from the
+   * history queries. Default false.
+   */
+  protected boolean asyncHistoryEnabled;
+  protected AsyncHistoryOutbox asyncHistoryOutbox;
+
+  /**
+   * The maximum number of outbox records that one async history job inserts: its own and those of other
+   * pending async history jobs, which are deleted afterwards. Default 10.
+   */
+  protected int asyncHistoryJobBatchSize = 10;
+
   // Job Manager
 
   protected JobManager jobManager;
@@ -478,14 +514,47 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected DeploymentManager deploymentManager;
 
   protected int processDefinitionCacheLimit = -1; // By default, no limit
+
+  /**
+   * Maximum total weight of the process definition cache, where a process definition weighs as much as the number
+   * of elements in its BPMN model (see {@link ProcessDefinitionCacheEntryWeigher}). By default, no limit.
+   */
+  protected long processDefinitionCacheMaxWeight = -1;
   protected DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache;
 
   protected int processDefinitionInfoCacheLimit = -1; // By default, no limit
   protected ProcessDefinitionInfoCache processDefinitionInfoCache;
 
+  /**
+   * If set to false, the process definition info cache doesn't check on every read whether the info was changed in the database,
+   * but relies on the {@link #deploymentCacheInvalidationChannel} to evict changed infos. Only disable this when all engines
+   * sharing the database publish and receive invalidations on the same channel. Default true.
+   */
+  protected boolean processDefinitionInfoCacheRevisionCheckEnabled = true;
+
+  /**
+   * The channel on which the engine announces process definitions (infos) that were changed or deleted, so that all engines
+   * evict them from their caches. Defaults to the {@link InJvmDeploymentCacheInvalidationChannel} shared by all engines in the JVM;
+   * set an implementation backed by a cluster transport to evict the caches of other nodes.
+   */
+  protected DeploymentCacheInvalidationChannel deploymentCacheInvalidationChannel;
+
   protected int knowledgeBaseCacheLimit = -1;
   protected DeploymentCache<Object> knowledgeBaseCache;
 
+  /**
+   * If set to true, the entities of the {@link #secondLevelEntityCacheClasses} are cached across transactions,
+   * so that fetching them by id doesn't hit the database every time. Updates and deletes done through the engine
+   * invalidate the cached entities, but changes made directly in the database (or by engines that don't share
+   * this cache) are not seen. Default false.
+   */
+  protected boolean enableSecondLevelEntityCache;
+  protected int secondLevelEntityCacheLimit = 1000;
+
+  /** Read-mostly entity classes to cache. By default: process definitions, deployments, resources and byte arrays. */
+  protected Collection<Class<?>> secondLevelEntityCacheClasses;
+  protected SecondLevelEntityCache secondLevelEntityCache;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -528,6 +597,50 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected long asyncExecutorThreadKeepAliveTime = 5000L;
 
+  /**
+   * When true, the async executor runs each job on its own virtual thread instead of on its
+   * thread pool, which suits jobs that mostly wait on I/O. The pool and queue size settings are
+   * then not used: {@link #asyncExecutorMaxConcurrentVirtualThreadJobs} limits the number of jobs
+   * executing at the same time. Default false.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected boolean asyncExecutorVirtualThreadExecution;
+
+  /**
+   * The maximum number of jobs executing at the same time when {@link #asyncExecutorVirtualThreadExecution}
+   * is enabled. Jobs acquired above this limit are unacquired, as when the queue is full. Default 256.
+   */
+  protected int asyncExecutorMaxConcurrentVirtualThreadJobs = 256;
+
+  /**
+   * When true, the async executor executes the exclusive jobs of a process instance acquired on this node
+   * one after the other on the same thread, instead of concurrently with all but one failing to lock the
+   * process instance and being retried. Default false.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected boolean asyncExecutorExclusiveJobSerialExecution;
+
+  /**
+   * When true, the async executor queues the jobs to execute per tenant and executes them in weighted
+   * round robin, and a tenant can only fill its share of the queue, so one tenant creating a lot of
+   * async jobs doesn't delay the jobs of the other tenants. Default false.
+   * The thread pool is then created with {@link #asyncExecutorMaxPoolSize} core threads.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor} with its thread pool).
+   */
+  protected boolean asyncExecutorTenantFairScheduling;
+
+  /**
+   * The weights of the tenants when {@link #asyncExecutorTenantFairScheduling} is enabled: a tenant with weight 2
+   * gets twice as many jobs executed as a tenant with weight 1. Tenants not in this map have weight 1.
+   */
+  protected Map<String, Integer> asyncExecutorTenantWeights;
+
   /**
    * The size of the queue on which jobs to be executed are placed, before they
    * are actually executed. Default value = 100. (This property is only
@@ -598,6 +711,28 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected int asyncExecutorDefaultTimerJobAcquireWaitTime = 10 * 1000;
 
+  /**
+   * When > 0, the timer acquisition thread also acquires the timers due within
+   * this time (in milliseconds) and moves them to the executable jobs at their
+   * due date, instead of when a query finds them due, which is up to
+   * {@link #asyncExecutorDefaultTimerJobAcquireWaitTime} later. Should be larger
+   * than that wait time. Default value = 0, timers are only acquired when due.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected int asyncExecutorTimerLookAheadTime;
+
+  /**
+   * The tick (in milliseconds) of the timer wheel holding the timers acquired
+   * ahead of their due date, see {@link #asyncExecutorTimerLookAheadTime}: a
+   * timer fires at most one tick after its due date. Default value = 50.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected int asyncExecutorTimerWheelTick = 50;
+
   /**
    * The time (in milliseconds) the async job acquisition thread will wait to
    * execute the next acquirement query. This happens when no new async jobs
@@ -616,6 +751,28 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected int asyncExecutorDefaultQueueSizeFullWaitTime = 0;
 
+  /**
+   * When true, the number of (timer) jobs acquired per query and the time waited between queries
+   * adapt to the job backlog, the free capacity of the job queue and the optimistic locking failures
+   * caused by other async executors. The 'max jobs per acquisition' settings are then used as the minimum
+   * number of jobs per query, and the default acquire wait times as the maximum wait time. Default false.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected boolean asyncExecutorAdaptiveAcquisition;
+
+  /**
+   * The maximum number of jobs acquired during one query when {@link #asyncExecutorAdaptiveAcquisition} is enabled. Default 256.
+   */
+  protected int asyncExecutorAdaptiveAcquisitionMaxJobsPerAcquisition = 256;
+
+  /**
+   * The minimum time (in milliseconds) waited between queries that didn't find a full batch of jobs,
+   * when {@link #asyncExecutorAdaptiveAcquisition} is enabled. Default 100 milliseconds.
+   */
+  protected int asyncExecutorAdaptiveAcquisitionMinWaitTime = 100;
+
   /**
    * When a job is acquired, it is locked so other async executors can't lock
    * and execute it. While doing this, the 'name' of the lock owner is written
@@ -677,6 +834,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected int asyncExecutorResetExpiredJobsPageSize = 3;
 
+  /**
+   * When true, the 'cleanup' thread of the {@link AsyncExecutor} unlocks the expired jobs
+   * and timer jobs in batches of {@link #asyncExecutorResetExpiredJobsBatchSize}, with one
+   * update statement per batch, until none are left, instead of resetting one page of
+   * jobs per interval. Default false.
+   */
+  protected boolean asyncExecutorResetExpiredJobsBulk;
+
+  /**
+   * The number of jobs unlocked by one update statement when
+   * {@link #asyncExecutorResetExpiredJobsBulk} is enabled. Default 500.
+   */
+  protected int asyncExecutorResetExpiredJobsBatchSize = 500;
+
   /**
    * Experimental!
    *
@@ -691,6 +862,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   */
   protected ExecuteAsyncRunnableFactory asyncExecutorExecuteAsyncRunnableFactory;
 
+  /**
+   * The channel on which the engine announces committed jobs, so that the async executors of
+   * other engines acquire them immediately. Defaults to the {@link InJvmJobNotificationChannel#getSharedInstance() shared}
+   * {@link InJvmJobNotificationChannel}, reaching the other engines in the JVM; set an implementation backed by a cluster
+   * transport to wake up the async executors of other nodes.
+   */
+  protected JobNotificationChannel jobNotificationChannel;
+
   // MYBATIS SQL SESSION FACTORY //////////////////////////////////////////////
 
   protected SqlSessionFactory sqlSessionFactory;
@@ -793,9 +972,27 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected List<ActivitiEventListener> eventListeners;
   protected Map<String, List<ActivitiEventListener>> typedEventListeners;
 
+  /**
+   * Delivers events to {@link org.activiti.engine.delegate.event.AsyncActivitiEventListener}s after commit, on
+   * {@link #asyncEventListenerLanes} threads with a queue of {@link #asyncEventListenerQueueSize} events each.
+   */
+  protected AsyncEventListenerExecutor asyncEventListenerExecutor;
+  protected int asyncEventListenerLanes = 4;
+  protected int asyncEventListenerQueueSize = 1000;
+
   // Event logging to database
   protected boolean enableDatabaseEventLogging;
 
+  /**
+   * When enabled (together with {@link #enableDatabaseEventLogging}), event log entries are not inserted in the
+   * transaction that produced them, but handed after commit to a background writer that inserts them in JDBC batches.
+   * Entries are dropped when the buffer of {@link #asyncEventLogBufferSize} entries is full.
+   */
+  protected boolean enableAsyncDatabaseEventLogging;
+  protected int asyncEventLogBufferSize = 10000;
+  protected int asyncEventLogBatchSize = 500;
+  protected BufferedEventLogWriter asyncEventLogWriter;
+
   /**
    * Using field injection together with a delegate expression for a service
    * task / execution listener / task listener is not thread-sade , see user
@@ -831,6 +1028,27 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public int DEFAULT_MAX_NR_OF_STATEMENTS_BULK_INSERT_SQL_SERVER = 70; // currently Execution has most params (28). 2000 / 28 = 71.
 
+  /**
+   * If set to true, the inserts, updates and deletes of a flush are sent to the database as JDBC batches
+   * (one batch per statement, in entity dependency order) instead of one by one. This replaces bulk inserts.
+   * The row counts of the batched updates and deletes are still checked for optimistic locking failures,
+   * unless the JDBC driver doesn't report them. Default false.
+   */
+  protected boolean isJdbcBatchFlushEnabled;
+
+  /**
+   * If set to true, (timer) jobs are acquired with 'select ... for update skip locked', so that concurrent engines
+   * don't read the same jobs and lose the optimistic lock on all but one of them.
+   *
+   * By default (null) this is enabled on the databases that support it: Postgres, Oracle and MySQL 8+.
+   */
+  protected Boolean skipLockedJobAcquisitionEnabled;
+
+  /**
+   * Major version of the database, as detected in {@link #initDatabaseType()}. -1 if the database type was configured.
+   */
+  protected int databaseMajorVersion = -1;
+
   protected ObjectMapper objectMapper = new ObjectMapper();
 
   /**
@@ -899,8 +1117,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initProcessDefinitionCache();
     initProcessDefinitionInfoCache();
     initKnowledgeBaseCache();
+    initSecondLevelEntityCache();
+    initDeploymentCacheInvalidationChannel();
     initJobHandlers();
+    initAsyncHistoryOutbox();
     initJobManager();
+    initJobNotificationChannel();
     initAsyncExecutor();
 
     initTransactionFactory();
@@ -1153,6 +1375,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       }
 
       databaseType = databaseVendor;
+      databaseMajorVersion = databaseMetaData.getDatabaseMajorVersion();
 
       switch (databaseVendor) {
           case DATABASE_TYPE_MYSQL:
@@ -1477,6 +1700,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  public void initAsyncHistoryOutbox() {
+    // Also needed when async history is disabled, to handle the async history jobs other engines created
+    if (asyncHistoryOutbox == null) {
+      asyncHistoryOutbox = new AsyncHistoryOutbox(objectMapper);
+    }
+  }
+
   // Job manager ///////////////////////////////////////////////////////////
 
    public void initJobManager() {
@@ -1521,6 +1751,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
     dbSqlSessionFactory.setBulkInsertEnabled(isBulkInsertEnabled, databaseType);
     dbSqlSessionFactory.setMaxNrOfStatementsInBulkInsert(maxNrOfStatementsInBulkInsert);
+    dbSqlSessionFactory.setJdbcBatchFlushEnabled(isJdbcBatchFlushEnabled);
+    dbSqlSessionFactory.setSecondLevelEntityCache(secondLevelEntityCache);
+    if (asyncHistoryEnabled) {
+      dbSqlSessionFactory.setAsyncHistoryOutbox(asyncHistoryOutbox);
+    }
+    if (skipLockedJobAcquisitionEnabled != null) {
+      dbSqlSessionFactory.setSkipLockedJobAcquisitionEnabled(skipLockedJobAcquisitionEnabled);
+    } else {
+      dbSqlSessionFactory.setSkipLockedJobAcquisitionEnabled(DbSqlSessionFactory.isSkipLockedSupported(databaseType, databaseMajorVersion));
+    }
     addSessionFactory(dbSqlSessionFactory);
   }
 
@@ -1610,11 +1850,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public void initProcessDefinitionCache() {
     if (processDefinitionCache == null) {
-      if (processDefinitionCacheLimit <= 0) {
-        processDefinitionCache = new DefaultDeploymentCache<ProcessDefinitionCacheEntry>();
-      } else {
-        processDefinitionCache = new DefaultDeploymentCache<ProcessDefinitionCacheEntry>(processDefinitionCacheLimit);
-      }
+      processDefinitionCache = new ConcurrentDeploymentCache<ProcessDefinitionCacheEntry>(processDefinitionCacheLimit,
+          processDefinitionCacheMaxWeight, new ProcessDefinitionCacheEntryWeigher());
     }
   }
 
@@ -1625,16 +1862,32 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       } else {
         processDefinitionInfoCache = new ProcessDefinitionInfoCache(commandExecutor, processDefinitionInfoCacheLimit);
       }
+      processDefinitionInfoCache.setRevisionCheckEnabled(processDefinitionInfoCacheRevisionCheckEnabled);
     }
   }
 
   public void initKnowledgeBaseCache() {
     if (knowledgeBaseCache == null) {
-      if (knowledgeBaseCacheLimit <= 0) {
-        knowledgeBaseCache = new DefaultDeploymentCache<Object>();
-      } else {
-        knowledgeBaseCache = new DefaultDeploymentCache<Object>(knowledgeBaseCacheLimit);
+      knowledgeBaseCache = new ConcurrentDeploymentCache<Object>(knowledgeBaseCacheLimit);
+    }
+  }
+
+  public void initDeploymentCacheInvalidationChannel() {
+    if (deploymentCacheInvalidationChannel == null) {
+      deploymentCacheInvalidationChannel = InJvmDeploymentCacheInvalidationChannel.getSharedInstance();
+    }
+  }
+
+  public void initSecondLevelEntityCache() {
+    if (secondLevelEntityCache == null && enableSecondLevelEntityCache) {
+      if (secondLevelEntityCacheClasses == null) {
+        secondLevelEntityCacheClasses = new ArrayList<Class<?>>();
+        secondLevelEntityCacheClasses.add(ProcessDefinitionEntityImpl.class);
+        secondLevelEntityCacheClasses.add(DeploymentEntityImpl.class);
+        secondLevelEntityCacheClasses.add(ResourceEntityImpl.class);
+        secondLevelEntityCacheClasses.add(ByteArrayEntityImpl.class);
       }
+      secondLevelEntityCache = new DefaultSecondLevelEntityCache(secondLevelEntityCacheClasses, secondLevelEntityCacheLimit);
     }
   }
 
@@ -1660,6 +1913,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       deploymentManager.setProcessEngineConfiguration(this);
       deploymentManager.setProcessDefinitionEntityManager(processDefinitionEntityManager);
       deploymentManager.setDeploymentEntityManager(deploymentEntityManager);
+      deploymentManager.setCacheInvalidationChannel(deploymentCacheInvalidationChannel);
     }
   }
 
@@ -1864,6 +2118,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     ProcessEventJobHandler processEventJobHandler = new ProcessEventJobHandler();
     jobHandlers.put(processEventJobHandler.getType(), processEventJobHandler);
 
+    AsyncHistoryJobHandler asyncHistoryJobHandler = new AsyncHistoryJobHandler();
+    jobHandlers.put(asyncHistoryJobHandler.getType(), asyncHistoryJobHandler);
+
     // if we have custom job handlers, register them
     if (getCustomJobHandlers() != null) {
       for (JobHandler customJobHandler : getCustomJobHandlers()) {
@@ -1875,6 +2132,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   // async executor
   // /////////////////////////////////////////////////////////////
 
+  public void initJobNotificationChannel() {
+    if (jobNotificationChannel == null) {
+      jobNotificationChannel = InJvmJobNotificationChannel.getSharedInstance();
+    }
+  }
+
   public void initAsyncExecutor() {
     if (asyncExecutor == null) {
       DefaultAsyncJobExecutor defaultAsyncExecutor = new DefaultAsyncJobExecutor();
@@ -1917,7 +2180,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         idGeneratorCommandExecutor = getCommandExecutor();
       }
 
-      DbIdGenerator dbIdGenerator = new DbIdGenerator();
+      PrefetchingDbIdGenerator dbIdGenerator = new PrefetchingDbIdGenerator();
       dbIdGenerator.setIdBlockSize(idBlockSize);
       dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
       dbIdGenerator.setCommandConfig(getDefaultCommandConfig().transactionRequiresNew());
@@ -2113,6 +2376,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     this.eventDispatcher.setEnabled(enableEventDispatcher);
 
+    if (this.eventDispatcher instanceof ActivitiEventDispatcherImpl) {
+      if (asyncEventListenerExecutor == null) {
+        asyncEventListenerExecutor = new AsyncEventListenerExecutor(asyncEventListenerLanes, asyncEventListenerQueueSize);
+      }
+      ((ActivitiEventDispatcherImpl) this.eventDispatcher).setAsyncEventListenerExecutor(asyncEventListenerExecutor);
+    }
+
     if (eventListeners != null) {
       for (ActivitiEventListener listenerToAdd : eventListeners) {
         this.eventDispatcher.addEventListener(listenerToAdd);
@@ -2142,7 +2412,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (enableDatabaseEventLogging) {
       // Database event logging uses the default logging mechanism and adds
       // a specific event listener to the list of event listeners
-      getEventDispatcher().addEventListener(new EventLogger(clock, objectMapper));
+      EventLogger eventLogger = new EventLogger(clock, objectMapper);
+      if (enableAsyncDatabaseEventLogging) {
+        if (asyncEventLogWriter == null) {
+          asyncEventLogWriter = new BufferedEventLogWriter(commandExecutor, asyncEventLogBufferSize, asyncEventLogBatchSize);
+        }
+        eventLogger.setEventLogWriter(asyncEventLogWriter);
+      }
+      getEventDispatcher().addEventListener(eventLogger);
     }
   }
 
@@ -2879,6 +3156,33 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public long getProcessDefinitionCacheMaxWeight() {
+    return processDefinitionCacheMaxWeight;
+  }
+
+  public ProcessEngineConfigurationImpl setProcessDefinitionCacheMaxWeight(long processDefinitionCacheMaxWeight) {
+    this.processDefinitionCacheMaxWeight = processDefinitionCacheMaxWeight;
+    return this;
+  }
+
+  public boolean isProcessDefinitionInfoCacheRevisionCheckEnabled() {
+    return processDefinitionInfoCacheRevisionCheckEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setProcessDefinitionInfoCacheRevisionCheckEnabled(boolean processDefinitionInfoCacheRevisionCheckEnabled) {
+    this.processDefinitionInfoCacheRevisionCheckEnabled = processDefinitionInfoCacheRevisionCheckEnabled;
+    return this;
+  }
+
+  public DeploymentCacheInvalidationChannel getDeploymentCacheInvalidationChannel() {
+    return deploymentCacheInvalidationChannel;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheInvalidationChannel(DeploymentCacheInvalidationChannel deploymentCacheInvalidationChannel) {
+    this.deploymentCacheInvalidationChannel = deploymentCacheInvalidationChannel;
+    return this;
+  }
+
   public DeploymentCache<ProcessDefinitionCacheEntry> getProcessDefinitionCache() {
     return processDefinitionCache;
   }
@@ -2906,6 +3210,42 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public boolean isEnableSecondLevelEntityCache() {
+    return enableSecondLevelEntityCache;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableSecondLevelEntityCache(boolean enableSecondLevelEntityCache) {
+    this.enableSecondLevelEntityCache = enableSecondLevelEntityCache;
+    return this;
+  }
+
+  public int getSecondLevelEntityCacheLimit() {
+    return secondLevelEntityCacheLimit;
+  }
+
+  public ProcessEngineConfigurationImpl setSecondLevelEntityCacheLimit(int secondLevelEntityCacheLimit) {
+    this.secondLevelEntityCacheLimit = secondLevelEntityCacheLimit;
+    return this;
+  }
+
+  public Collection<Class<?>> getSecondLevelEntityCacheClasses() {
+    return secondLevelEntityCacheClasses;
+  }
+
+  public ProcessEngineConfigurationImpl setSecondLevelEntityCacheClasses(Collection<Class<?>> secondLevelEntityCacheClasses) {
+    this.secondLevelEntityCacheClasses = secondLevelEntityCacheClasses;
+    return this;
+  }
+
+  public SecondLevelEntityCache getSecondLevelEntityCache() {
+    return secondLevelEntityCache;
+  }
+
+  public ProcessEngineConfigurationImpl setSecondLevelEntityCache(SecondLevelEntityCache secondLevelEntityCache) {
+    this.secondLevelEntityCache = secondLevelEntityCache;
+    return this;
+  }
+
   public boolean isEnableSafeBpmnXml() {
     return enableSafeBpmnXml;
   }
@@ -2960,6 +3300,33 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return enableEventDispatcher;
   }
 
+  public AsyncEventListenerExecutor getAsyncEventListenerExecutor() {
+    return asyncEventListenerExecutor;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncEventListenerExecutor(AsyncEventListenerExecutor asyncEventListenerExecutor) {
+    this.asyncEventListenerExecutor = asyncEventListenerExecutor;
+    return this;
+  }
+
+  public int getAsyncEventListenerLanes() {
+    return asyncEventListenerLanes;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncEventListenerLanes(int asyncEventListenerLanes) {
+    this.asyncEventListenerLanes = asyncEventListenerLanes;
+    return this;
+  }
+
+  public int getAsyncEventListenerQueueSize() {
+    return asyncEventListenerQueueSize;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncEventListenerQueueSize(int asyncEventListenerQueueSize) {
+    this.asyncEventListenerQueueSize = asyncEventListenerQueueSize;
+    return this;
+  }
+
   public boolean isEnableDatabaseEventLogging() {
     return enableDatabaseEventLogging;
   }
@@ -2969,6 +3336,42 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public boolean isEnableAsyncDatabaseEventLogging() {
+    return enableAsyncDatabaseEventLogging;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableAsyncDatabaseEventLogging(boolean enableAsyncDatabaseEventLogging) {
+    this.enableAsyncDatabaseEventLogging = enableAsyncDatabaseEventLogging;
+    return this;
+  }
+
+  public int getAsyncEventLogBufferSize() {
+    return asyncEventLogBufferSize;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncEventLogBufferSize(int asyncEventLogBufferSize) {
+    this.asyncEventLogBufferSize = asyncEventLogBufferSize;
+    return this;
+  }
+
+  public int getAsyncEventLogBatchSize() {
+    return asyncEventLogBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncEventLogBatchSize(int asyncEventLogBatchSize) {
+    this.asyncEventLogBatchSize = asyncEventLogBatchSize;
+    return this;
+  }
+
+  public BufferedEventLogWriter getAsyncEventLogWriter() {
+    return asyncEventLogWriter;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncEventLogWriter(BufferedEventLogWriter asyncEventLogWriter) {
+    this.asyncEventLogWriter = asyncEventLogWriter;
+    return this;
+  }
+
   public int getMaxLengthStringVariableType() {
     return maxLengthStringVariableType;
   }
@@ -2987,6 +3390,28 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public boolean isJdbcBatchFlushEnabled() {
+    return isJdbcBatchFlushEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setJdbcBatchFlushEnabled(boolean isJdbcBatchFlushEnabled) {
+    this.isJdbcBatchFlushEnabled = isJdbcBatchFlushEnabled;
+    return this;
+  }
+
+  public Boolean getSkipLockedJobAcquisitionEnabled() {
+    return skipLockedJobAcquisitionEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setSkipLockedJobAcquisitionEnabled(Boolean skipLockedJobAcquisitionEnabled) {
+    this.skipLockedJobAcquisitionEnabled = skipLockedJobAcquisitionEnabled;
+    return this;
+  }
+
+  public int getDatabaseMajorVersion() {
+    return databaseMajorVersion;
+  }
+
   public int getMaxNrOfStatementsInBulkInsert() {
     return maxNrOfStatementsInBulkInsert;
   }
@@ -3019,6 +3444,11 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public ProcessEngineConfigurationImpl setEnableEagerVariableFetching(boolean enableEagerVariableFetching) {
+    this.performanceSettings.setEnableEagerVariableFetching(enableEagerVariableFetching);
+    return this;
+  }
+
   public ProcessEngineConfigurationImpl setEnableExecutionRelationshipCounts(boolean enableExecutionRelationshipCounts) {
     this.performanceSettings.setEnableExecutionRelationshipCounts(enableExecutionRelationshipCounts);
     return this;
@@ -3511,6 +3941,42 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public boolean isEnableProcessDefinitionHistoryLevel() {
+    return enableProcessDefinitionHistoryLevel;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableProcessDefinitionHistoryLevel(boolean enableProcessDefinitionHistoryLevel) {
+    this.enableProcessDefinitionHistoryLevel = enableProcessDefinitionHistoryLevel;
+    return this;
+  }
+
+  public boolean isAsyncHistoryEnabled() {
+    return asyncHistoryEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEnabled(boolean asyncHistoryEnabled) {
+    this.asyncHistoryEnabled = asyncHistoryEnabled;
+    return this;
+  }
+
+  public AsyncHistoryOutbox getAsyncHistoryOutbox() {
+    return asyncHistoryOutbox;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryOutbox(AsyncHistoryOutbox asyncHistoryOutbox) {
+    this.asyncHistoryOutbox = asyncHistoryOutbox;
+    return this;
+  }
+
+  public int getAsyncHistoryJobBatchSize() {
+    return asyncHistoryJobBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryJobBatchSize(int asyncHistoryJobBatchSize) {
+    this.asyncHistoryJobBatchSize = asyncHistoryJobBatchSize;
+    return this;
+  }
+
   public JobManager getJobManager() {
     return jobManager;
   }
@@ -3581,6 +4047,51 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public boolean isAsyncExecutorVirtualThreadExecution() {
+    return asyncExecutorVirtualThreadExecution;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorVirtualThreadExecution(boolean asyncExecutorVirtualThreadExecution) {
+    this.asyncExecutorVirtualThreadExecution = asyncExecutorVirtualThreadExecution;
+    return this;
+  }
+
+  public int getAsyncExecutorMaxConcurrentVirtualThreadJobs() {
+    return asyncExecutorMaxConcurrentVirtualThreadJobs;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorMaxConcurrentVirtualThreadJobs(int asyncExecutorMaxConcurrentVirtualThreadJobs) {
+    this.asyncExecutorMaxConcurrentVirtualThreadJobs = asyncExecutorMaxConcurrentVirtualThreadJobs;
+    return this;
+  }
+
+  public boolean isAsyncExecutorExclusiveJobSerialExecution() {
+    return asyncExecutorExclusiveJobSerialExecution;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorExclusiveJobSerialExecution(boolean asyncExecutorExclusiveJobSerialExecution) {
+    this.asyncExecutorExclusiveJobSerialExecution = asyncExecutorExclusiveJobSerialExecution;
+    return this;
+  }
+
+  public boolean isAsyncExecutorTenantFairScheduling() {
+    return asyncExecutorTenantFairScheduling;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorTenantFairScheduling(boolean asyncExecutorTenantFairScheduling) {
+    this.asyncExecutorTenantFairScheduling = asyncExecutorTenantFairScheduling;
+    return this;
+  }
+
+  public Map<String, Integer> getAsyncExecutorTenantWeights() {
+    return asyncExecutorTenantWeights;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorTenantWeights(Map<String, Integer> asyncExecutorTenantWeights) {
+    this.asyncExecutorTenantWeights = asyncExecutorTenantWeights;
+    return this;
+  }
+
   public long getAsyncExecutorThreadKeepAliveTime() {
     return asyncExecutorThreadKeepAliveTime;
   }
@@ -3644,6 +4155,24 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public int getAsyncExecutorTimerLookAheadTime() {
+    return asyncExecutorTimerLookAheadTime;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorTimerLookAheadTime(int asyncExecutorTimerLookAheadTime) {
+    this.asyncExecutorTimerLookAheadTime = asyncExecutorTimerLookAheadTime;
+    return this;
+  }
+
+  public int getAsyncExecutorTimerWheelTick() {
+    return asyncExecutorTimerWheelTick;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorTimerWheelTick(int asyncExecutorTimerWheelTick) {
+    this.asyncExecutorTimerWheelTick = asyncExecutorTimerWheelTick;
+    return this;
+  }
+
   public int getAsyncExecutorDefaultAsyncJobAcquireWaitTime() {
     return asyncExecutorDefaultAsyncJobAcquireWaitTime;
   }
@@ -3662,6 +4191,33 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public boolean isAsyncExecutorAdaptiveAcquisition() {
+    return asyncExecutorAdaptiveAcquisition;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorAdaptiveAcquisition(boolean asyncExecutorAdaptiveAcquisition) {
+    this.asyncExecutorAdaptiveAcquisition = asyncExecutorAdaptiveAcquisition;
+    return this;
+  }
+
+  public int getAsyncExecutorAdaptiveAcquisitionMaxJobsPerAcquisition() {
+    return asyncExecutorAdaptiveAcquisitionMaxJobsPerAcquisition;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorAdaptiveAcquisitionMaxJobsPerAcquisition(int asyncExecutorAdaptiveAcquisitionMaxJobsPerAcquisition) {
+    this.asyncExecutorAdaptiveAcquisitionMaxJobsPerAcquisition = asyncExecutorAdaptiveAcquisitionMaxJobsPerAcquisition;
+    return this;
+  }
+
+  public int getAsyncExecutorAdaptiveAcquisitionMinWaitTime() {
+    return asyncExecutorAdaptiveAcquisitionMinWaitTime;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorAdaptiveAcquisitionMinWaitTime(int asyncExecutorAdaptiveAcquisitionMinWaitTime) {
+    this.asyncExecutorAdaptiveAcquisitionMinWaitTime = asyncExecutorAdaptiveAcquisitionMinWaitTime;
+    return this;
+  }
+
   public String getAsyncExecutorLockOwner() {
     return asyncExecutorLockOwner;
   }
@@ -3698,6 +4254,15 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public JobNotificationChannel getJobNotificationChannel() {
+    return jobNotificationChannel;
+  }
+
+  public ProcessEngineConfigurationImpl setJobNotificationChannel(JobNotificationChannel jobNotificationChannel) {
+    this.jobNotificationChannel = jobNotificationChannel;
+    return this;
+  }
+
   public ExecuteAsyncRunnableFactory getAsyncExecutorExecuteAsyncRunnableFactory() {
     return asyncExecutorExecuteAsyncRunnableFactory;
   }
@@ -3716,6 +4281,24 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public boolean isAsyncExecutorResetExpiredJobsBulk() {
+    return asyncExecutorResetExpiredJobsBulk;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorResetExpiredJobsBulk(boolean asyncExecutorResetExpiredJobsBulk) {
+    this.asyncExecutorResetExpiredJobsBulk = asyncExecutorResetExpiredJobsBulk;
+    return this;
+  }
+
+  public int getAsyncExecutorResetExpiredJobsBatchSize() {
+    return asyncExecutorResetExpiredJobsBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorResetExpiredJobsBatchSize(int asyncExecutorResetExpiredJobsBatchSize) {
+    this.asyncExecutorResetExpiredJobsBatchSize = asyncExecutorResetExpiredJobsBatchSize;
+    return this;
+  }
+
   public boolean isAsyncExecutorIsMessageQueueMode() {
     return asyncExecutorMessageQueueMode;
   }
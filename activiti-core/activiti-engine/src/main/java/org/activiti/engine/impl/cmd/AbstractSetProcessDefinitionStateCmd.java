@@ -167,7 +167,7 @@ public abstract class AbstractSetProcessDefinitionStateCmd implements Command<Vo
       SuspensionStateUtil.setSuspensionState(processDefinition, getProcessDefinitionSuspensionState());
 
       // Evict cache
-      commandContext.getProcessEngineConfiguration().getDeploymentManager().getProcessDefinitionCache().remove(processDefinition.getId());
+      commandContext.getProcessEngineConfiguration().getDeploymentManager().invalidateProcessDefinition(processDefinition.getId());
 
       // Suspend process instances (if needed)
       if (includeProcessInstances) {
@@ -17,6 +17,7 @@
 package org.activiti.engine.impl.cmd;
 
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.GregorianCalendar;
 import java.util.List;
 
@@ -33,14 +34,29 @@ import org.activiti.engine.impl.persistence.entity.JobEntity;
 public class AcquireJobsCmd implements Command<AcquiredJobEntities> {
 
   private final AsyncExecutor asyncExecutor;
+  private final int maxJobs;
+  private final Collection<String> excludedTenantIds;
 
   public AcquireJobsCmd(AsyncExecutor asyncExecutor) {
+    this(asyncExecutor, asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
+  }
+
+  public AcquireJobsCmd(AsyncExecutor asyncExecutor, int maxJobs) {
+    this(asyncExecutor, maxJobs, null);
+  }
+
+  /**
+   * @param excludedTenantIds tenants of which no jobs are acquired, e.g. because the executor has no capacity left for them
+   */
+  public AcquireJobsCmd(AsyncExecutor asyncExecutor, int maxJobs, Collection<String> excludedTenantIds) {
     this.asyncExecutor = asyncExecutor;
+    this.maxJobs = maxJobs;
+    this.excludedTenantIds = excludedTenantIds;
   }
 
   public AcquiredJobEntities execute(CommandContext commandContext) {
     AcquiredJobEntities acquiredJobs = new AcquiredJobEntities();
-    List<JobEntity> jobs = commandContext.getJobEntityManager().findJobsToExecute(new Page(0, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()));
+    List<JobEntity> jobs = commandContext.getJobEntityManager().findJobsToExecute(new Page(0, maxJobs), excludedTenantIds);
 
     for (JobEntity job : jobs) {
       lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
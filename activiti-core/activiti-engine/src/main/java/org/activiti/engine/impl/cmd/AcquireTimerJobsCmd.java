@@ -17,6 +17,7 @@
 package org.activiti.engine.impl.cmd;
 
 import java.util.Calendar;
+import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 
@@ -33,15 +34,32 @@ import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
 public class AcquireTimerJobsCmd implements Command<AcquiredTimerJobEntities> {
 
   private final AsyncExecutor asyncExecutor;
+  private final int maxJobs;
+  private final long lookAheadTimeInMillis;
 
   public AcquireTimerJobsCmd(AsyncExecutor asyncExecutor) {
+    this(asyncExecutor, asyncExecutor.getMaxTimerJobsPerAcquisition());
+  }
+
+  public AcquireTimerJobsCmd(AsyncExecutor asyncExecutor, int maxJobs) {
+    this(asyncExecutor, maxJobs, 0L);
+  }
+
+  /**
+   * @param lookAheadTimeInMillis also acquires the timers due within this time from now, they are then
+   *                              locked until the lock time has passed after their due date
+   */
+  public AcquireTimerJobsCmd(AsyncExecutor asyncExecutor, int maxJobs, long lookAheadTimeInMillis) {
     this.asyncExecutor = asyncExecutor;
+    this.maxJobs = maxJobs;
+    this.lookAheadTimeInMillis = lookAheadTimeInMillis;
   }
 
   public AcquiredTimerJobEntities execute(CommandContext commandContext) {
     AcquiredTimerJobEntities acquiredJobs = new AcquiredTimerJobEntities();
+    Date dueBefore = new Date(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime().getTime() + lookAheadTimeInMillis);
     List<TimerJobEntity> timerJobs = commandContext.getTimerJobEntityManager()
-        .findTimerJobsToExecute(new Page(0, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()));
+        .findTimerJobsToExecute(new Page(0, maxJobs), dueBefore);
 
     for (TimerJobEntity job : timerJobs) {
       lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
@@ -56,8 +74,14 @@ public class AcquireTimerJobsCmd implements Command<AcquiredTimerJobEntities> {
     // This will trigger an optimistic locking exception when two concurrent executors
     // try to lock, as the revision will not match.
 
+    Date lockStartTime = commandContext.getProcessEngineConfiguration().getClock().getCurrentTime();
+    if (job.getDuedate() != null && job.getDuedate().after(lockStartTime)) {
+      // Acquired ahead of its due date: the lock only starts counting when the timer is due
+      lockStartTime = job.getDuedate();
+    }
+
     GregorianCalendar gregorianCalendar = new GregorianCalendar();
-    gregorianCalendar.setTime(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime());
+    gregorianCalendar.setTime(lockStartTime);
     gregorianCalendar.add(Calendar.MILLISECOND, lockTimeInMillis);
     job.setLockOwner(asyncExecutor.getLockOwner());
     job.setLockExpirationTime(gregorianCalendar.getTime());
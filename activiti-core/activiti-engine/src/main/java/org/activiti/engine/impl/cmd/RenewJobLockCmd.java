@@ -0,0 +1,61 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+
+/**
+ * Extends the lock of an acquired job that waited on the node that acquired it, so it isn't reset as expired
+ * and executed a second time by another node.
+ *
+ * Returns false when the job is gone or no longer locked by the given lock owner: it must then not be executed.
+ */
+public class RenewJobLockCmd implements Command<Boolean>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String jobId;
+  protected String lockOwner;
+  protected int lockTimeInMillis;
+
+  public RenewJobLockCmd(String jobId, String lockOwner, int lockTimeInMillis) {
+    this.jobId = jobId;
+    this.lockOwner = lockOwner;
+    this.lockTimeInMillis = lockTimeInMillis;
+  }
+
+  public Boolean execute(CommandContext commandContext) {
+    JobEntity job = commandContext.getJobEntityManager().findById(jobId);
+    if (job == null || lockOwner == null || !lockOwner.equals(job.getLockOwner())) {
+      return false;
+    }
+
+    // The update checks the revision, a concurrent reset fails it with an optimistic locking exception
+    GregorianCalendar gregorianCalendar = new GregorianCalendar();
+    gregorianCalendar.setTime(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime());
+    gregorianCalendar.add(Calendar.MILLISECOND, lockTimeInMillis);
+    job.setLockExpirationTime(gregorianCalendar.getTime());
+    return true;
+  }
+
+}
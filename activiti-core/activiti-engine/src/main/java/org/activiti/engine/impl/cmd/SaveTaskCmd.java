@@ -63,7 +63,7 @@ public class SaveTaskCmd implements Command<Task>, Serializable {
     } else {
 
       TaskInfo originalTaskEntity = null;
-      if (commandContext.getProcessEngineConfiguration().getHistoryLevel().isAtLeast(HistoryLevel.AUDIT)) {
+      if (commandContext.getHistoryManager().isHistoryLevelAtLeast(HistoryLevel.AUDIT, task.getProcessDefinitionId())) {
         originalTaskEntity = commandContext.getHistoricTaskInstanceEntityManager().findById(task.getId());
       }
 
@@ -83,7 +83,7 @@ public class SaveTaskCmd implements Command<Task>, Serializable {
       String originalTaskDefinitionKey = originalTaskEntity.getTaskDefinitionKey();
 
       // Only update history if history is enabled
-      if (commandContext.getProcessEngineConfiguration().getHistoryLevel().isAtLeast(HistoryLevel.AUDIT)) {
+      if (commandContext.getHistoryManager().isHistoryLevelAtLeast(HistoryLevel.AUDIT, task.getProcessDefinitionId())) {
 
         if (!StringUtils.equals(originalName, task.getName())) {
           commandContext.getHistoryManager().recordTaskNameChange(task.getId(), task.getName());
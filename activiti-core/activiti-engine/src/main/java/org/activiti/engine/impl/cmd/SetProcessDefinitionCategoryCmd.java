@@ -22,8 +22,6 @@ import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
-import org.activiti.engine.impl.persistence.deploy.DeploymentCache;
-import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.activiti.engine.repository.ProcessDefinition;
 
@@ -61,10 +59,7 @@ public class SetProcessDefinitionCategoryCmd implements Command<Void> {
       processDefinition.setCategory(category);
 
       // Remove process definition from cache, it will be refetched later
-      DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache = commandContext.getProcessEngineConfiguration().getProcessDefinitionCache();
-      if (processDefinitionCache != null) {
-          processDefinitionCache.remove(processDefinitionId);
-      }
+      commandContext.getProcessEngineConfiguration().getDeploymentManager().invalidateProcessDefinition(processDefinitionId);
 
       if (commandContext.getEventDispatcher().isEnabled()) {
           commandContext.getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_UPDATED, processDefinition));
@@ -30,8 +30,10 @@ import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -56,17 +58,29 @@ import org.activiti.engine.impl.ProcessDefinitionQueryImpl;
 import org.activiti.engine.impl.ProcessInstanceQueryImpl;
 import org.activiti.engine.impl.TaskQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.TransactionContext;
+import org.activiti.engine.impl.cfg.TransactionState;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.db.upgrade.DbUpgradeStep;
+import org.activiti.engine.impl.history.AsyncHistoryOutbox;
+import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.Session;
 import org.activiti.engine.impl.persistence.cache.CachedEntity;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
+import org.activiti.engine.impl.persistence.cache.SecondLevelEntityCache;
+import org.activiti.engine.impl.persistence.cache.SecondLevelEntityCacheInvalidation;
 import org.activiti.engine.impl.persistence.entity.Entity;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.PropertyEntity;
 import org.activiti.engine.impl.util.IoUtil;
 import org.activiti.engine.impl.util.ReflectUtil;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -147,6 +161,7 @@ public class DbSqlSession implements Session {
 
         /* Current */
         ACTIVITI_VERSIONS.add(new ActivitiVersion("8.0.0"));
+        ACTIVITI_VERSIONS.add(new ActivitiVersion("8.1.0"));
         ACTIVITI_VERSIONS.add(new ActivitiVersion(ProcessEngine.VERSION));
     }
 
@@ -162,6 +177,29 @@ public class DbSqlSession implements Session {
             = new HashMap<Class<? extends Entity>, List<BulkDeleteOperation>>();
     protected List<Entity> updatedObjects = new ArrayList<Entity>();
 
+    protected boolean jdbcBatchFlushEnabled;
+
+    /**
+     * Session with a batch executor on the same connection, used for flushing when JDBC batching is enabled.
+     * Entities whose row count must be checked for optimistic locking once the batch is executed are kept in
+     * {@link #batchedOptimisticLockingChecks}.
+     */
+    protected SqlSession batchSqlSession;
+    protected Set<Entity> batchedOptimisticLockingChecks = Collections.newSetFromMap(new IdentityHashMap<Entity, Boolean>());
+
+    /**
+     * Cache shared by all sessions for read-mostly entities, null when disabled. The entities this session
+     * updates or deletes are invalidated through {@link #secondLevelEntityCacheInvalidation}.
+     */
+    protected SecondLevelEntityCache secondLevelEntityCache;
+    protected SecondLevelEntityCacheInvalidation secondLevelEntityCacheInvalidation;
+
+    /**
+     * Outbox for the history rows that are written asynchronously, null when async history is disabled.
+     */
+    protected AsyncHistoryOutbox asyncHistoryOutbox;
+    protected boolean asyncHistoryCaptureEnabled = true;
+
     protected String connectionMetadataDefaultCatalog;
     protected String connectionMetadataDefaultSchema;
 
@@ -170,6 +208,9 @@ public class DbSqlSession implements Session {
         this.dbSqlSessionFactory = dbSqlSessionFactory;
         this.sqlSession = dbSqlSessionFactory.getSqlSessionFactory().openSession();
         this.entityCache = entityCache;
+        this.jdbcBatchFlushEnabled = dbSqlSessionFactory.isJdbcBatchFlushEnabled();
+        this.secondLevelEntityCache = dbSqlSessionFactory.getSecondLevelEntityCache();
+        this.asyncHistoryOutbox = dbSqlSessionFactory.getAsyncHistoryOutbox();
         this.connectionMetadataDefaultCatalog = dbSqlSessionFactory.getDatabaseCatalog();
         this.connectionMetadataDefaultSchema = dbSqlSessionFactory.getDatabaseSchema();
     }
@@ -182,6 +223,9 @@ public class DbSqlSession implements Session {
         this.dbSqlSessionFactory = dbSqlSessionFactory;
         this.sqlSession = dbSqlSessionFactory.getSqlSessionFactory().openSession(connection); // Note the use of connection param here, different from other constructor
         this.entityCache = entityCache;
+        this.jdbcBatchFlushEnabled = dbSqlSessionFactory.isJdbcBatchFlushEnabled();
+        this.secondLevelEntityCache = dbSqlSessionFactory.getSecondLevelEntityCache();
+        this.asyncHistoryOutbox = dbSqlSessionFactory.getAsyncHistoryOutbox();
         this.connectionMetadataDefaultCatalog = catalog;
         this.connectionMetadataDefaultSchema = schema;
     }
@@ -223,6 +267,18 @@ public class DbSqlSession implements Session {
                                       parameters);
     }
 
+    /**
+     * Executes an update statement that changes entities of the given class directly in the database,
+     * so they are invalidated in the second level entity cache.
+     */
+    public int update(String statement,
+                      Object parameters,
+                      Class<? extends Entity> entityClass) {
+        invalidateSecondLevelEntityCache(entityClass);
+        return update(statement,
+                      parameters);
+    }
+
     // delete
     // ///////////////////////////////////////////////////////////////////
 
@@ -412,9 +468,24 @@ public class DbSqlSession implements Session {
             return emptyList();
         }
 
-        List loadedObjects = sqlSession.selectList(statement,
-                                                   parameter);
+        long secondLevelEntityCacheGeneration = getSecondLevelEntityCacheGeneration();
+        List loadedObjects;
+        if (dbSqlSessionFactory.isFetchLimitedStatement(statement)) {
+            loadedObjects = sqlSession.selectList(statement,
+                                                  parameter,
+                                                  new RowBounds(firstResult,
+                                                                maxResults));
+        } else {
+            loadedObjects = sqlSession.selectList(statement,
+                                                  parameter);
+        }
         if (useCache) {
+            for (Object loadedObject : loadedObjects) {
+                if (loadedObject instanceof Entity) {
+                    putInSecondLevelEntityCache((Entity) loadedObject,
+                                                secondLevelEntityCacheGeneration);
+                }
+            }
             return cacheLoadOrStore(loadedObjects);
         } else {
             return loadedObjects;
@@ -437,10 +508,13 @@ public class DbSqlSession implements Session {
     public Object selectOne(String statement,
                             Object parameter) {
         statement = dbSqlSessionFactory.mapStatement(statement);
+        long secondLevelEntityCacheGeneration = getSecondLevelEntityCacheGeneration();
         Object result = sqlSession.selectOne(statement,
                                              parameter);
         if (result instanceof Entity) {
             Entity loadedObject = (Entity) result;
+            putInSecondLevelEntityCache(loadedObject,
+                                        secondLevelEntityCacheGeneration);
             result = cacheLoadOrStore(loadedObject);
         }
         return result;
@@ -467,6 +541,18 @@ public class DbSqlSession implements Session {
             }
         }
 
+        long secondLevelEntityCacheGeneration = getSecondLevelEntityCacheGeneration();
+        if (isSecondLevelEntityCacheable(entityClass,
+                                         id)) {
+            entity = secondLevelEntityCache.get(entityClass,
+                                                id);
+            if (entity != null) {
+                entityCache.put(entity,
+                                true);
+                return entity;
+            }
+        }
+
         String selectStatement = dbSqlSessionFactory.getSelectStatement(entityClass);
         selectStatement = dbSqlSessionFactory.mapStatement(selectStatement);
         entity = (T) sqlSession.selectOne(selectStatement,
@@ -475,11 +561,78 @@ public class DbSqlSession implements Session {
             return null;
         }
 
+        putInSecondLevelEntityCache(entity,
+                                    secondLevelEntityCacheGeneration);
         entityCache.put(entity,
                         true); // true -> store state so we can see later if it is updated later on
         return entity;
     }
 
+    // second level entity cache
+    // ///////////////////////////////////////////////////
+
+    /**
+     * An entity is only taken from the second level cache when this session didn't change it:
+     * the cache may have been filled with the committed state by another session in the meantime.
+     */
+    protected boolean isSecondLevelEntityCacheable(Class<?> entityClass,
+                                                   String id) {
+        return secondLevelEntityCache != null
+                && secondLevelEntityCache.isCacheable(entityClass)
+                && (secondLevelEntityCacheInvalidation == null || !secondLevelEntityCacheInvalidation.isInvalidated(entityClass,
+                                                                                                                    id));
+    }
+
+    protected long getSecondLevelEntityCacheGeneration() {
+        return secondLevelEntityCache != null ? secondLevelEntityCache.getGeneration() : 0L;
+    }
+
+    protected void putInSecondLevelEntityCache(Entity entity,
+                                               long generation) {
+        if (isSecondLevelEntityCacheable(entity.getClass(),
+                                         entity.getId())) {
+            secondLevelEntityCache.put(entity,
+                                       generation);
+        }
+    }
+
+    protected void invalidateSecondLevelEntityCache(Entity entity) {
+        if (secondLevelEntityCache != null && secondLevelEntityCache.isCacheable(entity.getClass())) {
+            getSecondLevelEntityCacheInvalidation().invalidate(entity.getClass(),
+                                                               entity.getId());
+        }
+    }
+
+    protected void invalidateSecondLevelEntityCache(Class<? extends Entity> entityClass) {
+        if (secondLevelEntityCache != null && secondLevelEntityCache.isCacheable(entityClass)) {
+            getSecondLevelEntityCacheInvalidation().invalidate(entityClass);
+        }
+    }
+
+    protected SecondLevelEntityCacheInvalidation getSecondLevelEntityCacheInvalidation() {
+        if (secondLevelEntityCacheInvalidation == null) {
+            secondLevelEntityCacheInvalidation = new SecondLevelEntityCacheInvalidation(secondLevelEntityCache);
+            TransactionContext transactionContext = getTransactionContext();
+            if (transactionContext != null) {
+                transactionContext.addTransactionListener(TransactionState.COMMITTED,
+                                                          secondLevelEntityCacheInvalidation);
+            }
+        }
+        return secondLevelEntityCacheInvalidation;
+    }
+
+    /**
+     * Entities are mostly invalidated while the command context flushes its sessions, when the thread-local
+     * transaction context is already removed, so the one kept by the command context is used first.
+     */
+    protected TransactionContext getTransactionContext() {
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext != null && commandContext.getTransactionContext() != null) {
+            return commandContext.getTransactionContext();
+        }
+        return Context.getTransactionContext();
+    }
+
     // internal session cache
     // ///////////////////////////////////////////////////
 
@@ -522,6 +675,10 @@ public class DbSqlSession implements Session {
         determineUpdatedObjects(); // Needs to be done before the removeUnnecessaryOperations, as removeUnnecessaryOperations will remove stuff from the cache
         removeUnnecessaryOperations();
 
+        if (asyncHistoryOutbox != null && asyncHistoryCaptureEnabled) {
+            flushAsyncHistory();
+        }
+
         if (log.isDebugEnabled()) {
             debugFlush();
         }
@@ -531,6 +688,34 @@ public class DbSqlSession implements Session {
         flushDeletes();
     }
 
+    /**
+     * Moves the inserted history entities that are written asynchronously out of the inserts,
+     * and writes them to the {@link AsyncHistoryOutbox} instead.
+     */
+    protected void flushAsyncHistory() {
+        List<Entity> asyncHistoryEntities = new ArrayList<Entity>();
+        Iterator<Map<String, Entity>> insertedObjectMapIterator = insertedObjects.values().iterator();
+        while (insertedObjectMapIterator.hasNext()) {
+            Map<String, Entity> insertedObjectMap = insertedObjectMapIterator.next();
+            Iterator<Entity> insertedObjectIterator = insertedObjectMap.values().iterator();
+            while (insertedObjectIterator.hasNext()) {
+                Entity insertedObject = insertedObjectIterator.next();
+                if (asyncHistoryOutbox.isAsyncHistoryEntity(insertedObject)) {
+                    asyncHistoryEntities.add(insertedObject);
+                    insertedObjectIterator.remove();
+                }
+            }
+            if (insertedObjectMap.isEmpty()) {
+                insertedObjectMapIterator.remove();
+            }
+        }
+
+        if (!asyncHistoryEntities.isEmpty()) {
+            asyncHistoryOutbox.write(Context.getCommandContext(),
+                                     asyncHistoryEntities);
+        }
+    }
+
     /**
      * Clears all deleted and inserted objects from the cache,
      * and removes inserts and deletes that cancel each other.
@@ -658,6 +843,7 @@ public class DbSqlSession implements Session {
         }
 
         insertedObjects.clear();
+        flushBatch();
     }
 
     protected void flushInsertEntities(Class<? extends Entity> entityClass,
@@ -665,7 +851,9 @@ public class DbSqlSession implements Session {
         if (entitiesToInsert.size() == 1) {
             flushRegularInsert(entitiesToInsert.iterator().next(),
                                entityClass);
-        } else if (Boolean.FALSE.equals(dbSqlSessionFactory.isBulkInsertable(entityClass))) {
+        } else if (jdbcBatchFlushEnabled
+                || Boolean.FALSE.equals(dbSqlSessionFactory.isBulkInsertable(entityClass))) {
+            // With JDBC batching, these single row inserts end up in one batch
             for (Entity entity : entitiesToInsert) {
                 flushRegularInsert(entity,
                                    entityClass);
@@ -788,8 +976,8 @@ public class DbSqlSession implements Session {
 
         log.debug("inserting: {}",
                   entity);
-        sqlSession.insert(insertStatement,
-                          entity);
+        getFlushSqlSession().insert(insertStatement,
+                                    entity);
 
         // See https://activiti.atlassian.net/browse/ACT-1290
         if (entity instanceof HasRevision) {
@@ -821,8 +1009,8 @@ public class DbSqlSession implements Session {
                 }
                 index++;
             }
-            sqlSession.insert(insertStatement,
-                              subList);
+            getFlushSqlSession().insert(insertStatement,
+                                        subList);
         }
 
         if (hasRevision != null && hasRevision) {
@@ -851,13 +1039,22 @@ public class DbSqlSession implements Session {
 
             log.debug("updating: {}",
                       updatedObject);
-            int updatedRecords = sqlSession.update(updateStatement,
-                                                   updatedObject);
-            if (updatedRecords == 0) {
-                throw new ActivitiOptimisticLockingException(updatedObject + " was updated by another transaction concurrently");
+            invalidateSecondLevelEntityCache(updatedObject);
+            if (jdbcBatchFlushEnabled) {
+                getBatchSqlSession().update(updateStatement,
+                                            updatedObject);
+                batchedOptimisticLockingChecks.add(updatedObject);
+            } else {
+                int updatedRecords = sqlSession.update(updateStatement,
+                                                       updatedObject);
+                checkOptimisticLocking(updatedObject,
+                                       updatedRecords);
             }
+        }
+        flushBatch();
 
-            // See https://activiti.atlassian.net/browse/ACT-1290
+        // See https://activiti.atlassian.net/browse/ACT-1290
+        for (Entity updatedObject : updatedObjects) {
             if (updatedObject instanceof HasRevision) {
                 ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
             }
@@ -865,6 +1062,13 @@ public class DbSqlSession implements Session {
         updatedObjects.clear();
     }
 
+    protected void checkOptimisticLocking(Entity entity,
+                                          int affectedRecords) {
+        if (affectedRecords == 0) {
+            throw new ActivitiOptimisticLockingException(entity + " was updated by another transaction concurrently");
+        }
+    }
+
     protected void flushDeletes() {
 
         if (deletedObjects.size() == 0 && bulkDeleteOperations.size() == 0) {
@@ -891,13 +1095,15 @@ public class DbSqlSession implements Session {
         }
 
         deletedObjects.clear();
+        flushBatch();
     }
 
     protected void flushBulkDeletes(Class<? extends Entity> entityClass) {
         // Bulk deletes
         if (bulkDeleteOperations.containsKey(entityClass)) {
+            invalidateSecondLevelEntityCache(entityClass);
             for (BulkDeleteOperation bulkDeleteOperation : bulkDeleteOperations.get(entityClass)) {
-                bulkDeleteOperation.execute(sqlSession);
+                bulkDeleteOperation.execute(getFlushSqlSession());
             }
         }
     }
@@ -910,23 +1116,79 @@ public class DbSqlSession implements Session {
             if (deleteStatement == null) {
                 throw new ActivitiException("no delete statement for " + entity.getClass() + " in the ibatis mapping files");
             }
+            invalidateSecondLevelEntityCache(entity);
 
             // It only makes sense to check for optimistic locking exceptions
             // for objects that actually have a revision
-            if (entity instanceof HasRevision) {
+            if (entity instanceof HasRevision && jdbcBatchFlushEnabled) {
+                getBatchSqlSession().delete(deleteStatement,
+                                            entity);
+                batchedOptimisticLockingChecks.add(entity);
+            } else if (entity instanceof HasRevision) {
                 int nrOfRowsDeleted = sqlSession.delete(deleteStatement,
                                                         entity);
-                if (nrOfRowsDeleted == 0) {
-                    throw new ActivitiOptimisticLockingException(entity + " was updated by another transaction concurrently");
-                }
+                checkOptimisticLocking(entity,
+                                       nrOfRowsDeleted);
             } else {
-                sqlSession.delete(deleteStatement,
-                                  entity);
+                getFlushSqlSession().delete(deleteStatement,
+                                            entity);
+            }
+        }
+    }
+
+    /**
+     * @return the session the flush statements are executed on: the batch session when JDBC batching is enabled.
+     */
+    protected SqlSession getFlushSqlSession() {
+        return jdbcBatchFlushEnabled ? getBatchSqlSession() : sqlSession;
+    }
+
+    protected SqlSession getBatchSqlSession() {
+        if (batchSqlSession == null) {
+            // Same connection (and thus transaction) as the regular session, but statements are queued in JDBC batches
+            Configuration configuration = sqlSession.getConfiguration();
+            Executor executor = configuration.newExecutor(new SharedConnectionTransaction(sqlSession.getConnection()),
+                                                          ExecutorType.BATCH);
+            batchSqlSession = new DefaultSqlSession(configuration,
+                                                    executor,
+                                                    false);
+        }
+        return batchSqlSession;
+    }
+
+    /**
+     * Executes the statements queued in the batch session, one JDBC batch per consecutive run of the same statement,
+     * and checks the row counts of the batched updates and deletes for optimistic locking failures.
+     * Drivers that don't report row counts for batches (Statement.SUCCESS_NO_INFO) are trusted.
+     */
+    protected void flushBatch() {
+        if (batchSqlSession == null) {
+            return;
+        }
+
+        List<BatchResult> batchResults = batchSqlSession.flushStatements();
+        try {
+            for (BatchResult batchResult : batchResults) {
+                int[] updateCounts = batchResult.getUpdateCounts();
+                List<Object> parameterObjects = batchResult.getParameterObjects();
+                for (int i = 0; i < updateCounts.length; i++) {
+                    Object parameterObject = parameterObjects.get(i);
+                    if (batchedOptimisticLockingChecks.contains(parameterObject)) {
+                        checkOptimisticLocking((Entity) parameterObject,
+                                               updateCounts[i]);
+                    }
+                }
             }
+        } finally {
+            batchedOptimisticLockingChecks.clear();
+            sqlSession.clearCache(); // the regular session didn't see these changes
         }
     }
 
     public void close() {
+        if (batchSqlSession != null) {
+            batchSqlSession.close();
+        }
         sqlSession.close();
     }
 
@@ -1550,4 +1812,23 @@ public class DbSqlSession implements Session {
     public DbSqlSessionFactory getDbSqlSessionFactory() {
         return dbSqlSessionFactory;
     }
+
+    public boolean isJdbcBatchFlushEnabled() {
+        return jdbcBatchFlushEnabled;
+    }
+
+    /**
+     * Overrides the engine wide JDBC batch flush setting for this session only, e.g. for commands that insert many rows.
+     */
+    public void setJdbcBatchFlushEnabled(boolean jdbcBatchFlushEnabled) {
+        this.jdbcBatchFlushEnabled = jdbcBatchFlushEnabled;
+    }
+
+    public boolean isAsyncHistoryCaptureEnabled() {
+        return asyncHistoryCaptureEnabled;
+    }
+
+    public void setAsyncHistoryCaptureEnabled(boolean asyncHistoryCaptureEnabled) {
+        this.asyncHistoryCaptureEnabled = asyncHistoryCaptureEnabled;
+    }
 }
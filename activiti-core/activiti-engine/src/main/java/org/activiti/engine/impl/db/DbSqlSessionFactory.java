@@ -18,15 +18,20 @@
 package org.activiti.engine.impl.db;
 
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.cfg.IdGenerator;
+import org.activiti.engine.impl.history.AsyncHistoryOutbox;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.Session;
 import org.activiti.engine.impl.interceptor.SessionFactory;
+import org.activiti.engine.impl.persistence.cache.SecondLevelEntityCache;
 import org.activiti.engine.impl.persistence.entity.Entity;
 import org.activiti.engine.impl.persistence.entity.EventLogEntryEntityImpl;
 import org.apache.ibatis.session.SqlSessionFactory;
@@ -44,6 +49,17 @@ public class DbSqlSessionFactory implements SessionFactory {
    */
   protected static Map<Class<? extends Entity>, Boolean> bulkInsertableMap;
 
+  /**
+   * Job acquisition statements that have a variant selecting and locking the rows in one
+   * 'for update skip locked' statement, see {@link #setSkipLockedJobAcquisitionEnabled(boolean)}.
+   */
+  protected static final Map<String, String> skipLockedJobAcquisitionStatements = new HashMap<String, String>();
+
+  static {
+    skipLockedJobAcquisitionStatements.put("selectJobsToExecute", "selectJobsToExecuteSkipLocked");
+    skipLockedJobAcquisitionStatements.put("selectTimerJobsToExecute", "selectTimerJobsToExecuteSkipLocked");
+  }
+
   protected String databaseType;
   protected String databaseTablePrefix = "";
   private boolean tablePrefixIsSchema;
@@ -59,6 +75,7 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected SqlSessionFactory sqlSessionFactory;
   protected IdGenerator idGenerator;
   protected Map<String, String> statementMappings;
+  protected Set<String> fetchLimitedStatements = Collections.emptySet();
 
   // Caches, filled while executing processes
   protected Map<Class<?>,String> insertStatements = new ConcurrentHashMap<Class<?>, String>();
@@ -69,6 +86,10 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected Map<Class<?>,String> selectStatements = new ConcurrentHashMap<Class<?>, String>();
 
   protected boolean isDbHistoryUsed = true;
+  protected boolean isSkipLockedJobAcquisitionEnabled;
+  protected boolean isJdbcBatchFlushEnabled;
+  protected SecondLevelEntityCache secondLevelEntityCache;
+  protected AsyncHistoryOutbox asyncHistoryOutbox;
   protected int maxNrOfStatementsInBulkInsert = 100;
 
   public Class<?> getSessionType() {
@@ -167,7 +188,63 @@ public class DbSqlSessionFactory implements SessionFactory {
 
   public void setDatabaseType(String databaseType) {
     this.databaseType = databaseType;
-    this.statementMappings = databaseSpecificStatements.get(databaseType);
+    initStatementMappings();
+  }
+
+  /**
+   * When enabled, jobs and timer jobs are acquired with 'select ... for update skip locked': rows that are being
+   * acquired by another engine are skipped by the database, instead of being read by every engine and then failing
+   * the optimistic lock on all but one of them. Only enable this on a database that supports 'skip locked', see
+   * {@link #isSkipLockedSupported(String, int)}.
+   */
+  public void setSkipLockedJobAcquisitionEnabled(boolean isSkipLockedJobAcquisitionEnabled) {
+    this.isSkipLockedJobAcquisitionEnabled = isSkipLockedJobAcquisitionEnabled;
+    initStatementMappings();
+  }
+
+  public boolean isSkipLockedJobAcquisitionEnabled() {
+    return isSkipLockedJobAcquisitionEnabled;
+  }
+
+  protected void initStatementMappings() {
+    Map<String, String> specificStatements = databaseSpecificStatements.get(databaseType);
+    if (isSkipLockedJobAcquisitionEnabled) {
+      Map<String, String> mappings = new HashMap<String, String>(skipLockedJobAcquisitionStatements);
+      if (specificStatements != null) {
+        mappings.putAll(specificStatements);
+      }
+      this.statementMappings = mappings;
+    } else {
+      this.statementMappings = specificStatements;
+    }
+
+    if (isSkipLockedJobAcquisitionEnabled && "oracle".equals(databaseType)) {
+      this.fetchLimitedStatements = new HashSet<String>(skipLockedJobAcquisitionStatements.values());
+    } else {
+      this.fetchLimitedStatements = Collections.emptySet();
+    }
+  }
+
+  /**
+   * Oracle can't limit the rows of a 'for update skip locked' query in the query itself without limiting them before
+   * the locked rows are skipped. It does lock the rows only while they are fetched, so the results of these statements
+   * are limited while fetching, which stops the fetching (and locking) once enough rows are read.
+   *
+   * @param mappedStatement the statement as returned by {@link #mapStatement(String)}
+   */
+  public boolean isFetchLimitedStatement(String mappedStatement) {
+    return fetchLimitedStatements.contains(mappedStatement);
+  }
+
+  /**
+   * Postgres (9.5+), Oracle and MySQL 8+ support 'for update skip locked'. MariaDB only supports it from 10.6 on,
+   * and isn't detected here.
+   */
+  public static boolean isSkipLockedSupported(String databaseType, int databaseMajorVersion) {
+    if ("postgres".equals(databaseType) || "oracle".equals(databaseType)) {
+      return true;
+    }
+    return "mysql".equals(databaseType) && databaseMajorVersion >= 8;
   }
 
   public void setBulkInsertEnabled(boolean isBulkInsertEnabled, String databaseType) {
@@ -315,6 +392,30 @@ public class DbSqlSessionFactory implements SessionFactory {
     return tablePrefixIsSchema;
   }
 
+  public boolean isJdbcBatchFlushEnabled() {
+    return isJdbcBatchFlushEnabled;
+  }
+
+  public void setJdbcBatchFlushEnabled(boolean isJdbcBatchFlushEnabled) {
+    this.isJdbcBatchFlushEnabled = isJdbcBatchFlushEnabled;
+  }
+
+  public SecondLevelEntityCache getSecondLevelEntityCache() {
+    return secondLevelEntityCache;
+  }
+
+  public void setSecondLevelEntityCache(SecondLevelEntityCache secondLevelEntityCache) {
+    this.secondLevelEntityCache = secondLevelEntityCache;
+  }
+
+  public AsyncHistoryOutbox getAsyncHistoryOutbox() {
+    return asyncHistoryOutbox;
+  }
+
+  public void setAsyncHistoryOutbox(AsyncHistoryOutbox asyncHistoryOutbox) {
+    this.asyncHistoryOutbox = asyncHistoryOutbox;
+  }
+
   public int getMaxNrOfStatementsInBulkInsert() {
     return maxNrOfStatementsInBulkInsert;
   }
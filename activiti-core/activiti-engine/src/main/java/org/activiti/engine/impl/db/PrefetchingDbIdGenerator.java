@@ -0,0 +1,289 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.db;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.activiti.engine.impl.cfg.IdGenerator;
+import org.activiti.engine.impl.cmd.GetNextIdBlockCmd;
+import org.activiti.engine.impl.interceptor.CommandConfig;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link IdGenerator} handing out ids from blocks reserved in the database, like the {@link DbIdGenerator},
+ * but without taking a monitor for every id.
+ *
+ * Ids of the current block are handed out with an atomic counter. When a configurable part of the block has
+ * been used, the next block is fetched in the background, so that threads normally never wait for the
+ * {@link GetNextIdBlockCmd} round trip. Only when the current block is exhausted, a short lock is taken to
+ * install the next one.
+ *
+ * The size of the blocks adapts to the rate at which ids are used: it grows (up to {@link #maxIdBlockSize})
+ * when a block lasts shorter than half the {@link #targetIdBlockLifetimeInMillis}, and shrinks again
+ * (down to {@link #idBlockSize}) when a block lasts longer than twice that time.
+ */
+public class PrefetchingDbIdGenerator implements IdGenerator {
+
+  private static final Logger log = LoggerFactory.getLogger(PrefetchingDbIdGenerator.class);
+
+  /** The minimal (and initial) number of ids reserved in one database round trip */
+  protected int idBlockSize = 2500;
+
+  /** The maximal number of ids reserved in one database round trip */
+  protected int maxIdBlockSize = 2500 * 64;
+
+  /** The time a block of ids should last, used to adapt the block size to the rate of id use */
+  protected long targetIdBlockLifetimeInMillis = 10 * 1000L;
+
+  /** The percentage of a block that is left when the next block is fetched in the background */
+  protected int prefetchThresholdPercentage = 25;
+
+  protected CommandExecutor commandExecutor;
+  protected CommandConfig commandConfig;
+
+  protected volatile IdRange currentRange = IdRange.EXHAUSTED;
+  protected final AtomicReference<CompletableFuture<IdRange>> prefetchedRange = new AtomicReference<CompletableFuture<IdRange>>();
+  protected final ReentrantLock switchRangeLock = new ReentrantLock();
+
+  protected int currentIdBlockSize;
+  protected long lastFetchTimeInMillis = -1;
+
+  protected volatile ExecutorService prefetchExecutorService;
+  protected volatile boolean isShutdown;
+
+  public String getNextId() {
+    while (true) {
+      IdRange range = currentRange;
+      long id = range.nextId.getAndIncrement();
+      if (id <= range.lastId) {
+        if (id == range.prefetchId) {
+          // exactly one thread gets this id, so only one prefetch is triggered per block
+          prefetchNextRange();
+        }
+        return Long.toString(id);
+      }
+      switchRange(range);
+    }
+  }
+
+  protected void switchRange(IdRange exhaustedRange) {
+    switchRangeLock.lock();
+    try {
+      if (currentRange != exhaustedRange) {
+        // another thread already installed the next block
+        return;
+      }
+
+      IdRange nextRange = takePrefetchedRange();
+      if (nextRange == null) {
+        nextRange = fetchRange();
+      }
+      currentRange = nextRange;
+
+    } finally {
+      switchRangeLock.unlock();
+    }
+  }
+
+  protected IdRange takePrefetchedRange() {
+    CompletableFuture<IdRange> future = prefetchedRange.getAndSet(null);
+    if (future == null) {
+      return null;
+    }
+
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      log.warn("Prefetching the next id block failed, fetching it again: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+      return null;
+    }
+  }
+
+  protected void prefetchNextRange() {
+    if (isShutdown) {
+      // the next block is fetched when the current one is exhausted
+      return;
+    }
+
+    final CompletableFuture<IdRange> future = new CompletableFuture<IdRange>();
+    if (!prefetchedRange.compareAndSet(null, future)) {
+      return;
+    }
+
+    try {
+      getPrefetchExecutorService().execute(new Runnable() {
+        public void run() {
+          try {
+            future.complete(fetchRange());
+          } catch (Throwable t) {
+            future.completeExceptionally(t);
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(e);
+    }
+  }
+
+  protected IdRange fetchRange() {
+    int blockSize = nextIdBlockSize();
+    IdBlock idBlock = commandExecutor.execute(commandConfig, new GetNextIdBlockCmd(blockSize));
+    return new IdRange(idBlock.getNextId(), idBlock.getLastId(), prefetchThresholdPercentage);
+  }
+
+  /**
+   * Determines the size of the next block, based on the time passed since the previous block was fetched.
+   * As blocks are fetched when the same share of the previous block is used, this time is the lifetime of a block.
+   */
+  protected synchronized int nextIdBlockSize() {
+    long now = System.currentTimeMillis();
+    if (currentIdBlockSize < idBlockSize) {
+      currentIdBlockSize = idBlockSize;
+
+    } else if (lastFetchTimeInMillis >= 0) {
+      long blockLifetime = now - lastFetchTimeInMillis;
+      if (blockLifetime < targetIdBlockLifetimeInMillis / 2) {
+        currentIdBlockSize = (int) Math.min((long) currentIdBlockSize * 2, Math.max(maxIdBlockSize, idBlockSize));
+      } else if (blockLifetime > targetIdBlockLifetimeInMillis * 2) {
+        currentIdBlockSize = Math.max(currentIdBlockSize / 2, idBlockSize);
+      }
+    }
+
+    lastFetchTimeInMillis = now;
+    return currentIdBlockSize;
+  }
+
+  protected ExecutorService getPrefetchExecutorService() {
+    if (prefetchExecutorService == null) {
+      synchronized (this) {
+        if (isShutdown) {
+          throw new RejectedExecutionException("id generator is shut down");
+        }
+        if (prefetchExecutorService == null) {
+          BasicThreadFactory threadFactory = new BasicThreadFactory.Builder()
+              .namingPattern("activiti-id-block-prefetch-%d")
+              .daemon(true)
+              .build();
+          // a single thread that goes away when idle, it is shut down when the engine closes
+          ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+          threadPoolExecutor.allowCoreThreadTimeOut(true);
+          prefetchExecutorService = threadPoolExecutor;
+        }
+      }
+    }
+    return prefetchExecutorService;
+  }
+
+  /**
+   * Stops the background prefetching. Ids are still handed out afterwards, fetching the next block in the calling thread.
+   */
+  public void shutdown() {
+    ExecutorService executorService;
+    synchronized (this) {
+      isShutdown = true;
+      executorService = prefetchExecutorService;
+    }
+    if (executorService != null) {
+      executorService.shutdown();
+    }
+  }
+
+  public int getIdBlockSize() {
+    return idBlockSize;
+  }
+
+  public void setIdBlockSize(int idBlockSize) {
+    this.idBlockSize = idBlockSize;
+  }
+
+  public int getMaxIdBlockSize() {
+    return maxIdBlockSize;
+  }
+
+  public void setMaxIdBlockSize(int maxIdBlockSize) {
+    this.maxIdBlockSize = maxIdBlockSize;
+  }
+
+  public long getTargetIdBlockLifetimeInMillis() {
+    return targetIdBlockLifetimeInMillis;
+  }
+
+  public void setTargetIdBlockLifetimeInMillis(long targetIdBlockLifetimeInMillis) {
+    this.targetIdBlockLifetimeInMillis = targetIdBlockLifetimeInMillis;
+  }
+
+  public int getPrefetchThresholdPercentage() {
+    return prefetchThresholdPercentage;
+  }
+
+  public void setPrefetchThresholdPercentage(int prefetchThresholdPercentage) {
+    this.prefetchThresholdPercentage = prefetchThresholdPercentage;
+  }
+
+  public CommandExecutor getCommandExecutor() {
+    return commandExecutor;
+  }
+
+  public void setCommandExecutor(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+  }
+
+  public CommandConfig getCommandConfig() {
+    return commandConfig;
+  }
+
+  public void setCommandConfig(CommandConfig commandConfig) {
+    this.commandConfig = commandConfig;
+  }
+
+  public void setPrefetchExecutorService(ExecutorService prefetchExecutorService) {
+    this.prefetchExecutorService = prefetchExecutorService;
+  }
+
+  /**
+   * A block of ids of which the unused part is tracked with an atomic counter.
+   */
+  protected static class IdRange {
+
+    protected static final IdRange EXHAUSTED = new IdRange(0, -1, 0);
+
+    protected final AtomicLong nextId;
+    protected final long lastId;
+    protected final long prefetchId;
+
+    protected IdRange(long firstId, long lastId, int prefetchThresholdPercentage) {
+      this.nextId = new AtomicLong(firstId);
+      this.lastId = lastId;
+      long size = lastId - firstId + 1;
+      this.prefetchId = lastId - (size * prefetchThresholdPercentage / 100);
+    }
+
+  }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.db;
+
+import java.sql.Connection;
+
+import org.apache.ibatis.transaction.Transaction;
+
+/**
+ * MyBatis {@link Transaction} for an extra {@link org.apache.ibatis.session.SqlSession} working on the connection
+ * of another session, which stays responsible for committing, rolling back and closing it.
+ * All transaction demarcation on this transaction is therefore a no-op.
+ */
+public class SharedConnectionTransaction implements Transaction {
+
+  protected final Connection connection;
+
+  public SharedConnectionTransaction(Connection connection) {
+    this.connection = connection;
+  }
+
+  @Override
+  public Connection getConnection() {
+    return connection;
+  }
+
+  @Override
+  public void commit() {
+    // committed by the session owning the connection
+  }
+
+  @Override
+  public void rollback() {
+    // rolled back by the session owning the connection
+  }
+
+  @Override
+  public void close() {
+    // closed by the session owning the connection
+  }
+
+  @Override
+  public Integer getTimeout() {
+    return null;
+  }
+}
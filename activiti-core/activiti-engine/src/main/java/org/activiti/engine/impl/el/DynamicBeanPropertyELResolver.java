@@ -20,7 +20,10 @@ import jakarta.el.ELContext;
 import jakarta.el.ELException;
 import jakarta.el.ELResolver;
 import java.beans.FeatureDescriptor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Iterator;
+import org.activiti.core.el.juel.misc.MethodCache;
 import org.activiti.engine.impl.util.ReflectUtil;
 
 /**
@@ -82,7 +85,7 @@ public class DynamicBeanPropertyELResolver extends ELResolver {
     String propertyName = property.toString();
 
     try {
-      Object value = ReflectUtil.invoke(base, this.readMethodName, new Object[] { propertyName });
+      Object value = invoke(base, this.readMethodName, new Class<?>[] { String.class }, new Object[] { propertyName });
       context.setPropertyResolved(true);
       return value;
     } catch (Exception e) {
@@ -103,10 +106,22 @@ public class DynamicBeanPropertyELResolver extends ELResolver {
 
     String propertyName = property.toString();
     try {
-      ReflectUtil.invoke(base, this.writeMethodName, new Object[] { propertyName, value });
+      invoke(base, this.writeMethodName, new Class<?>[] { String.class, Object.class }, new Object[] { propertyName, value });
       context.setPropertyResolved(true);
     } catch (Exception e) {
       throw new ELException(e);
     }
   }
+
+  /**
+   * Invokes the public method with the given parameter types through the {@link MethodCache},
+   * falling back to a {@link ReflectUtil} lookup for methods that aren't public.
+   */
+  protected Object invoke(Object base, String methodName, Class<?>[] paramTypes, Object[] args) throws Exception {
+    Method method = MethodCache.getMethod(base.getClass(), methodName, paramTypes);
+    if (method == null || !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+      return ReflectUtil.invoke(base, methodName, args);
+    }
+    return method.invoke(base, args);
+  }
 }
@@ -18,7 +18,6 @@
 package org.activiti.engine.impl.el;
 
 import jakarta.el.ArrayELResolver;
-import jakarta.el.BeanELResolver;
 import jakarta.el.CompositeELResolver;
 import jakarta.el.ELContext;
 import jakarta.el.ELResolver;
@@ -27,13 +26,19 @@ import jakarta.el.ListELResolver;
 import jakarta.el.MapELResolver;
 import jakarta.el.ValueExpression;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.activiti.core.el.ActivitiElContext;
+import org.activiti.core.el.CachingBeanELResolver;
 import org.activiti.core.el.CustomFunctionProvider;
 import org.activiti.core.el.ELContextBuilder;
+import org.activiti.core.el.ELContextTemplate;
 import org.activiti.core.el.ELResolverReflectionBlockerDecorator;
 import org.activiti.core.el.ReadOnlyMapELResolver;
+import org.activiti.core.el.juel.ExpressionFactoryImpl;
+import org.activiti.core.el.juel.tree.TreeCache;
+import org.activiti.core.el.juel.tree.impl.Cache;
 import org.activiti.engine.delegate.Expression;
 import org.activiti.engine.delegate.VariableScope;
 import org.activiti.engine.impl.bpmn.data.ItemInstance;
@@ -56,6 +61,11 @@ public class ExpressionManager {
     protected Map<Object, Object> beans;
     protected List<CustomFunctionProvider> customFunctionProviders;
 
+    // Built on first use from the beans and custom function providers, and shared by all the EL contexts created
+    // afterwards; reset whenever either of them is replaced.
+    private volatile ELResolver sharedElResolver;
+    private volatile ELContextTemplate elContextTemplate;
+
     public ExpressionManager() {
         this(null);
     }
@@ -98,6 +108,7 @@ public class ExpressionManager {
 
     public void setCustomFunctionProviders(List<CustomFunctionProvider> customFunctionProviders) {
         this.customFunctionProviders = customFunctionProviders;
+        this.elContextTemplate = null;
     }
 
     public ELContext getElContext(VariableScope variableScope) {
@@ -118,17 +129,47 @@ public class ExpressionManager {
     }
 
     protected ActivitiElContext createElContext(VariableScope variableScope) {
-        return (ActivitiElContext) new ELContextBuilder().withResolvers(createElResolver(variableScope)).buildWithCustomFunctions(customFunctionProviders);
+        return getElContextTemplate().createContextWithResolver(createElResolver(variableScope));
     }
 
     protected ELResolver createElResolver(VariableScope variableScope) {
         CompositeELResolver elResolver = new CompositeELResolver();
         elResolver.add(new VariableScopeElResolver(variableScope));
-        addBeansResolver(elResolver);
-        addBaseResolvers(elResolver);
+        elResolver.add(getSharedElResolver());
+        return elResolver;
+    }
+
+    /**
+     * Returns the beans and base resolvers that follow the variable scope resolver, built once and shared by the
+     * contexts of all variable scopes.
+     */
+    protected ELResolver getSharedElResolver() {
+        ELResolver elResolver = sharedElResolver;
+        if (elResolver == null) {
+            CompositeELResolver compositeElResolver = new CompositeELResolver();
+            addBeansResolver(compositeElResolver);
+            addBaseResolvers(compositeElResolver);
+            elResolver = compositeElResolver;
+            sharedElResolver = elResolver;
+        }
         return elResolver;
     }
 
+    /**
+     * Returns the template for contexts evaluating expressions against a plain map of variables. Its base resolvers
+     * and functions are built once, so each context only binds its variables.
+     */
+    protected ELContextTemplate getElContextTemplate() {
+        ELContextTemplate template = elContextTemplate;
+        if (template == null) {
+            CompositeELResolver elResolver = new CompositeELResolver();
+            addBaseResolvers(elResolver);
+            template = new ELContextBuilder().withResolvers(elResolver).buildTemplate(customFunctionProviders);
+            elContextTemplate = template;
+        }
+        return template;
+    }
+
     protected void addBeansResolver(CompositeELResolver elResolver) {
         if (beans != null) {
             // ACT-1102: Also expose all beans in configuration when using
@@ -146,7 +187,7 @@ public class ExpressionManager {
         elResolver.add(new DynamicBeanPropertyELResolver(ItemInstance.class,
                                                          "getFieldValue",
                                                          "setFieldValue")); // TODO: needs verification
-        elResolver.add(new ELResolverReflectionBlockerDecorator(new BeanELResolver()));
+        elResolver.add(new ELResolverReflectionBlockerDecorator(new CachingBeanELResolver()));
     }
 
     public Map<Object, Object> getBeans() {
@@ -155,11 +196,31 @@ public class ExpressionManager {
 
     public void setBeans(Map<Object, Object> beans) {
         this.beans = beans;
+        this.sharedElResolver = null;
+    }
+
+    /**
+     * Returns the size, hit rate and related counters of the expression parse tree cache. The map is empty when the
+     * expression factory isn't backed by the JUEL tree cache.
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<String, Object>();
+        if (expressionFactory instanceof ExpressionFactoryImpl) {
+            TreeCache treeCache = ((ExpressionFactoryImpl) expressionFactory).getTreeStore().getCache();
+            if (treeCache instanceof Cache) {
+                Cache cache = (Cache) treeCache;
+                metrics.put("size", cache.size());
+                metrics.put("capacity", cache.getCapacity());
+                metrics.put("hits", cache.getHitCount());
+                metrics.put("misses", cache.getMissCount());
+                metrics.put("evictions", cache.getEvictionCount());
+                metrics.put("hitRate", cache.getHitRate());
+            }
+        }
+        return metrics;
     }
 
     public ELContext getElContext(Map<String, Object> availableVariables) {
-        CompositeELResolver elResolver = new CompositeELResolver();
-        addBaseResolvers(elResolver);
-        return new ELContextBuilder().withResolvers(elResolver).withVariables(availableVariables).buildWithCustomFunctions(customFunctionProviders);
+        return getElContextTemplate().createContext(availableVariables);
     }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.event.logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.activiti.engine.impl.cfg.TransactionContext;
+import org.activiti.engine.impl.cfg.TransactionListener;
+import org.activiti.engine.impl.cfg.TransactionState;
+import org.activiti.engine.impl.event.logger.handler.EventLoggerEventHandler;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link EventFlusher} that hands the event log entries to a {@link BufferedEventLogWriter} once the transaction
+ * committed, instead of inserting them in the transaction itself.
+ *
+ * The entries are still generated when the command context closes, as the handlers read the state of the entities of this transaction.
+ * They are only handed to the writer by a {@link TransactionState#COMMITTED} listener, so nothing is written for a transaction that rolls back.
+ */
+public class BufferedEventFlusher extends AbstractEventFlusher {
+
+  private static final Logger logger = LoggerFactory.getLogger(BufferedEventFlusher.class);
+
+  protected BufferedEventLogWriter eventLogWriter;
+  protected List<EventLogEntryEntity> eventLogEntries;
+
+  public BufferedEventFlusher(BufferedEventLogWriter eventLogWriter) {
+    this.eventLogWriter = eventLogWriter;
+  }
+
+  @Override
+  public void closing(CommandContext commandContext) {
+
+    if (commandContext.getException() != null) {
+      return; // Not interested in events about exceptions
+    }
+
+    eventLogEntries = new ArrayList<EventLogEntryEntity>(eventHandlers.size());
+    for (EventLoggerEventHandler eventHandler : eventHandlers) {
+      try {
+        eventLogEntries.add(eventHandler.generateEventLogEntry(commandContext));
+      } catch (Exception e) {
+        logger.warn("Could not create event log", e);
+      }
+    }
+
+    TransactionContext transactionContext = commandContext.getTransactionContext();
+    if (transactionContext != null && !eventLogEntries.isEmpty()) {
+      final List<EventLogEntryEntity> committedEventLogEntries = eventLogEntries;
+      transactionContext.addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+
+        @Override
+        public void execute(CommandContext commandContext) {
+          eventLogWriter.add(committedEventLogEntries);
+        }
+
+      });
+      eventLogEntries = null;
+    }
+  }
+
+  @Override
+  public void closed(CommandContext commandContext) {
+    // Without a transaction context there is no commit to wait for
+    if (eventLogEntries != null && !eventLogEntries.isEmpty()) {
+      eventLogWriter.add(eventLogEntries);
+    }
+  }
+
+  public void afterSessionsFlush(CommandContext commandContext) {
+
+  }
+
+  public void closeFailure(CommandContext commandContext) {
+
+  }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.event.logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.activiti.engine.impl.cmd.InsertEventLogEntriesCmd;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes event log entries to the database on a background thread.
+ *
+ * Entries of committed transactions are added to a bounded ring buffer, which is drained by the writer thread
+ * in batches of at most {@link #batchSize} entries, each inserted in one transaction as a JDBC batch.
+ * When the buffer is full, new entries are dropped rather than slowing down the engine: the event log is
+ * best effort once this writer is used. The buffer fill level and the dropped entries are reported in {@link #getMetrics()}.
+ */
+public class BufferedEventLogWriter implements Runnable {
+
+  private static final Logger logger = LoggerFactory.getLogger(BufferedEventLogWriter.class);
+
+  protected CommandExecutor commandExecutor;
+  protected int bufferSize;
+  protected int batchSize;
+  protected long pollIntervalInMillis = 1000L;
+
+  protected BlockingQueue<EventLogEntryEntity> buffer;
+  protected Thread writerThread;
+  protected volatile boolean isActive;
+
+  protected AtomicInteger bufferHighWaterMark = new AtomicInteger();
+  protected LongAdder addedCount = new LongAdder();
+  protected LongAdder droppedCount = new LongAdder();
+  protected LongAdder writtenCount = new LongAdder();
+  protected LongAdder failedCount = new LongAdder();
+  protected LongAdder batchCount = new LongAdder();
+
+  public BufferedEventLogWriter(CommandExecutor commandExecutor, int bufferSize, int batchSize) {
+    this.commandExecutor = commandExecutor;
+    this.bufferSize = bufferSize;
+    this.batchSize = batchSize;
+    this.buffer = new ArrayBlockingQueue<EventLogEntryEntity>(bufferSize);
+  }
+
+  public synchronized void start() {
+    if (isActive) {
+      return;
+    }
+    isActive = true;
+    writerThread = new Thread(this, "activiti-event-log-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  /**
+   * Stops the writer thread, after it wrote the entries still in the buffer.
+   */
+  public synchronized void shutdown() {
+    if (!isActive) {
+      return;
+    }
+    isActive = false;
+    try {
+      writerThread.join();
+    } catch (InterruptedException e) {
+      logger.warn("Interrupted while waiting for the event log writer thread to terminate", e);
+    }
+    writerThread = null;
+  }
+
+  /**
+   * Adds the entries to the buffer, never blocks. Entries that don't fit anymore are dropped.
+   */
+  public void add(List<EventLogEntryEntity> eventLogEntries) {
+    for (EventLogEntryEntity eventLogEntry : eventLogEntries) {
+      if (buffer.offer(eventLogEntry)) {
+        addedCount.increment();
+      } else {
+        droppedCount.increment();
+      }
+    }
+    bufferHighWaterMark.accumulateAndGet(buffer.size(), Math::max);
+  }
+
+  @Override
+  public void run() {
+    List<EventLogEntryEntity> batch = new ArrayList<EventLogEntryEntity>(batchSize);
+    while (isActive) {
+      try {
+        EventLogEntryEntity eventLogEntry = buffer.poll(pollIntervalInMillis, TimeUnit.MILLISECONDS);
+        if (eventLogEntry != null) {
+          batch.add(eventLogEntry);
+          buffer.drainTo(batch, batchSize - 1);
+          write(batch);
+        }
+      } catch (InterruptedException e) {
+        logger.info("Event log writer thread interrupted, stopping");
+        isActive = false;
+      }
+    }
+
+    // Don't lose what was committed before the shutdown
+    while (buffer.drainTo(batch, batchSize) > 0) {
+      write(batch);
+    }
+  }
+
+  protected void write(List<EventLogEntryEntity> batch) {
+    try {
+      commandExecutor.execute(new InsertEventLogEntriesCmd(new ArrayList<EventLogEntryEntity>(batch)));
+      writtenCount.add(batch.size());
+      batchCount.increment();
+    } catch (Exception e) {
+      failedCount.add(batch.size());
+      logger.warn("Could not write " + batch.size() + " event log entries", e);
+    } finally {
+      batch.clear();
+    }
+  }
+
+  public Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new HashMap<String, Object>();
+    metrics.put("bufferSize", bufferSize);
+    metrics.put("bufferedEntries", buffer.size());
+    metrics.put("bufferHighWaterMark", bufferHighWaterMark.get());
+    metrics.put("added", addedCount.sum());
+    metrics.put("dropped", droppedCount.sum());
+    metrics.put("written", writtenCount.sum());
+    metrics.put("failed", failedCount.sum());
+    metrics.put("batches", batchCount.sum());
+    return metrics;
+  }
+
+  public boolean isActive() {
+    return isActive;
+  }
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public long getPollIntervalInMillis() {
+    return pollIntervalInMillis;
+  }
+
+  public void setPollIntervalInMillis(long pollIntervalInMillis) {
+    this.pollIntervalInMillis = pollIntervalInMillis;
+  }
+
+}
@@ -66,6 +66,9 @@ public class EventLogger implements ActivitiEventListener {
     // Listeners for new events
     protected List<EventLoggerListener> listeners;
 
+    // When set, entries are written after commit by this writer instead of in the transaction
+    protected BufferedEventLogWriter eventLogWriter;
+
     public EventLogger() {
         initializeDefaultHandlers();
     }
@@ -210,6 +213,9 @@ public class EventLogger implements ActivitiEventListener {
      * Subclasses that want something else than the database flusher should override this method
      */
     protected EventFlusher createEventFlusher() {
+        if (eventLogWriter != null) {
+            return new BufferedEventFlusher(eventLogWriter);
+        }
         return null;
     }
 
@@ -237,4 +243,12 @@ public class EventLogger implements ActivitiEventListener {
         this.listeners = listeners;
     }
 
+    public BufferedEventLogWriter getEventLogWriter() {
+        return eventLogWriter;
+    }
+
+    public void setEventLogWriter(BufferedEventLogWriter eventLogWriter) {
+        this.eventLogWriter = eventLogWriter;
+    }
+
 }
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.history;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.asyncexecutor.JobManager;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManager;
+import org.activiti.engine.impl.persistence.entity.ByteArrayRef;
+import org.activiti.engine.impl.persistence.entity.Entity;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricDetailVariableInstanceUpdateEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Durable outbox for the history rows that are complete when they are inserted and that the engine never reads back:
+ * ended historic activity instances and historic variable updates.
+ *
+ * Instead of being inserted together with the runtime changes, these rows are written as compact records into one
+ * byte array per transaction. The async job created alongside it ({@link org.activiti.engine.impl.jobexecutor.AsyncHistoryJobHandler})
+ * inserts them into the history tables later, as one batch, together with the byte arrays of other pending async history jobs.
+ */
+public class AsyncHistoryOutbox {
+
+  private static Logger log = LoggerFactory.getLogger(AsyncHistoryOutbox.class);
+
+  public static final String BYTE_ARRAY_NAME = "async-history";
+
+  protected static final String RECORD_ACTIVITY_INSTANCE = "activity-instance";
+  protected static final String RECORD_VARIABLE_UPDATE = "variable-update";
+
+  protected ObjectMapper objectMapper;
+
+  public AsyncHistoryOutbox(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  public boolean isAsyncHistoryEntity(Entity entity) {
+    if (entity instanceof HistoricDetailVariableInstanceUpdateEntity) {
+      return true;
+    }
+    // Unfinished activity instances are looked up again when the activity ends, so they must be in the database
+    return entity instanceof HistoricActivityInstanceEntity && ((HistoricActivityInstanceEntity) entity).getEndTime() != null;
+  }
+
+  /**
+   * Writes the records for the given history entities to the outbox, in the current transaction.
+   *
+   * Called while the {@link org.activiti.engine.impl.db.DbSqlSession} flushes, when the thread-local transaction
+   * context is already removed: the job is scheduled on the transaction context kept by the command context.
+   */
+  public void write(CommandContext commandContext, Collection<Entity> entities) {
+    ArrayNode records = objectMapper.createArrayNode();
+    for (Entity entity : entities) {
+      if (entity instanceof HistoricActivityInstanceEntity) {
+        records.add(writeActivityInstance((HistoricActivityInstanceEntity) entity));
+      } else if (entity instanceof HistoricDetailVariableInstanceUpdateEntity) {
+        records.add(writeVariableUpdate((HistoricDetailVariableInstanceUpdateEntity) entity));
+      } else {
+        throw new ActivitiException("Entity " + entity + " can't be written to the async history outbox");
+      }
+    }
+
+    ByteArrayEntityManager byteArrayEntityManager = commandContext.getByteArrayEntityManager();
+    ByteArrayEntity byteArray = byteArrayEntityManager.create();
+    byteArray.setName(BYTE_ARRAY_NAME);
+    try {
+      byteArray.setBytes(objectMapper.writeValueAsBytes(records));
+    } catch (IOException e) {
+      throw new ActivitiException("Could not write async history records", e);
+    }
+    byteArrayEntityManager.insert(byteArray);
+
+    JobManager jobManager = commandContext.getJobManager();
+    JobEntity job = jobManager.createAsyncHistoryJob(byteArray.getId());
+    jobManager.scheduleAsyncJob(job);
+  }
+
+  /**
+   * Inserts the history entities for the records of one outbox byte array. Records of process instances
+   * of which the history was deleted in the meantime are skipped, together with the byte arrays they refer to.
+   */
+  public void apply(CommandContext commandContext, byte[] bytes) {
+    JsonNode records;
+    try {
+      records = objectMapper.readTree(bytes);
+    } catch (IOException e) {
+      throw new ActivitiException("Could not read async history records", e);
+    }
+
+    Map<String, Boolean> historicProcessInstanceExists = new HashMap<String, Boolean>();
+    for (JsonNode record : records) {
+      String processInstanceId = getString(record, "processInstanceId");
+      if (processInstanceId != null) {
+        Boolean exists = historicProcessInstanceExists.get(processInstanceId);
+        if (exists == null) {
+          exists = commandContext.getHistoricProcessInstanceEntityManager().findById(processInstanceId) != null;
+          historicProcessInstanceExists.put(processInstanceId, exists);
+        }
+        if (!exists) {
+          log.debug("Skipping async history record {}, historic process instance {} doesn't exist anymore", getString(record, "id"), processInstanceId);
+          deleteByteArray(commandContext, record);
+          continue;
+        }
+      }
+
+      String recordType = getString(record, "type");
+      if (RECORD_ACTIVITY_INSTANCE.equals(recordType)) {
+        insertActivityInstance(commandContext, record);
+      } else if (RECORD_VARIABLE_UPDATE.equals(recordType)) {
+        insertVariableUpdate(commandContext, record);
+      } else {
+        throw new ActivitiException("Unknown async history record type " + recordType);
+      }
+    }
+  }
+
+  protected ObjectNode writeActivityInstance(HistoricActivityInstanceEntity activityInstance) {
+    ObjectNode record = objectMapper.createObjectNode();
+    record.put("type", RECORD_ACTIVITY_INSTANCE);
+    record.put("id", activityInstance.getId());
+    record.put("processDefinitionId", activityInstance.getProcessDefinitionId());
+    record.put("processInstanceId", activityInstance.getProcessInstanceId());
+    record.put("executionId", activityInstance.getExecutionId());
+    record.put("activityId", activityInstance.getActivityId());
+    record.put("activityName", activityInstance.getActivityName());
+    record.put("activityType", activityInstance.getActivityType());
+    record.put("assignee", activityInstance.getAssignee());
+    record.put("taskId", activityInstance.getTaskId());
+    record.put("calledProcessInstanceId", activityInstance.getCalledProcessInstanceId());
+    putDate(record, "startTime", activityInstance.getStartTime());
+    putDate(record, "endTime", activityInstance.getEndTime());
+    record.put("durationInMillis", activityInstance.getDurationInMillis());
+    record.put("deleteReason", activityInstance.getDeleteReason());
+    record.put("tenantId", activityInstance.getTenantId());
+    return record;
+  }
+
+  protected ObjectNode writeVariableUpdate(HistoricDetailVariableInstanceUpdateEntity variableUpdate) {
+    ObjectNode record = objectMapper.createObjectNode();
+    record.put("type", RECORD_VARIABLE_UPDATE);
+    record.put("id", variableUpdate.getId());
+    record.put("processInstanceId", variableUpdate.getProcessInstanceId());
+    record.put("executionId", variableUpdate.getExecutionId());
+    record.put("activityInstanceId", variableUpdate.getActivityInstanceId());
+    record.put("taskId", variableUpdate.getTaskId());
+    putDate(record, "time", variableUpdate.getTime());
+    record.put("revision", variableUpdate.getRevision());
+    record.put("name", variableUpdate.getName());
+    record.put("variableType", variableUpdate.getVariableTypeName());
+    record.put("longValue", variableUpdate.getLongValue());
+    record.put("doubleValue", variableUpdate.getDoubleValue());
+    record.put("textValue", variableUpdate.getTextValue());
+    record.put("textValue2", variableUpdate.getTextValue2());
+    if (variableUpdate.getByteArrayRef() != null) {
+      // The byte array itself is inserted in the original transaction
+      record.put("byteArrayId", variableUpdate.getByteArrayRef().getId());
+    }
+    return record;
+  }
+
+  protected void insertActivityInstance(CommandContext commandContext, JsonNode record) {
+    HistoricActivityInstanceEntity activityInstance = commandContext.getHistoricActivityInstanceEntityManager().create();
+    activityInstance.setId(getString(record, "id"));
+    activityInstance.setProcessDefinitionId(getString(record, "processDefinitionId"));
+    activityInstance.setProcessInstanceId(getString(record, "processInstanceId"));
+    activityInstance.setExecutionId(getString(record, "executionId"));
+    activityInstance.setActivityId(getString(record, "activityId"));
+    activityInstance.setActivityName(getString(record, "activityName"));
+    activityInstance.setActivityType(getString(record, "activityType"));
+    activityInstance.setAssignee(getString(record, "assignee"));
+    activityInstance.setTaskId(getString(record, "taskId"));
+    activityInstance.setCalledProcessInstanceId(getString(record, "calledProcessInstanceId"));
+    activityInstance.setStartTime(getDate(record, "startTime"));
+    activityInstance.setEndTime(getDate(record, "endTime"));
+    activityInstance.setDurationInMillis(getLong(record, "durationInMillis"));
+    activityInstance.setDeleteReason(getString(record, "deleteReason"));
+    activityInstance.setTenantId(getString(record, "tenantId"));
+    commandContext.getHistoricActivityInstanceEntityManager().insert(activityInstance, false);
+  }
+
+  protected void insertVariableUpdate(CommandContext commandContext, JsonNode record) {
+    HistoricDetailVariableInstanceUpdateEntity variableUpdate = commandContext.getProcessEngineConfiguration()
+        .getHistoricDetailDataManager().createHistoricDetailVariableInstanceUpdate();
+    variableUpdate.setId(getString(record, "id"));
+    variableUpdate.setProcessInstanceId(getString(record, "processInstanceId"));
+    variableUpdate.setExecutionId(getString(record, "executionId"));
+    variableUpdate.setActivityInstanceId(getString(record, "activityInstanceId"));
+    variableUpdate.setTaskId(getString(record, "taskId"));
+    variableUpdate.setTime(getDate(record, "time"));
+    variableUpdate.setRevision(record.path("revision").asInt());
+    variableUpdate.setName(getString(record, "name"));
+    String variableTypeName = getString(record, "variableType");
+    if (variableTypeName != null) {
+      variableUpdate.setVariableType(commandContext.getProcessEngineConfiguration().getVariableTypes().getVariableType(variableTypeName));
+    }
+    variableUpdate.setLongValue(getLong(record, "longValue"));
+    variableUpdate.setDoubleValue(record.hasNonNull("doubleValue") ? record.get("doubleValue").asDouble() : null);
+    variableUpdate.setTextValue(getString(record, "textValue"));
+    variableUpdate.setTextValue2(getString(record, "textValue2"));
+    String byteArrayId = getString(record, "byteArrayId");
+    if (byteArrayId != null) {
+      variableUpdate.setByteArrayRef(new ByteArrayRef(byteArrayId));
+    }
+    commandContext.getHistoricDetailEntityManager().insert(variableUpdate, false);
+  }
+
+  /**
+   * The byte array of a variable update is inserted by the original transaction, so it is not deleted
+   * with the history of the process instance when the record is not inserted yet.
+   */
+  protected void deleteByteArray(CommandContext commandContext, JsonNode record) {
+    String byteArrayId = getString(record, "byteArrayId");
+    if (byteArrayId != null) {
+      commandContext.getByteArrayEntityManager().deleteByteArrayById(byteArrayId);
+    }
+  }
+
+  protected void putDate(ObjectNode record, String fieldName, Date date) {
+    if (date != null) {
+      record.put(fieldName, date.getTime());
+    }
+  }
+
+  protected String getString(JsonNode record, String fieldName) {
+    return record.hasNonNull(fieldName) ? record.get(fieldName).asText() : null;
+  }
+
+  protected Long getLong(JsonNode record, String fieldName) {
+    return record.hasNonNull(fieldName) ? record.get(fieldName).asLong() : null;
+  }
+
+  protected Date getDate(JsonNode record, String fieldName) {
+    return record.hasNonNull(fieldName) ? new Date(record.get(fieldName).asLong()) : null;
+  }
+
+}
@@ -39,8 +39,11 @@ import org.activiti.engine.impl.persistence.entity.HistoricProcessInstanceEntity
 import org.activiti.engine.impl.persistence.entity.HistoricTaskInstanceEntity;
 import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
 import org.activiti.engine.impl.persistence.entity.IdentityLinkEntity;
+import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.activiti.engine.impl.persistence.entity.TaskEntity;
 import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.activiti.engine.impl.util.ProcessDefinitionUtil;
+import org.activiti.engine.repository.ProcessDefinition;
 import org.activiti.engine.task.Event;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,6 +78,67 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
     return historyLevel.isAtLeast(level);
   }
 
+  @Override
+  public boolean isHistoryLevelAtLeast(HistoryLevel level, String processDefinitionId) {
+    HistoryLevel processDefinitionHistoryLevel = getProcessDefinitionHistoryLevel(processDefinitionId);
+    if (log.isDebugEnabled()) {
+      log.debug("Current history level for process definition {}: {}, level required: {}", processDefinitionId, processDefinitionHistoryLevel, level);
+    }
+    return processDefinitionHistoryLevel.isAtLeast(level);
+  }
+
+  /**
+   * Returns the history level set with the activiti:historyLevel attribute on the process of the given
+   * process definition, as resolved when the process was parsed and kept on the cached process definition.
+   * Falls back to the engine history level.
+   */
+  protected HistoryLevel getProcessDefinitionHistoryLevel(String processDefinitionId) {
+    if (processDefinitionId != null && getProcessEngineConfiguration().isEnableProcessDefinitionHistoryLevel()) {
+      ProcessDefinition processDefinition = ProcessDefinitionUtil.getProcessDefinition(processDefinitionId);
+      if (processDefinition instanceof ProcessDefinitionEntity && ((ProcessDefinitionEntity) processDefinition).getHistoryLevel() != null) {
+        return HistoryLevel.values()[((ProcessDefinitionEntity) processDefinition).getHistoryLevel()];
+      }
+    }
+    return historyLevel;
+  }
+
+  // The lookups below are only needed to find the process definition history level,
+  // the entities normally come from the entity cache.
+
+  protected String getProcessInstanceProcessDefinitionId(String processInstanceId) {
+    if (processInstanceId != null && getProcessEngineConfiguration().isEnableProcessDefinitionHistoryLevel()) {
+      ExecutionEntity processInstance = getExecutionEntityManager().findById(processInstanceId);
+      if (processInstance != null) {
+        return processInstance.getProcessDefinitionId();
+      }
+    }
+    return null;
+  }
+
+  protected String getTaskProcessDefinitionId(String taskId) {
+    if (taskId != null && getProcessEngineConfiguration().isEnableProcessDefinitionHistoryLevel()) {
+      TaskEntity task = getTaskEntityManager().findById(taskId);
+      if (task != null) {
+        return task.getProcessDefinitionId();
+      }
+    }
+    return null;
+  }
+
+  protected String getVariableProcessDefinitionId(VariableInstanceEntity variable) {
+    if (variable.getProcessInstanceId() != null) {
+      return getProcessInstanceProcessDefinitionId(variable.getProcessInstanceId());
+    }
+    return getTaskProcessDefinitionId(variable.getTaskId());
+  }
+
+  protected String getIdentityLinkProcessDefinitionId(IdentityLinkEntity identityLink) {
+    if (identityLink.getProcessInstanceId() != null) {
+      return getProcessInstanceProcessDefinitionId(identityLink.getProcessInstanceId());
+    }
+    return getTaskProcessDefinitionId(identityLink.getTaskId());
+  }
+
   /*
    * (non-Javadoc)
    *
@@ -98,7 +162,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
   @Override
   public void recordProcessInstanceEnd(String processInstanceId, String deleteReason, String activityId) {
 
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, getProcessInstanceProcessDefinitionId(processInstanceId))) {
       HistoricProcessInstanceEntity historicProcessInstance = getHistoricProcessInstanceEntityManager().findById(processInstanceId);
 
       if (historicProcessInstance != null) {
@@ -107,7 +171,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
         // Fire event
         ActivitiEventDispatcher activitiEventDispatcher = getEventDispatcher();
-        if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()) {
+        if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled() && activitiEventDispatcher.hasEventListeners(ActivitiEventType.HISTORIC_PROCESS_INSTANCE_ENDED)) {
           activitiEventDispatcher.dispatchEvent(
               ActivitiEventBuilder.createEntityEvent(ActivitiEventType.HISTORIC_PROCESS_INSTANCE_ENDED, historicProcessInstance));
         }
@@ -118,7 +182,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
   @Override
   public void recordProcessInstanceNameChange(String processInstanceId, String newName) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, getProcessInstanceProcessDefinitionId(processInstanceId))) {
       HistoricProcessInstanceEntity historicProcessInstance = getHistoricProcessInstanceEntityManager().findById(processInstanceId);
 
       if (historicProcessInstance != null) {
@@ -134,7 +198,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordProcessInstanceStart(ExecutionEntity processInstance, FlowElement startElement) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processInstance.getProcessDefinitionId())) {
       HistoricProcessInstanceEntity historicProcessInstance = getHistoricProcessInstanceEntityManager().create(processInstance);
       historicProcessInstance.setStartActivityId(startElement.getId());
 
@@ -143,7 +207,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
       // Fire event
       ActivitiEventDispatcher activitiEventDispatcher = getEventDispatcher();
-      if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()) {
+      if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled() && activitiEventDispatcher.hasEventListeners(ActivitiEventType.HISTORIC_PROCESS_INSTANCE_CREATED)) {
         activitiEventDispatcher.dispatchEvent(
             ActivitiEventBuilder.createEntityEvent(ActivitiEventType.HISTORIC_PROCESS_INSTANCE_CREATED, historicProcessInstance));
       }
@@ -159,7 +223,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordSubProcessInstanceStart(ExecutionEntity parentExecution, ExecutionEntity subProcessInstance, FlowElement initialElement) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, subProcessInstance.getProcessDefinitionId())) {
 
       HistoricProcessInstanceEntity historicProcessInstance = getHistoricProcessInstanceEntityManager().create(subProcessInstance);
 
@@ -171,7 +235,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
       // Fire event
       ActivitiEventDispatcher activitiEventDispatcher = getEventDispatcher();
-      if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()) {
+      if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled() && activitiEventDispatcher.hasEventListeners(ActivitiEventType.HISTORIC_PROCESS_INSTANCE_CREATED)) {
         activitiEventDispatcher.dispatchEvent(
             ActivitiEventBuilder.createEntityEvent(ActivitiEventType.HISTORIC_PROCESS_INSTANCE_CREATED, historicProcessInstance));
       }
@@ -193,7 +257,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordActivityStart(ExecutionEntity executionEntity) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, executionEntity.getProcessDefinitionId())) {
       if (executionEntity.getActivityId() != null && executionEntity.getCurrentFlowElement() != null) {
 
         HistoricActivityInstanceEntity historicActivityInstanceEntity = null;
@@ -210,7 +274,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
         // Fire event
         ActivitiEventDispatcher activitiEventDispatcher = getEventDispatcher();
-        if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()) {
+        if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled() && activitiEventDispatcher.hasEventListeners(ActivitiEventType.HISTORIC_ACTIVITY_INSTANCE_CREATED)) {
           activitiEventDispatcher.dispatchEvent(
               ActivitiEventBuilder.createEntityEvent(ActivitiEventType.HISTORIC_ACTIVITY_INSTANCE_CREATED, historicActivityInstanceEntity));
         }
@@ -226,14 +290,14 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordActivityEnd(ExecutionEntity executionEntity, String deleteReason) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, executionEntity.getProcessDefinitionId())) {
       HistoricActivityInstanceEntity historicActivityInstance = findActivityInstance(executionEntity, false, true);
       if (historicActivityInstance != null) {
         historicActivityInstance.markEnded(deleteReason);
 
         // Fire event
         ActivitiEventDispatcher activitiEventDispatcher = getEventDispatcher();
-        if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()) {
+        if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled() && activitiEventDispatcher.hasEventListeners(ActivitiEventType.HISTORIC_ACTIVITY_INSTANCE_ENDED)) {
           activitiEventDispatcher.dispatchEvent(
               ActivitiEventBuilder.createEntityEvent(ActivitiEventType.HISTORIC_ACTIVITY_INSTANCE_ENDED, historicActivityInstance));
         }
@@ -356,7 +420,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordProcessDefinitionChange(String processInstanceId, String processDefinitionId) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processDefinitionId)) {
       HistoricProcessInstanceEntity historicProcessInstance = getHistoricProcessInstanceEntityManager().findById(processInstanceId);
       if (historicProcessInstance != null) {
         historicProcessInstance.setProcessDefinitionId(processDefinitionId);
@@ -374,7 +438,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordTaskCreated(TaskEntity task, ExecutionEntity execution) {
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT, task.getProcessDefinitionId())) {
       HistoricTaskInstanceEntity historicTaskInstance = getHistoricTaskInstanceEntityManager().create(task, execution);
       getHistoricTaskInstanceEntityManager().insert(historicTaskInstance, false);
     }
@@ -390,7 +454,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
   @Override
   public void recordTaskAssignment(TaskEntity task) {
     ExecutionEntity executionEntity = task.getExecution();
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, task.getProcessDefinitionId())) {
       if (executionEntity != null) {
         HistoricActivityInstanceEntity historicActivityInstance = findActivityInstance(executionEntity, false, true);
         if (historicActivityInstance != null) {
@@ -408,7 +472,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
   @Override
   public void recordTaskClaim(TaskEntity task) {
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT, task.getProcessDefinitionId())) {
       HistoricTaskInstanceEntity historicTaskInstance = getHistoricTaskInstanceEntityManager().findById(task.getId());
       if (historicTaskInstance != null) {
         historicTaskInstance.setClaimTime(task.getClaimTime());
@@ -423,7 +487,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordTaskId(TaskEntity task) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, task.getProcessDefinitionId())) {
       ExecutionEntity execution = task.getExecution();
       if (execution != null) {
         HistoricActivityInstanceEntity historicActivityInstance = findActivityInstance(execution, false, true);
@@ -441,7 +505,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordTaskEnd(String taskId, String deleteReason) {
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT, getTaskProcessDefinitionId(taskId))) {
       HistoricTaskInstanceEntity historicTaskInstance = getHistoricTaskInstanceEntityManager().findById(taskId);
       if (historicTaskInstance != null) {
         historicTaskInstance.markEnded(deleteReason);
@@ -456,7 +520,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordTaskAssigneeChange(String taskId, String assignee) {
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT, getTaskProcessDefinitionId(taskId))) {
       HistoricTaskInstanceEntity historicTaskInstance = getHistoricTaskInstanceEntityManager().findById(taskId);
       if (historicTaskInstance != null) {
         historicTaskInstance.setAssignee(assignee);
@@ -471,7 +535,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordTaskOwnerChange(String taskId, String owner) {
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT, getTaskProcessDefinitionId(taskId))) {
       HistoricTaskInstanceEntity historicTaskInstance = getHistoricTaskInstanceEntityManager().findById(taskId);
       if (historicTaskInstance != null) {
         historicTaskInstance.setOwner(owner);
@@ -486,7 +550,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordTaskNameChange(String taskId, String taskName) {
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT, getTaskProcessDefinitionId(taskId))) {
       HistoricTaskInstanceEntity historicTaskInstance = getHistoricTaskInstanceEntityManager().findById(taskId);
       if (historicTaskInstance != null) {
         historicTaskInstance.setName(taskName);
@@ -501,7 +565,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordTaskDescriptionChange(String taskId, String description) {
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT, getTaskProcessDefinitionId(taskId))) {
       HistoricTaskInstanceEntity historicTaskInstance = getHistoricTaskInstanceEntityManager().findById(taskId);
       if (historicTaskInstance != null) {
         historicTaskInstance.setDescription(description);
@@ -516,7 +580,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordTaskDueDateChange(String taskId, Date dueDate) {
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT, getTaskProcessDefinitionId(taskId))) {
       HistoricTaskInstanceEntity historicTaskInstance = getHistoricTaskInstanceEntityManager().findById(taskId);
       if (historicTaskInstance != null) {
         historicTaskInstance.setDueDate(dueDate);
@@ -531,7 +595,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordTaskPriorityChange(String taskId, int priority) {
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT, getTaskProcessDefinitionId(taskId))) {
       HistoricTaskInstanceEntity historicTaskInstance = getHistoricTaskInstanceEntityManager().findById(taskId);
       if (historicTaskInstance != null) {
         historicTaskInstance.setPriority(priority);
@@ -546,7 +610,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordTaskCategoryChange(String taskId, String category) {
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT, getTaskProcessDefinitionId(taskId))) {
       HistoricTaskInstanceEntity historicTaskInstance = getHistoricTaskInstanceEntityManager().findById(taskId);
       if (historicTaskInstance != null) {
         historicTaskInstance.setCategory(category);
@@ -556,7 +620,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
   @Override
   public void recordTaskFormKeyChange(String taskId, String formKey) {
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT, getTaskProcessDefinitionId(taskId))) {
       HistoricTaskInstanceEntity historicTaskInstance = getHistoricTaskInstanceEntityManager().findById(taskId);
       if (historicTaskInstance != null) {
         historicTaskInstance.setFormKey(formKey);
@@ -571,7 +635,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordTaskParentTaskIdChange(String taskId, String parentTaskId) {
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT, getTaskProcessDefinitionId(taskId))) {
       HistoricTaskInstanceEntity historicTaskInstance = getHistoricTaskInstanceEntityManager().findById(taskId);
       if (historicTaskInstance != null) {
         historicTaskInstance.setParentTaskId(parentTaskId);
@@ -586,7 +650,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordTaskExecutionIdChange(String taskId, String executionId) {
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT, getTaskProcessDefinitionId(taskId))) {
       HistoricTaskInstanceEntity historicTaskInstance = getHistoricTaskInstanceEntityManager().findById(taskId);
       if (historicTaskInstance != null) {
         historicTaskInstance.setExecutionId(executionId);
@@ -601,7 +665,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordTaskDefinitionKeyChange(String taskId, String taskDefinitionKey) {
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT, getTaskProcessDefinitionId(taskId))) {
       HistoricTaskInstanceEntity historicTaskInstance = getHistoricTaskInstanceEntityManager().findById(taskId);
       if (historicTaskInstance != null) {
         historicTaskInstance.setTaskDefinitionKey(taskDefinitionKey);
@@ -614,7 +678,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordTaskProcessDefinitionChange(String taskId, String processDefinitionId) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processDefinitionId)) {
       HistoricTaskInstanceEntity historicTaskInstance = getHistoricTaskInstanceEntityManager().findById(taskId);
       if (historicTaskInstance != null) {
         historicTaskInstance.setProcessDefinitionId(processDefinitionId);
@@ -632,7 +696,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
   @Override
   public void recordVariableCreate(VariableInstanceEntity variable) {
     // Historic variables
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, getVariableProcessDefinitionId(variable))) {
      getHistoricVariableInstanceEntityManager().copyAndInsert(variable);
     }
   }
@@ -645,7 +709,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordHistoricDetailVariableCreate(VariableInstanceEntity variable, ExecutionEntity sourceActivityExecution, boolean useActivityId) {
-    if (isHistoryLevelAtLeast(HistoryLevel.FULL)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.FULL, getVariableProcessDefinitionId(variable))) {
 
       HistoricDetailVariableInstanceUpdateEntity historicVariableUpdate = getHistoricDetailEntityManager().copyAndInsertHistoricDetailVariableInstanceUpdateEntity(variable);
 
@@ -665,7 +729,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
    */
   @Override
   public void recordVariableUpdate(VariableInstanceEntity variable) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, getVariableProcessDefinitionId(variable))) {
       HistoricVariableInstanceEntity historicProcessVariable = getEntityCache().findInCache(HistoricVariableInstanceEntity.class, variable.getId());
       if (historicProcessVariable == null) {
         historicProcessVariable = getHistoricVariableInstanceEntityManager().findHistoricVariableInstanceByVariableInstanceId(variable.getId());
@@ -811,7 +875,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
     // It makes no sense storing historic counterpart for an identity-link
     // that is related
     // to a process-definition only as this is never kept in history
-    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT) && (identityLink.getProcessInstanceId() != null || identityLink.getTaskId() != null)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT, getIdentityLinkProcessDefinitionId(identityLink)) && (identityLink.getProcessInstanceId() != null || identityLink.getTaskId() != null)) {
       HistoricIdentityLinkEntity historicIdentityLinkEntity = getHistoricIdentityLinkEntityManager().create();
       historicIdentityLinkEntity.setId(identityLink.getId());
       historicIdentityLinkEntity.setGroupId(identityLink.getGroupId());
@@ -832,7 +896,11 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
   @Override
   public void deleteHistoricIdentityLink(String id) {
     if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
-      getHistoricIdentityLinkEntityManager().delete(id);
+      // Not there when the process definition history level is lower than the engine history level
+      HistoricIdentityLinkEntity historicIdentityLink = getHistoricIdentityLinkEntityManager().findById(id);
+      if (historicIdentityLink != null) {
+        getHistoricIdentityLinkEntityManager().delete(historicIdentityLink);
+      }
     }
   }
 
@@ -859,7 +927,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
   @Override
   public void recordVariableRemoved(VariableInstanceEntity variable) {
-    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+    if (isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, getVariableProcessDefinitionId(variable))) {
       HistoricVariableInstanceEntity historicProcessVariable = getEntityCache()
           .findInCache(HistoricVariableInstanceEntity.class, variable.getId());
       if (historicProcessVariable == null) {
@@ -34,6 +34,13 @@ public interface HistoryManager {
    */
   boolean isHistoryLevelAtLeast(HistoryLevel level);
 
+  /**
+   * @return true, if the history level of the given process definition is at least the given level. The process definition
+   *         can override the engine history level with the activiti:historyLevel attribute on its process.
+   *         When the process definition id is null, the engine history level is used.
+   */
+  boolean isHistoryLevelAtLeast(HistoryLevel level, String processDefinitionId);
+
   /**
    * @return true, if history-level is configured to level other than "none".
    */
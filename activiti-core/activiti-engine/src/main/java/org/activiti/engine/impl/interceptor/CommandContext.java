@@ -33,6 +33,7 @@ import org.activiti.engine.delegate.BpmnError;
 import org.activiti.engine.delegate.event.ActivitiEventDispatcher;
 import org.activiti.engine.impl.asyncexecutor.JobManager;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.TransactionContext;
 import org.activiti.engine.impl.db.DbSqlSession;
 import org.activiti.engine.impl.history.HistoryManager;
 import org.activiti.engine.impl.jobexecutor.FailedJobCommandFactory;
@@ -81,6 +82,7 @@ public class CommandContext {
     protected List<CommandContextCloseListener> closeListeners;
     protected Map<String, Object> attributes; // General-purpose storing of anything during the lifetime of a command context
     protected boolean reused;
+    protected TransactionContext transactionContext; // Kept here, as the thread-local one is already removed when the command context closes
 
     protected ActivitiEngineAgenda agenda;
     protected Map<String, ExecutionEntity> involvedExecutions = new HashMap<>(1); // The executions involved with the command
@@ -503,4 +505,16 @@ public class CommandContext {
     public void setReused(boolean reused) {
         this.reused = reused;
     }
+
+    /**
+     * @return the transaction context of this command context, also while closing,
+     * or null when no transaction context is used
+     */
+    public TransactionContext getTransactionContext() {
+        return transactionContext;
+    }
+
+    public void setTransactionContext(TransactionContext transactionContext) {
+        this.transactionContext = transactionContext;
+    }
 }
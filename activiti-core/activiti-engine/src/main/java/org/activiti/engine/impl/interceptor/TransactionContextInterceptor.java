@@ -46,6 +46,7 @@ public class TransactionContextInterceptor extends AbstractCommandInterceptor {
       if (transactionContextFactory != null && !isReused) {
         TransactionContext transactionContext = transactionContextFactory.openTransactionContext(commandContext);
         Context.setTransactionContext(transactionContext);
+        commandContext.setTransactionContext(transactionContext);
         commandContext.addCloseListener(new TransactionCommandContextCloseListener(transactionContext));
       }
 
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.jobexecutor;
+
+import java.util.List;
+
+import org.activiti.engine.impl.Page;
+import org.activiti.engine.impl.history.AsyncHistoryOutbox;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManager;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntityManager;
+
+/**
+ * Inserts the history records of the {@link AsyncHistoryOutbox} byte array of which the id is the job handler
+ * configuration. Up to {@link org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl#getAsyncHistoryJobBatchSize()}
+ * - 1 outboxes of other pending async history jobs are inserted in the same transaction, and those jobs are deleted.
+ * When another executor ran one of them concurrently, the optimistic lock fails and the job is retried.
+ */
+public class AsyncHistoryJobHandler implements JobHandler {
+
+  public final static String TYPE = "async-history";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+
+    // the history entities are inserted here, they must not end up in the outbox again
+    commandContext.getDbSqlSession().setAsyncHistoryCaptureEnabled(false);
+    applyOutbox(configuration, commandContext);
+
+    int batchSize = commandContext.getProcessEngineConfiguration().getAsyncHistoryJobBatchSize();
+    if (batchSize > 1) {
+      JobEntityManager jobEntityManager = commandContext.getJobEntityManager();
+      List<JobEntity> pendingJobs = jobEntityManager.findUnlockedJobsByHandlerType(TYPE, new Page(0, batchSize));
+      int applied = 1;
+      for (JobEntity pendingJob : pendingJobs) {
+        if (applied >= batchSize) {
+          break;
+        }
+        if (!pendingJob.getId().equals(job.getId())) {
+          applyOutbox(pendingJob.getJobHandlerConfiguration(), commandContext);
+          jobEntityManager.delete(pendingJob);
+          applied++;
+        }
+      }
+    }
+
+  }
+
+  protected void applyOutbox(String byteArrayId, CommandContext commandContext) {
+    ByteArrayEntityManager byteArrayEntityManager = commandContext.getByteArrayEntityManager();
+    ByteArrayEntity byteArray = byteArrayEntityManager.findById(byteArrayId);
+
+    // if the records are gone, there is nothing left to insert
+    if (byteArray != null) {
+      commandContext.getProcessEngineConfiguration().getAsyncHistoryOutbox().apply(commandContext, byteArray.getBytes());
+      byteArrayEntityManager.delete(byteArray);
+    }
+  }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.jobexecutor;
+
+import org.activiti.engine.impl.asyncexecutor.JobNotificationChannel;
+import org.activiti.engine.impl.cfg.TransactionListener;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes on the {@link JobNotificationChannel} that jobs have been committed,
+ * once the transaction that created them has been committed.
+ */
+public class JobsAvailableNotification implements TransactionListener {
+
+  private static Logger log = LoggerFactory.getLogger(JobsAvailableNotification.class);
+
+  protected JobNotificationChannel jobNotificationChannel;
+  protected String jobType;
+  protected String publisher;
+
+  public JobsAvailableNotification(JobNotificationChannel jobNotificationChannel, String jobType) {
+    this(jobNotificationChannel, jobType, null);
+  }
+
+  /**
+   * @param publisher the lock owner of the async executor of the publishing engine, null if it doesn't run one
+   */
+  public JobsAvailableNotification(JobNotificationChannel jobNotificationChannel, String jobType, String publisher) {
+    this.jobNotificationChannel = jobNotificationChannel;
+    this.jobType = jobType;
+    this.publisher = publisher;
+  }
+
+  @Override
+  public void execute(CommandContext commandContext) {
+    if (log.isTraceEnabled()) {
+      log.trace("publishing that jobs of type {} are available", jobType);
+    }
+    jobNotificationChannel.publishJobsAvailable(jobType, publisher);
+  }
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.persistence.entity.Entity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default {@link SecondLevelEntityCache}: a size bounded cache of entity snapshots.
+ *
+ * The cache holds an immutable snapshot of the fields of each entity, taken when it is put in the cache. Every get
+ * creates a new instance from the snapshot: collections and dates are copied, other values (strings, numbers,
+ * byte arrays, ...) are shared, as the engine never changes them in place.
+ *
+ * Reads don't take a lock. When the limit is exceeded, the least recently read entries are evicted in one go, making
+ * room for {@link #EVICTION_PERCENTAGE} percent of the limit, so the eviction cost is shared by many puts.
+ */
+public class DefaultSecondLevelEntityCache implements SecondLevelEntityCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(DefaultSecondLevelEntityCache.class);
+
+  protected static final int EVICTION_PERCENTAGE = 10;
+
+  protected Set<Class<?>> cacheableClasses;
+  protected Map<Class<?>, EntityCopier> entityCopiers = new HashMap<Class<?>, EntityCopier>();
+  protected ConcurrentMap<EntityKey, CacheEntry> cache = new ConcurrentHashMap<EntityKey, CacheEntry>();
+  protected int limit;
+
+  protected final AtomicLong generation = new AtomicLong();
+  protected final AtomicLong accessCounter = new AtomicLong();
+  protected final ReentrantLock evictionLock = new ReentrantLock();
+
+  protected final AtomicLong hits = new AtomicLong();
+  protected final AtomicLong misses = new AtomicLong();
+  protected final AtomicLong puts = new AtomicLong();
+  protected final AtomicLong stalePuts = new AtomicLong();
+  protected final AtomicLong invalidations = new AtomicLong();
+  protected final AtomicLong evictions = new AtomicLong();
+
+  public DefaultSecondLevelEntityCache(Collection<Class<?>> cacheableClasses, int limit) {
+    for (Class<?> cacheableClass : cacheableClasses) {
+      if (!Entity.class.isAssignableFrom(cacheableClass)) {
+        throw new ActivitiIllegalArgumentException(cacheableClass + " is not an entity class and can't be put in the second level entity cache");
+      }
+      entityCopiers.put(cacheableClass, new EntityCopier(cacheableClass));
+    }
+    if (limit <= 0) {
+      throw new ActivitiIllegalArgumentException("The limit of the second level entity cache must be positive");
+    }
+    this.cacheableClasses = new HashSet<Class<?>>(cacheableClasses);
+    this.limit = limit;
+  }
+
+  @Override
+  public boolean isCacheable(Class<?> entityClass) {
+    return cacheableClasses.contains(entityClass);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Class<T> entityClass, String id) {
+    CacheEntry entry = cache.get(new EntityKey(entityClass, id));
+    if (entry == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    entry.lastAccess = accessCounter.incrementAndGet();
+    hits.incrementAndGet();
+    return (T) entityCopiers.get(entityClass).restore(entry.snapshot);
+  }
+
+  @Override
+  public long getGeneration() {
+    return generation.get();
+  }
+
+  @Override
+  public void put(Entity entity, long generation) {
+    if (!isCacheable(entity.getClass())) {
+      return;
+    }
+    if (generation != this.generation.get()) {
+      stalePuts.incrementAndGet();
+      return;
+    }
+
+    EntityKey key = new EntityKey(entity.getClass(), entity.getId());
+    CacheEntry entry = new CacheEntry(entityCopiers.get(entity.getClass()).snapshot(entity), accessCounter.incrementAndGet());
+    cache.put(key, entry);
+
+    // Invalidations increment the generation before removing, so a stale entry that got in concurrently is removed here
+    if (generation != this.generation.get()) {
+      cache.remove(key, entry);
+      stalePuts.incrementAndGet();
+      return;
+    }
+    puts.incrementAndGet();
+
+    if (cache.size() > limit) {
+      evict();
+    }
+  }
+
+  protected void evict() {
+    if (!evictionLock.tryLock()) {
+      // another thread is already evicting
+      return;
+    }
+    try {
+      int size = cache.size();
+      if (size <= limit) {
+        return;
+      }
+
+      // The access times are read once, as they keep changing while sorting
+      List<EvictionCandidate> candidates = new ArrayList<EvictionCandidate>(size);
+      for (Map.Entry<EntityKey, CacheEntry> entry : cache.entrySet()) {
+        candidates.add(new EvictionCandidate(entry.getKey(), entry.getValue()));
+      }
+      candidates.sort(Comparator.comparingLong(candidate -> candidate.lastAccess));
+
+      int evictionCount = size - limit + (int) ((long) limit * EVICTION_PERCENTAGE / 100);
+      for (int i = 0; i < evictionCount && i < candidates.size(); i++) {
+        EvictionCandidate candidate = candidates.get(i);
+        if (cache.remove(candidate.key, candidate.entry)) {
+          evictions.incrementAndGet();
+          if (logger.isTraceEnabled()) {
+            logger.trace("Second level entity cache limit is reached, {} is evicted", candidate.key);
+          }
+        }
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public void invalidate(Class<?> entityClass, String id) {
+    generation.incrementAndGet();
+    cache.remove(new EntityKey(entityClass, id));
+    invalidations.incrementAndGet();
+  }
+
+  @Override
+  public void invalidate(Class<?> entityClass) {
+    generation.incrementAndGet();
+    cache.keySet().removeIf(key -> key.entityClass.equals(entityClass));
+    invalidations.incrementAndGet();
+  }
+
+  @Override
+  public void clear() {
+    generation.incrementAndGet();
+    cache.clear();
+  }
+
+  @Override
+  public Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new LinkedHashMap<String, Object>();
+    metrics.put("size", cache.size());
+    metrics.put("hits", hits.get());
+    metrics.put("misses", misses.get());
+    metrics.put("puts", puts.get());
+    metrics.put("stalePuts", stalePuts.get());
+    metrics.put("invalidations", invalidations.get());
+    metrics.put("evictions", evictions.get());
+    return metrics;
+  }
+
+  protected static class CacheEntry {
+
+    protected final Object[] snapshot;
+    protected volatile long lastAccess;
+
+    public CacheEntry(Object[] snapshot, long lastAccess) {
+      this.snapshot = snapshot;
+      this.lastAccess = lastAccess;
+    }
+  }
+
+  protected static class EvictionCandidate {
+
+    protected final EntityKey key;
+    protected final CacheEntry entry;
+    protected final long lastAccess;
+
+    public EvictionCandidate(EntityKey key, CacheEntry entry) {
+      this.key = key;
+      this.entry = entry;
+      this.lastAccess = entry.lastAccess;
+    }
+  }
+
+  protected static class EntityKey {
+
+    protected final Class<?> entityClass;
+    protected final String id;
+
+    public EntityKey(Class<?> entityClass, String id) {
+      this.entityClass = entityClass;
+      this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof EntityKey)) {
+        return false;
+      }
+      EntityKey other = (EntityKey) o;
+      return entityClass.equals(other.entityClass) && Objects.equals(id, other.id);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * entityClass.hashCode() + Objects.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+      return entityClass.getSimpleName() + "[" + id + "]";
+    }
+  }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.cache;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.persistence.entity.Entity;
+
+/**
+ * Takes snapshots of the (non static, non transient) fields of the entities of one class, and creates new
+ * entities from them.
+ *
+ * Collections and dates are copied, other values (strings, numbers, byte arrays, related entities, ...) are shared.
+ */
+public class EntityCopier {
+
+  protected final Constructor<?> constructor;
+  protected final List<Field> fields = new ArrayList<Field>();
+
+  public EntityCopier(Class<?> entityClass) {
+    try {
+      constructor = entityClass.getDeclaredConstructor();
+      constructor.setAccessible(true);
+    } catch (NoSuchMethodException e) {
+      throw new ActivitiIllegalArgumentException(entityClass + " has no constructor without arguments and can't be copied");
+    }
+
+    for (Class<?> clazz = entityClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+      for (Field field : clazz.getDeclaredFields()) {
+        if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+          field.setAccessible(true);
+          fields.add(field);
+        }
+      }
+    }
+  }
+
+  public Entity copy(Entity entity) {
+    return restore(snapshot(entity));
+  }
+
+  public Object[] snapshot(Entity entity) {
+    try {
+      Object[] values = new Object[fields.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = copyValue(fields.get(i).get(entity));
+      }
+      return values;
+    } catch (IllegalAccessException e) {
+      throw new ActivitiException("Could not take a snapshot of " + entity, e);
+    }
+  }
+
+  public Entity restore(Object[] snapshot) {
+    try {
+      Entity entity = (Entity) constructor.newInstance();
+      for (int i = 0; i < snapshot.length; i++) {
+        fields.get(i).set(entity, copyValue(snapshot[i]));
+      }
+      return entity;
+    } catch (ReflectiveOperationException e) {
+      throw new ActivitiException("Could not create an entity of " + constructor.getDeclaringClass(), e);
+    }
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  protected Object copyValue(Object value) {
+    if (value instanceof Date) {
+      return ((Date) value).clone();
+    } else if (value instanceof List) {
+      return new ArrayList((List) value);
+    } else if (value instanceof Set) {
+      return new LinkedHashSet((Set) value);
+    } else if (value instanceof Map) {
+      return new LinkedHashMap((Map) value);
+    }
+    return value;
+  }
+
+}
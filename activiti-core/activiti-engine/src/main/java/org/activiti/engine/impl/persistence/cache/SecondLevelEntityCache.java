@@ -0,0 +1,68 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.cache;
+
+import java.util.Map;
+
+import org.activiti.engine.impl.persistence.entity.Entity;
+
+/**
+ * Cache of entities that is shared by all transactions of a process engine, as opposed to the {@link EntityCache},
+ * which only lives as long as one command context. Only meant for entity types that are (almost) never updated,
+ * like process definitions, deployments and resources.
+ *
+ * Implementations must hand out copies, so changes made by one transaction are never seen by another one
+ * before they are committed.
+ *
+ * To avoid caching a state that was read just before a concurrent transaction committed an update, entities
+ * are put in the cache together with the {@link #getGeneration() generation} that was current before they
+ * were loaded: the put is ignored when the cache was invalidated in the meantime.
+ */
+public interface SecondLevelEntityCache {
+
+  /**
+   * @return whether entities of the given (implementation) class are kept in this cache.
+   */
+  boolean isCacheable(Class<?> entityClass);
+
+  /**
+   * @return a copy of the cached entity, or null when it's not cached.
+   */
+  <T> T get(Class<T> entityClass, String id);
+
+  /**
+   * @return the current generation, which changes with every invalidation.
+   */
+  long getGeneration();
+
+  /**
+   * Puts a copy of the given entity, which has just been loaded from the database, in the cache, unless
+   * the cache was invalidated after the given generation was retrieved.
+   */
+  void put(Entity entity, long generation);
+
+  void invalidate(Class<?> entityClass, String id);
+
+  /**
+   * Invalidates all cached entities of the given class.
+   */
+  void invalidate(Class<?> entityClass);
+
+  void clear();
+
+  Map<String, Object> getMetrics();
+
+}
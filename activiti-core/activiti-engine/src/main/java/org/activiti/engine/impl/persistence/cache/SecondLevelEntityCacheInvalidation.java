@@ -0,0 +1,76 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.activiti.engine.impl.cfg.TransactionListener;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Invalidates the entities that a transaction updated or deleted in the {@link SecondLevelEntityCache}:
+ * once when they are flushed and once more after the transaction is committed, to drop the state that
+ * other transactions may have read (and cached) in between.
+ */
+public class SecondLevelEntityCacheInvalidation implements TransactionListener {
+
+  protected SecondLevelEntityCache secondLevelEntityCache;
+  protected Map<Class<?>, Set<String>> invalidatedIds = new HashMap<Class<?>, Set<String>>();
+  protected Set<Class<?>> invalidatedClasses = new HashSet<Class<?>>();
+
+  public SecondLevelEntityCacheInvalidation(SecondLevelEntityCache secondLevelEntityCache) {
+    this.secondLevelEntityCache = secondLevelEntityCache;
+  }
+
+  public void invalidate(Class<?> entityClass, String id) {
+    secondLevelEntityCache.invalidate(entityClass, id);
+    Set<String> ids = invalidatedIds.get(entityClass);
+    if (ids == null) {
+      ids = new HashSet<String>();
+      invalidatedIds.put(entityClass, ids);
+    }
+    ids.add(id);
+  }
+
+  public void invalidate(Class<?> entityClass) {
+    secondLevelEntityCache.invalidate(entityClass);
+    invalidatedClasses.add(entityClass);
+  }
+
+  public boolean isInvalidated(Class<?> entityClass, String id) {
+    if (invalidatedClasses.contains(entityClass)) {
+      return true;
+    }
+    Set<String> ids = invalidatedIds.get(entityClass);
+    return ids != null && ids.contains(id);
+  }
+
+  @Override
+  public void execute(CommandContext commandContext) {
+    for (Class<?> entityClass : invalidatedClasses) {
+      secondLevelEntityCache.invalidate(entityClass);
+    }
+    for (Map.Entry<Class<?>, Set<String>> entry : invalidatedIds.entrySet()) {
+      for (String id : entry.getValue()) {
+        secondLevelEntityCache.invalidate(entry.getKey(), id);
+      }
+    }
+  }
+
+}
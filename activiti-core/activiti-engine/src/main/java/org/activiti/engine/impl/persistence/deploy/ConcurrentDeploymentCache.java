@@ -0,0 +1,187 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.deploy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deployment cache that can be read concurrently without locking, contrary to the {@link DefaultDeploymentCache}.
+ *
+ * The cache can be bounded by number of objects (limit) and by total weight, as estimated by a {@link DeploymentCacheWeigher}.
+ * When a bound is exceeded, the least recently used objects are evicted. Reads only record the access time on the cached
+ * object; adding, removing and evicting is done while holding a lock, as those happen rarely for deployment caches.
+ */
+public class ConcurrentDeploymentCache<T> implements DeploymentCache<T> {
+
+  private static final Logger logger = LoggerFactory.getLogger(ConcurrentDeploymentCache.class);
+
+  protected final ConcurrentMap<String, CacheEntry<T>> cache = new ConcurrentHashMap<String, CacheEntry<T>>();
+  protected final ReentrantLock writeLock = new ReentrantLock();
+
+  protected final int limit;
+  protected final long maxWeight;
+  protected final DeploymentCacheWeigher<T> weigher;
+  protected long weight; // guarded by writeLock
+
+  protected final LongAdder hits = new LongAdder();
+  protected final LongAdder misses = new LongAdder();
+  protected final LongAdder evictions = new LongAdder();
+
+  /** Cache with no limit */
+  public ConcurrentDeploymentCache() {
+    this(-1, -1, null);
+  }
+
+  /**
+   * Cache which has a hard limit: no more elements will be cached than the limit.
+   */
+  public ConcurrentDeploymentCache(int limit) {
+    this(limit, -1, null);
+  }
+
+  /**
+   * @param limit maximum number of cached objects, no limit when zero or negative.
+   * @param maxWeight maximum total weight of the cached objects, no limit when zero or negative.
+   * @param weigher weighs the cached objects; when null, each object weighs 1.
+   */
+  public ConcurrentDeploymentCache(int limit, long maxWeight, DeploymentCacheWeigher<T> weigher) {
+    this.limit = limit;
+    this.maxWeight = maxWeight;
+    this.weigher = weigher;
+  }
+
+  public T get(String id) {
+    CacheEntry<T> cacheEntry = cache.get(id);
+    if (cacheEntry == null) {
+      misses.increment();
+      return null;
+    }
+    cacheEntry.lastAccessTime = System.nanoTime();
+    hits.increment();
+    return cacheEntry.value;
+  }
+
+  public void add(String id, T obj) {
+    CacheEntry<T> cacheEntry = new CacheEntry<T>(obj, weigher != null ? weigher.weigh(id, obj) : 1);
+    writeLock.lock();
+    try {
+      CacheEntry<T> previous = cache.put(id, cacheEntry);
+      if (previous != null) {
+        weight -= previous.weight;
+      }
+      weight += cacheEntry.weight;
+      evict(id);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  public void remove(String id) {
+    writeLock.lock();
+    try {
+      CacheEntry<T> removed = cache.remove(id);
+      if (removed != null) {
+        weight -= removed.weight;
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public boolean contains(String id) {
+    return cache.containsKey(id);
+  }
+
+  public void clear() {
+    writeLock.lock();
+    try {
+      cache.clear();
+      weight = 0;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Evicts the least recently used objects, except the one that was just added, until the cache is within its bounds.
+   */
+  protected void evict(String addedId) {
+    while (isOverLimit() && cache.size() > 1) {
+      String eldestId = null;
+      long eldestAccessTime = Long.MAX_VALUE;
+      for (Map.Entry<String, CacheEntry<T>> entry : cache.entrySet()) {
+        if (!entry.getKey().equals(addedId) && entry.getValue().lastAccessTime < eldestAccessTime) {
+          eldestId = entry.getKey();
+          eldestAccessTime = entry.getValue().lastAccessTime;
+        }
+      }
+      if (logger.isTraceEnabled()) {
+        logger.trace("Cache limit is reached, {} will be evicted", eldestId);
+      }
+      weight -= cache.remove(eldestId).weight;
+      evictions.increment();
+    }
+  }
+
+  protected boolean isOverLimit() {
+    return (limit > 0 && cache.size() > limit) || (maxWeight > 0 && weight > maxWeight);
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  public long getWeight() {
+    writeLock.lock();
+    try {
+      return weight;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  public Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new LinkedHashMap<String, Object>();
+    metrics.put("size", size());
+    metrics.put("weight", getWeight());
+    metrics.put("hits", hits.sum());
+    metrics.put("misses", misses.sum());
+    metrics.put("evictions", evictions.sum());
+    return metrics;
+  }
+
+  protected static class CacheEntry<T> {
+
+    protected final T value;
+    protected final int weight;
+    protected volatile long lastAccessTime = System.nanoTime();
+
+    public CacheEntry(T value, int weight) {
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.deploy;
+
+/**
+ * Channel over which the engine announces that cached process definitions or process definition infos
+ * have become stale, so that every engine sharing the database evicts them from its {@link DeploymentManager} caches.
+ *
+ * The {@link InJvmDeploymentCacheInvalidationChannel} delivers invalidations to all engines running in the same JVM.
+ * To evict the entries cached by other nodes in a cluster, an implementation backed by a cluster transport
+ * (a message broker, database notifications, ...) can be set with
+ * {@link org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl#setDeploymentCacheInvalidationChannel(DeploymentCacheInvalidationChannel)}.
+ *
+ * Invalidations are published after the transaction that made the change has been committed.
+ * The engine that made the change receives them as well.
+ */
+public interface DeploymentCacheInvalidationChannel {
+
+  /**
+   * Announces that the process definition with the given id was changed or deleted. Must not block.
+   */
+  void publishProcessDefinitionInvalidated(String processDefinitionId);
+
+  /**
+   * Announces that the info (dynamic BPMN properties) of the process definition with the given id was changed. Must not block.
+   */
+  void publishProcessDefinitionInfoInvalidated(String processDefinitionId);
+
+  /**
+   * Registers a listener that is notified of every invalidation published on this channel,
+   * including invalidations published by other nodes.
+   */
+  void addListener(DeploymentCacheInvalidationListener listener);
+
+  void removeListener(DeploymentCacheInvalidationListener listener);
+
+}
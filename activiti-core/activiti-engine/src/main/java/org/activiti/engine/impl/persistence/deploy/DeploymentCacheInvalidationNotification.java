@@ -0,0 +1,56 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.deploy;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.activiti.engine.impl.cfg.TransactionListener;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Publishes on the {@link DeploymentCacheInvalidationChannel} the process definitions (infos) that a transaction changed,
+ * once that transaction has been committed.
+ */
+public class DeploymentCacheInvalidationNotification implements TransactionListener {
+
+  protected DeploymentCacheInvalidationChannel invalidationChannel;
+  protected Set<String> processDefinitionIds = new LinkedHashSet<String>();
+  protected Set<String> processDefinitionInfoIds = new LinkedHashSet<String>();
+
+  public DeploymentCacheInvalidationNotification(DeploymentCacheInvalidationChannel invalidationChannel) {
+    this.invalidationChannel = invalidationChannel;
+  }
+
+  public void addProcessDefinitionId(String processDefinitionId) {
+    processDefinitionIds.add(processDefinitionId);
+  }
+
+  public void addProcessDefinitionInfoId(String processDefinitionId) {
+    processDefinitionInfoIds.add(processDefinitionId);
+  }
+
+  @Override
+  public void execute(CommandContext commandContext) {
+    for (String processDefinitionId : processDefinitionIds) {
+      invalidationChannel.publishProcessDefinitionInvalidated(processDefinitionId);
+    }
+    for (String processDefinitionId : processDefinitionInfoIds) {
+      invalidationChannel.publishProcessDefinitionInfoInvalidated(processDefinitionId);
+    }
+  }
+
+}
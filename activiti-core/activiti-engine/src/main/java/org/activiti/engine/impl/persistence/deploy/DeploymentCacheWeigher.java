@@ -0,0 +1,29 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.deploy;
+
+/**
+ * Estimates how much memory a cached object takes, relative to the other objects in the same cache.
+ * Used by the {@link ConcurrentDeploymentCache} to bound a cache by weight instead of by number of objects.
+ */
+public interface DeploymentCacheWeigher<T> {
+
+  /**
+   * @return the (positive) weight of the object.
+   */
+  int weigh(String id, T object);
+
+}
@@ -29,6 +29,8 @@ import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.ProcessDefinitionQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.TransactionContext;
+import org.activiti.engine.impl.cfg.TransactionState;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.persistence.entity.DeploymentEntity;
@@ -44,6 +46,8 @@ import org.activiti.engine.repository.ProcessDefinition;
  */
 public class DeploymentManager {
 
+  protected static final String CACHE_INVALIDATION_NOTIFICATION_ATTRIBUTE = DeploymentManager.class.getName() + ".cacheInvalidationNotification";
+
   protected DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache;
   protected ProcessDefinitionInfoCache processDefinitionInfoCache;
   protected DeploymentCache<Object> knowledgeBaseCache; // Needs to be object to avoid an import to Drools in this core class
@@ -53,6 +57,9 @@ public class DeploymentManager {
   protected ProcessDefinitionEntityManager processDefinitionEntityManager;
   protected DeploymentEntityManager deploymentEntityManager;
 
+  protected DeploymentCacheInvalidationChannel cacheInvalidationChannel;
+  protected DeploymentCacheInvalidationListener cacheInvalidationListener;
+
   public void deploy(DeploymentEntity deployment) {
     deploy(deployment, null);
   }
@@ -170,8 +177,85 @@ public class DeploymentManager {
       }
 
       for (ProcessDefinition processDefinition : processDefinitions) {
-          processDefinitionCache.remove(processDefinition.getId());
+          invalidateProcessDefinition(processDefinition.getId());
+      }
+  }
+
+  // cache invalidation
+  // //////////////////////////////////////////////////////
+
+  /**
+   * Evicts the process definition from the cache of this engine now, and from the caches of all engines
+   * listening on the {@link DeploymentCacheInvalidationChannel} once the current transaction is committed.
+   */
+  public void invalidateProcessDefinition(String processDefinitionId) {
+    processDefinitionCache.remove(processDefinitionId);
+    DeploymentCacheInvalidationNotification notification = getCacheInvalidationNotification();
+    if (notification != null) {
+      notification.addProcessDefinitionId(processDefinitionId);
+    }
+  }
+
+  /**
+   * Evicts the process definition info from the cache of this engine now, and from the caches of all engines
+   * listening on the {@link DeploymentCacheInvalidationChannel} once the current transaction is committed.
+   */
+  public void invalidateProcessDefinitionInfo(String processDefinitionId) {
+    if (processDefinitionInfoCache != null) {
+      processDefinitionInfoCache.remove(processDefinitionId);
+    }
+    DeploymentCacheInvalidationNotification notification = getCacheInvalidationNotification();
+    if (notification != null) {
+      notification.addProcessDefinitionInfoId(processDefinitionId);
+    }
+  }
+
+  protected DeploymentCacheInvalidationNotification getCacheInvalidationNotification() {
+    CommandContext commandContext = Context.getCommandContext();
+    if (cacheInvalidationChannel == null || commandContext == null) {
+      return null;
+    }
+
+    // One notification per transaction, publishing all invalidations of the transaction
+    DeploymentCacheInvalidationNotification notification = (DeploymentCacheInvalidationNotification) commandContext.getAttribute(CACHE_INVALIDATION_NOTIFICATION_ATTRIBUTE);
+    if (notification == null) {
+      TransactionContext transactionContext = Context.getTransactionContext();
+      if (transactionContext == null) {
+        return null;
       }
+      notification = new DeploymentCacheInvalidationNotification(cacheInvalidationChannel);
+      commandContext.addAttribute(CACHE_INVALIDATION_NOTIFICATION_ATTRIBUTE, notification);
+      transactionContext.addTransactionListener(TransactionState.COMMITTED, notification);
+    }
+    return notification;
+  }
+
+  /**
+   * Starts evicting the process definitions (infos) invalidated on the {@link DeploymentCacheInvalidationChannel}.
+   */
+  public void registerCacheInvalidationListener() {
+    if (cacheInvalidationChannel != null && cacheInvalidationListener == null) {
+      cacheInvalidationListener = new DeploymentCacheInvalidationListener() {
+
+        public void processDefinitionInvalidated(String processDefinitionId) {
+          processDefinitionCache.remove(processDefinitionId);
+        }
+
+        public void processDefinitionInfoInvalidated(String processDefinitionId) {
+          if (processDefinitionInfoCache != null) {
+            processDefinitionInfoCache.remove(processDefinitionId);
+          }
+        }
+      };
+      cacheInvalidationChannel.addListener(cacheInvalidationListener);
+    }
+  }
+
+  public void unregisterCacheInvalidationListener() {
+    if (cacheInvalidationChannel != null && cacheInvalidationListener != null) {
+      cacheInvalidationChannel.removeListener(cacheInvalidationListener);
+    }
+    cacheInvalidationListener = null;
   }
 
   // getters and setters
@@ -233,4 +317,12 @@ public class DeploymentManager {
     this.deploymentEntityManager = deploymentEntityManager;
   }
 
+  public DeploymentCacheInvalidationChannel getCacheInvalidationChannel() {
+    return cacheInvalidationChannel;
+  }
+
+  public void setCacheInvalidationChannel(DeploymentCacheInvalidationChannel cacheInvalidationChannel) {
+    this.cacheInvalidationChannel = cacheInvalidationChannel;
+  }
+
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.deploy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link DeploymentCacheInvalidationChannel} delivering invalidations to the listeners registered in the same JVM.
+ *
+ * The engine uses the {@link #getSharedInstance() shared instance} by default, so that all engines
+ * in the JVM evict the process definitions changed by one of them.
+ */
+public class InJvmDeploymentCacheInvalidationChannel implements DeploymentCacheInvalidationChannel {
+
+  private static Logger log = LoggerFactory.getLogger(InJvmDeploymentCacheInvalidationChannel.class);
+
+  private static final InJvmDeploymentCacheInvalidationChannel INSTANCE = new InJvmDeploymentCacheInvalidationChannel();
+
+  protected final List<DeploymentCacheInvalidationListener> listeners = new CopyOnWriteArrayList<DeploymentCacheInvalidationListener>();
+
+  public static InJvmDeploymentCacheInvalidationChannel getSharedInstance() {
+    return INSTANCE;
+  }
+
+  @Override
+  public void publishProcessDefinitionInvalidated(String processDefinitionId) {
+    for (DeploymentCacheInvalidationListener listener : listeners) {
+      try {
+        listener.processDefinitionInvalidated(processDefinitionId);
+      } catch (Exception e) {
+        log.warn("Exception while notifying deployment cache invalidation listener {}", listener, e);
+      }
+    }
+  }
+
+  @Override
+  public void publishProcessDefinitionInfoInvalidated(String processDefinitionId) {
+    for (DeploymentCacheInvalidationListener listener : listeners) {
+      try {
+        listener.processDefinitionInfoInvalidated(processDefinitionId);
+      } catch (Exception e) {
+        log.warn("Exception while notifying deployment cache invalidation listener {}", listener, e);
+      }
+    }
+  }
+
+  @Override
+  public void addListener(DeploymentCacheInvalidationListener listener) {
+    listeners.add(listener);
+  }
+
+  @Override
+  public void removeListener(DeploymentCacheInvalidationListener listener) {
+    listeners.remove(listener);
+  }
+
+}
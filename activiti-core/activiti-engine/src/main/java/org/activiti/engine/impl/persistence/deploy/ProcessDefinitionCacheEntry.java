@@ -17,9 +17,12 @@
 package org.activiti.engine.impl.persistence.deploy;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
 
 import org.activiti.bpmn.model.BpmnModel;
 import org.activiti.bpmn.model.Process;
+import org.activiti.engine.delegate.Expression;
 import org.activiti.engine.repository.ProcessDefinition;
 
 /**
@@ -33,6 +36,9 @@ public class ProcessDefinitionCacheEntry implements Serializable {
   protected BpmnModel bpmnModel;
   protected Process process;
 
+  /** Expressions parsed when the process definition was deployed, keyed by expression text. */
+  protected transient Map<String, Expression> expressions = Collections.emptyMap();
+
   public ProcessDefinitionCacheEntry(ProcessDefinition processDefinition, BpmnModel bpmnModel, Process process) {
     this.processDefinition = processDefinition;
     this.bpmnModel = bpmnModel;
@@ -63,4 +69,19 @@ public class ProcessDefinitionCacheEntry implements Serializable {
     this.process = process;
   }
 
+  public Map<String, Expression> getExpressions() {
+    return expressions;
+  }
+
+  public void setExpressions(Map<String, Expression> expressions) {
+    this.expressions = expressions;
+  }
+
+  /**
+   * Returns the expression parsed when the process definition was deployed, or null if it wasn't.
+   */
+  public Expression getExpression(String expressionText) {
+    return expressions != null ? expressions.get(expressionText) : null;
+  }
+
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.deploy;
+
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.Process;
+
+/**
+ * Weighs a {@link ProcessDefinitionCacheEntry} by the number of elements in its {@link BpmnModel}:
+ * the flow elements and artifacts of all its processes. Parsed elements make up most of the memory
+ * a cached process definition takes.
+ */
+public class ProcessDefinitionCacheEntryWeigher implements DeploymentCacheWeigher<ProcessDefinitionCacheEntry> {
+
+  @Override
+  public int weigh(String id, ProcessDefinitionCacheEntry cacheEntry) {
+    int weight = 1;
+    BpmnModel bpmnModel = cacheEntry.getBpmnModel();
+    if (bpmnModel != null) {
+      for (Process process : bpmnModel.getProcesses()) {
+        weight += process.getFlowElementMap().size() + process.getArtifacts().size();
+      }
+    } else if (cacheEntry.getProcess() != null) {
+      weight += cacheEntry.getProcess().getFlowElementMap().size() + cacheEntry.getProcess().getArtifacts().size();
+    }
+    return weight;
+  }
+
+}
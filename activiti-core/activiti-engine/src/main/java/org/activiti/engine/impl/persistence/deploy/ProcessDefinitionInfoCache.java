@@ -47,6 +47,13 @@ public class ProcessDefinitionInfoCache {
   protected Map<String, ProcessDefinitionInfoCacheObject> cache;
   protected CommandExecutor commandExecutor;
 
+  /**
+   * When false, cached objects are returned without checking their revision in the database.
+   * Changes are then only seen through {@link #remove(String)}, called when they are published on the
+   * {@link DeploymentCacheInvalidationChannel}.
+   */
+  protected boolean revisionCheckEnabled = true;
+
   /** Cache with no limit */
   public ProcessDefinitionInfoCache(CommandExecutor commandExecutor) {
     this.commandExecutor = commandExecutor;
@@ -109,14 +116,25 @@ public class ProcessDefinitionInfoCache {
     return cache.size();
   }
 
+  public boolean isRevisionCheckEnabled() {
+    return revisionCheckEnabled;
+  }
+
+  public void setRevisionCheckEnabled(boolean revisionCheckEnabled) {
+    this.revisionCheckEnabled = revisionCheckEnabled;
+  }
+
   protected ProcessDefinitionInfoCacheObject retrieveProcessDefinitionInfoCacheObject(String processDefinitionId, CommandContext commandContext) {
     ProcessDefinitionInfoEntityManager infoEntityManager = commandContext.getProcessDefinitionInfoEntityManager();
     ObjectMapper objectMapper = commandContext.getProcessEngineConfiguration().getObjectMapper();
 
-    ProcessDefinitionInfoCacheObject cacheObject = null;
-    if (cache.containsKey(processDefinitionId)) {
-      cacheObject = cache.get(processDefinitionId);
-    } else {
+    ProcessDefinitionInfoCacheObject cacheObject = cache.get(processDefinitionId);
+    if (cacheObject != null && !revisionCheckEnabled) {
+      return cacheObject;
+    }
+
+    boolean isNewCacheObject = cacheObject == null;
+    if (isNewCacheObject) {
       cacheObject = new ProcessDefinitionInfoCacheObject();
       cacheObject.setRevision(0);
       cacheObject.setInfoNode(objectMapper.createObjectNode());
@@ -139,6 +157,9 @@ public class ProcessDefinitionInfoCache {
       cacheObject.setInfoNode(objectMapper.createObjectNode());
     }
 
+    if (isNewCacheObject) {
+      cache.put(processDefinitionId, cacheObject);
+    }
     return cacheObject;
   }
 
@@ -59,8 +59,12 @@ public abstract class AbstractEntityManager<EntityImpl extends Entity> extends A
 
     ActivitiEventDispatcher eventDispatcher = getEventDispatcher();
     if (fireCreateEvent && eventDispatcher.isEnabled()) {
-      eventDispatcher.dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_CREATED, entity));
-      eventDispatcher.dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_INITIALIZED, entity));
+      if (eventDispatcher.hasEventListeners(ActivitiEventType.ENTITY_CREATED)) {
+        eventDispatcher.dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_CREATED, entity));
+      }
+      if (eventDispatcher.hasEventListeners(ActivitiEventType.ENTITY_INITIALIZED)) {
+        eventDispatcher.dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_INITIALIZED, entity));
+      }
     }
   }
 
@@ -73,7 +77,7 @@ public abstract class AbstractEntityManager<EntityImpl extends Entity> extends A
   public EntityImpl update(EntityImpl entity, boolean fireUpdateEvent) {
     EntityImpl updatedEntity = getDataManager().update(entity);
 
-    if (fireUpdateEvent && getEventDispatcher().isEnabled()) {
+    if (fireUpdateEvent && getEventDispatcher().isEnabled() && getEventDispatcher().hasEventListeners(ActivitiEventType.ENTITY_UPDATED)) {
       getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_UPDATED, entity));
     }
 
@@ -95,7 +99,7 @@ public abstract class AbstractEntityManager<EntityImpl extends Entity> extends A
   public void delete(EntityImpl entity, boolean fireDeleteEvent) {
     getDataManager().delete(entity);
 
-    if (fireDeleteEvent && getEventDispatcher().isEnabled()) {
+    if (fireDeleteEvent && getEventDispatcher().isEnabled() && getEventDispatcher().hasEventListeners(ActivitiEventType.ENTITY_DELETED)) {
       getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_DELETED, entity));
     }
   }
@@ -43,6 +43,8 @@ public interface AbstractJobEntity extends Job, Entity, HasRevision {
 
   void setExclusive(boolean isExclusive);
 
+  void setPriority(int priority);
+
   void setProcessDefinitionId(String processDefinitionId);
 
   String getJobHandlerType();
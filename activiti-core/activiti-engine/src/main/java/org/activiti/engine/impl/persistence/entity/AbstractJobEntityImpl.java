@@ -45,6 +45,8 @@ public abstract class AbstractJobEntityImpl extends AbstractEntity implements Ab
 
   protected boolean isExclusive = DEFAULT_EXCLUSIVE;
 
+  protected int priority = DEFAULT_PRIORITY;
+
   protected int retries;
 
   protected int maxIterations;
@@ -65,6 +67,7 @@ public abstract class AbstractJobEntityImpl extends AbstractEntity implements Ab
     persistentState.put("retries", retries);
     persistentState.put("duedate", duedate);
     persistentState.put("exceptionMessage", exceptionMessage);
+    persistentState.put("priority", priority);
 
     if (exceptionByteArrayRef != null) {
       persistentState.put("exceptionByteArrayId", exceptionByteArrayRef.getId());
@@ -121,6 +124,14 @@ public abstract class AbstractJobEntityImpl extends AbstractEntity implements Ab
     this.isExclusive = isExclusive;
   }
 
+  public int getPriority() {
+    return priority;
+  }
+
+  public void setPriority(int priority) {
+    this.priority = priority;
+  }
+
   public String getProcessDefinitionId() {
     return processDefinitionId;
   }
@@ -131,6 +131,7 @@ public class DeadLetterJobEntityManagerImpl extends AbstractEntityManager<DeadLe
         newJobEntity.setJobHandlerConfiguration(job.getJobHandlerConfiguration());
         newJobEntity.setJobHandlerType(job.getJobHandlerType());
         newJobEntity.setExclusive(job.isExclusive());
+        newJobEntity.setPriority(job.getPriority());
         newJobEntity.setRepeat(job.getRepeat());
         newJobEntity.setRetries(job.getRetries());
         newJobEntity.setEndDate(job.getEndDate());
@@ -32,6 +32,7 @@ import org.activiti.engine.impl.jobexecutor.TimerSuspendProcessDefinitionHandler
 import org.activiti.engine.impl.persistence.entity.data.DataManager;
 import org.activiti.engine.impl.persistence.entity.data.DeploymentDataManager;
 import org.activiti.engine.impl.util.CollectionUtil;
+import org.activiti.engine.impl.util.JobPriorityUtil;
 import org.activiti.engine.impl.util.ProcessDefinitionUtil;
 import org.activiti.engine.impl.util.TimerUtil;
 import org.activiti.engine.repository.Deployment;
@@ -235,6 +236,7 @@ public class DeploymentEntityManagerImpl extends AbstractEntityManager<Deploymen
           TimerEventHandler.createConfiguration(startEvent.getId(), timerEventDefinition.getEndDate(), timerEventDefinition.getCalendarName()));
 
       timerJob.setProcessDefinitionId(previousProcessDefinition.getId());
+      timerJob.setPriority(JobPriorityUtil.getJobPriority(startEvent, previousProcessDefinition.getId()));
 
       if (previousProcessDefinition.getTenantId() != null) {
         timerJob.setTenantId(previousProcessDefinition.getTenantId());
@@ -19,10 +19,13 @@ package org.activiti.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.activiti.bpmn.model.ActivitiListener;
 import org.activiti.bpmn.model.FlowElement;
@@ -30,9 +33,11 @@ import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ProcessEngineConfiguration;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.impl.cfg.PerformanceSettings;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.persistence.CountingExecutionEntity;
+import org.activiti.engine.impl.persistence.cache.EntityCache;
 import org.activiti.engine.impl.util.ProcessDefinitionUtil;
 
 public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionEntity, CountingExecutionEntity {
@@ -531,9 +536,45 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
   @Override
   protected Collection<VariableInstanceEntity> loadVariableInstances() {
+    PerformanceSettings performanceSettings = Context.getProcessEngineConfiguration().getPerformanceSettings();
+    if (performanceSettings.isEnableEagerExecutionTreeFetching() && performanceSettings.isEnableEagerVariableFetching() && rootProcessInstanceId != null) {
+      return loadVariableInstancesOfExecutionTree();
+    }
     return Context.getCommandContext().getVariableInstanceEntityManager().findVariableInstancesByExecutionId(id);
   }
 
+  /**
+   * Fetches the variables of the whole execution tree in one go, and hands them to the other executions of the tree
+   * that are cached in the current command (which, with eager execution tree fetching, is the whole tree).
+   * This way, looking up a variable in the parent executions doesn't need any further query.
+   */
+  protected Collection<VariableInstanceEntity> loadVariableInstancesOfExecutionTree() {
+    CommandContext commandContext = Context.getCommandContext();
+
+    List<ExecutionEntityImpl> executionTree = new ArrayList<ExecutionEntityImpl>();
+    Set<String> executionIds = new HashSet<String>();
+    executionIds.add(id);
+    for (ExecutionEntityImpl execution : commandContext.getSession(EntityCache.class).findInCache(ExecutionEntityImpl.class)) {
+      if (rootProcessInstanceId.equals(execution.getRootProcessInstanceId())) {
+        executionTree.add(execution);
+        executionIds.add(execution.getId());
+      }
+    }
+
+    Map<String, List<VariableInstanceEntity>> variableInstancesByExecutionId = new HashMap<String, List<VariableInstanceEntity>>();
+    for (VariableInstanceEntity variableInstance : commandContext.getVariableInstanceEntityManager()
+        .findVariableInstancesByRootProcessInstanceId(rootProcessInstanceId, executionIds)) {
+      variableInstancesByExecutionId.computeIfAbsent(variableInstance.getExecutionId(), executionId -> new ArrayList<VariableInstanceEntity>()).add(variableInstance);
+    }
+
+    for (ExecutionEntityImpl execution : executionTree) {
+      if (execution != this) {
+        execution.initializeVariableInstances(variableInstancesByExecutionId.getOrDefault(execution.getId(), Collections.<VariableInstanceEntity>emptyList()));
+      }
+    }
+    return variableInstancesByExecutionId.getOrDefault(id, Collections.<VariableInstanceEntity>emptyList());
+  }
+
   @Override
   protected VariableScopeImpl getParentVariableScope() {
     return getParent();
@@ -551,7 +592,8 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     VariableInstanceEntity result = super.createVariableInstance(variableName, value, sourceActivityExecution);
 
     // Dispatch event, if needed
-    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()
+        && Context.getProcessEngineConfiguration().getEventDispatcher().hasEventListeners(ActivitiEventType.VARIABLE_CREATED)) {
       Context
           .getProcessEngineConfiguration()
           .getEventDispatcher()
@@ -568,7 +610,8 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
       super.updateVariableInstance(variableInstance, value, sourceActivityExecution);
 
       // Dispatch event, if needed
-      if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+      if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()
+          && Context.getProcessEngineConfiguration().getEventDispatcher().hasEventListeners(ActivitiEventType.VARIABLE_UPDATED)) {
           Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
               ActivitiEventBuilder.createVariableUpdateEvent(variableInstance, previousValue, getProcessInstanceId(), getProcessDefinitionId()));
       }
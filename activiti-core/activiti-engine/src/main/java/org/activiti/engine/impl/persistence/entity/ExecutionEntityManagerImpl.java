@@ -257,7 +257,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     }
 
     // Fire events
-    if (getEventDispatcher().isEnabled()) {
+    if (getEventDispatcher().isEnabled() && getEventDispatcher().hasEventListeners(ActivitiEventType.ENTITY_CREATED)) {
       getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_CREATED, processInstanceExecution));
     }
 
@@ -296,8 +296,12 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     }
 
     if (getEventDispatcher().isEnabled()) {
-      getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_CREATED, childExecution));
-      getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_INITIALIZED, childExecution));
+      if (getEventDispatcher().hasEventListeners(ActivitiEventType.ENTITY_CREATED)) {
+        getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_CREATED, childExecution));
+      }
+      if (getEventDispatcher().hasEventListeners(ActivitiEventType.ENTITY_INITIALIZED)) {
+        getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_INITIALIZED, childExecution));
+      }
     }
 
     return childExecution;
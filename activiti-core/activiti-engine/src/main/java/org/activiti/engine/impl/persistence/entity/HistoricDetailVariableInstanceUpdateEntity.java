@@ -34,6 +34,8 @@ public interface HistoricDetailVariableInstanceUpdateEntity extends HistoricDeta
 
   ByteArrayRef getByteArrayRef();
 
+  void setByteArrayRef(ByteArrayRef byteArrayRef);
+
   VariableType getVariableType();
 
   void setVariableType(VariableType variableType);
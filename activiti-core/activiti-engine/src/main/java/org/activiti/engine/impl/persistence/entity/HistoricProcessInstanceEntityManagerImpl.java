@@ -71,7 +71,10 @@ public class HistoricProcessInstanceEntityManagerImpl extends AbstractEntityMana
       getHistoricIdentityLinkEntityManager().deleteHistoricIdentityLinksByProcInstance(historicProcessInstanceId);
       getCommentEntityManager().deleteCommentsByProcessInstanceId(historicProcessInstanceId);
 
-      delete(historicProcessInstance, false);
+      // Not there when the process definition history level is none
+      if (historicProcessInstance != null) {
+        delete(historicProcessInstance, false);
+      }
 
       // Also delete any sub-processes that may be active (ACT-821)
 
@@ -16,12 +16,14 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.activiti.engine.api.internal.Internal;
 import org.activiti.engine.impl.JobQueryImpl;
 import org.activiti.engine.impl.Page;
 import org.activiti.engine.impl.asyncexecutor.AcquireTimerJobsRunnable;
+import org.activiti.engine.impl.asyncexecutor.TenantFairJobQueue;
 import org.activiti.engine.impl.cmd.AcquireJobsCmd;
 import org.activiti.engine.runtime.Job;
 
@@ -48,6 +50,12 @@ public interface JobEntityManager extends EntityManager<JobEntity> {
    */
   List<JobEntity> findJobsToExecute(Page page);
 
+  /**
+   * Returns {@link JobEntity} that are eligble to be executed, leaving out the jobs of the given tenants.
+   * Used when the job executor has no capacity left for these tenants, see {@link TenantFairJobQueue}.
+   */
+  List<JobEntity> findJobsToExecute(Page page, Collection<String> excludedTenantIds);
+
   /**
    * Returns all {@link JobEntity} instances related to on {@link ExecutionEntity}.
    */
@@ -75,6 +83,11 @@ public interface JobEntityManager extends EntityManager<JobEntity> {
    */
   List<JobEntity> findExpiredJobs(Page page);
 
+  /**
+   * Returns the jobs with the given handler type that are not locked by an async executor.
+   */
+  List<JobEntity> findUnlockedJobsByHandlerType(String handlerType, Page page);
+
   /**
    * Executes a {@link JobQueryImpl} and returns the matching {@link JobEntity} instances.
    */
@@ -92,6 +105,14 @@ public interface JobEntityManager extends EntityManager<JobEntity> {
    */
   void resetExpiredJob(String jobId);
 
+  /**
+   * Resets a batch of expired jobs with one update statement, or of jobs locked by the given lock owner
+   * when it is not null (for example an executor that is known to be down).
+   *
+   * @return the number of jobs that were reset
+   */
+  int bulkResetExpiredJobs(String lockOwner, int batchSize);
+
   /**
    * Changes the tenantId for all jobs related to a given {@link DeploymentEntity}.
    */
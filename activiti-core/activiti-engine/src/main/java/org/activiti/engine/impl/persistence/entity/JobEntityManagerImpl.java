@@ -17,6 +17,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.activiti.engine.delegate.event.ActivitiEventType;
@@ -90,6 +91,10 @@ public class JobEntityManagerImpl extends AbstractEntityManager<JobEntity> imple
         return jobDataManager.findJobsToExecute(page);
     }
 
+    public List<JobEntity> findJobsToExecute(Page page, Collection<String> excludedTenantIds) {
+        return jobDataManager.findJobsToExecute(page, excludedTenantIds);
+    }
+
     @Override
     public List<JobEntity> findJobsByExecutionId(String executionId) {
         return jobDataManager.findJobsByExecutionId(executionId);
@@ -117,11 +122,21 @@ public class JobEntityManagerImpl extends AbstractEntityManager<JobEntity> imple
         return jobDataManager.findExpiredJobs(page);
     }
 
+    @Override
+    public List<JobEntity> findUnlockedJobsByHandlerType(String handlerType, Page page) {
+        return jobDataManager.findUnlockedJobsByHandlerType(handlerType, page);
+    }
+
     @Override
     public void resetExpiredJob(String jobId) {
         jobDataManager.resetExpiredJob(jobId);
     }
 
+    @Override
+    public int bulkResetExpiredJobs(String lockOwner, int batchSize) {
+        return jobDataManager.bulkResetExpiredJobs(lockOwner, batchSize);
+    }
+
     @Override
     public List<Job> findJobsByQueryCriteria(JobQueryImpl jobQuery,
                                              Page page) {
@@ -148,7 +148,7 @@ public class TaskEntityManagerImpl extends AbstractEntityManager<TaskEntity> imp
 
   protected void fireAssignmentEvents(TaskEntity taskEntity) {
     recordTaskAssignment(taskEntity);
-    if (getEventDispatcher().isEnabled()) {
+    if (getEventDispatcher().isEnabled() && getEventDispatcher().hasEventListeners(ActivitiEventType.TASK_ASSIGNED)) {
       getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.TASK_ASSIGNED, taskEntity));
     }
 
@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.api.internal.Internal;
@@ -46,6 +47,26 @@ public interface TimerJobEntityManager extends EntityManager<TimerJobEntity> {
    */
   List<TimerJobEntity> findTimerJobsToExecute(Page page);
 
+  /**
+   * Returns the {@link TimerJobEntity} instances that are not locked and due before the given date,
+   * used to acquire timers ahead of their due date.
+   */
+  List<TimerJobEntity> findTimerJobsToExecute(Page page, Date dueBefore);
+
+  /**
+   * Returns the {@link TimerJobEntity} instances of which the lock time has passed,
+   * for example because the node that acquired them went down before moving them to the executable jobs.
+   */
+  List<TimerJobEntity> findExpiredTimerJobs(Page page);
+
+  /**
+   * Unlocks a batch of timer jobs of which the lock expired with one update statement, or of timer jobs locked
+   * by the given lock owner when it is not null. See {@link JobEntityManager#bulkResetExpiredJobs(String, int)}.
+   *
+   * @return the number of timer jobs that were unlocked
+   */
+  int bulkResetExpiredTimerJobs(String lockOwner, int batchSize);
+
   /**
    * Returns the {@link TimerJobEntity} for a given process definition.
    *
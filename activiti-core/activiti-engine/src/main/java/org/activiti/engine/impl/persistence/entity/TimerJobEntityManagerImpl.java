@@ -74,6 +74,21 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
         return jobDataManager.findTimerJobsToExecute(page);
     }
 
+    @Override
+    public List<TimerJobEntity> findTimerJobsToExecute(Page page, Date dueBefore) {
+        return jobDataManager.findTimerJobsToExecute(page, dueBefore);
+    }
+
+    @Override
+    public List<TimerJobEntity> findExpiredTimerJobs(Page page) {
+        return jobDataManager.findExpiredTimerJobs(page);
+    }
+
+    @Override
+    public int bulkResetExpiredTimerJobs(String lockOwner, int batchSize) {
+        return jobDataManager.bulkResetExpiredTimerJobs(lockOwner, batchSize);
+    }
+
     @Override
     public List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType,
                                                                      String processDefinitionId) {
@@ -225,6 +240,7 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
         newTimerEntity.setJobHandlerConfiguration(te.getJobHandlerConfiguration());
         newTimerEntity.setJobHandlerType(te.getJobHandlerType());
         newTimerEntity.setExclusive(te.isExclusive());
+        newTimerEntity.setPriority(te.getPriority());
         newTimerEntity.setRepeat(te.getRepeat());
         newTimerEntity.setRetries(te.getRetries());
         newTimerEntity.setEndDate(te.getEndDate());
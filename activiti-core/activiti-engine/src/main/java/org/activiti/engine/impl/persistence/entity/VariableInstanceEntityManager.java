@@ -39,6 +39,12 @@ public interface VariableInstanceEntityManager extends EntityManager<VariableIns
 
   List<VariableInstanceEntity> findVariableInstancesByExecutionIds(Set<String> executionIds);
 
+  /**
+   * Returns the execution variables of all executions sharing the given root process instance. The ids of the executions
+   * of that tree which are known in the current command are used to also return their variables that aren't flushed yet.
+   */
+  List<VariableInstanceEntity> findVariableInstancesByRootProcessInstanceId(String rootProcessInstanceId, Collection<String> executionIds);
+
   VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName);
 
   List<VariableInstanceEntity> findVariableInstancesByExecutionAndNames(String executionId, Collection<String> names);
@@ -93,6 +93,11 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
     return variableInstanceDataManager.findVariableInstancesByExecutionIds(executionIds);
   }
 
+  @Override
+  public List<VariableInstanceEntity> findVariableInstancesByRootProcessInstanceId(String rootProcessInstanceId, Collection<String> executionIds) {
+    return variableInstanceDataManager.findVariableInstancesByRootProcessInstanceId(rootProcessInstanceId, executionIds);
+  }
+
   @Override
   public VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName) {
     return variableInstanceDataManager.findVariableInstanceByExecutionAndName(executionId, variableName);
@@ -131,9 +136,13 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
 
     ActivitiEventDispatcher eventDispatcher =  getEventDispatcher();
     if (fireDeleteEvent && eventDispatcher.isEnabled()) {
-      eventDispatcher.dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_DELETED, entity));
+      if (eventDispatcher.hasEventListeners(ActivitiEventType.ENTITY_DELETED)) {
+        eventDispatcher.dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_DELETED, entity));
+      }
 
-      eventDispatcher.dispatchEvent(createVariableDeleteEvent(entity));
+      if (eventDispatcher.hasEventListeners(ActivitiEventType.VARIABLE_DELETED)) {
+        eventDispatcher.dispatchEvent(createVariableDeleteEvent(entity));
+      }
     }
 
   }
@@ -72,6 +72,19 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
     }
   }
 
+  /**
+   * Sets the variable instances of this scope when they were fetched up front together with those of other scopes.
+   * Does nothing when the variables of this scope were fetched already.
+   */
+  protected void initializeVariableInstances(Collection<VariableInstanceEntity> variableInstancesList) {
+    if (variableInstances == null) {
+      variableInstances = new HashMap<String, VariableInstanceEntity>();
+      for (VariableInstanceEntity variableInstance : variableInstancesList) {
+        variableInstances.put(variableInstance.getName(), variableInstance);
+      }
+    }
+  }
+
   public Map<String, Object> getVariables() {
     return collectVariables(new HashMap<String, Object>());
   }
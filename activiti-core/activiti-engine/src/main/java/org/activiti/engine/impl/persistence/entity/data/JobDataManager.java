@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.activiti.engine.impl.JobQueryImpl;
@@ -30,6 +31,8 @@ public interface JobDataManager extends DataManager<JobEntity> {
 
   List<JobEntity> findJobsToExecute(Page page);
 
+  List<JobEntity> findJobsToExecute(Page page, Collection<String> excludedTenantIds);
+
   List<JobEntity> findJobsByExecutionId(final String executionId);
 
   List<JobEntity> findJobsByProcessDefinitionId(final String processDefinitionId);
@@ -40,6 +43,8 @@ public interface JobDataManager extends DataManager<JobEntity> {
 
   List<JobEntity> findExpiredJobs(Page page);
 
+  List<JobEntity> findUnlockedJobsByHandlerType(String handlerType, Page page);
+
   List<Job> findJobsByQueryCriteria(JobQueryImpl jobQuery, Page page);
 
   long findJobCountByQueryCriteria(JobQueryImpl jobQuery);
@@ -48,4 +53,6 @@ public interface JobDataManager extends DataManager<JobEntity> {
 
   void resetExpiredJob(String jobId);
 
+  int bulkResetExpiredJobs(String lockOwner, int batchSize);
+
 }
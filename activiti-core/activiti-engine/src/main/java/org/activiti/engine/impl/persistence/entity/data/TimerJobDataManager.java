@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.impl.Page;
@@ -31,6 +32,12 @@ public interface TimerJobDataManager extends DataManager<TimerJobEntity> {
 
   List<TimerJobEntity> findTimerJobsToExecute(Page page);
 
+  List<TimerJobEntity> findTimerJobsToExecute(Page page, Date dueBefore);
+
+  List<TimerJobEntity> findExpiredTimerJobs(Page page);
+
+  int bulkResetExpiredTimerJobs(String lockOwner, int batchSize);
+
   List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType, String processDefinitionId);
 
   List<TimerJobEntity> findJobsByTypeAndProcessDefinitionKeyNoTenantId(String jobHandlerType, String processDefinitionKey);
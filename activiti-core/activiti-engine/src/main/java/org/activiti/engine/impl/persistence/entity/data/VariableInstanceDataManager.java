@@ -35,6 +35,8 @@ public interface VariableInstanceDataManager extends DataManager<VariableInstanc
 
   List<VariableInstanceEntity> findVariableInstancesByExecutionIds(Set<String> executionIds);
 
+  List<VariableInstanceEntity> findVariableInstancesByRootProcessInstanceId(String rootProcessInstanceId, Collection<String> executionIds);
+
   VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName);
 
   List<VariableInstanceEntity> findVariableInstancesByExecutionAndNames(String executionId, Collection<String> names);
@@ -16,6 +16,8 @@
 
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -24,6 +26,8 @@ import java.util.Map;
 import org.activiti.engine.impl.JobQueryImpl;
 import org.activiti.engine.impl.Page;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.ListQueryParameterObject;
+import org.activiti.engine.impl.db.OrderedListQueryParameterObject;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.JobEntity;
 import org.activiti.engine.impl.persistence.entity.JobEntityImpl;
@@ -38,6 +42,9 @@ import org.activiti.engine.runtime.Job;
  */
 public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implements JobDataManager {
 
+  /** Jobs with the highest priority are acquired first */
+  protected static final String JOBS_TO_EXECUTE_ORDER_BY = "RES.PRIORITY_ desc";
+
   protected CachedEntityMatcher<JobEntity> jobsByExecutionIdMatcher = new JobsByExecutionIdMatcher();
 
   public MybatisJobDataManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
@@ -57,7 +64,17 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
   @Override
   @SuppressWarnings("unchecked")
   public List<JobEntity> findJobsToExecute(Page page) {
-    return getDbSqlSession().selectList("selectJobsToExecute", null, page);
+    return getDbSqlSession().selectList("selectJobsToExecute", new OrderedListQueryParameterObject(null, JOBS_TO_EXECUTE_ORDER_BY), page);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<JobEntity> findJobsToExecute(Page page, Collection<String> excludedTenantIds) {
+    if (excludedTenantIds == null || excludedTenantIds.isEmpty()) {
+      return findJobsToExecute(page);
+    }
+    List<String> parameter = new ArrayList<String>(excludedTenantIds);
+    return getDbSqlSession().selectList("selectJobsToExecute", new OrderedListQueryParameterObject(parameter, JOBS_TO_EXECUTE_ORDER_BY), page);
   }
 
   @Override
@@ -93,6 +110,12 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
     return getDbSqlSession().selectList("selectExpiredJobs", now, page);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<JobEntity> findUnlockedJobsByHandlerType(String handlerType, Page page) {
+    return getDbSqlSession().selectList("selectUnlockedJobsByHandlerType", handlerType, page);
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public List<Job> findJobsByQueryCriteria(JobQueryImpl jobQuery, Page page) {
@@ -120,4 +143,12 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
     getDbSqlSession().update("resetExpiredJob", params);
   }
 
+  @Override
+  public int bulkResetExpiredJobs(String lockOwner, int batchSize) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("lockOwner", lockOwner);
+    params.put("now", getClock().getCurrentTime());
+    return getDbSqlSession().update("bulkResetJobs", new ListQueryParameterObject(params, 0, batchSize), getManagedEntityClass());
+  }
+
 }
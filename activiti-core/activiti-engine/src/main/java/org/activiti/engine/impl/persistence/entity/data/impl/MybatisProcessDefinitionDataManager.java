@@ -157,7 +157,7 @@ public class MybatisProcessDefinitionDataManager extends AbstractDataManager<Pro
     HashMap<String, Object> params = new HashMap<String, Object>();
     params.put("deploymentId", deploymentId);
     params.put("tenantId", newTenantId);
-    getDbSqlSession().update("updateProcessDefinitionTenantIdForDeploymentId", params);
+    getDbSqlSession().update("updateProcessDefinitionTenantIdForDeploymentId", params, getManagedEntityClass());
   }
 
 }
@@ -24,6 +24,8 @@ import java.util.Map;
 import org.activiti.engine.impl.Page;
 import org.activiti.engine.impl.TimerJobQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.ListQueryParameterObject;
+import org.activiti.engine.impl.db.OrderedListQueryParameterObject;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntityImpl;
@@ -38,6 +40,15 @@ import org.activiti.engine.runtime.Job;
  */
 public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEntity> implements TimerJobDataManager {
 
+  /** Due timers with the highest priority are acquired first, the longest overdue first within a priority */
+  protected static final String TIMER_JOBS_TO_EXECUTE_ORDER_BY = "RES.PRIORITY_ desc, RES.DUEDATE_ asc";
+
+  /**
+   * Timers acquired ahead of their due date are taken in due date order, the priority only orders timers due at the same time:
+   * otherwise high priority timers due at the end of the look-ahead window would push out timers that are due already.
+   */
+  protected static final String TIMER_JOBS_TO_EXECUTE_LOOK_AHEAD_ORDER_BY = "RES.DUEDATE_ asc, RES.PRIORITY_ desc";
+
   protected CachedEntityMatcher<TimerJobEntity> timerJobsByExecutionIdMatcher = new TimerJobsByExecutionIdMatcher();
 
   public MybatisTimerJobDataManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
@@ -69,8 +80,29 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
   @Override
   @SuppressWarnings("unchecked")
   public List<TimerJobEntity> findTimerJobsToExecute(Page page) {
+    return findTimerJobsToExecute(page, getClock().getCurrentTime());
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<TimerJobEntity> findTimerJobsToExecute(Page page, Date dueBefore) {
+    String orderBy = dueBefore.after(getClock().getCurrentTime()) ? TIMER_JOBS_TO_EXECUTE_LOOK_AHEAD_ORDER_BY : TIMER_JOBS_TO_EXECUTE_ORDER_BY;
+    return getDbSqlSession().selectList("selectTimerJobsToExecute", new OrderedListQueryParameterObject(dueBefore, orderBy), page);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<TimerJobEntity> findExpiredTimerJobs(Page page) {
     Date now = getClock().getCurrentTime();
-    return getDbSqlSession().selectList("selectTimerJobsToExecute", now, page);
+    return getDbSqlSession().selectList("selectExpiredTimerJobs", now, page);
+  }
+
+  @Override
+  public int bulkResetExpiredTimerJobs(String lockOwner, int batchSize) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("lockOwner", lockOwner);
+    params.put("now", getClock().getCurrentTime());
+    return getDbSqlSession().update("bulkResetTimerJobs", new ListQueryParameterObject(params, 0, batchSize), getManagedEntityClass());
   }
 
   @Override
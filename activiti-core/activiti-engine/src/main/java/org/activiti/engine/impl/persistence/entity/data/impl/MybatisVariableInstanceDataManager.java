@@ -29,6 +29,7 @@ import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityImpl;
 import org.activiti.engine.impl.persistence.entity.data.AbstractDataManager;
 import org.activiti.engine.impl.persistence.entity.data.VariableInstanceDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.VariableByExecutionIdMatcher;
+import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.VariablesByExecutionIdsMatcher;
 
 /**
 
@@ -37,6 +38,8 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
 
   protected CachedEntityMatcher<VariableInstanceEntity> variableInstanceEntity = new VariableByExecutionIdMatcher();
 
+  protected CachedEntityMatcher<VariableInstanceEntity> variablesByExecutionIdsMatcher = new VariablesByExecutionIdsMatcher();
+
   public MybatisVariableInstanceDataManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
     super(processEngineConfiguration);
   }
@@ -76,6 +79,14 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
     return getDbSqlSession().selectList("selectVariablesByExecutionIds", executionIds);
   }
 
+  @Override
+  public List<VariableInstanceEntity> findVariableInstancesByRootProcessInstanceId(String rootProcessInstanceId, Collection<String> executionIds) {
+    Map<String, Object> params = new HashMap<String, Object>(2);
+    params.put("rootProcessInstanceId", rootProcessInstanceId);
+    params.put("executionIds", executionIds);
+    return getList("selectVariablesByRootProcessInstanceId", params, variablesByExecutionIdsMatcher, true);
+  }
+
   @Override
   public VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName) {
     Map<String, String> params = new HashMap<String, String>(2);
@@ -18,7 +18,6 @@
 package org.activiti.engine.impl.scripting;
 
 import jakarta.el.ArrayELResolver;
-import jakarta.el.BeanELResolver;
 import jakarta.el.CompositeELResolver;
 import jakarta.el.ELContext;
 import jakarta.el.ELException;
@@ -43,6 +42,7 @@ import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
 import javax.script.ScriptException;
 import javax.script.SimpleBindings;
+import org.activiti.core.el.CachingBeanELResolver;
 import org.activiti.core.el.ELResolverReflectionBlockerDecorator;
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.bpmn.data.ItemInstance;
@@ -120,7 +120,7 @@ public class JuelScriptEngine extends AbstractScriptEngine implements Compilable
     compositeResolver.add(new CustomMapperJsonNodeELResolver());
     compositeResolver.add(new ResourceBundleELResolver());
     compositeResolver.add(new DynamicBeanPropertyELResolver(ItemInstance.class, "getFieldValue", "setFieldValue"));
-    compositeResolver.add(new ELResolverReflectionBlockerDecorator(new BeanELResolver()));
+    compositeResolver.add(new ELResolverReflectionBlockerDecorator(new CachingBeanELResolver()));
     return compositeResolver;
   }
 
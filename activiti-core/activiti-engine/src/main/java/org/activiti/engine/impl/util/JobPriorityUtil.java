@@ -0,0 +1,88 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.util;
+
+import org.activiti.bpmn.constants.BpmnXMLConstants;
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.FlowNode;
+import org.activiti.bpmn.model.Process;
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.runtime.Job;
+
+/**
+ * Resolves the priority of the jobs created for a flow element: the activiti:jobPriority attribute of the flow node,
+ * else the activiti:jobPriority attribute of its process, else {@link Job#DEFAULT_PRIORITY}.
+ */
+public class JobPriorityUtil {
+
+  public static int getJobPriority(FlowElement flowElement, String processDefinitionId) {
+    String jobPriority = getFlowNodeJobPriority(flowElement);
+    if (jobPriority == null && processDefinitionId != null) {
+      jobPriority = getProcessJobPriority(ProcessDefinitionUtil.getProcess(processDefinitionId));
+    }
+    return parseJobPriority(jobPriority);
+  }
+
+  public static int getJobPriority(FlowElement flowElement, Process process) {
+    String jobPriority = getFlowNodeJobPriority(flowElement);
+    if (jobPriority == null) {
+      jobPriority = getProcessJobPriority(process);
+    }
+    return parseJobPriority(jobPriority);
+  }
+
+  public static int parseJobPriority(String jobPriority) {
+    if (jobPriority == null) {
+      return Job.DEFAULT_PRIORITY;
+    }
+    try {
+      return Integer.parseInt(jobPriority.trim());
+    } catch (NumberFormatException e) {
+      throw new ActivitiIllegalArgumentException("Illegal value for job priority, an integer is expected: " + jobPriority);
+    }
+  }
+
+  /**
+   * Checks that the job priorities set on the process and its flow nodes are integers.
+   */
+  public static void validateJobPriorities(Process process) {
+    parseJobPriority(getProcessJobPriority(process));
+    for (FlowNode flowNode : process.findFlowElementsOfType(FlowNode.class)) {
+      parseJobPriority(getFlowNodeJobPriority(flowNode));
+    }
+  }
+
+  protected static String getFlowNodeJobPriority(FlowElement flowElement) {
+    if (flowElement instanceof FlowNode) {
+      String jobPriority = ((FlowNode) flowElement).getJobPriority();
+      if (jobPriority != null && !jobPriority.isEmpty()) {
+        return jobPriority;
+      }
+    }
+    return null;
+  }
+
+  protected static String getProcessJobPriority(Process process) {
+    if (process != null) {
+      String jobPriority = process.getAttributeValue(BpmnXMLConstants.ACTIVITI_EXTENSIONS_NAMESPACE, BpmnXMLConstants.ATTRIBUTE_PROCESS_JOB_PRIORITY);
+      if (jobPriority != null && !jobPriority.isEmpty()) {
+        return jobPriority;
+      }
+    }
+    return null;
+  }
+
+}
@@ -19,6 +19,7 @@ package org.activiti.engine.impl.util;
 import org.activiti.bpmn.model.BpmnModel;
 import org.activiti.bpmn.model.Process;
 import org.activiti.engine.ActivitiException;
+import org.activiti.engine.delegate.Expression;
 import org.activiti.engine.impl.ProcessDefinitionHelper;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
@@ -97,6 +98,34 @@ public class ProcessDefinitionUtil {
     return null;
   }
 
+  /**
+   * Returns the expression parsed when the process definition was deployed, or null if the process definition
+   * isn't cached or the expression wasn't parsed up front.
+   */
+  public static Expression getPreParsedExpression(String processDefinitionId, String expressionText) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processDefinitionId == null || processEngineConfiguration == null || processEngineConfiguration.getProcessDefinitionCache() == null) {
+      return null;
+    }
+    ProcessDefinitionCacheEntry cacheEntry = processEngineConfiguration.getProcessDefinitionCache().get(processDefinitionId);
+    if (cacheEntry != null) {
+      return cacheEntry.getExpression(expressionText);
+    }
+    return null;
+  }
+
+  /**
+   * Returns the expression parsed when the process definition was deployed, or creates it through the
+   * {@link org.activiti.engine.impl.el.ExpressionManager} when it wasn't parsed up front.
+   */
+  public static Expression getExpression(String processDefinitionId, String expressionText) {
+    Expression expression = getPreParsedExpression(processDefinitionId, expressionText);
+    if (expression == null) {
+      expression = Context.getProcessEngineConfiguration().getExpressionManager().createExpression(expressionText);
+    }
+    return expression;
+  }
+
   public static boolean isProcessDefinitionSuspended(String processDefinitionId) {
     ProcessDefinitionEntity processDefinition = getProcessDefinitionFromDatabase(processDefinitionId);
     return processDefinition.isSuspended();
@@ -158,6 +158,7 @@ public class TimerUtil {
     if (timer != null && executionEntity != null) {
       timer.setExecution(executionEntity);
       timer.setProcessDefinitionId(executionEntity.getProcessDefinitionId());
+      timer.setPriority(JobPriorityUtil.getJobPriority(executionEntity.getCurrentFlowElement(), executionEntity.getProcessDefinitionId()));
 
       // Inherit tenant identifier (if applicable)
       if (executionEntity.getTenantId() != null) {
@@ -33,6 +33,7 @@ public interface Job {
   String JOB_TYPE_MESSAGE = "message";
 
   boolean DEFAULT_EXCLUSIVE = true;
+  int DEFAULT_PRIORITY = 50;
   int MAX_EXCEPTION_MESSAGE_LENGTH = 255;
 
   /**
@@ -83,6 +84,11 @@ public interface Job {
    */
   boolean isExclusive();
 
+  /**
+   * Returns the priority of this job. Jobs with a higher priority are acquired before jobs with a lower priority.
+   */
+  int getPriority();
+
   /**
    * Get the job type for this job.
    */
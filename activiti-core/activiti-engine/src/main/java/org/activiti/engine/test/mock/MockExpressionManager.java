@@ -18,11 +18,11 @@
 package org.activiti.engine.test.mock;
 
 import jakarta.el.ArrayELResolver;
-import jakarta.el.BeanELResolver;
 import jakarta.el.CompositeELResolver;
 import jakarta.el.ELResolver;
 import jakarta.el.ListELResolver;
 import jakarta.el.MapELResolver;
+import org.activiti.core.el.CachingBeanELResolver;
 import org.activiti.core.el.ELResolverReflectionBlockerDecorator;
 import org.activiti.engine.delegate.VariableScope;
 import org.activiti.engine.impl.el.ExpressionManager;
@@ -38,7 +38,7 @@ public class MockExpressionManager extends ExpressionManager {
     compositeElResolver.add(new ArrayELResolver());
     compositeElResolver.add(new ListELResolver());
     compositeElResolver.add(new MapELResolver());
-    compositeElResolver.add(new ELResolverReflectionBlockerDecorator(new BeanELResolver()));
+    compositeElResolver.add(new ELResolverReflectionBlockerDecorator(new CachingBeanELResolver()));
     return compositeElResolver;
   }
 
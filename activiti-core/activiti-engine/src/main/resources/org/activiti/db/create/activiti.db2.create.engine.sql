@@ -6,10 +6,10 @@ create table ACT_GE_PROPERTY (
 );
 
 insert into ACT_GE_PROPERTY
-values ('schema.version', '8.1.0', 1);
+values ('schema.version', '8.7.0', 1);
 
 insert into ACT_GE_PROPERTY
-values ('schema.history', 'create(8.1.0)', 1);
+values ('schema.history', 'create(8.7.0)', 1);
 
 insert into ACT_GE_PROPERTY
 values ('next.dbid', '1', 1);
@@ -107,6 +107,7 @@ create table ACT_RU_JOB (
     HANDLER_TYPE_ varchar(255),
     HANDLER_CFG_ varchar(4000),
     TENANT_ID_ varchar(255) default '',
+    PRIORITY_ integer default 50,
     primary key (ID_)
 );
 
@@ -128,6 +129,7 @@ create table ACT_RU_TIMER_JOB (
     HANDLER_TYPE_ varchar(255),
     HANDLER_CFG_ varchar(4000),
     TENANT_ID_ varchar(255) default '',
+    PRIORITY_ integer default 50,
     primary key (ID_)
 );
 
@@ -147,6 +149,7 @@ create table ACT_RU_SUSPENDED_JOB (
     HANDLER_TYPE_ varchar(255),
     HANDLER_CFG_ varchar(4000),
     TENANT_ID_ varchar(255) default '',
+    PRIORITY_ integer default 50,
     primary key (ID_)
 );
 
@@ -165,6 +168,7 @@ create table ACT_RU_DEADLETTER_JOB (
     HANDLER_TYPE_ varchar(255),
     HANDLER_CFG_ varchar(4000),
     TENANT_ID_ varchar(255) default '',
+    PRIORITY_ integer default 50,
     primary key (ID_)
 );
 
@@ -294,6 +298,8 @@ create table ACT_RU_INTEGRATION (
 
 create index ACT_IDX_EXEC_BUSKEY on ACT_RU_EXECUTION(BUSINESS_KEY_);
 create index ACT_IDC_EXEC_ROOT on ACT_RU_EXECUTION(ROOT_PROC_INST_ID_);
+create index ACT_IDX_JOB_ACQUIRE on ACT_RU_JOB(LOCK_EXP_TIME_, PRIORITY_);
+create index ACT_IDX_TIMER_JOB_ACQUIRE on ACT_RU_TIMER_JOB(LOCK_OWNER_, PRIORITY_, DUEDATE_);
 create index ACT_IDX_TASK_CREATE on ACT_RU_TASK(CREATE_TIME_);
 create index ACT_IDX_IDENT_LNK_USER on ACT_RU_IDENTITYLINK(USER_ID_);
 create index ACT_IDX_IDENT_LNK_GROUP on ACT_RU_IDENTITYLINK(GROUP_ID_);
@@ -1,4 +1,6 @@
 drop index ACT_IDX_EXEC_BUSKEY;
+drop index ACT_IDX_JOB_ACQUIRE;
+drop index ACT_IDX_TIMER_JOB_ACQUIRE;
 drop index ACT_IDX_TASK_CREATE;
 drop index ACT_IDX_IDENT_LNK_USER;
 drop index ACT_IDX_IDENT_LNK_GROUP;
@@ -17,6 +17,8 @@ drop table if exists ACT_PROCDEF_INFO cascade;
 drop table if exists ACT_RU_INTEGRATION cascade;
 
 drop index if exists ACT_IDX_EXEC_BUSKEY;
+drop index if exists ACT_IDX_JOB_ACQUIRE;
+drop index if exists ACT_IDX_TIMER_JOB_ACQUIRE;
 drop index if exists ACT_IDX_TASK_CREATE;
 drop index if exists ACT_IDX_IDENT_LNK_USER;
 drop index if exists ACT_IDX_IDENT_LNK_GROUP;
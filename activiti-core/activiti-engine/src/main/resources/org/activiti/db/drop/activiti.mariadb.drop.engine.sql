@@ -1,4 +1,6 @@
 drop index ACT_IDX_EXEC_BUSKEY on ACT_RU_EXECUTION;
+drop index ACT_IDX_JOB_ACQUIRE on ACT_RU_JOB;
+drop index ACT_IDX_TIMER_JOB_ACQUIRE on ACT_RU_TIMER_JOB;
 drop index ACT_IDX_TASK_CREATE on ACT_RU_TASK;
 drop index ACT_IDX_IDENT_LNK_USER on ACT_RU_IDENTITYLINK;
 drop index ACT_IDX_IDENT_LNK_GROUP on ACT_RU_IDENTITYLINK;
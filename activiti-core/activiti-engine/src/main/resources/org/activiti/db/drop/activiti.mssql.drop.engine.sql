@@ -1,4 +1,6 @@
 IF EXISTS (SELECT name FROM sysindexes WHERE name = 'ACT_IDX_EXEC_BUSKEY') drop index ACT_RU_EXECUTION.ACT_IDX_EXEC_BUSKEY;
+IF EXISTS (SELECT name FROM sysindexes WHERE name = 'ACT_IDX_JOB_ACQUIRE') drop index ACT_RU_JOB.ACT_IDX_JOB_ACQUIRE;
+IF EXISTS (SELECT name FROM sysindexes WHERE name = 'ACT_IDX_TIMER_JOB_ACQUIRE') drop index ACT_RU_TIMER_JOB.ACT_IDX_TIMER_JOB_ACQUIRE;
 IF EXISTS (SELECT name FROM sysindexes WHERE name = 'ACT_IDX_TASK_CREATE') drop index ACT_RU_TASK.ACT_IDX_TASK_CREATE;
 IF EXISTS (SELECT name FROM sysindexes WHERE name = 'ACT_IDX_IDENT_LNK_USER') drop index ACT_RU_IDENTITYLINK.ACT_IDX_IDENT_LNK_USER;
 IF EXISTS (SELECT name FROM sysindexes WHERE name = 'ACT_IDX_IDENT_LNK_GROUP') drop index ACT_RU_IDENTITYLINK.ACT_IDX_IDENT_LNK_GROUP;
@@ -31,6 +31,8 @@ drop index ACT_IDX_MODEL_DEPLOYMENT;
 drop index ACT_IDX_PROCDEF_INFO_JSON;
 
 drop index ACT_IDX_EXEC_BUSKEY;
+drop index ACT_IDX_JOB_ACQUIRE;
+drop index ACT_IDX_TIMER_JOB_ACQUIRE;
 drop index ACT_IDX_TASK_CREATE;
 drop index ACT_IDX_IDENT_LNK_USER;
 drop index ACT_IDX_IDENT_LNK_GROUP;
@@ -0,0 +1,7 @@
+alter table ACT_RU_JOB add PRIORITY_ INTEGER DEFAULT 50;
+alter table ACT_RU_TIMER_JOB add PRIORITY_ INTEGER DEFAULT 50;
+alter table ACT_RU_SUSPENDED_JOB add PRIORITY_ INTEGER DEFAULT 50;
+alter table ACT_RU_DEADLETTER_JOB add PRIORITY_ INTEGER DEFAULT 50;
+
+create index ACT_IDX_JOB_ACQUIRE on ACT_RU_JOB(LOCK_EXP_TIME_, PRIORITY_);
+create index ACT_IDX_TIMER_JOB_ACQUIRE on ACT_RU_TIMER_JOB(LOCK_OWNER_, PRIORITY_, DUEDATE_);
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.delegate.event.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.junit.Test;
+
+public class ActivitiEventDispatcherImplTest {
+
+    private ActivitiEventDispatcherImpl dispatcher = new ActivitiEventDispatcherImpl();
+
+    private ActivitiEventListener listener = new ActivitiEventListener() {
+
+        @Override
+        public void onEvent(ActivitiEvent event) {
+        }
+
+        @Override
+        public boolean isFailOnException() {
+            return false;
+        }
+    };
+
+    @Test
+    public void should_haveNoEventListeners_when_noListenerIsRegistered() {
+        assertThat(dispatcher.hasEventListeners(ActivitiEventType.ENTITY_CREATED)).isFalse();
+    }
+
+    @Test
+    public void should_haveEventListenersForAllTypes_when_globalListenerIsRegistered() {
+        dispatcher.addEventListener(listener);
+
+        assertThat(dispatcher.hasEventListeners(ActivitiEventType.ENTITY_CREATED)).isTrue();
+        assertThat(dispatcher.hasEventListeners(ActivitiEventType.SEQUENCEFLOW_TAKEN)).isTrue();
+    }
+
+    @Test
+    public void should_haveEventListenersOnlyForRegisteredTypes_when_typedListenerIsRegistered() {
+        dispatcher.addEventListener(listener, ActivitiEventType.TASK_CREATED);
+
+        assertThat(dispatcher.hasEventListeners(ActivitiEventType.TASK_CREATED)).isTrue();
+        assertThat(dispatcher.hasEventListeners(ActivitiEventType.TASK_COMPLETED)).isFalse();
+    }
+
+    @Test
+    public void should_haveNoEventListeners_when_listenerIsRemoved() {
+        dispatcher.addEventListener(listener, ActivitiEventType.TASK_CREATED);
+        dispatcher.removeEventListener(listener);
+
+        assertThat(dispatcher.hasEventListeners(ActivitiEventType.TASK_CREATED)).isFalse();
+    }
+
+    @Test
+    public void should_haveNoEventListeners_when_dispatcherIsDisabled() {
+        dispatcher.addEventListener(listener);
+        dispatcher.setEnabled(false);
+
+        assertThat(dispatcher.hasEventListeners(ActivitiEventType.TASK_CREATED)).isFalse();
+    }
+
+    @Test
+    public void should_haveEventListeners_when_processDefinitionListensToType() {
+        dispatcher.setEnabled(false);
+        dispatcher.addProcessDefinitionListenerTypes(ActivitiEventType.ACTIVITY_STARTED);
+
+        assertThat(dispatcher.hasEventListeners(ActivitiEventType.ACTIVITY_STARTED)).isTrue();
+        assertThat(dispatcher.hasEventListeners(ActivitiEventType.ACTIVITY_COMPLETED)).isFalse();
+    }
+
+    @Test
+    public void should_haveEventListenersForAllTypes_when_processDefinitionListensToAllTypes() {
+        dispatcher.addProcessDefinitionListenerTypes();
+
+        assertThat(dispatcher.hasEventListeners(ActivitiEventType.ACTIVITY_COMPLETED)).isTrue();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.activiti.engine.impl.persistence.entity.JobEntityImpl;
+import org.activiti.engine.runtime.Job;
+import org.junit.Test;
+
+public class ExclusiveJobSerialExecutorTest {
+
+    private ExclusiveJobSerialExecutor serialExecutor = new ExclusiveJobSerialExecutor(2);
+
+    @Test
+    public void should_chainJobs_when_jobOfSameProcessInstanceIsExecuting() {
+        assertThat(serialExecutor.chain(exclusiveJob("job1", "pi1"))).isFalse();
+        assertThat(serialExecutor.chain(exclusiveJob("job2", "pi1"))).isTrue();
+        assertThat(serialExecutor.chain(exclusiveJob("job3", "pi2"))).isFalse();
+
+        assertThat(serialExecutor.getChainedJobCount()).isEqualTo(1);
+        assertThat(serialExecutor.getProcessInstanceCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_executeChainedJobsInOrder_when_previousJobIsDone() {
+        List<String> executedJobIds = new ArrayList<>();
+        Job first = exclusiveJob("job1", "pi1");
+        serialExecutor.chain(first);
+        Runnable chain = serialExecutor.createRunnable(first, job -> () -> {
+            executedJobIds.add(job.getId());
+            if (job == first) {
+                // Jobs created while the chain is executing are executed by the same chain
+                serialExecutor.chain(exclusiveJob("job2", "pi1"));
+                serialExecutor.chain(exclusiveJob("job3", "pi1"));
+            }
+        });
+
+        chain.run();
+
+        assertThat(executedJobIds).containsExactly("job1", "job2", "job3");
+        assertThat(serialExecutor.getProcessInstanceCount()).isZero();
+        assertThat(serialExecutor.chain(exclusiveJob("job4", "pi1"))).isFalse();
+    }
+
+    @Test
+    public void should_continueChain_when_jobFails() {
+        List<String> executedJobIds = new ArrayList<>();
+        Job first = exclusiveJob("job1", "pi1");
+        serialExecutor.chain(first);
+        serialExecutor.chain(exclusiveJob("job2", "pi1"));
+        Runnable chain = serialExecutor.createRunnable(first, job -> () -> {
+            executedJobIds.add(job.getId());
+            if (job == first) {
+                throw new IllegalStateException("failing job");
+            }
+        });
+
+        chain.run();
+
+        assertThat(executedJobIds).containsExactly("job1", "job2");
+    }
+
+    @Test
+    public void should_renewLockOfChainedJobs_and_skipJobsNoLongerLocked() {
+        List<String> executedJobIds = new ArrayList<>();
+        List<String> renewedJobIds = new ArrayList<>();
+        Job first = exclusiveJob("job1", "pi1");
+        serialExecutor.chain(first);
+        serialExecutor.chain(exclusiveJob("job2", "pi1"));
+        serialExecutor.chain(exclusiveJob("job3", "pi1"));
+        Runnable chain = serialExecutor.createRunnable(first, job -> () -> executedJobIds.add(job.getId()), job -> {
+            renewedJobIds.add(job.getId());
+            return !job.getId().equals("job2");
+        });
+
+        chain.run();
+
+        assertThat(renewedJobIds).containsExactly("job2", "job3");
+        assertThat(executedJobIds).containsExactly("job1", "job3");
+    }
+
+    @Test
+    public void should_returnChainedJobs_when_cleared() {
+        serialExecutor.chain(exclusiveJob("job1", "pi1"));
+        serialExecutor.chain(exclusiveJob("job2", "pi1"));
+        serialExecutor.chain(exclusiveJob("job3", "pi2"));
+        serialExecutor.chain(exclusiveJob("job4", "pi2"));
+
+        assertThat(serialExecutor.clear()).extracting(Job::getId).containsExactlyInAnyOrder("job2", "job4");
+        assertThat(serialExecutor.getChainedJobCount()).isZero();
+        assertThat(serialExecutor.getProcessInstanceCount()).isZero();
+    }
+
+    @Test
+    public void should_rejectJobs_when_maxChainedJobsReached() {
+        serialExecutor.chain(exclusiveJob("job1", "pi1"));
+        serialExecutor.chain(exclusiveJob("job2", "pi1"));
+        serialExecutor.chain(exclusiveJob("job3", "pi1"));
+
+        assertThatThrownBy(() -> serialExecutor.chain(exclusiveJob("job4", "pi1")))
+            .isInstanceOf(RejectedExecutionException.class);
+
+        assertThat(serialExecutor.release("pi1")).extracting(Job::getId).containsExactly("job2", "job3");
+        assertThat(serialExecutor.getChainedJobCount()).isZero();
+    }
+
+    @Test
+    public void should_notSerialize_when_jobIsNotExclusive() {
+        JobEntityImpl job = exclusiveJob("job1", "pi1");
+        job.setExclusive(false);
+
+        assertThat(serialExecutor.isSerialized(job)).isFalse();
+        assertThat(serialExecutor.isSerialized(exclusiveJob("job2", null))).isFalse();
+        assertThat(serialExecutor.isSerialized(exclusiveJob("job3", "pi1"))).isTrue();
+    }
+
+    private JobEntityImpl exclusiveJob(String jobId, String processInstanceId) {
+        JobEntityImpl job = new JobEntityImpl();
+        job.setId(jobId);
+        job.setProcessInstanceId(processInstanceId);
+        job.setExclusive(true);
+        return job;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class JobAcquisitionControllerTest {
+
+    private JobAcquisitionController controller;
+
+    @Before
+    public void setUp() {
+        controller = new JobAcquisitionController("async job");
+        controller.setAdaptive(true);
+        controller.setMinBatchSize(1);
+        controller.setMaxBatchSize(16);
+        controller.setMinWaitTimeInMillis(100);
+        controller.setMaxWaitTimeInMillis(1000);
+    }
+
+    @Test
+    public void should_growBatchSizeAndNotWait_when_fullBatchesAreAcquired() {
+        for (int expectedBatchSize : new int[] {1, 2, 4, 8, 16, 16}) {
+            int batchSize = controller.nextBatchSize();
+            assertThat(batchSize).isEqualTo(expectedBatchSize);
+            assertThat(controller.jobsAcquired(batchSize, true)).isZero();
+        }
+    }
+
+    @Test
+    public void should_backOffUntilMaxWaitTime_when_noJobsAreFound() {
+        controller.nextBatchSize();
+        assertThat(controller.jobsAcquired(0, true)).isEqualTo(100);
+        controller.nextBatchSize();
+        assertThat(controller.jobsAcquired(0, true)).isEqualTo(200);
+        controller.nextBatchSize();
+        assertThat(controller.jobsAcquired(0, true)).isEqualTo(400);
+        controller.nextBatchSize();
+        assertThat(controller.jobsAcquired(0, true)).isEqualTo(800);
+        controller.nextBatchSize();
+        assertThat(controller.jobsAcquired(0, true)).isEqualTo(1000);
+    }
+
+    @Test
+    public void should_limitBatchSizeToFreeQueueCapacity() {
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<Runnable>(10);
+        controller.setThreadPoolQueue(queue);
+        for (int i = 0; i < 4; i++) {
+            controller.jobsAcquired(controller.nextBatchSize(), true);
+        }
+        assertThat(controller.getBatchSize()).isEqualTo(16);
+
+        for (int i = 0; i < 7; i++) {
+            queue.add(() -> {});
+        }
+        assertThat(controller.nextBatchSize()).isEqualTo(3);
+    }
+
+    @Test
+    public void should_shrinkBatchSize_when_optimisticLockingFailuresOccur() {
+        controller.setMinBatchSize(4);
+        for (int i = 0; i < 3; i++) {
+            controller.jobsAcquired(controller.nextBatchSize(), true);
+        }
+        assertThat(controller.getBatchSize()).isEqualTo(16);
+
+        controller.nextBatchSize();
+        long waitTime = controller.optimisticLockingFailure();
+
+        assertThat(controller.getBatchSize()).isEqualTo(8);
+        assertThat(waitTime).isBetween(50L, 1000L);
+        assertThat(controller.getConflictRate()).isGreaterThan(0);
+        assertThat(controller.getMetrics())
+            .containsEntry("batchSize", 8)
+            .containsEntry("optimisticLockingFailureCount", 1L)
+            .containsEntry("acquisitionCount", 4L);
+    }
+
+    @Test
+    public void should_keepFixedBatchSizeAndWaitTime_when_notAdaptive() {
+        controller.setAdaptive(false);
+        controller.setMinBatchSize(3);
+        controller.setMaxBatchSize(3);
+        controller.setQueueFullWaitTimeInMillis(50);
+
+        assertThat(controller.nextBatchSize()).isEqualTo(3);
+        assertThat(controller.jobsAcquired(3, true)).isZero();
+        assertThat(controller.nextBatchSize()).isEqualTo(3);
+        assertThat(controller.jobsAcquired(3, false)).isEqualTo(50);
+        assertThat(controller.nextBatchSize()).isEqualTo(3);
+        assertThat(controller.jobsAcquired(1, true)).isEqualTo(1000);
+        assertThat(controller.optimisticLockingFailure()).isEqualTo(1000);
+        assertThat(controller.acquisitionFailed()).isEqualTo(1000);
+    }
+}
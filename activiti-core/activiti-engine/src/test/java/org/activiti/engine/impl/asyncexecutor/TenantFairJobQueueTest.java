@@ -0,0 +1,164 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.impl.persistence.entity.JobEntityImpl;
+import org.junit.Test;
+
+public class TenantFairJobQueueTest {
+
+    @Test
+    public void should_alternateBetweenTenants_when_oneTenantQueuedFirst() {
+        TenantFairJobQueue queue = new TenantFairJobQueue(10, 0, null);
+        queue.offer(jobOf("noisy", "n1"));
+        queue.offer(jobOf("noisy", "n2"));
+        queue.offer(jobOf("noisy", "n3"));
+        queue.offer(jobOf("quiet", "q1"));
+
+        assertThat(drainJobIds(queue)).containsExactly("n1", "q1", "n2", "n3");
+    }
+
+    @Test
+    public void should_serveTenantsByWeight() {
+        TenantFairJobQueue queue = new TenantFairJobQueue(10, 0, Collections.singletonMap("gold", 2));
+        for (int i = 1; i <= 3; i++) {
+            queue.offer(jobOf("gold", "g" + i));
+            queue.offer(jobOf("bronze", "b" + i));
+        }
+
+        assertThat(drainJobIds(queue)).containsExactly("g1", "g2", "b1", "g3", "b2", "b3");
+    }
+
+    @Test
+    public void should_refuseJobs_when_tenantUsedItsShare() {
+        TenantFairJobQueue queue = new TenantFairJobQueue(10, 2, null);
+        for (int i = 0; i < 8; i++) {
+            assertThat(queue.offer(jobOf("noisy", "n" + i))).isTrue();
+        }
+
+        // The reserved capacity is kept for the other tenants
+        assertThat(queue.offer(jobOf("noisy", "n8"))).isFalse();
+        assertThat(queue.getSaturatedTenantIds()).containsExactly("noisy");
+        assertThat(queue.offer(jobOf("quiet", "q1"))).isTrue();
+        assertThat(queue.offer(jobOf("quiet", "q2"))).isTrue();
+        assertThat(queue.remainingCapacity()).isZero();
+        assertThat(queue.offer(jobOf("other", "o1"))).isFalse();
+
+        assertThat(queue.getQueueDepth("noisy")).isEqualTo(8);
+        assertThat(queue.getQueueDepth("quiet")).isEqualTo(2);
+    }
+
+    @Test
+    public void should_exposeMetricsPerTenant() {
+        TenantFairJobQueue queue = new TenantFairJobQueue(4, 1, null);
+        queue.offer(jobOf("a", "a1"));
+        queue.offer(jobOf("a", "a2"));
+        queue.offer(jobOf("a", "a3"));
+        queue.offer(jobOf("a", "a4"));
+        queue.offer(jobOf(null, "x1"));
+        queue.poll();
+
+        Map<String, Map<String, Object>> metrics = queue.getMetrics();
+
+        assertThat(metrics).containsOnlyKeys("a", "");
+        assertThat(metrics.get("a"))
+            .containsEntry("queueDepth", 2)
+            .containsEntry("enqueuedCount", 3L)
+            .containsEntry("dequeuedCount", 1L)
+            .containsEntry("rejectedCount", 1L)
+            .containsKeys("averageWaitTimeInMillis", "maxWaitTimeInMillis", "oldestWaitTimeInMillis");
+        assertThat(metrics.get("")).containsEntry("queueDepth", 1);
+    }
+
+    @Test
+    public void should_removeJob_when_removedThroughIterator() {
+        TenantFairJobQueue queue = new TenantFairJobQueue(10, 0, null);
+        ExecuteAsyncRunnable job = jobOf("a", "a1");
+        queue.offer(job);
+        queue.offer(jobOf("b", "b1"));
+
+        assertThat(queue.remove(job)).isTrue();
+
+        assertThat(queue).hasSize(1);
+        assertThat(queue.getQueueDepth("a")).isZero();
+        assertThat(drainJobIds(queue)).containsExactly("b1");
+    }
+
+    @Test
+    public void should_waitForTenantShare_when_put() throws Exception {
+        TenantFairJobQueue queue = new TenantFairJobQueue(4, 1, null);
+        for (int i = 0; i < 3; i++) {
+            queue.put(jobOf("noisy", "n" + i));
+        }
+
+        Thread putThread = new Thread(() -> {
+            try {
+                queue.put(jobOf("noisy", "n3"));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        putThread.start();
+        putThread.join(200);
+
+        // The reserved capacity is kept for the other tenants, also for put
+        assertThat(putThread.isAlive()).isTrue();
+        assertThat(queue.getQueueDepth("noisy")).isEqualTo(3);
+
+        queue.poll();
+        putThread.join(5000);
+
+        assertThat(putThread.isAlive()).isFalse();
+        assertThat(queue.getQueueDepth("noisy")).isEqualTo(3);
+    }
+
+    @Test
+    public void should_evictTenantQueue_when_emptyAndIdle() {
+        TenantFairJobQueue queue = new TenantFairJobQueue(10, 0, null, 0L);
+        queue.offer(jobOf("a", "a1"));
+        queue.offer(jobOf("b", "b1"));
+        queue.poll();
+
+        queue.offer(jobOf("c", "c1"));
+
+        assertThat(queue.getMetrics()).containsOnlyKeys("b", "c");
+    }
+
+    private ExecuteAsyncRunnable jobOf(String tenantId, String jobId) {
+        JobEntityImpl job = new JobEntityImpl();
+        job.setId(jobId);
+        job.setTenantId(tenantId);
+        return new ExecuteAsyncRunnable(job, null);
+    }
+
+    private List<String> drainJobIds(TenantFairJobQueue queue) {
+        List<Runnable> runnables = new ArrayList<>();
+        queue.drainTo(runnables);
+        List<String> jobIds = new ArrayList<>();
+        for (Runnable runnable : runnables) {
+            jobIds.add(((ExecuteAsyncRunnable) runnable).getJobId());
+        }
+        return jobIds;
+    }
+}
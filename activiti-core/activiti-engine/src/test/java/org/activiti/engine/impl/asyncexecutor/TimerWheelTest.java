@@ -0,0 +1,92 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TimerWheelTest {
+
+    @Test
+    public void should_returnItems_when_theirBucketHasPassed() {
+        TimerWheel<String> wheel = new TimerWheel<>(10, 8, 0);
+        wheel.add("late", 25);
+        wheel.add("early", 5);
+
+        assertThat(wheel.advance(20)).containsExactly("early");
+        assertThat(wheel.advance(29)).isEmpty();
+        assertThat(wheel.advance(30)).containsExactly("late");
+        assertThat(wheel.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void should_moveItemsDownFromOverflowWheels() {
+        TimerWheel<String> wheel = new TimerWheel<>(10, 4, 0);
+        wheel.add("far", 1000);
+        wheel.add("near", 15);
+
+        assertThat(wheel.advance(20)).containsExactly("near");
+        assertThat(wheel.advance(999)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(1010)).containsExactly("far");
+    }
+
+    @Test
+    public void should_neverReturnItemsBeforeTheirDueTime() {
+        TimerWheel<Long> wheel = new TimerWheel<>(10, 4, 0);
+        for (long dueTime = 0; dueTime < 2000; dueTime += 7) {
+            wheel.add(dueTime, dueTime);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = 0; now <= 2010; now += 3) {
+            for (Long dueTime : wheel.advance(now)) {
+                assertThat(dueTime).isLessThanOrEqualTo(now);
+                assertThat(now - dueTime).isLessThan(10 + 3);
+                fired.add(dueTime);
+            }
+        }
+
+        assertThat(fired).hasSize(286).isSorted();
+        assertThat(wheel.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void should_refuseItems_when_alreadyDue() {
+        TimerWheel<String> wheel = new TimerWheel<>(10, 8, 100);
+
+        assertThat(wheel.add("past", 50)).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    public void should_returnNextAdvanceTime() {
+        TimerWheel<String> wheel = new TimerWheel<>(10, 4, 0);
+        assertThat(wheel.getNextAdvanceTime()).isEqualTo(-1L);
+
+        wheel.add("far", 1000);
+        // Only in an overflow wheel: the wheel must advance when the next turn starts
+        assertThat(wheel.getNextAdvanceTime()).isEqualTo(40L);
+
+        wheel.add("near", 25);
+        assertThat(wheel.getNextAdvanceTime()).isEqualTo(30L);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class VirtualThreadJobExecutorServiceTest {
+
+    private VirtualThreadJobExecutorService executorService = new VirtualThreadJobExecutorService(2);
+
+    @After
+    public void tearDown() throws Exception {
+        executorService.shutdownNow();
+        executorService.awaitTermination(5, SECONDS);
+    }
+
+    @Test
+    public void should_rejectJobs_when_allPermitsAreTaken() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+        Runnable blockingJob = () -> {
+            try {
+                release.await();
+                executed.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        executorService.execute(blockingJob);
+        executorService.execute(blockingJob);
+
+        assertThat(executorService.getAvailablePermits()).isZero();
+        assertThatThrownBy(() -> executorService.execute(blockingJob))
+            .isInstanceOf(RejectedExecutionException.class);
+
+        release.countDown();
+        await().atMost(5, SECONDS).until(() -> executorService.getAvailablePermits() == 2);
+        assertThat(executed.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_executeJobsOnVirtualThreads() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicInteger virtualThreads = new AtomicInteger();
+
+        executorService.execute(() -> {
+            if (Thread.currentThread().isVirtual()) {
+                virtualThreads.incrementAndGet();
+            }
+            done.countDown();
+        });
+
+        assertThat(done.await(5, SECONDS)).isTrue();
+        assertThat(virtualThreads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_releasePermit_when_jobFails() {
+        executorService.execute(() -> {
+            throw new IllegalStateException("job failed");
+        });
+
+        await().atMost(5, SECONDS).until(() -> executorService.getAvailablePermits() == 2);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class DbSqlSessionFactoryTest {
+
+    @Test
+    public void should_mapJobAcquisitionToSkipLockedStatements_when_skipLockedIsEnabled() {
+        DbSqlSessionFactory dbSqlSessionFactory = new DbSqlSessionFactory();
+        dbSqlSessionFactory.setDatabaseType("postgres");
+        dbSqlSessionFactory.setSkipLockedJobAcquisitionEnabled(true);
+
+        assertThat(dbSqlSessionFactory.mapStatement("selectJobsToExecute")).isEqualTo("selectJobsToExecuteSkipLocked");
+        assertThat(dbSqlSessionFactory.mapStatement("selectTimerJobsToExecute")).isEqualTo("selectTimerJobsToExecuteSkipLocked");
+        assertThat(dbSqlSessionFactory.mapStatement("selectExpiredJobs")).isEqualTo("selectExpiredJobs");
+    }
+
+    @Test
+    public void should_limitSkipLockedStatementsWhileFetching_onlyOnOracle() {
+        DbSqlSessionFactory dbSqlSessionFactory = new DbSqlSessionFactory();
+        dbSqlSessionFactory.setDatabaseType("oracle");
+        dbSqlSessionFactory.setSkipLockedJobAcquisitionEnabled(true);
+
+        assertThat(dbSqlSessionFactory.isFetchLimitedStatement("selectJobsToExecuteSkipLocked")).isTrue();
+        assertThat(dbSqlSessionFactory.isFetchLimitedStatement("selectTimerJobsToExecuteSkipLocked")).isTrue();
+        assertThat(dbSqlSessionFactory.isFetchLimitedStatement("selectExpiredJobs")).isFalse();
+
+        dbSqlSessionFactory.setDatabaseType("postgres");
+        assertThat(dbSqlSessionFactory.isFetchLimitedStatement("selectJobsToExecuteSkipLocked")).isFalse();
+
+        dbSqlSessionFactory.setDatabaseType("oracle");
+        dbSqlSessionFactory.setSkipLockedJobAcquisitionEnabled(false);
+        assertThat(dbSqlSessionFactory.isFetchLimitedStatement("selectJobsToExecuteSkipLocked")).isFalse();
+    }
+
+    @Test
+    public void should_keepDefaultJobAcquisitionStatements_when_skipLockedIsDisabled() {
+        DbSqlSessionFactory dbSqlSessionFactory = new DbSqlSessionFactory();
+        dbSqlSessionFactory.setSkipLockedJobAcquisitionEnabled(true);
+        dbSqlSessionFactory.setSkipLockedJobAcquisitionEnabled(false);
+        dbSqlSessionFactory.setDatabaseType("postgres");
+
+        assertThat(dbSqlSessionFactory.mapStatement("selectJobsToExecute")).isEqualTo("selectJobsToExecute");
+        assertThat(dbSqlSessionFactory.mapStatement("selectTimerJobsToExecute")).isEqualTo("selectTimerJobsToExecute");
+    }
+
+    @Test
+    public void should_supportSkipLocked_onlyForDatabasesThatImplementIt() {
+        assertThat(DbSqlSessionFactory.isSkipLockedSupported("postgres", -1)).isTrue();
+        assertThat(DbSqlSessionFactory.isSkipLockedSupported("oracle", 19)).isTrue();
+        assertThat(DbSqlSessionFactory.isSkipLockedSupported("mysql", 8)).isTrue();
+        assertThat(DbSqlSessionFactory.isSkipLockedSupported("mysql", 5)).isFalse();
+        assertThat(DbSqlSessionFactory.isSkipLockedSupported("mysql", -1)).isFalse();
+        assertThat(DbSqlSessionFactory.isSkipLockedSupported("mariadb", 10)).isFalse();
+        assertThat(DbSqlSessionFactory.isSkipLockedSupported("h2", 2)).isFalse();
+        assertThat(DbSqlSessionFactory.isSkipLockedSupported("mssql", 15)).isFalse();
+    }
+}
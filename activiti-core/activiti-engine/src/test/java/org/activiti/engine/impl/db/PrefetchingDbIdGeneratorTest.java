@@ -0,0 +1,174 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.db;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandConfig;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.persistence.entity.PropertyEntityImpl;
+import org.activiti.engine.impl.persistence.entity.PropertyEntityManager;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrefetchingDbIdGeneratorTest {
+
+    private IdBlockCommandExecutor commandExecutor;
+    private PrefetchingDbIdGenerator idGenerator;
+
+    @Before
+    public void setUp() {
+        commandExecutor = new IdBlockCommandExecutor();
+        idGenerator = new PrefetchingDbIdGenerator();
+        idGenerator.setCommandExecutor(commandExecutor);
+        idGenerator.setCommandConfig(new CommandConfig().transactionRequiresNew());
+    }
+
+    @Test
+    public void should_handOutUniqueIds_when_usedConcurrently() throws Exception {
+        idGenerator.setIdBlockSize(10);
+        idGenerator.setMaxIdBlockSize(40);
+
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 5000; j++) {
+                    ids.add(idGenerator.getNextId());
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(ids).hasSize(8 * 5000);
+    }
+
+    @Test
+    public void should_prefetchNextBlock_when_thresholdIsReached() {
+        idGenerator.setIdBlockSize(100);
+        idGenerator.setPrefetchThresholdPercentage(25);
+
+        for (int i = 0; i < 74; i++) {
+            idGenerator.getNextId();
+        }
+        assertThat(commandExecutor.getRequestedBlockSizes()).hasSize(1);
+
+        idGenerator.getNextId();
+        idGenerator.getNextId();
+
+        await().atMost(5, SECONDS).until(() -> commandExecutor.getRequestedBlockSizes().size() == 2);
+        assertThat(idGenerator.getNextId()).isEqualTo("77");
+    }
+
+    @Test
+    public void should_growBlockSize_when_blocksAreUsedFasterThanTargetLifetime() {
+        idGenerator.setIdBlockSize(10);
+        idGenerator.setMaxIdBlockSize(80);
+        idGenerator.setTargetIdBlockLifetimeInMillis(60 * 1000L);
+
+        for (int i = 0; i < 1000; i++) {
+            idGenerator.getNextId();
+        }
+
+        assertThat(commandExecutor.getRequestedBlockSizes())
+            .startsWith(10, 20, 40, 80)
+            .allMatch(blockSize -> blockSize <= 80);
+    }
+
+    @Test
+    public void should_keepMinimalBlockSize_when_blocksLastLongerThanTargetLifetime() {
+        idGenerator.setIdBlockSize(10);
+        idGenerator.setMaxIdBlockSize(80);
+        idGenerator.setTargetIdBlockLifetimeInMillis(0L);
+
+        for (int i = 0; i < 100; i++) {
+            idGenerator.getNextId();
+        }
+
+        assertThat(commandExecutor.getRequestedBlockSizes()).containsOnly(10);
+    }
+
+    @Test
+    public void should_keepHandingOutIds_when_shutDown() {
+        idGenerator.setIdBlockSize(10);
+        idGenerator.getNextId();
+
+        idGenerator.shutdown();
+
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 100; i++) {
+            ids.add(idGenerator.getNextId());
+        }
+        assertThat(ids).hasSize(100);
+        assertThat(idGenerator.prefetchExecutorService == null || idGenerator.prefetchExecutorService.isShutdown()).isTrue();
+    }
+
+    /**
+     * Executes {@link org.activiti.engine.impl.cmd.GetNextIdBlockCmd} against an in-memory 'next.dbid' property.
+     */
+    private static class IdBlockCommandExecutor implements CommandExecutor {
+
+        private final PropertyEntityImpl nextDbId = new PropertyEntityImpl();
+        private final List<Integer> requestedBlockSizes = new ArrayList<>();
+        private final CommandContext commandContext = mock(CommandContext.class);
+
+        IdBlockCommandExecutor() {
+            nextDbId.setName("next.dbid");
+            nextDbId.setValue("1");
+            PropertyEntityManager propertyEntityManager = mock(PropertyEntityManager.class);
+            when(propertyEntityManager.findById("next.dbid")).thenReturn(nextDbId);
+            when(commandContext.getPropertyEntityManager()).thenReturn(propertyEntityManager);
+        }
+
+        @Override
+        public CommandConfig getDefaultConfig() {
+            return new CommandConfig();
+        }
+
+        @Override
+        public synchronized <T> T execute(CommandConfig config, Command<T> command) {
+            long before = Long.parseLong(nextDbId.getValue());
+            T result = command.execute(commandContext);
+            requestedBlockSizes.add((int) (Long.parseLong(nextDbId.getValue()) - before));
+            return result;
+        }
+
+        @Override
+        public <T> T execute(Command<T> command) {
+            return execute(getDefaultConfig(), command);
+        }
+
+        synchronized List<Integer> getRequestedBlockSizes() {
+            return new ArrayList<>(requestedBlockSizes);
+        }
+    }
+}
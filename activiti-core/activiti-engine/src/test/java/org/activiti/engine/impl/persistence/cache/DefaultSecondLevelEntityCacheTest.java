@@ -0,0 +1,144 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.cache;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Collections;
+import java.util.HashMap;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.persistence.entity.DeploymentEntityImpl;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntityImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DefaultSecondLevelEntityCacheTest {
+
+    private DefaultSecondLevelEntityCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new DefaultSecondLevelEntityCache(asList(ProcessDefinitionEntityImpl.class,
+                                                         DeploymentEntityImpl.class),
+                                                  2);
+    }
+
+    @Test
+    public void should_returnCopy_when_entityIsCached() {
+        cache.put(processDefinition("pd1", "first"), cache.getGeneration());
+
+        ProcessDefinitionEntityImpl cached = cache.get(ProcessDefinitionEntityImpl.class, "pd1");
+        assertThat(cached.getName()).isEqualTo("first");
+
+        cached.setName("changed");
+        assertThat(cache.get(ProcessDefinitionEntityImpl.class, "pd1").getName()).isEqualTo("first");
+        assertThat(cache.getMetrics()).containsEntry("hits", 2L).containsEntry("misses", 0L);
+    }
+
+    @Test
+    public void should_notCacheEntity_when_classIsNotCacheable() {
+        ExecutionEntityImpl execution = new ExecutionEntityImpl();
+        execution.setId("e1");
+        cache.put(execution, cache.getGeneration());
+
+        assertThat(cache.isCacheable(ExecutionEntityImpl.class)).isFalse();
+        assertThat(cache.get(ExecutionEntityImpl.class, "e1")).isNull();
+        assertThat(cache.getMetrics()).containsEntry("misses", 1L).containsEntry("size", 0);
+    }
+
+    @Test
+    public void should_ignorePut_when_cacheWasInvalidatedAfterLoading() {
+        long generation = cache.getGeneration();
+        cache.invalidate(ProcessDefinitionEntityImpl.class, "pd1");
+
+        cache.put(processDefinition("pd1", "stale"), generation);
+
+        assertThat(cache.get(ProcessDefinitionEntityImpl.class, "pd1")).isNull();
+        assertThat(cache.getMetrics()).containsEntry("stalePuts", 1L);
+    }
+
+    @Test
+    public void should_removeEntities_when_invalidated() {
+        cache.put(processDefinition("pd1", "first"), cache.getGeneration());
+        cache.put(processDefinition("pd2", "second"), cache.getGeneration());
+
+        cache.invalidate(ProcessDefinitionEntityImpl.class, "pd1");
+        assertThat(cache.get(ProcessDefinitionEntityImpl.class, "pd1")).isNull();
+        assertThat(cache.get(ProcessDefinitionEntityImpl.class, "pd2")).isNotNull();
+
+        cache.invalidate(ProcessDefinitionEntityImpl.class);
+        assertThat(cache.get(ProcessDefinitionEntityImpl.class, "pd2")).isNull();
+    }
+
+    @Test
+    public void should_evictLeastRecentlyUsed_when_limitIsReached() {
+        cache.put(processDefinition("pd1", "first"), cache.getGeneration());
+        cache.put(processDefinition("pd2", "second"), cache.getGeneration());
+        cache.get(ProcessDefinitionEntityImpl.class, "pd1");
+
+        cache.put(processDefinition("pd3", "third"), cache.getGeneration());
+
+        assertThat(cache.get(ProcessDefinitionEntityImpl.class, "pd1")).isNotNull();
+        assertThat(cache.get(ProcessDefinitionEntityImpl.class, "pd2")).isNull();
+        assertThat(cache.get(ProcessDefinitionEntityImpl.class, "pd3")).isNotNull();
+        assertThat(cache.getMetrics()).containsEntry("evictions", 1L).containsEntry("size", 2);
+    }
+
+    @Test
+    public void should_copyCollections_when_entityIsTakenFromCache() {
+        ProcessDefinitionEntityImpl processDefinition = processDefinition("pd1", "first");
+        processDefinition.setVariables(new HashMap<String, Object>());
+        cache.put(processDefinition, cache.getGeneration());
+        processDefinition.getVariables().put("changedAfterPut", true);
+
+        ProcessDefinitionEntityImpl cached = cache.get(ProcessDefinitionEntityImpl.class, "pd1");
+        assertThat(cached).isNotSameAs(processDefinition);
+        assertThat(cached.getVariables()).isEmpty();
+
+        cached.getVariables().put("changedAfterGet", true);
+        assertThat(cache.get(ProcessDefinitionEntityImpl.class, "pd1").getVariables()).isEmpty();
+    }
+
+    @Test
+    public void should_evictTenPercentOfLimit_when_limitIsExceeded() {
+        DefaultSecondLevelEntityCache largerCache = new DefaultSecondLevelEntityCache(Collections.<Class<?>>singletonList(ProcessDefinitionEntityImpl.class), 20);
+        for (int i = 0; i < 21; i++) {
+            largerCache.put(processDefinition("pd" + i, "name"), largerCache.getGeneration());
+        }
+
+        assertThat(largerCache.getMetrics()).containsEntry("evictions", 3L).containsEntry("size", 18);
+        assertThat(largerCache.get(ProcessDefinitionEntityImpl.class, "pd0")).isNull();
+        assertThat(largerCache.get(ProcessDefinitionEntityImpl.class, "pd20")).isNotNull();
+    }
+
+    @Test
+    public void should_rejectClass_when_notAnEntity() {
+        assertThatExceptionOfType(ActivitiIllegalArgumentException.class)
+            .isThrownBy(() -> new DefaultSecondLevelEntityCache(Collections.<Class<?>>singletonList(Object.class), 10));
+    }
+
+    private ProcessDefinitionEntityImpl processDefinition(String id,
+                                                          String name) {
+        ProcessDefinitionEntityImpl processDefinition = new ProcessDefinitionEntityImpl();
+        processDefinition.setId(id);
+        processDefinition.setName(name);
+        return processDefinition;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.deploy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class ConcurrentDeploymentCacheTest {
+
+    @Test
+    public void should_evictLeastRecentlyUsed_when_limitIsReached() throws Exception {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<String>(2);
+        cache.add("a", "A");
+        Thread.sleep(1);
+        cache.add("b", "B");
+        Thread.sleep(1);
+        assertThat(cache.get("a")).isEqualTo("A");
+
+        cache.add("c", "C");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.contains("a")).isTrue();
+        assertThat(cache.contains("b")).isFalse();
+        assertThat(cache.contains("c")).isTrue();
+        assertThat(cache.getMetrics()).containsEntry("evictions", 1L);
+    }
+
+    @Test
+    public void should_evictUntilWithinMaxWeight_when_heavyObjectIsAdded() throws Exception {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<String>(-1, 10, (id, value) -> value.length());
+        cache.add("a", "aaaa");
+        Thread.sleep(1);
+        cache.add("b", "bbbb");
+        assertThat(cache.getWeight()).isEqualTo(8);
+
+        cache.add("c", "cccccc");
+
+        assertThat(cache.contains("a")).isFalse();
+        assertThat(cache.contains("b")).isTrue();
+        assertThat(cache.contains("c")).isTrue();
+        assertThat(cache.getWeight()).isEqualTo(10);
+    }
+
+    @Test
+    public void should_keepWeightConsistent_when_objectsAreReplacedAndRemoved() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<String>(-1, -1, (id, value) -> value.length());
+        cache.add("a", "aa");
+        cache.add("a", "aaaa");
+        cache.add("b", "bbb");
+        assertThat(cache.getWeight()).isEqualTo(7);
+
+        cache.remove("a");
+        assertThat(cache.getWeight()).isEqualTo(3);
+
+        cache.clear();
+        assertThat(cache.getWeight()).isZero();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void should_countHitsAndMisses() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<String>();
+        cache.add("a", "A");
+
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+
+        assertThat(cache.getMetrics())
+            .containsEntry("hits", 2L)
+            .containsEntry("misses", 1L)
+            .containsEntry("size", 1);
+    }
+}
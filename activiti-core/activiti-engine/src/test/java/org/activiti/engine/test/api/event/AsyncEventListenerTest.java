@@ -0,0 +1,153 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.api.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.delegate.event.ActivitiEntityEvent;
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.delegate.event.AsyncActivitiEventListener;
+import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.delegate.event.impl.AsyncEventDelivery;
+import org.activiti.engine.delegate.event.impl.AsyncEventListenerExecutor;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * Tests {@link AsyncActivitiEventListener}s being notified after commit, outside of the transaction.
+ */
+public class AsyncEventListenerTest extends PluggableActivitiTestCase {
+
+  protected RecordingAsyncEventListener listener;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+
+    listener = new RecordingAsyncEventListener();
+    processEngineConfiguration.getEventDispatcher().addEventListener(listener, ActivitiEventType.TASK_CREATED);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.getEventDispatcher().removeEventListener(listener);
+
+    super.tearDown();
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testEventDeliveredAfterCommitOnAsyncThread() throws Exception {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    waitForEvents(1);
+
+    assertThat(listener.events).hasSize(1);
+    assertThat(listener.events.get(0).getProcessInstanceId()).isEqualTo(processInstance.getId());
+    assertThat(listener.threadNames.get(0)).startsWith("activiti-async-event-listener-");
+  }
+
+  public void testEventNotDeliveredWhenTransactionRollsBack() {
+    Object submittedBefore = processEngineConfiguration.getAsyncEventListenerExecutor().getMetrics().get("submitted");
+
+    assertThatExceptionOfType(ActivitiException.class).isThrownBy(() -> managementService.executeCommand(new Command<Void>() {
+
+      @Override
+      public Void execute(CommandContext commandContext) {
+        TaskEntity task = commandContext.getTaskEntityManager().create();
+        commandContext.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
+            ActivitiEventBuilder.createEntityEvent(ActivitiEventType.TASK_CREATED, task));
+        throw new ActivitiException("rollback");
+      }
+
+    }));
+
+    assertThat(listener.events).isEmpty();
+    assertThat(processEngineConfiguration.getAsyncEventListenerExecutor().getMetrics().get("submitted")).isEqualTo(submittedBefore);
+  }
+
+  public void testEventDeliveredWithEntityAsItWasWhenRaised() throws Exception {
+    final TaskEntity[] taskHolder = new TaskEntity[1];
+    managementService.executeCommand(new Command<Void>() {
+
+      @Override
+      public Void execute(CommandContext commandContext) {
+        TaskEntity task = commandContext.getTaskEntityManager().create();
+        task.setName("before");
+        commandContext.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
+            ActivitiEventBuilder.createEntityEvent(ActivitiEventType.TASK_CREATED, task));
+        task.setName("after");
+        taskHolder[0] = task;
+        return null;
+      }
+
+    });
+
+    waitForEvents(1);
+
+    assertThat(listener.events).hasSize(1);
+    TaskEntity deliveredTask = (TaskEntity) ((ActivitiEntityEvent) listener.events.get(0)).getEntity();
+    assertThat(deliveredTask).isNotSameAs(taskHolder[0]);
+    assertThat(deliveredTask.getName()).isEqualTo("before");
+  }
+
+  public void testDeliveriesRejectedAfterShutdown() {
+    AsyncEventListenerExecutor executor = new AsyncEventListenerExecutor(1, 10);
+    executor.shutdown();
+
+    executor.submit(Collections.singletonList(new AsyncEventDelivery(ActivitiEventBuilder.createGlobalEvent(ActivitiEventType.CUSTOM), listener)));
+
+    assertThat(executor.isActive()).isFalse();
+    assertThat(executor.getMetrics().get("rejected")).isEqualTo(1L);
+    assertThat(executor.getMetrics().get("queued")).isEqualTo(0);
+  }
+
+  protected void waitForEvents(int expectedEvents) throws InterruptedException {
+    long timeout = System.currentTimeMillis() + 10000L;
+    while (listener.events.size() < expectedEvents && System.currentTimeMillis() < timeout) {
+      Thread.sleep(50L);
+    }
+  }
+
+  public static class RecordingAsyncEventListener implements AsyncActivitiEventListener {
+
+    protected List<ActivitiEvent> events = new CopyOnWriteArrayList<ActivitiEvent>();
+    protected List<String> threadNames = new CopyOnWriteArrayList<String>();
+
+    @Override
+    public void onEvent(ActivitiEvent event) {
+      events.add(event);
+      threadNames.add(Thread.currentThread().getName());
+    }
+
+    @Override
+    public boolean isFailOnException() {
+      return false;
+    }
+  }
+
+}
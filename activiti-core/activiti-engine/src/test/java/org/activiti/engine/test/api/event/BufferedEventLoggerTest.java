@@ -0,0 +1,99 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.api.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.event.EventLogEntry;
+import org.activiti.engine.impl.event.logger.BufferedEventLogWriter;
+import org.activiti.engine.impl.event.logger.EventLogger;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntity;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntityImpl;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * Tests the event logger writing its entries after commit through a {@link BufferedEventLogWriter}.
+ */
+public class BufferedEventLoggerTest extends PluggableActivitiTestCase {
+
+  protected EventLogger databaseEventLogger;
+  protected BufferedEventLogWriter eventLogWriter;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+
+    eventLogWriter = new BufferedEventLogWriter(processEngineConfiguration.getCommandExecutor(), 100, 10);
+    eventLogWriter.setPollIntervalInMillis(50L);
+    eventLogWriter.start();
+
+    databaseEventLogger = new EventLogger(processEngineConfiguration.getClock(), processEngineConfiguration.getObjectMapper());
+    databaseEventLogger.setEventLogWriter(eventLogWriter);
+    runtimeService.addEventListener(databaseEventLogger);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    runtimeService.removeEventListener(databaseEventLogger);
+    eventLogWriter.shutdown();
+
+    for (EventLogEntry eventLogEntry : managementService.getEventLogEntries(null, null)) {
+      managementService.deleteEventLogEntry(eventLogEntry.getLogNumber());
+    }
+
+    super.tearDown();
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/event/DatabaseEventLoggerProcess.bpmn20.xml" })
+  public void testEventLogEntriesWrittenAfterCommit() throws Exception {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("DatabaseEventLoggerProcess");
+    for (Task task : taskService.createTaskQuery().processInstanceId(processInstance.getId()).list()) {
+      taskService.complete(task.getId());
+    }
+
+    // Stopping the writer flushes everything still buffered
+    eventLogWriter.shutdown();
+
+    List<EventLogEntry> eventLogEntries = managementService.getEventLogEntriesByProcessInstanceId(processInstance.getId());
+    assertThat(eventLogEntries).isNotEmpty();
+
+    Map<String, Object> metrics = eventLogWriter.getMetrics();
+    assertThat(metrics.get("dropped")).isEqualTo(0L);
+    assertThat(metrics.get("failed")).isEqualTo(0L);
+    assertThat(metrics.get("bufferedEntries")).isEqualTo(0);
+    assertThat((Long) metrics.get("written")).isEqualTo(metrics.get("added")).isGreaterThanOrEqualTo(eventLogEntries.size());
+  }
+
+  public void testEntriesDroppedWhenBufferIsFull() {
+    eventLogWriter.shutdown();
+    BufferedEventLogWriter smallWriter = new BufferedEventLogWriter(processEngineConfiguration.getCommandExecutor(), 2, 10);
+    smallWriter.add(Arrays.<EventLogEntryEntity>asList(new EventLogEntryEntityImpl(), new EventLogEntryEntityImpl(), new EventLogEntryEntityImpl()));
+
+    Map<String, Object> metrics = smallWriter.getMetrics();
+    assertThat(metrics.get("added")).isEqualTo(2L);
+    assertThat(metrics.get("dropped")).isEqualTo(1L);
+    assertThat(metrics.get("bufferHighWaterMark")).isEqualTo(2);
+  }
+
+}
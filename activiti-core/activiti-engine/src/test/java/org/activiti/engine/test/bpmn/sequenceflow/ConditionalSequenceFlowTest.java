@@ -23,6 +23,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.runtime.ProcessInstance;
 import org.activiti.engine.task.Task;
@@ -44,6 +46,21 @@ public class ConditionalSequenceFlowTest extends PluggableActivitiTestCase {
     assertThat(task.getName()).isEqualTo("task right");
   }
 
+  @Deployment(resources = "org/activiti/engine/test/bpmn/sequenceflow/ConditionalSequenceFlowTest.testUelExpression.bpmn20.xml")
+  public void testConditionExpressionsArePreParsedOnDeployment() {
+    ProcessInstance pi = runtimeService.startProcessInstanceByKey("condSeqFlowUelExpr", singletonMap("input", "left"));
+
+    ProcessDefinitionCacheEntry cacheEntry = processEngineConfiguration.getProcessDefinitionCache().get(pi.getProcessDefinitionId());
+    SequenceFlow flow1 = (SequenceFlow) cacheEntry.getProcess().getFlowElement("flow1");
+    SequenceFlow flow2 = (SequenceFlow) cacheEntry.getProcess().getFlowElement("flow2");
+    assertThat(cacheEntry.getExpression(flow1.getConditionExpression())).isNotNull();
+    assertThat(cacheEntry.getExpression(flow2.getConditionExpression())).isNotNull();
+    assertThat(cacheEntry.getExpression("task left")).isNotNull();
+
+    Task task = taskService.createTaskQuery().processInstanceId(pi.getId()).singleResult();
+    assertThat(task.getName()).isEqualTo("task left");
+  }
+
   @Deployment
   public void testSkipExpression() {
     Map<String, Object> variables = new HashMap<String, Object>();
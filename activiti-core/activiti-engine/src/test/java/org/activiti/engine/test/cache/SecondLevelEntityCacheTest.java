@@ -0,0 +1,102 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
+import org.activiti.engine.impl.persistence.entity.DeploymentEntity;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+
+/**
+ * Tests the second level entity cache against concurrent transactions.
+ */
+public class SecondLevelEntityCacheTest extends ResourceActivitiTestCase {
+
+  public SecondLevelEntityCacheTest() {
+    super("org/activiti/engine/test/cache/SecondLevelEntityCacheTest.activiti.cfg.xml");
+  }
+
+  public void testEntityReadBetweenFlushAndCommitIsNotLeftInCache() throws Exception {
+    assertThat(processEngineConfiguration.getSecondLevelEntityCache()).isNotNull();
+
+    String processDefinitionId = deployOneTaskTestProcess();
+    final String deploymentId = repositoryService.getProcessDefinition(processDefinitionId).getDeploymentId();
+    assertThat(findDeployment(deploymentId).getCategory()).isNull();
+
+    final String[] categoryReadBeforeCommit = new String[] { "not read" };
+    managementService.executeCommand(new Command<Void>() {
+
+      @Override
+      public Void execute(CommandContext commandContext) {
+        commandContext.getDeploymentEntityManager().findById(deploymentId).setCategory("updated");
+        commandContext.addCloseListener(new CommandContextCloseListener() {
+
+          @Override
+          public void closing(CommandContext commandContext) {
+          }
+
+          @Override
+          public void afterSessionsFlush(CommandContext commandContext) {
+            // Another transaction reads (and caches) the deployment once the update is flushed, but not yet committed
+            Thread reader = new Thread(new Runnable() {
+
+              @Override
+              public void run() {
+                categoryReadBeforeCommit[0] = findDeployment(deploymentId).getCategory();
+              }
+
+            });
+            reader.start();
+            try {
+              reader.join(10000L);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+
+          @Override
+          public void closed(CommandContext commandContext) {
+          }
+
+          @Override
+          public void closeFailure(CommandContext commandContext) {
+          }
+
+        });
+        return null;
+      }
+
+    });
+
+    assertThat(categoryReadBeforeCommit[0]).isNull();
+    assertThat(findDeployment(deploymentId).getCategory()).isEqualTo("updated");
+  }
+
+  protected DeploymentEntity findDeployment(final String deploymentId) {
+    return managementService.executeCommand(new Command<DeploymentEntity>() {
+
+      @Override
+      public DeploymentEntity execute(CommandContext commandContext) {
+        return commandContext.getDeploymentEntityManager().findById(deploymentId);
+      }
+
+    });
+  }
+
+}
@@ -14,6 +14,7 @@
  * limitations under the License.
  */
 package org.activiti.engine.test.cfg.executioncount;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -40,6 +41,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 public class VerifyDatabaseOperationsTest extends PluggableActivitiTestCase {
 
   protected boolean oldExecutionTreeFetchValue;
+  protected boolean oldVariableFetchValue;
   protected boolean oldExecutionRelationshipCountValue;
   protected boolean oldenableProcessDefinitionInfoCacheValue;
   protected CommandInterceptor oldFirstCommandInterceptor;
@@ -52,6 +54,7 @@ public class VerifyDatabaseOperationsTest extends PluggableActivitiTestCase {
 
     // Enable flags
     this.oldExecutionTreeFetchValue = processEngineConfiguration.getPerformanceSettings().isEnableEagerExecutionTreeFetching();
+    this.oldVariableFetchValue = processEngineConfiguration.getPerformanceSettings().isEnableEagerVariableFetching();
     this.oldExecutionRelationshipCountValue = processEngineConfiguration.getPerformanceSettings().isEnableExecutionRelationshipCounts();
     this.oldenableProcessDefinitionInfoCacheValue = processEngineConfiguration.isEnableProcessDefinitionInfoCache();
     oldHistoryLevel = ((DefaultHistoryManager) processEngineConfiguration.getHistoryManager()).getHistoryLevel();
@@ -87,6 +90,7 @@ public class VerifyDatabaseOperationsTest extends PluggableActivitiTestCase {
   protected void tearDown() throws Exception {
 
     processEngineConfiguration.getPerformanceSettings().setEnableEagerExecutionTreeFetching(oldExecutionTreeFetchValue);
+    processEngineConfiguration.getPerformanceSettings().setEnableEagerVariableFetching(oldVariableFetchValue);
     processEngineConfiguration.getPerformanceSettings().setEnableExecutionRelationshipCounts(oldExecutionRelationshipCountValue);
     processEngineConfiguration.setEnableProcessDefinitionInfoCache(oldenableProcessDefinitionInfoCacheValue);
     ((DefaultHistoryManager) processEngineConfiguration.getHistoryManager()).setHistoryLevel(oldHistoryLevel);
@@ -263,6 +267,28 @@ public class VerifyDatabaseOperationsTest extends PluggableActivitiTestCase {
 
   }
 
+  public void testEagerVariableFetchingInNestedSubProcesses() {
+    processEngineConfiguration.getPerformanceSettings().setEnableEagerVariableFetching(true);
+    deploy("process-variables-subprocess01.bpmn20.xml");
+    runtimeService.startProcessInstanceByKey("process-variables-subprocess01", Collections.<String, Object>singletonMap("myVar", "myValue"));
+    Task task = taskService.createTaskQuery().singleResult();
+
+    ActivitiProfiler.getInstance().startProfileSession("Profiling session");
+    Map<String, Object> variables = runtimeService.getVariables(task.getExecutionId());
+    stopProfiling();
+
+    assertThat(variables).containsEntry("myVar", "myValue");
+
+    // The executions of both subprocesses and the process instance get their variables from a single query
+    assertDatabaseSelects("GetExecutionVariablesCmd",
+        "selectExecutionsWithSameRootProcessInstanceId", 1L,
+        "selectVariablesByRootProcessInstanceId", 1L);
+    assertNoInserts("GetExecutionVariablesCmd");
+    assertNoUpdatesAndDeletes("GetExecutionVariablesCmd");
+
+    taskService.complete(task.getId());
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isEqualTo(0);
+  }
 
   // ---------------------------------
   // HELPERS
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+
+public class JdbcBatchFlushTest extends ResourceActivitiTestCase {
+
+  public JdbcBatchFlushTest() {
+    super("org/activiti/engine/test/db/JdbcBatchFlushTest.activiti.cfg.xml");
+  }
+
+  public void testProcessLifecycleWithBatchedFlush() {
+    assertThat(processEngineConfiguration.isJdbcBatchFlushEnabled()).isTrue();
+
+    String processDefinitionId = deployOneTaskTestProcess();
+
+    Map<String, Object> variables = new HashMap<String, Object>();
+    for (int i = 0; i < 10; i++) {
+      variables.put("var" + i, "value" + i);
+    }
+    ProcessInstance processInstance = runtimeService.startProcessInstanceById(processDefinitionId, variables);
+    assertThat(runtimeService.getVariables(processInstance.getId())).isEqualTo(variables);
+
+    for (int i = 0; i < 10; i++) {
+      runtimeService.setVariable(processInstance.getId(), "var" + i, "updated" + i);
+    }
+    assertThat(runtimeService.getVariable(processInstance.getId(), "var9")).isEqualTo("updated9");
+
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.complete(task.getId());
+
+    assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(0);
+    assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(10);
+  }
+
+  public void testOptimisticLockingDetectedInBatchedUpdate() {
+    Task task = taskService.newTask();
+    taskService.saveTask(task);
+    String taskId = task.getId();
+
+    Task task1 = taskService.createTaskQuery().taskId(taskId).singleResult();
+    Task task2 = taskService.createTaskQuery().taskId(taskId).singleResult();
+
+    task1.setDescription("first modification");
+    taskService.saveTask(task1);
+
+    task2.setDescription("second modification");
+    assertThatExceptionOfType(ActivitiOptimisticLockingException.class)
+      .isThrownBy(() -> taskService.saveTask(task2));
+
+    taskService.deleteTask(taskId, true);
+  }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.impl.jobexecutor.AsyncHistoryJobHandler;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.runtime.Job;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+
+public class AsyncHistoryTest extends ResourceActivitiTestCase {
+
+  public AsyncHistoryTest() {
+    super("org/activiti/engine/test/history/AsyncHistoryTest.activiti.cfg.xml");
+  }
+
+  public void testEndedActivitiesAndVariableUpdatesAreWrittenByAsyncHistoryJob() {
+    assertThat(processEngineConfiguration.isAsyncHistoryEnabled()).isTrue();
+
+    String processDefinitionId = deployOneTaskTestProcess();
+
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("text", "value");
+    variables.put("number", 123L);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceById(processDefinitionId, variables);
+
+    // The process instance and the unfinished task activity are written right away, the rest goes through the outbox
+    assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery().activityId("theTask").unfinished().count()).isEqualTo(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery().activityId("start").count()).isEqualTo(0);
+    assertThat(historyService.createHistoricDetailQuery().variableUpdates().count()).isEqualTo(0);
+
+    executeAsyncHistoryJobs();
+
+    assertThat(historyService.createHistoricActivityInstanceQuery().activityId("start").finished().count()).isEqualTo(1);
+    assertThat(historyService.createHistoricDetailQuery().variableUpdates().processInstanceId(processInstance.getId()).count()).isEqualTo(2);
+
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.complete(task.getId());
+    executeAsyncHistoryJobs();
+
+    assertThat(historyService.createHistoricActivityInstanceQuery().activityId("theTask").finished().count()).isEqualTo(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery().activityId("theEnd").finished().count()).isEqualTo(1);
+    assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).finished().count()).isEqualTo(1);
+  }
+
+  public void testRecordsOfDeletedHistoricProcessInstanceAreSkipped() {
+    String processDefinitionId = deployOneTaskTestProcess();
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceById(processDefinitionId);
+    runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+    historyService.deleteHistoricProcessInstance(processInstance.getId());
+
+    executeAsyncHistoryJobs();
+
+    assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(0);
+  }
+
+  public void testByteArraysOfSkippedVariableUpdatesAreDeleted() {
+    String processDefinitionId = deployOneTaskTestProcess();
+    long byteArrayCount = managementService.getTableCount().get("ACT_GE_BYTEARRAY");
+
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("bytes", "binary value".getBytes());
+    ProcessInstance processInstance = runtimeService.startProcessInstanceById(processDefinitionId, variables);
+    runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+    historyService.deleteHistoricProcessInstance(processInstance.getId());
+
+    executeAsyncHistoryJobs();
+
+    assertThat(historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(0);
+    assertThat(managementService.getTableCount().get("ACT_GE_BYTEARRAY")).isEqualTo(byteArrayCount);
+  }
+
+  public void testOneAsyncHistoryJobInsertsTheOutboxesOfOtherPendingJobs() {
+    String processDefinitionId = deployOneTaskTestProcess();
+
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceById(processDefinitionId);
+    }
+    assertThat(managementService.createJobQuery().count()).isEqualTo(3);
+
+    Job job = managementService.createJobQuery().list().get(0);
+    managementService.executeJob(job.getId());
+
+    assertThat(managementService.createJobQuery().count()).isEqualTo(0);
+    assertThat(historyService.createHistoricActivityInstanceQuery().activityId("start").finished().count()).isEqualTo(3);
+  }
+
+  public void testAsyncHistoryJobBatchSizeLimitsTheOutboxesPerJob() {
+    int batchSize = processEngineConfiguration.getAsyncHistoryJobBatchSize();
+    processEngineConfiguration.setAsyncHistoryJobBatchSize(2);
+    try {
+      String processDefinitionId = deployOneTaskTestProcess();
+
+      for (int i = 0; i < 3; i++) {
+        runtimeService.startProcessInstanceById(processDefinitionId);
+      }
+
+      Job job = managementService.createJobQuery().list().get(0);
+      managementService.executeJob(job.getId());
+
+      assertThat(managementService.createJobQuery().count()).isEqualTo(1);
+      assertThat(historyService.createHistoricActivityInstanceQuery().activityId("start").finished().count()).isEqualTo(2);
+
+      executeAsyncHistoryJobs();
+      assertThat(historyService.createHistoricActivityInstanceQuery().activityId("start").finished().count()).isEqualTo(3);
+    } finally {
+      processEngineConfiguration.setAsyncHistoryJobBatchSize(batchSize);
+    }
+  }
+
+  protected void executeAsyncHistoryJobs() {
+    // a job can insert the outboxes of other pending jobs and delete them, so the jobs are looked up one by one
+    Job job = managementService.createJobQuery().listPage(0, 1).stream().findFirst().orElse(null);
+    while (job != null) {
+      assertThat(job.getJobHandlerType()).isEqualTo(AsyncHistoryJobHandler.TYPE);
+      managementService.executeJob(job.getId());
+      job = managementService.createJobQuery().listPage(0, 1).stream().findFirst().orElse(null);
+    }
+    assertThat(managementService.createJobQuery().count()).isEqualTo(0);
+  }
+
+}
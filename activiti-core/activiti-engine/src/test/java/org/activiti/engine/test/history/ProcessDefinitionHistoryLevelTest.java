@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.history;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class ProcessDefinitionHistoryLevelTest extends ResourceActivitiTestCase {
+
+  public ProcessDefinitionHistoryLevelTest() {
+    super("org/activiti/engine/test/history/ProcessDefinitionHistoryLevelTest.activiti.cfg.xml");
+  }
+
+  @Deployment
+  public void testHistoryLevelNone() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("historyLevelProcess", singletonMap("var", (Object) "value"));
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.setVariableLocal(task.getId(), "taskVar", "value");
+    task.setName("changed name");
+    taskService.saveTask(task);
+    taskService.complete(task.getId());
+
+    // The level is resolved when parsing, and kept on the cached process definition
+    ProcessDefinitionEntity processDefinition = (ProcessDefinitionEntity) processEngineConfiguration.getProcessDefinitionCache()
+        .get(processInstance.getProcessDefinitionId()).getProcessDefinition();
+    assertThat(processDefinition.getHistoryLevel()).isEqualTo(HistoryLevel.NONE.ordinal());
+
+    assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(0);
+    assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(0);
+    assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(0);
+    assertThat(historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(0);
+    assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(0);
+    assertThat(historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(0);
+  }
+
+  @Deployment
+  public void testHistoryLevelActivity() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("historyLevelProcess", singletonMap("var", (Object) "value"));
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.complete(task.getId());
+
+    assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstance.getId()).finished().count()).isEqualTo(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).activityId("task").count()).isEqualTo(1);
+    assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+
+    // Task history needs audit, variable updates need full
+    assertThat(historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(0);
+    assertThat(historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(0);
+  }
+
+  public void testEngineHistoryLevelWithoutOverride() {
+    String processDefinitionId = deployOneTaskTestProcess();
+    ProcessInstance processInstance = runtimeService.startProcessInstanceById(processDefinitionId, singletonMap("var", (Object) "value"));
+
+    assertThat(historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+    assertThat(historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+
+    runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+  }
+
+  public void testUnknownHistoryLevelFailsDeployment() {
+    String bpmn = "<definitions xmlns='http://www.omg.org/spec/BPMN/20100524/MODEL' xmlns:activiti='http://activiti.org/bpmn' targetNamespace='Examples'>"
+        + "<process id='unknownHistoryLevelProcess' activiti:historyLevel='everything'><startEvent id='start' /></process>"
+        + "</definitions>";
+
+    assertThatExceptionOfType(ActivitiIllegalArgumentException.class)
+      .isThrownBy(() -> repositoryService.createDeployment().addString("unknownHistoryLevel.bpmn20.xml", bpmn).deploy())
+      .withMessageContaining("everything");
+  }
+
+}
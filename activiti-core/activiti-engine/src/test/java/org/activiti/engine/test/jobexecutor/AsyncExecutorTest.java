@@ -27,6 +27,7 @@ import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ProcessEngine;
 import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
 import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.activiti.engine.impl.asyncexecutor.InJvmJobNotificationChannel;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
 import org.activiti.engine.impl.test.JobTestHelper;
@@ -213,6 +214,40 @@ public class AsyncExecutorTest {
 
   }
 
+  @Test
+  public void testAsyncJobCreatedOnOtherEngineIsAcquiredWithoutWaitingForNextPoll() throws Exception {
+
+    ProcessEngine firstProcessEngine = null;
+    ProcessEngine secondProcessEngine = null;
+
+    try {
+
+      // Deploy on one engine, where the async executor is disabled
+      firstProcessEngine = createProcessEngine(false);
+      deploy(firstProcessEngine, "AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml");
+
+      // Second engine only polls for async jobs once per minute
+      secondProcessEngine = createProcessEngine(true, null, 60 * 1000);
+      Thread.sleep(500L); // let the first acquisition finish, so the acquisition thread is waiting
+
+      // The job committed by the first engine wakes up the acquisition of the second engine
+      firstProcessEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+      waitForAllJobsBeingExecuted(secondProcessEngine, 10000L);
+
+      assertThat(firstProcessEngine.getTaskService().createTaskQuery().taskName("Task after script").count()).isEqualTo(1);
+      assertThat(getAsyncExecutorJobCount(firstProcessEngine)).isEqualTo(0);
+      assertThat(getAsyncExecutorJobCount(secondProcessEngine)).isEqualTo(1);
+
+    } finally {
+
+      // Clean up
+      cleanup(firstProcessEngine);
+      cleanup(secondProcessEngine);
+
+    }
+
+  }
+
   @Test
   public void testAsyncFailingScript() {
 
@@ -267,16 +302,21 @@ public class AsyncExecutorTest {
   }
 
   private ProcessEngine createProcessEngine(boolean enableAsyncExecutor, Date time) {
+    return createProcessEngine(enableAsyncExecutor, time, 50); // To avoid waiting too long when a retry happens
+  }
+
+  private ProcessEngine createProcessEngine(boolean enableAsyncExecutor, Date time, int acquireWaitTimeInMillis) {
     ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
     processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:activiti-AsyncExecutorTest;DB_CLOSE_DELAY=1000");
     processEngineConfiguration.setDatabaseSchemaUpdate("true");
+    processEngineConfiguration.setJobNotificationChannel(InJvmJobNotificationChannel.getSharedInstance()); // the engines of this test share the database
 
     if (enableAsyncExecutor) {
       processEngineConfiguration.setAsyncExecutorActivate(true);
 
       CountingAsyncExecutor countingAsyncExecutor = new CountingAsyncExecutor();
-      countingAsyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(50); // To avoid waiting too long when a retry happens
-      countingAsyncExecutor.setDefaultTimerJobAcquireWaitTimeInMillis(50);
+      countingAsyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(acquireWaitTimeInMillis);
+      countingAsyncExecutor.setDefaultTimerJobAcquireWaitTimeInMillis(acquireWaitTimeInMillis);
       processEngineConfiguration.setAsyncExecutor(countingAsyncExecutor);
     }
 
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.Page;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.Job;
+import org.activiti.engine.test.Deployment;
+
+public class JobPriorityTest extends PluggableActivitiTestCase {
+
+  @Deployment
+  public void testAsyncJobPriority() {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("jobPriority").getId();
+
+    List<Job> jobs = managementService.createJobQuery().processInstanceId(processInstanceId).list();
+    assertThat(jobs).hasSize(3);
+    assertThat(jobs).extracting(job -> getActivityId(job.getExecutionId()) + ":" + job.getPriority())
+        .containsExactlyInAnyOrder("lowPriorityTask:10", "highPriorityTask:90", "processPriorityTask:20");
+
+    // Acquisition takes the jobs with the highest priority first
+    List<JobEntity> jobsToExecute = managementService.executeCommand(commandContext ->
+        commandContext.getJobEntityManager().findJobsToExecute(new Page(0, 2)));
+    assertThat(jobsToExecute).extracting(JobEntity::getPriority).containsExactly(90, 20);
+  }
+
+  @Deployment
+  public void testTimerJobPriority() {
+    Date startTime = new Date();
+    processEngineConfiguration.getClock().setCurrentTime(startTime);
+    String processInstanceId = runtimeService.startProcessInstanceByKey("timerJobPriority").getId();
+
+    List<Job> timerJobs = managementService.createTimerJobQuery().processInstanceId(processInstanceId).list();
+    assertThat(timerJobs).extracting(job -> getActivityId(job.getExecutionId()) + ":" + job.getPriority())
+        .containsExactlyInAnyOrder("highPriorityTimer:70", "defaultPriorityTimer:" + Job.DEFAULT_PRIORITY);
+
+    // Both timers are due: the one with the highest priority goes first, although it was due later
+    processEngineConfiguration.getClock().setCurrentTime(new Date(startTime.getTime() + 3 * 60 * 60 * 1000L));
+    List<TimerJobEntity> timersToExecute = managementService.executeCommand(commandContext ->
+        commandContext.getTimerJobEntityManager().findTimerJobsToExecute(new Page(0, 1)));
+    assertThat(timersToExecute).extracting(TimerJobEntity::getPriority).containsExactly(70);
+
+    // The priority is kept when the timer becomes an executable job
+    Job job = managementService.moveTimerToExecutableJob(timersToExecute.get(0).getId());
+    assertThat(job.getPriority()).isEqualTo(70);
+  }
+
+  public void testInvalidJobPriority() {
+    String bpmn = "<definitions xmlns='http://www.omg.org/spec/BPMN/20100524/MODEL' xmlns:activiti='http://activiti.org/bpmn' targetNamespace='Examples'>"
+        + "<process id='invalidJobPriority' isExecutable='true'>"
+        + "<startEvent id='start' />"
+        + "<sequenceFlow id='flow1' sourceRef='start' targetRef='task' />"
+        + "<serviceTask id='task' activiti:async='true' activiti:jobPriority='high' activiti:expression='${true}' />"
+        + "<sequenceFlow id='flow2' sourceRef='task' targetRef='end' />"
+        + "<endEvent id='end' />"
+        + "</process></definitions>";
+
+    assertThatExceptionOfType(ActivitiIllegalArgumentException.class)
+        .isThrownBy(() -> repositoryService.createDeployment().addString("invalidJobPriority.bpmn20.xml", bpmn).deploy())
+        .withMessageContaining("high");
+  }
+
+  protected String getActivityId(String executionId) {
+    return runtimeService.createExecutionQuery().executionId(executionId).singleResult().getActivityId();
+  }
+
+}
@@ -22,7 +22,9 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import org.activiti.engine.impl.asyncexecutor.BulkResetExpiredJobsCmd;
 import org.activiti.engine.impl.asyncexecutor.FindExpiredJobsCmd;
+import org.activiti.engine.impl.asyncexecutor.JobNotificationListener;
 import org.activiti.engine.impl.asyncexecutor.ResetExpiredJobsCmd;
 import org.activiti.engine.impl.cmd.AcquireJobsCmd;
 import org.activiti.engine.impl.persistence.entity.JobEntity;
@@ -99,6 +101,74 @@ public class ResetExpiredJobsTest extends PluggableActivitiTestCase {
     }
   }
 
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+  public void testBulkResetExpiredJobs() {
+    Date startOfTestTime = new Date();
+    processEngineConfiguration.getClock().setCurrentTime(startOfTestTime);
+
+    runtimeService.startProcessInstanceByKey("myProcess");
+    managementService.executeCommand(new AcquireJobsCmd(processEngineConfiguration.getAsyncExecutor()));
+    assertJobDetails(true);
+
+    // The lock time is not yet passed
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(10))).isEqualTo(0);
+    assertJobDetails(true);
+
+    Date newDate = new Date(startOfTestTime.getTime() + processEngineConfiguration.getAsyncExecutor().getAsyncJobLockTimeInMillis() + 10000);
+    processEngineConfiguration.getClock().setCurrentTime(newDate);
+
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(10))).isEqualTo(1);
+    assertJobDetails(false);
+
+    // Nothing left to reset
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(10))).isEqualTo(0);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+  public void testBulkResetJobsOfLockOwner() {
+    processEngineConfiguration.getClock().setCurrentTime(new Date());
+
+    runtimeService.startProcessInstanceByKey("myProcess");
+    managementService.executeCommand(new AcquireJobsCmd(processEngineConfiguration.getAsyncExecutor()));
+    assertJobDetails(true);
+
+    // Jobs of another lock owner are left alone
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd("unknownLockOwner", 10))).isEqualTo(0);
+    assertJobDetails(true);
+
+    // The jobs of the lock owner are reset, even though their lock did not expire
+    String lockOwner = processEngineConfiguration.getAsyncExecutor().getLockOwner();
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(lockOwner, 10))).isEqualTo(1);
+    assertJobDetails(false);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+  public void testBulkResetNotifiesJobsAvailable() {
+    processEngineConfiguration.getClock().setCurrentTime(new Date());
+
+    runtimeService.startProcessInstanceByKey("myProcess");
+    managementService.executeCommand(new AcquireJobsCmd(processEngineConfiguration.getAsyncExecutor()));
+
+    final List<String> notifiedJobTypes = new ArrayList<String>();
+    JobNotificationListener listener = new JobNotificationListener() {
+      public void jobsAvailable(String jobType) {
+        notifiedJobTypes.add(jobType);
+      }
+    };
+    processEngineConfiguration.getJobNotificationChannel().addListener(listener);
+    try {
+      // Nothing reset, nothing to announce
+      assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd("unknownLockOwner", 10))).isEqualTo(0);
+      assertThat(notifiedJobTypes).isEmpty();
+
+      String lockOwner = processEngineConfiguration.getAsyncExecutor().getLockOwner();
+      assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(lockOwner, 10))).isEqualTo(1);
+      assertThat(notifiedJobTypes).containsExactly(Job.JOB_TYPE_MESSAGE);
+    } finally {
+      processEngineConfiguration.getJobNotificationChannel().removeListener(listener);
+    }
+  }
+
   protected void assertJobDetails(boolean locked) {
     JobQuery jobQuery = managementService.createJobQuery();
 
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.standalone.deploy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.activiti.engine.impl.persistence.deploy.DeploymentCacheInvalidationChannel;
+import org.activiti.engine.impl.persistence.deploy.DeploymentCacheInvalidationListener;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class DeploymentCacheInvalidationTest extends PluggableActivitiTestCase {
+
+  protected RecordingListener listener = new RecordingListener();
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    processEngineConfiguration.getDeploymentCacheInvalidationChannel().addListener(listener);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.getDeploymentCacheInvalidationChannel().removeListener(listener);
+    super.tearDown();
+  }
+
+  public void testSuspendProcessDefinitionPublishesInvalidation() {
+    String processDefinitionId = deployOneTaskTestProcess();
+    assertThat(processEngineConfiguration.getProcessDefinitionCache().contains(processDefinitionId)).isTrue();
+
+    repositoryService.suspendProcessDefinitionById(processDefinitionId);
+
+    assertThat(listener.invalidatedProcessDefinitionIds).containsExactly(processDefinitionId);
+    assertThat(processEngineConfiguration.getProcessDefinitionCache().contains(processDefinitionId)).isFalse();
+    assertThat(repositoryService.getProcessDefinition(processDefinitionId).isSuspended()).isTrue();
+  }
+
+  public void testProcessDefinitionEvictedWhenInvalidatedByPeer() {
+    String processDefinitionId = deployOneTaskTestProcess();
+    assertThat(processEngineConfiguration.getProcessDefinitionCache().contains(processDefinitionId)).isTrue();
+
+    // As published by another engine on the same channel
+    DeploymentCacheInvalidationChannel channel = processEngineConfiguration.getDeploymentCacheInvalidationChannel();
+    channel.publishProcessDefinitionInvalidated(processDefinitionId);
+
+    assertThat(processEngineConfiguration.getProcessDefinitionCache().contains(processDefinitionId)).isFalse();
+  }
+
+  public void testSaveProcessDefinitionInfoPublishesInvalidation() {
+    String processDefinitionId = deployOneTaskTestProcess();
+
+    ObjectNode infoNode = dynamicBpmnService.changeUserTaskName("theTask", "Updated name");
+    dynamicBpmnService.saveProcessDefinitionInfo(processDefinitionId, infoNode);
+
+    assertThat(listener.invalidatedProcessDefinitionInfoIds).containsExactly(processDefinitionId);
+    assertThat(dynamicBpmnService.getProcessDefinitionInfo(processDefinitionId).toString()).contains("Updated name");
+  }
+
+  public void testNoInvalidationPublishedWhenTransactionRollsBack() {
+    try {
+      repositoryService.suspendProcessDefinitionById("unexisting");
+    } catch (Exception e) {
+      // expected
+    }
+
+    assertThat(listener.invalidatedProcessDefinitionIds).isEmpty();
+  }
+
+  protected static class RecordingListener implements DeploymentCacheInvalidationListener {
+
+    protected List<String> invalidatedProcessDefinitionIds = new CopyOnWriteArrayList<String>();
+    protected List<String> invalidatedProcessDefinitionInfoIds = new CopyOnWriteArrayList<String>();
+
+    public void processDefinitionInvalidated(String processDefinitionId) {
+      invalidatedProcessDefinitionIds.add(processDefinitionId);
+    }
+
+    public void processDefinitionInfoInvalidated(String processDefinitionId) {
+      invalidatedProcessDefinitionInfoIds.add(processDefinitionId);
+    }
+  }
+
+}
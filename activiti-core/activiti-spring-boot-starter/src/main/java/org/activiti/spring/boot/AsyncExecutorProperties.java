@@ -155,6 +155,36 @@ public class AsyncExecutorProperties {
      */
     private boolean messageQueueMode = false;
 
+    /**
+     * Set this to true to execute each job on its own virtual thread instead of on the task executor.
+     * Suits processes whose jobs mostly wait on I/O, like service tasks calling slow connectors. Default is false.
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * The maximum number of jobs executing at the same time when virtual threads are enabled. Jobs acquired
+     * above this limit are released again, so other executors can pick them up. Default value = 256.
+     */
+    private int maxConcurrentVirtualThreadJobs = 256;
+
+    /**
+     * Set this to true to let the acquisition threads adapt the number of jobs acquired per query
+     * and the wait time between queries to the job backlog, the free queue capacity and optimistic
+     * locking failures. The max jobs per acquisition settings are then used as minimum. Default is false.
+     */
+    private boolean adaptiveAcquisition = false;
+
+    /**
+     * The maximum number of jobs acquired during one query when adaptive acquisition is enabled. Default value = 256.
+     */
+    private int adaptiveAcquisitionMaxJobsPerAcquisition = 256;
+
+    /**
+     * The minimum time (in milliseconds) waited between two queries when adaptive acquisition is enabled
+     * and less jobs than requested were found. Default value = 100 milliseconds.
+     */
+    private int adaptiveAcquisitionMinWaitTimeInMillis = 100;
+
     public int getCorePoolSize() {
         return corePoolSize;
     }
@@ -283,6 +313,46 @@ public class AsyncExecutorProperties {
         this.resetExpiredJobsPageSize = resetExpiredJobsPageSize;
     }
 
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int getMaxConcurrentVirtualThreadJobs() {
+        return maxConcurrentVirtualThreadJobs;
+    }
+
+    public void setMaxConcurrentVirtualThreadJobs(int maxConcurrentVirtualThreadJobs) {
+        this.maxConcurrentVirtualThreadJobs = maxConcurrentVirtualThreadJobs;
+    }
+
+    public boolean isAdaptiveAcquisition() {
+        return adaptiveAcquisition;
+    }
+
+    public void setAdaptiveAcquisition(boolean adaptiveAcquisition) {
+        this.adaptiveAcquisition = adaptiveAcquisition;
+    }
+
+    public int getAdaptiveAcquisitionMaxJobsPerAcquisition() {
+        return adaptiveAcquisitionMaxJobsPerAcquisition;
+    }
+
+    public void setAdaptiveAcquisitionMaxJobsPerAcquisition(int adaptiveAcquisitionMaxJobsPerAcquisition) {
+        this.adaptiveAcquisitionMaxJobsPerAcquisition = adaptiveAcquisitionMaxJobsPerAcquisition;
+    }
+
+    public int getAdaptiveAcquisitionMinWaitTimeInMillis() {
+        return adaptiveAcquisitionMinWaitTimeInMillis;
+    }
+
+    public void setAdaptiveAcquisitionMinWaitTimeInMillis(int adaptiveAcquisitionMinWaitTimeInMillis) {
+        this.adaptiveAcquisitionMinWaitTimeInMillis = adaptiveAcquisitionMinWaitTimeInMillis;
+    }
+
     public int getNumberOfRetries() {
         return numberOfRetries;
     }
@@ -278,7 +278,12 @@ public class ProcessEngineAutoConfiguration extends AbstractProcessEngineAutoCon
 
             configuration.setAsyncExecutorMaxAsyncJobsDuePerAcquisition(properties.getMaxAsyncJobsDuePerAcquisition());
             configuration.setAsyncExecutorMaxTimerJobsPerAcquisition(properties.getMaxTimerJobsPerAcquisition());
+            configuration.setAsyncExecutorAdaptiveAcquisition(properties.isAdaptiveAcquisition());
+            configuration.setAsyncExecutorAdaptiveAcquisitionMaxJobsPerAcquisition(properties.getAdaptiveAcquisitionMaxJobsPerAcquisition());
+            configuration.setAsyncExecutorAdaptiveAcquisitionMinWaitTime(properties.getAdaptiveAcquisitionMinWaitTimeInMillis());
             configuration.setAsyncExecutorMaxPoolSize(properties.getMaxPoolSize());
+            configuration.setAsyncExecutorVirtualThreadExecution(properties.isVirtualThreads());
+            configuration.setAsyncExecutorMaxConcurrentVirtualThreadJobs(properties.getMaxConcurrentVirtualThreadJobs());
 
             configuration.setAsyncExecutorResetExpiredJobsInterval(properties.getResetExpiredJobsInterval());
             configuration.setAsyncExecutorResetExpiredJobsPageSize(properties.getResetExpiredJobsPageSize());
@@ -23,7 +23,15 @@ import java.util.List;
 import java.util.Map;
 
 import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.delegate.event.impl.AsyncEventListenerExecutor;
+import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.activiti.engine.impl.asyncexecutor.JobAcquisitionController;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.el.ExpressionManager;
+import org.activiti.engine.impl.event.logger.BufferedEventLogWriter;
+import org.activiti.engine.impl.persistence.cache.SecondLevelEntityCache;
+import org.activiti.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.DeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
@@ -97,14 +105,70 @@ public class ProcessEngineEndpoint {
                     processEngine.getHistoryService().createHistoricActivityInstanceQuery().finished().count());
 
         // Process definition cache
-        DeploymentCache<ProcessDefinitionCacheEntry> deploymentCache = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getProcessDefinitionCache();
+        ProcessEngineConfigurationImpl processEngineConfiguration = (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+        DeploymentCache<ProcessDefinitionCacheEntry> deploymentCache = processEngineConfiguration.getProcessDefinitionCache();
         if (deploymentCache instanceof DefaultDeploymentCache) {
             metrics.put("cachedProcessDefinitionCount",
                         ((DefaultDeploymentCache) deploymentCache).size());
+        } else if (deploymentCache instanceof ConcurrentDeploymentCache) {
+            ConcurrentDeploymentCache<ProcessDefinitionCacheEntry> concurrentDeploymentCache = (ConcurrentDeploymentCache<ProcessDefinitionCacheEntry>) deploymentCache;
+            metrics.put("cachedProcessDefinitionCount",
+                        concurrentDeploymentCache.size());
+            metrics.put("processDefinitionCache",
+                        concurrentDeploymentCache.getMetrics());
+        }
+
+        // Expression parse tree cache
+        ExpressionManager expressionManager = processEngineConfiguration.getExpressionManager();
+        if (expressionManager != null) {
+            metrics.put("expressionTreeCache",
+                        expressionManager.getMetrics());
+        }
+
+        // Second level entity cache
+        SecondLevelEntityCache secondLevelEntityCache = processEngineConfiguration.getSecondLevelEntityCache();
+        if (secondLevelEntityCache != null) {
+            metrics.put("secondLevelEntityCache",
+                        secondLevelEntityCache.getMetrics());
+        }
+
+        // Event log writer
+        BufferedEventLogWriter asyncEventLogWriter = processEngineConfiguration.getAsyncEventLogWriter();
+        if (asyncEventLogWriter != null) {
+            metrics.put("asyncEventLogWriter",
+                        asyncEventLogWriter.getMetrics());
+        }
+
+        // Async event listeners
+        AsyncEventListenerExecutor asyncEventListenerExecutor = processEngineConfiguration.getAsyncEventListenerExecutor();
+        if (asyncEventListenerExecutor != null) {
+            metrics.put("asyncEventListeners",
+                        asyncEventListenerExecutor.getMetrics());
+        }
+
+        // Job acquisition
+        AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+        if (asyncExecutor instanceof DefaultAsyncJobExecutor) {
+            DefaultAsyncJobExecutor defaultAsyncJobExecutor = (DefaultAsyncJobExecutor) asyncExecutor;
+            putAcquisitionMetrics(metrics,
+                                  "asyncJobAcquisition",
+                                  defaultAsyncJobExecutor.getAsyncJobAcquisitionController());
+            putAcquisitionMetrics(metrics,
+                                  "timerJobAcquisition",
+                                  defaultAsyncJobExecutor.getTimerJobAcquisitionController());
         }
         return metrics;
     }
 
+    private void putAcquisitionMetrics(Map<String, Object> metrics,
+                                       String name,
+                                       JobAcquisitionController acquisitionController) {
+        if (acquisitionController != null) {
+            metrics.put(name,
+                        acquisitionController.getMetrics());
+        }
+    }
+
     private long secondsForDays(int days) {
         int hour = 60 * 60 * 1000;
         int day = 24 * hour;
@@ -49,5 +49,10 @@ public class AsyncExecutorConfigurationTest {
         assertThat(asyncExecutor.getResetExpiredJobsPageSize()).isEqualTo(properties.getResetExpiredJobsPageSize());
         assertThat(asyncExecutor.getSecondsToWaitOnShutdown()).isEqualTo(properties.getSecondsToWaitOnShutdown());
         assertThat(asyncExecutor.getTimerLockTimeInMillis()).isEqualTo(properties.getTimerLockTimeInMillis());
+        assertThat(asyncExecutor.isVirtualThreadExecution()).isEqualTo(properties.isVirtualThreads());
+        assertThat(asyncExecutor.getMaxConcurrentVirtualThreadJobs()).isEqualTo(properties.getMaxConcurrentVirtualThreadJobs());
+        assertThat(asyncExecutor.isAdaptiveAcquisition()).isEqualTo(properties.isAdaptiveAcquisition());
+        assertThat(asyncExecutor.getAdaptiveAcquisitionMaxJobsPerAcquisition()).isEqualTo(properties.getAdaptiveAcquisitionMaxJobsPerAcquisition());
+        assertThat(asyncExecutor.getAdaptiveAcquisitionMinWaitTimeInMillis()).isEqualTo(properties.getAdaptiveAcquisitionMinWaitTimeInMillis());
     }
 }
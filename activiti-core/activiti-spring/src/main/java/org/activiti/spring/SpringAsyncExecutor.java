@@ -76,6 +76,11 @@ public class SpringAsyncExecutor extends DefaultAsyncJobExecutor {
 
   @Override
   public boolean executeAsyncJob(Job job) {
+    if (virtualThreadExecution) {
+      // Jobs run on virtual threads of the default async executor, not on the task executor
+      return super.executeAsyncJob(job);
+    }
+
     try {
       taskExecutor.execute(new ExecuteAsyncRunnable((JobEntity) job, processEngineConfiguration));
       return true;
@@ -87,7 +92,10 @@ public class SpringAsyncExecutor extends DefaultAsyncJobExecutor {
 
   @Override
   protected void initAsyncJobExecutionThreadPool() {
-    // Do nothing, using the Spring taskExecutor
+    if (virtualThreadExecution) {
+      super.initAsyncJobExecutionThreadPool();
+    }
+    // Otherwise do nothing, using the Spring taskExecutor
   }
 
 }